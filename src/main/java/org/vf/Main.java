@@ -2,13 +2,20 @@ package org.vf;
 
 import org.vf.src.*;
 import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.bounds.ScheduleBounds;
+import org.vf.src.cache.CachingAlgorithmScheduler;
+import org.vf.src.cache.ScheduleCache;
 import org.vf.src.algorithms.CETSS.TaskCETSS;
 import org.vf.src.algorithms.EHEFT.EHEFT;
-import org.vf.src.evaluation.CsvFile;
+import org.vf.src.evaluation.ConsoleScheduleReporter;
+import org.vf.src.evaluation.ResultSink;
+import org.vf.src.evaluation.ScheduleReporter;
+import org.vf.src.instrumentation.SchedulerInstrumentation;
 import org.vf.src.algorithms.HEFT.HEFT;
 import org.vf.src.algorithms.HEFT.TaskHEFT;
 
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -35,6 +42,13 @@ public class Main {
     static double minDeadlineEpigenomicsWorkflowWithHugePipDifferences = 500000000;
     static double minDeadlineEpigenomicsWorkflowWithBalancedPipLoad = 500000000;
 
+    // Prints every schedule to the console when started with -Devaluation.verbose=true
+    static ScheduleReporter reporter = Boolean.getBoolean("evaluation.verbose") ? new ConsoleScheduleReporter() : null;
+
+    // Reuses schedules of earlier runs when started with -Devaluation.cacheDir=<directory>
+    static ScheduleCache scheduleCache = System.getProperty("evaluation.cacheDir") != null
+            ? new ScheduleCache(1024, Path.of(System.getProperty("evaluation.cacheDir"))) : null;
+
     static List<String> evaluationHeader = Arrays.asList(
             "Workflow Deadline",
             "Was Workflow within Deadline executed?",
@@ -42,14 +56,22 @@ public class Main {
             "Total Workflow Cost",
             "Overall Resource Utilization",
             "Avarage Cost Per Task",
-            "Avarage Makespan Per Task");
-
-    public static <T extends Task, S extends SchedulingAlgorithm> CsvFile evaluateWorkflowWithDeadlineConstrain(
-            CsvFile csvWriter,
+            "Avarage Makespan Per Task",
+            "Makespan Lower Bound",
+            "Makespan Optimality Gap (%)",
+            "Cost Lower Bound",
+            "Cost Optimality Gap (%)");
+
+    public static <T extends Task, S extends SchedulingAlgorithm> ResultSink evaluateWorkflowWithDeadlineConstrain(
+            ResultSink csvWriter,
             TaskFactory<T> taskFactory,
             String algorithmName,
             AlgorithmScheduler<T, S> scheduler) throws IOException {
 
+        if (scheduleCache != null) {
+            scheduler = new CachingAlgorithmScheduler<>(algorithmName, scheduler, scheduleCache);
+        }
+
         csvWriter.addRow(Arrays.asList("Algorithm", "Workflow", "Workflow Kind", "VM Configuration"));
         csvWriter.addRow(Arrays.asList(algorithmName, "Epigenomics", "Huge Pipline Differences", "One of Each Kind"));
         csvWriter.addNewLine();
@@ -60,8 +82,12 @@ public class Main {
             vmsOneOfEach = getVMConfig(1);
 
             workflowDeadline = Math.floor(minDeadlineEpigenomicsWorkflowWithHugePipDifferences * relaxDeadlineConstraint);
+            ScheduleBounds bounds = ScheduleBounds.of(currentTasks, vmsOneOfEach, tau);
+            ScheduleMetrics metrics = new ScheduleMetrics(tau, workflowDeadline);
+            metrics.attach(vmsOneOfEach);
             vmsWithScheduledTasks = scheduler.schedule(currentTasks, vmsOneOfEach, tau, (int) Math.floor(workflowDeadline));
-            evaluationResults = getEvaluationResults(vmsWithScheduledTasks, currentTasks.size(), tau, workflowDeadline);
+            SchedulerInstrumentation.printSummary(algorithmName + ", deadline " + workflowDeadline, System.out);
+            evaluationResults = getEvaluationResults(metrics, bounds, currentTasks.size(), reporter);
             csvWriter.addRow(evaluationResults);
         }
 
@@ -77,8 +103,12 @@ public class Main {
             vmsOneOfEach = getVMConfig(1);
 
             workflowDeadline = Math.floor(minDeadlineEpigenomicsWorkflowWithBalancedPipLoad * relaxDeadlineConstraint);
+            ScheduleBounds bounds = ScheduleBounds.of(currentTasks, vmsOneOfEach, tau);
+            ScheduleMetrics metrics = new ScheduleMetrics(tau, workflowDeadline);
+            metrics.attach(vmsOneOfEach);
             vmsWithScheduledTasks = scheduler.schedule(currentTasks, vmsOneOfEach, tau, (int) Math.floor(workflowDeadline));
-            evaluationResults = getEvaluationResults(vmsWithScheduledTasks, currentTasks.size(), tau, workflowDeadline);
+            SchedulerInstrumentation.printSummary(algorithmName + ", deadline " + workflowDeadline, System.out);
+            evaluationResults = getEvaluationResults(metrics, bounds, currentTasks.size(), reporter);
             csvWriter.addRow(evaluationResults);
         }
 
@@ -86,11 +116,14 @@ public class Main {
     }
 
 
+    /**
+     * The results file is given as first argument, its extension selects the format (.csv, .jsonl or .bin).
+     */
     public static void main(String[] args) {
-        String evaluationResultsFilePath = "/home/vincent/Desktop/EvaluationResults/evaluationResults.csv";
+        String evaluationResultsFilePath = args.length > 0 ? args[0] : "evaluationResults.csv";
 
         try {
-            CsvFile csvWriter = new CsvFile(evaluationResultsFilePath);
+            ResultSink csvWriter = ResultSink.open(evaluationResultsFilePath);
 
             // TaskFactory for HEFT
             TaskFactory<TaskHEFT> heftTaskFactory = (id, din, dout, mi, parents, children, hardwareType) ->
@@ -131,7 +164,7 @@ public class Main {
             csvWriter.close();
 
         } catch (IOException e) {
-            System.err.println("Error during writing to CSV file: " + e.getMessage());
+            System.err.println("Error during writing the evaluation results: " + e.getMessage());
             e.printStackTrace();
         }
     }
@@ -0,0 +1,28 @@
+package org.vf.src;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+/**
+ * Best schedule an algorithm found within a wall-clock budget.
+ *
+ * @param vms               the scheduled VMs, always a complete and feasible schedule
+ * @param completedFraction share of the improvement work that finished before the budget expired, 1.0 if all of it did
+ * @param elapsedNanos      wall-clock time the algorithm took, including the initial schedule
+ */
+public record BudgetedSchedule(ArrayList<VM> vms, double completedFraction, long elapsedNanos) {
+
+    public boolean isComplete() {
+        return completedFraction >= 1.0;
+    }
+
+    /**
+     * The {@link System#nanoTime()} at which a budget started at startNanos expires, saturated for budgets too
+     * long to be represented in nanoseconds.
+     */
+    public static long getBudgetEndNanos(long startNanos, Duration budget) {
+        if (budget.isNegative()) throw new IllegalArgumentException("The budget must not be negative: " + budget);
+        long budgetNanos = budget.compareTo(Duration.ofNanos(Long.MAX_VALUE)) >= 0 ? Long.MAX_VALUE : budget.toNanos();
+        return startNanos > 0 && budgetNanos > Long.MAX_VALUE - startNanos ? Long.MAX_VALUE : startNanos + budgetNanos;
+    }
+}
@@ -0,0 +1,192 @@
+package org.vf.src;
+
+import org.vf.src.billing.BillingModel;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Groups the VMs of a pool into instance classes of identical (c, w, gsr, gsw, typ) and billing model.
+ *
+ * Idle VMs of a class are interchangeable, so schedulers only need to evaluate the busy VMs plus one idle
+ * representative per class. {@link #getCandidates(HardwareType)} returns exactly these VMs, in pool order, so
+ * tie-breaking between candidates is the same as when iterating the whole pool. The number of candidates therefore
+ * grows with the number of used VMs and classes, not with the pool size.
+ *
+ * A VM is moved to the busy VMs as soon as it has slots. With elastic provisioning a new instance of a class is
+ * appended to the caller's pool list whenever its last idle VM was taken, so every class always offers an idle
+ * instance. {@link #reset()} removes the provisioned VMs without slots again, so repeated schedulings on cleared
+ * schedules start from the original pool instead of piling up idle instances.
+ */
+public class InstanceClassIndex {
+
+    private record InstanceClass(double c, double w, double gsr, double gsw, HardwareType typ, BillingModel billingModel) {
+        static InstanceClass of(VM vm) {
+            return new InstanceClass(vm.getC(), vm.getW(), vm.getGsr(), vm.getGsw(), vm.getTyp(), vm.getBillingModel());
+        }
+    }
+
+    private static class ClassState {
+        final VM prototype;
+        final ArrayDeque<VM> idleVMs = new ArrayDeque<>();
+
+        ClassState(VM prototype) {
+            this.prototype = prototype;
+        }
+    }
+
+    private final List<VM> vms;
+    private final boolean elastic;
+    private final int numOfInitialVMs;
+    private final Map<VM, Integer> poolIndices = new IdentityHashMap<>();
+    private final Map<HardwareType, List<ClassState>> classesByTyp = new EnumMap<>(HardwareType.class);
+    private final Map<HardwareType, ArrayList<VM>> busyVMsByTyp = new EnumMap<>(HardwareType.class);
+    private final Map<HardwareType, ArrayList<VM>> candidatesByTyp = new EnumMap<>(HardwareType.class);
+    private final ArrayList<VM> representatives = new ArrayList<>();
+    private final ArrayList<VM> flexibleCandidates = new ArrayList<>();
+    private final Comparator<VM> byPoolIndex = Comparator.comparingInt(poolIndices::get);
+
+    public InstanceClassIndex(List<VM> vms) {
+        this(vms, false);
+    }
+
+    /**
+     * @param elastic add new VMs to the pool when a class runs out of idle instances
+     */
+    public InstanceClassIndex(List<VM> vms, boolean elastic) {
+        this.vms = vms;
+        this.elastic = elastic;
+        this.numOfInitialVMs = vms.size();
+        reset();
+    }
+
+    /**
+     * Rebuilds the index from the current schedules, e.g. after the schedules were cleared.
+     * Provisioned VMs without slots are removed from the pool.
+     */
+    public void reset() {
+        if (elastic && vms.size() > numOfInitialVMs) {
+            vms.subList(numOfInitialVMs, vms.size()).removeIf(vm -> vm.getSchedule().isEmpty());
+        }
+        poolIndices.clear();
+        classesByTyp.clear();
+        busyVMsByTyp.clear();
+        Map<InstanceClass, ClassState> classes = new HashMap<>();
+
+        for (int i = 0; i < vms.size(); i++) {
+            VM vm = vms.get(i);
+            poolIndices.put(vm, i);
+            ClassState state = classes.computeIfAbsent(InstanceClass.of(vm), key -> {
+                ClassState newState = new ClassState(vm);
+                classesByTyp.computeIfAbsent(vm.getTyp(), typ -> new ArrayList<>()).add(newState);
+                return newState;
+            });
+            if (vm.getSchedule().isEmpty()) {
+                state.idleVMs.add(vm);
+            } else {
+                busyVMsByTyp.computeIfAbsent(vm.getTyp(), typ -> new ArrayList<>()).add(vm);
+            }
+        }
+    }
+
+    /**
+     * Busy VMs of the type and one idle VM per instance class, in pool order.
+     * The returned list is reused by the next call for the same type.
+     */
+    public List<VM> getCandidates(HardwareType typ) {
+        ArrayList<VM> busyVMs = busyVMsByTyp.computeIfAbsent(typ, key -> new ArrayList<>());
+        List<ClassState> classes = classesByTyp.getOrDefault(typ, List.of());
+
+        representatives.clear();
+        for (ClassState state : classes) {
+            // Idle VMs that received slots since the last call become busy.
+            while (!state.idleVMs.isEmpty() && !state.idleVMs.peekFirst().getSchedule().isEmpty()) {
+                insertInPoolOrder(busyVMs, state.idleVMs.pollFirst());
+            }
+            if (state.idleVMs.isEmpty() && elastic) {
+                VM vm = VM.createInstanceOf(state.prototype);
+                poolIndices.put(vm, vms.size());
+                vms.add(vm);
+                state.idleVMs.add(vm);
+            }
+            if (!state.idleVMs.isEmpty()) {
+                representatives.add(state.idleVMs.peekFirst());
+            }
+        }
+        if (representatives.size() > 1) {
+            representatives.sort(byPoolIndex);
+        }
+
+        ArrayList<VM> candidates = candidatesByTyp.computeIfAbsent(typ, key -> new ArrayList<>());
+        candidates.clear();
+        int b = 0;
+        int r = 0;
+        while (b < busyVMs.size() || r < representatives.size()) {
+            if (r == representatives.size()
+                    || (b < busyVMs.size() && poolIndices.get(busyVMs.get(b)) < poolIndices.get(representatives.get(r)))) {
+                candidates.add(busyVMs.get(b++));
+            } else {
+                candidates.add(representatives.get(r++));
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Candidates of the task's type, for a task that can run on several types the candidates of all of them
+     * in pool order. The returned list is reused by the next call.
+     */
+    public List<VM> getCandidates(Task task) {
+        if (!task.isFlexible()) {
+            return getCandidates(task.getTyp());
+        }
+        flexibleCandidates.clear();
+        for (HardwareType typ : HardwareType.values()) {
+            if (task.canRunOn(typ)) {
+                flexibleCandidates.addAll(getCandidates(typ));
+            }
+        }
+        // The lists of the types are sorted runs, which the sort merges in linear time.
+        flexibleCandidates.sort(byPoolIndex);
+        return flexibleCandidates;
+    }
+
+    private void insertInPoolOrder(ArrayList<VM> busyVMs, VM vm) {
+        int index = poolIndices.get(vm);
+        int low = 0;
+        int high = busyVMs.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (poolIndices.get(busyVMs.get(mid)) < index) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        busyVMs.add(low, vm);
+    }
+
+    public int getNumOfClasses() {
+        int numOfClasses = 0;
+        for (List<ClassState> classes : classesByTyp.values()) {
+            numOfClasses += classes.size();
+        }
+        return numOfClasses;
+    }
+
+    public int getNumOfBusyVMs() {
+        int numOfBusyVMs = 0;
+        for (List<VM> busyVMs : busyVMsByTyp.values()) {
+            numOfBusyVMs += busyVMs.size();
+        }
+        return numOfBusyVMs;
+    }
+
+    public boolean isElastic() { return elastic; }
+}
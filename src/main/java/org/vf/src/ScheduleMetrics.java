@@ -0,0 +1,209 @@
+package org.vf.src;
+
+import org.vf.src.billing.BillingModel;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Accumulates the evaluation metrics of a schedule while slots are committed to the VMs.
+ * Attached VMs report every added, removed or cleared slot to their {@link VmMetrics}, so makespan, total cost,
+ * busy time and active span are available in O(#VMs) once scheduling is done, without re-reading the schedules.
+ *
+ * Cost follows {@link VM#calculateTotalCost(int)}: the billing model of the VM, by default every billing period of
+ * length tau touched by a slot is paid once.
+ * Slots must not be modified in place after they were committed.
+ */
+public class ScheduleMetrics {
+
+    private final int tau;
+    private final double workflowDeadline;
+    private final List<VmMetrics> vmMetrics = new ArrayList<>();
+
+    public ScheduleMetrics(int tau, double workflowDeadline) {
+        this.tau = tau;
+        this.workflowDeadline = workflowDeadline;
+    }
+
+    /**
+     * Builds the metrics of already scheduled VMs in a single pass over their slots.
+     */
+    public static ScheduleMetrics of(List<VM> scheduledVMs, int tau, double workflowDeadline) {
+        ScheduleMetrics metrics = new ScheduleMetrics(tau, workflowDeadline);
+        for (VM vm : scheduledVMs) {
+            metrics.collect(vm);
+        }
+        return metrics;
+    }
+
+    private VmMetrics collect(VM vm) {
+        VmMetrics metrics = new VmMetrics(vm);
+        vmMetrics.add(metrics);
+        for (VM.TimeSlot slot : vm.getSchedule()) {
+            metrics.onSlotAdded(slot);
+        }
+        return metrics;
+    }
+
+    /**
+     * Registers this accumulator on the VMs, existing slots are taken over. A VM reports to one accumulator at a time.
+     */
+    public void attach(List<VM> vms) {
+        for (VM vm : vms) {
+            vm.setMetrics(collect(vm));
+        }
+    }
+
+    public void detach() {
+        for (VmMetrics metrics : vmMetrics) {
+            if (metrics.vm.getMetrics() == metrics) {
+                metrics.vm.setMetrics(null);
+            }
+        }
+    }
+
+    public int getTau() { return tau; }
+    public double getWorkflowDeadline() { return workflowDeadline; }
+    public List<VmMetrics> getVmMetrics() { return vmMetrics; }
+
+    public double getTotalCost() {
+        double totalCost = 0.0;
+        for (VmMetrics metrics : vmMetrics) {
+            totalCost += metrics.getCost();
+        }
+        return totalCost;
+    }
+
+    public double getTotalBusyTime() {
+        double totalBusyTime = 0.0;
+        for (VmMetrics metrics : vmMetrics) {
+            totalBusyTime += metrics.getBusyTime();
+        }
+        return totalBusyTime;
+    }
+
+    public int getNumOfSlots() {
+        int numOfSlots = 0;
+        for (VmMetrics metrics : vmMetrics) {
+            numOfSlots += metrics.getNumOfSlots();
+        }
+        return numOfSlots;
+    }
+
+    public double getMakespan() {
+        double makespan = 0.0;
+        for (VmMetrics metrics : vmMetrics) {
+            makespan = Math.max(makespan, metrics.getLastEnd());
+        }
+        return makespan;
+    }
+
+    /**
+     * Sum of (last end - first start) over all used VMs.
+     */
+    public double getTotalActiveSpan() {
+        double totalActiveSpan = 0.0;
+        for (VmMetrics metrics : vmMetrics) {
+            totalActiveSpan += metrics.getActiveSpan();
+        }
+        return totalActiveSpan;
+    }
+
+    /**
+     * Busy time relative to the active span of the used VMs, in percent.
+     */
+    public double getResourceUtilization() {
+        double totalActiveSpan = getTotalActiveSpan();
+        return totalActiveSpan > 0 ? (getTotalBusyTime() / totalActiveSpan) * 100.0 : 0.0;
+    }
+
+    public boolean isWithinDeadline() {
+        return getMakespan() <= workflowDeadline;
+    }
+
+    /**
+     * Metrics of a single VM.
+     */
+    public class VmMetrics {
+        private final VM vm;
+        private final BillingModel.State billing;
+        private double busyTime;
+        private int numOfSlots;
+        private double firstStart = Double.POSITIVE_INFINITY;
+        private double lastEnd = 0.0;
+        // Set when the slot defining firstStart/lastEnd was removed, the bounds are then recomputed on demand.
+        private boolean boundsStale;
+
+        private VmMetrics(VM vm) {
+            this.vm = vm;
+            this.billing = vm.getEffectiveBillingModel(tau).newState(vm);
+        }
+
+        void onSlotAdded(VM.TimeSlot slot) {
+            busyTime += slot.getEt();
+            numOfSlots++;
+            firstStart = Math.min(firstStart, slot.getStart());
+            lastEnd = Math.max(lastEnd, slot.getEnd());
+            billing.add(slot.getStart(), slot.getEnd());
+        }
+
+        void onSlotRemoved(VM.TimeSlot slot) {
+            busyTime -= slot.getEt();
+            numOfSlots--;
+            if (numOfSlots == 0) {
+                // No rounding residue of the running sum on an emptied VM
+                busyTime = 0.0;
+            }
+            if (slot.getStart() <= firstStart || slot.getEnd() >= lastEnd) {
+                boundsStale = true;
+            }
+            billing.remove(slot.getStart(), slot.getEnd());
+        }
+
+        void onScheduleCleared() {
+            billing.clear();
+            busyTime = 0.0;
+            numOfSlots = 0;
+            firstStart = Double.POSITIVE_INFINITY;
+            lastEnd = 0.0;
+            boundsStale = false;
+        }
+
+        private void refreshBounds() {
+            if (!boundsStale) return;
+            firstStart = Double.POSITIVE_INFINITY;
+            lastEnd = 0.0;
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                firstStart = Math.min(firstStart, slot.getStart());
+                lastEnd = Math.max(lastEnd, slot.getEnd());
+            }
+            boundsStale = false;
+        }
+
+        public VM getVm() { return vm; }
+        public ScheduleMetrics getScheduleMetrics() { return ScheduleMetrics.this; }
+        public double getBusyTime() { return busyTime; }
+        public int getNumOfSlots() { return numOfSlots; }
+        public double getBilledTime() { return billing.getBilledTime(); }
+        public double getCost() { return billing.getCost(); }
+
+        /**
+         * Billed time in periods of length tau, the number of rented periods with per-period billing.
+         */
+        public int getNumOfRentedPeriods() { return (int) Math.round(billing.getBilledTime() / tau); }
+
+        public double getFirstStart() {
+            refreshBounds();
+            return firstStart;
+        }
+
+        public double getLastEnd() {
+            refreshBounds();
+            return lastEnd;
+        }
+
+        public double getActiveSpan() {
+            return numOfSlots == 0 ? 0.0 : getLastEnd() - getFirstStart();
+        }
+    }
+}
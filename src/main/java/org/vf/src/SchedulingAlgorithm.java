@@ -1,7 +1,19 @@
 package org.vf.src;
 
+import java.time.Duration;
 import java.util.ArrayList;
 
 public interface SchedulingAlgorithm {
     ArrayList<VM> scheduler();
+
+    /**
+     * Anytime variant of {@link #scheduler()}: a feasible schedule is built first, improvement phases then run
+     * until the budget expires and the best schedule so far is returned.
+     * Algorithms without improvement phases run to completion regardless of the budget.
+     */
+    default BudgetedSchedule scheduler(Duration budget) {
+        long start = System.nanoTime();
+        ArrayList<VM> scheduledVMs = scheduler();
+        return new BudgetedSchedule(scheduledVMs, 1.0, System.nanoTime() - start);
+    }
 }
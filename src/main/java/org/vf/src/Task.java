@@ -1,5 +1,6 @@
 package org.vf.src;
 
+import java.util.Arrays;
 import java.util.List;
 
 public class Task {
@@ -15,6 +16,12 @@ public class Task {
     private List<Integer> children;
     private Status status = Status.UNSCHEDULED;
     private HardwareType typ;
+    // Work per hardware type indexed by ordinal, NaN where the task cannot run; null while it only runs on typ.
+    private double[] miByTyp;
+    // Data of the edges that carry their own volume, aligned with parents and children, NaN for the other edges;
+    // null while every child reads the whole dout of its parent.
+    private double[] inputVolumes;
+    private double[] outputVolumes;
 
     protected Task(int id, double din, double dout, double mi, List<Integer> parents, List<Integer> children, HardwareType typ) {
         this.id = id;
@@ -43,6 +50,119 @@ public class Task {
         return mi;
     }
 
+    /**
+     * Work of the task on the hardware type, the work on its own type if it has no estimate for that type.
+     */
+    public double getMi(HardwareType typ) {
+        if (miByTyp == null) return mi;
+        double typMi = miByTyp[typ.ordinal()];
+        return Double.isNaN(typMi) ? mi : typMi;
+    }
+
+    public boolean canRunOn(HardwareType typ) {
+        return miByTyp == null ? typ == this.typ : !Double.isNaN(miByTyp[typ.ordinal()]);
+    }
+
+    /**
+     * True if the task can run on more than its own hardware type.
+     */
+    public boolean isFlexible() {
+        return miByTyp != null;
+    }
+
+    /**
+     * Makes the task eligible for the hardware type with the given work, e.g. a kernel that also runs on CPUs at
+     * a lower efficiency. The estimate for the task's own type replaces its mi.
+     */
+    public void setWorkEstimate(HardwareType typ, double mi) {
+        if (typ == this.typ) {
+            this.mi = mi;
+        }
+        if (miByTyp == null) {
+            if (typ == this.typ) return;
+            miByTyp = new double[HardwareType.values().length];
+            Arrays.fill(miByTyp, Double.NaN);
+            miByTyp[this.typ.ordinal()] = this.mi;
+        }
+        miByTyp[typ.ordinal()] = mi;
+    }
+
+    /**
+     * Takes over the work estimates of another task, for copies of a workflow created by a {@link TaskFactory}.
+     */
+    public void copyWorkEstimatesFrom(Task source) {
+        this.miByTyp = source.miByTyp == null ? null : source.miByTyp.clone();
+    }
+
+    /**
+     * Data the task reads from the parent at the index of its parent list, the parent's whole output unless the edge
+     * has its own volume.
+     */
+    public double getInputVolume(int parentIndex, Task parent) {
+        double volume = getEdgeVolumeFromParent(parentIndex);
+        return Double.isNaN(volume) ? parent.getDout() : volume;
+    }
+
+    /**
+     * Data the task sends to the child at the index of its child list, its whole output unless the edge has its own
+     * volume.
+     */
+    public double getOutputVolume(int childIndex) {
+        double volume = getEdgeVolumeToChild(childIndex);
+        return Double.isNaN(volume) ? dout : volume;
+    }
+
+    /**
+     * Data the task reads from the parent at the index of its parent list, NaN unless the edge has its own volume.
+     */
+    public double getEdgeVolumeFromParent(int parentIndex) {
+        return inputVolumes == null ? Double.NaN : inputVolumes[parentIndex];
+    }
+
+    /**
+     * Data the task sends to the child at the index of its child list, NaN unless the edge has its own volume.
+     */
+    public double getEdgeVolumeToChild(int childIndex) {
+        return outputVolumes == null ? Double.NaN : outputVolumes[childIndex];
+    }
+
+    /**
+     * True if an edge from or to the task has its own data volume.
+     */
+    public boolean hasEdgeVolumes() {
+        return inputVolumes != null || outputVolumes != null;
+    }
+
+    /**
+     * Sets the data the child reads from the parent, e.g. the part of a fan-out task's output one child consumes,
+     * instead of the parent's whole dout.
+     */
+    public static void setEdgeVolume(Task parent, Task child, double volume) {
+        int childIndex = parent.children.indexOf(child.id);
+        int parentIndex = child.parents.indexOf(parent.id);
+        if (childIndex < 0 || parentIndex < 0) {
+            throw new IllegalArgumentException("Task " + child.id + " is not a child of task " + parent.id);
+        }
+        if (parent.outputVolumes == null) parent.outputVolumes = newVolumes(parent.children.size());
+        if (child.inputVolumes == null) child.inputVolumes = newVolumes(child.parents.size());
+        parent.outputVolumes[childIndex] = volume;
+        child.inputVolumes[parentIndex] = volume;
+    }
+
+    private static double[] newVolumes(int numOfEdges) {
+        double[] volumes = new double[numOfEdges];
+        Arrays.fill(volumes, Double.NaN);
+        return volumes;
+    }
+
+    /**
+     * Takes over the edge volumes of another task with the same parent and child lists.
+     */
+    public void copyEdgeVolumesFrom(Task source) {
+        this.inputVolumes = source.inputVolumes == null ? null : source.inputVolumes.clone();
+        this.outputVolumes = source.outputVolumes == null ? null : source.outputVolumes.clone();
+    }
+
     public List<Integer> getParents() {
         return parents;
     }
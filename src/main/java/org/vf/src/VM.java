@@ -1,6 +1,12 @@
 package org.vf.src;
 
 
+import org.vf.src.billing.BillingModel;
+import org.vf.src.billing.PeriodBilling;
+import org.vf.src.instrumentation.SchedulerInstrumentation;
+import org.vf.src.instrumentation.SchedulingCounter;
+import org.vf.src.instrumentation.SchedulingPhase;
+
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -13,6 +19,10 @@ public class VM {
     private final double gsr;// Read Storage Speed
     private final double gsw;// Write Storage Speed
     private final List<TimeSlot> schedule;
+    private ScheduleMetrics.VmMetrics metrics;
+    private BillingModel billingModel; // null: per-period billing with the tau of each cost query
+    private BillingModel billingStateModel;
+    private BillingModel.State billingState;
     private static int nextVmId = 1;
 
     public VM(int id, double c, double w, double gsr, double gsw) {
@@ -45,6 +55,8 @@ public class VM {
         this.w = source.w;
         this.gsr = source.gsr;
         this.gsw = source.gsw;
+        this.typ = source.typ;
+        this.billingModel = source.billingModel;
         this.schedule = source.schedule.stream()
                 .map(TimeSlot::new)
                 .collect(Collectors.toList());
@@ -90,6 +102,7 @@ public class VM {
 
     // --- VM Getters ---
     public int getId() { return id; }
+    public String getName() { return name; }
     public double getC() { return c; }
     public double getW() { return w; }
     public double getGsr() { return gsr; }
@@ -98,6 +111,8 @@ public class VM {
         return typ;
     }
     public List<TimeSlot> getSchedule() { return schedule; }
+    public ScheduleMetrics.VmMetrics getMetrics() { return metrics; }
+    void setMetrics(ScheduleMetrics.VmMetrics metrics) { this.metrics = metrics; }
 
     // --- Custom VMs ---
     public static VM createE2MicroVM() {
@@ -156,78 +171,112 @@ public class VM {
         return new VM(nextVmId++, "GPU-H200", costPerHour, fp64TFLOPS, readSpeed, writeSpeed, HardwareType.GPU);
     }
 
+    /**
+     * New VM with a fresh id and the same specs as the prototype.
+     */
+    public static VM createInstanceOf(VM prototype) {
+        VM vm = new VM(nextVmId++, prototype.name, prototype.c, prototype.w, prototype.gsr, prototype.gsw, prototype.typ);
+        vm.billingModel = prototype.billingModel;
+        return vm;
+    }
+
     public void clearSchedule() {
         this.schedule.clear();
+        if (billingState != null) {
+            billingState.clear();
+        }
+        if (metrics != null) {
+            metrics.onScheduleCleared();
+        }
     }
 
+    public BillingModel getBillingModel() { return billingModel; }
+
     /**
-     * Calculates the total cost of all tasks scheduled on this VM.
-     * It calculates the total number of unique billing periods rented.
+     * Sets how this VM is charged, null for per-period billing with the tau passed to the cost methods.
      */
-    public double calculateTotalCost(int tau) {
-        if (schedule.isEmpty()) {
-            return 0.0;
-        }
+    public void setBillingModel(BillingModel billingModel) {
+        this.billingModel = billingModel;
+        this.billingStateModel = null;
+        this.billingState = null;
+    }
 
-        Set<Integer> rentedPeriods = new HashSet<>();
-        for (TimeSlot slot : schedule) {
-            int startPeriod = (int) Math.floor(slot.start / tau);
-            int endPeriodIndex = (int) Math.ceil(slot.end / tau);
-            for (int i = startPeriod; i < endPeriodIndex; i++) {
-                rentedPeriods.add(i);
-            }
+    /**
+     * The billing model of this VM, per-period billing with the given tau if none was set.
+     */
+    public BillingModel getEffectiveBillingModel(double tau) {
+        if (billingModel != null) return billingModel;
+        if (!(billingStateModel instanceof PeriodBilling period && period.isUniformPrice() && period.getTau() == tau)) {
+            // Kept for the next query with the same tau, the state is rebuilt on its first use.
+            billingStateModel = BillingModel.perPeriod(tau);
+            billingState = null;
         }
-        return rentedPeriods.size() * this.c;
+        return billingStateModel;
     }
 
     /**
-     * Calculates the financial cost of scheduling a task at a specific time.
+     * Incremental billing state of the effective billing model, rebuilt from the schedule when the model changes.
      */
-    public double vmCalculateFinancialCost(double taskStartTime, double taskFinishTime, double tau) {
-        Set<Integer> rentedPeriods = new HashSet<>();
-        for (TimeSlot existingSlot : this.schedule) {
-            int startPeriod = (int) Math.floor(existingSlot.start / tau);
-            int endPeriodIndex = (int) Math.ceil(existingSlot.end / tau);
-            for (int i = startPeriod; i < endPeriodIndex; i++) {
-                rentedPeriods.add(i);
+    private BillingModel.State getBillingState(double tau) {
+        BillingModel model = getEffectiveBillingModel(tau);
+        if (billingState == null || billingStateModel != model) {
+            billingStateModel = model;
+            billingState = model.newState(this);
+            for (TimeSlot slot : schedule) {
+                billingState.add(slot.start, slot.end);
             }
         }
+        return billingState;
+    }
 
-        int newStartPeriod = (int) Math.floor(taskStartTime / tau);
-        int newEndPeriodIndex = (int) Math.ceil(taskFinishTime / tau);
-        int additionalPeriodsToRent = 0;
-        for (int i = newStartPeriod; i < newEndPeriodIndex; i++) {
-            if (!rentedPeriods.contains(i)) {
-                additionalPeriodsToRent++;
-            }
+    /**
+     * Calculates the total cost of all tasks scheduled on this VM under its billing model.
+     * With the default per-period billing this is the number of unique billing periods rented.
+     */
+    public double calculateTotalCost(int tau) {
+        SchedulerInstrumentation.count(SchedulingCounter.BILLING_COST_EVALUATIONS);
+        if (schedule.isEmpty()) {
+            return 0.0;
         }
-        return additionalPeriodsToRent * this.getC();
+        return getBillingState(tau).getCost();
+    }
+
+    /**
+     * Calculates the financial cost of scheduling a task at a specific time, i.e. the marginal cost under the
+     * billing model. The billing state is kept up to date with the schedule, so the schedule is not re-read.
+     */
+    public double vmCalculateFinancialCost(double taskStartTime, double taskFinishTime, double tau) {
+        SchedulerInstrumentation.count(SchedulingCounter.BILLING_COST_EVALUATIONS);
+        return getBillingState(tau).getMarginalCost(taskStartTime, taskFinishTime);
     }
 
     /**
      * Finds the most cost-effective placement for a task on this VM by checking all valid idle gaps.
+     * Gaps that close before earliestStartTime + executionTime cannot hold the task and are skipped by a binary search.
+     * The gaps open later and later, so the walk stops at the first gap the task cannot leave before the deadline.
+     * The gaps are walked in place and only the winning placement becomes a TimeSlot.
      */
     public TimeSlot findBestSlotForTask(Task task, double executionTime, double earliestStartTime, double deadline, double tau) {
-        TimeSlot bestSlot = null;
+        SchedulerInstrumentation.Span span = SchedulerInstrumentation.begin(SchedulingPhase.FIND_BEST_SLOT);
+        double bestStart = Double.NaN;
         double minCost = Double.POSITIVE_INFINITY;
-
-        // Generate all possible idle time windows where the task could fit.
-        List<double[]> idleWindows = new ArrayList<>();
-        double lastFinishTime = 0.0;
-        schedule.sort(Comparator.comparingDouble(TimeSlot::getStart));
-
-        for (TimeSlot scheduledSlot : schedule) {
-            if (scheduledSlot.start > lastFinishTime) {
-                idleWindows.add(new double[]{lastFinishTime, scheduledSlot.start});
+        int numOfIdleWindows = 0;
+
+        int firstIndex = indexOfFirstStartAtLeast(earliestStartTime + executionTime);
+        double lastFinishTime = firstIndex == 0 ? 0.0 : schedule.get(firstIndex - 1).end;
+
+        // Check every idle window where the task could fit, the last one is the gap after the last task.
+        for (int i = firstIndex; i <= schedule.size(); i++) {
+            double windowStart = lastFinishTime;
+            if (Math.max(earliestStartTime, windowStart) + executionTime > deadline) break;
+            double windowEnd = Double.MAX_VALUE;
+            if (i < schedule.size()) {
+                TimeSlot scheduledSlot = schedule.get(i);
+                windowEnd = scheduledSlot.start;
+                lastFinishTime = scheduledSlot.end;
+                if (windowEnd <= windowStart) continue;
             }
-            lastFinishTime = scheduledSlot.end;
-        }
-        idleWindows.add(new double[]{lastFinishTime, Double.MAX_VALUE}); // The gap after the last task
-
-        // Check every idle window for the best placement.
-        for (double[] window : idleWindows) {
-            double windowStart = window[0];
-            double windowEnd = window[1];
+            numOfIdleWindows++;
 
             // The task cannot start before its dependencies are met OR before the window opens.
             double effectiveStartTime = Math.max(earliestStartTime, windowStart);
@@ -240,7 +289,7 @@ public class VM {
                 double cost = vmCalculateFinancialCost(actualStart1, finishTime1, tau);
                 if (cost < minCost) {
                     minCost = cost;
-                    bestSlot = new TimeSlot(actualStart1, finishTime1, task, deadline, cost);
+                    bestStart = actualStart1;
                 }
             }
 
@@ -255,12 +304,14 @@ public class VM {
                     double cost = vmCalculateFinancialCost(actualStart2, finishTime2, tau);
                     if (cost < minCost) {
                         minCost = cost;
-                        bestSlot = new TimeSlot(actualStart2, finishTime2, task, deadline, cost);
+                        bestStart = actualStart2;
                     }
                 }
             }
         }
-        return bestSlot;
+        SchedulerInstrumentation.count(SchedulingCounter.GAP_SCANS, numOfIdleWindows);
+        SchedulerInstrumentation.end(span, "VM");
+        return Double.isNaN(bestStart) ? null : new TimeSlot(bestStart, bestStart + executionTime, task, deadline, minCost);
     }
 
     /**
@@ -277,24 +328,26 @@ public class VM {
 
     /**
      * Finds the first available start time for a new task.
+     * Slots starting before earliestStartTime + duration leave no room in front of them, the scan starts behind them.
      */
     public double findEarliestAvailableStartTime(double duration, double earliestStartTime) {
-        schedule.sort(Comparator.comparingDouble(TimeSlot::getStart));
-        double lastFinishTime = 0.0;
-
-        // Check gap before the first task
-        double potentialStart = Math.max(earliestStartTime, lastFinishTime);
-        if (schedule.isEmpty()) {
-            return potentialStart;
-        }
-        if (potentialStart + duration <= schedule.get(0).start) {
-            return potentialStart;
-        }
-        lastFinishTime = schedule.get(0).end;
+        return findEarliestAvailableStartTime(duration, earliestStartTime, Double.POSITIVE_INFINITY);
+    }
 
-        // Check gaps between existing tasks
-        for (int i = 1; i < schedule.size(); i++) {
-            potentialStart = Math.max(earliestStartTime, lastFinishTime);
+    /**
+     * Same as {@link #findEarliestAvailableStartTime(double, double)}, but the scan stops behind latestStartTime.
+     * Returns positive infinity if the task cannot start until then.
+     */
+    public double findEarliestAvailableStartTime(double duration, double earliestStartTime, double latestStartTime) {
+        int firstIndex = indexOfFirstStartAtLeast(earliestStartTime + duration);
+        double lastFinishTime = firstIndex == 0 ? 0.0 : schedule.get(firstIndex - 1).end;
+
+        // Check the gaps in front of the remaining tasks
+        for (int i = firstIndex; i < schedule.size(); i++) {
+            double potentialStart = Math.max(earliestStartTime, lastFinishTime);
+            if (potentialStart > latestStartTime) {
+                return Double.POSITIVE_INFINITY;
+            }
             if (potentialStart + duration <= schedule.get(i).start) {
                 return potentialStart;
             }
@@ -302,11 +355,71 @@ public class VM {
         }
 
         // If no gap found, schedule it after the very last task
-        return Math.max(earliestStartTime, lastFinishTime);
+        double start = Math.max(earliestStartTime, lastFinishTime);
+        return start > latestStartTime ? Double.POSITIVE_INFINITY : start;
     }
 
+    /**
+     * Inserts the slot behind all slots with the same or an earlier start, the schedule stays sorted by start time.
+     */
     public void addSlotToSchedule(TimeSlot newSlot) {
-        this.schedule.add(newSlot);
-        this.schedule.sort(Comparator.comparingDouble(slot -> slot.start));
+        int index = schedule.size();
+        if (index > 0 && schedule.get(index - 1).start > newSlot.start) {
+            index = indexOfFirstStartAfter(newSlot.start);
+        }
+        this.schedule.add(index, newSlot);
+        if (billingState != null) {
+            billingState.add(newSlot.start, newSlot.end);
+        }
+        if (metrics != null) {
+            metrics.onSlotAdded(newSlot);
+        }
+    }
+
+    public boolean removeSlotFromSchedule(TimeSlot slot) {
+        for (int i = indexOfFirstStartAtLeast(slot.start); i < schedule.size() && schedule.get(i).start == slot.start; i++) {
+            if (schedule.get(i) == slot) {
+                schedule.remove(i);
+                if (billingState != null) {
+                    billingState.remove(slot.start, slot.end);
+                }
+                if (metrics != null) {
+                    metrics.onSlotRemoved(slot);
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Index of the first slot starting at or after the given time, the schedule size if there is none.
+     */
+    private int indexOfFirstStartAtLeast(double time) {
+        int low = 0;
+        int high = schedule.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (schedule.get(mid).start < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int indexOfFirstStartAfter(double time) {
+        int low = 0;
+        int high = schedule.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (schedule.get(mid).start <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
     }
-}
\ No newline at end of file
+}
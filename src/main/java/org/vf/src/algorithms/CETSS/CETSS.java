@@ -1,18 +1,25 @@
 package org.vf.src.algorithms.CETSS;
 
 
+import org.vf.src.BudgetedSchedule;
 import org.vf.src.HardwareType;
+import org.vf.src.InstanceClassIndex;
 import org.vf.src.SchedulingAlgorithm;
 import org.vf.src.Task;
 import org.vf.src.VM;
+import org.vf.src.algorithms.CandidatePruner;
 import org.vf.src.algorithms.CETSS.UtilsCETSS.TaskVmPair;
 import org.vf.src.algorithms.CETSS.UtilsCETSS.LevelGroup;
+import org.vf.src.instrumentation.SchedulingPhase;
 
+import java.time.Duration;
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.vf.src.algorithms.CETSS.UtilsCETSS.*;
 import static org.vf.src.Task.Status.SCHEDULED;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.*;
+import static org.vf.src.instrumentation.SchedulingCounter.CANDIDATE_EVALUATIONS;
 
 public class CETSS implements SchedulingAlgorithm {
 
@@ -29,12 +36,25 @@ public class CETSS implements SchedulingAlgorithm {
 
     private final double [] te;
     private final double [] tl;
+    private final double teOfSinks;
+
+    private final InstanceClassIndex instanceClasses;
+    private CandidatePruner candidatePruner = CandidatePruner.fromSystemProperties();
 
     public CETSS(ArrayList<TaskCETSS> tasks, ArrayList<VM> vms, int tau, int workflowDeadline) {
+        this(tasks, vms, tau, workflowDeadline, false);
+    }
+
+    /**
+     * @param elastic provision a new VM of an instance class whenever its last idle VM gets a task,
+     *                the pool then only needs one VM per class
+     */
+    public CETSS(ArrayList<TaskCETSS> tasks, ArrayList<VM> vms, int tau, int workflowDeadline, boolean elastic) {
         this.tasks = tasks;
         this.vms = vms;
         this.tau = tau;
         this.workflowDeadline = workflowDeadline;
+        this.instanceClasses = new InstanceClassIndex(vms, elastic);
 
         // Initialize standard VM for CPU and GPU
         HashMap<HardwareType, ArrayList<VM>> vmsByHardwareTypMap = getVMSeparatedByHardwareTyp(vms);
@@ -55,8 +75,31 @@ public class CETSS implements SchedulingAlgorithm {
         vmstMap.put(HardwareType.CPU, vmstCPU);
         vmstMap.put(HardwareType.GPU, vmstGPU);
 
+        Span rankingSpan = begin(SchedulingPhase.RANKING);
         this.te = getEarliestFinishTimes(this.tasks, vmstMap);
-        this.tl = getLatestFinishTimes(this.tasks, vmstMap);
+        this.tl = getLatestFinishTimes(this.tasks, vmstMap, this.te);
+        this.teOfSinks = getLatestSinkFinishTime(this.tasks, this.te);
+        end(rankingSpan, "CETSS");
+    }
+
+    /**
+     * Shares the deadline-independent precomputation (standard VMs, te and tl) of another instance
+     * for the same tasks and VMs, only the deadline differs.
+     */
+    public CETSS(CETSS source, int workflowDeadline) {
+        this.tasks = source.tasks;
+        this.vms = source.vms;
+        this.tau = source.tau;
+        this.workflowDeadline = workflowDeadline;
+        this.phiCPU = source.phiCPU;
+        this.phiGPU = source.phiGPU;
+        this.vmstCPU = source.vmstCPU;
+        this.vmstGPU = source.vmstGPU;
+        this.te = source.te;
+        this.tl = source.tl;
+        this.teOfSinks = source.teOfSinks;
+        this.instanceClasses = source.instanceClasses;
+        this.candidatePruner = source.candidatePruner;
     }
 
     public HashMap<HardwareType, ArrayList<VM>> getVMSeparatedByHardwareTyp(ArrayList<VM> vms){
@@ -82,6 +125,27 @@ public class CETSS implements SchedulingAlgorithm {
         return performTaskAdjustment();
     }
 
+    /**
+     * The greedy scheduling always completes. The task adjustment then runs pass after pass until the budget expires
+     * or a pass moves no task, a pass stops at the first task it reaches after the budget expired. The passes after
+     * the first weigh each task by what its VM currently saves without it, so every move lowers the total cost and
+     * the schedule is always the best found so far. A pass without moves is a local optimum, the run then returns
+     * early with completed fraction 1.0 and leaves the rest of the budget unused. Otherwise the completed fraction is
+     * the share of tasks the interrupted pass visited. Unbudgeted scheduling keeps the single adjustment pass of CETSS.
+     */
+    @Override
+    public BudgetedSchedule scheduler(Duration budget) {
+        long start = System.nanoTime();
+        long budgetEnd = BudgetedSchedule.getBudgetEndNanos(start, budget);
+        ArrayList<VM> scheduledVMs = getGreedyWorkflowScheduling();
+        AdjustmentPass pass = adjustTasks(scheduledVMs, budgetEnd);
+        while (pass.numOfVisitedTasks() == tasks.size() && pass.numOfMovedTasks() > 0) {
+            pass = adjustTasks(scheduledVMs, budgetEnd, true);
+        }
+        double completedFraction = pass.numOfVisitedTasks() == tasks.size() ? 1.0 : (double) pass.numOfVisitedTasks() / tasks.size();
+        return new BudgetedSchedule(scheduledVMs, completedFraction, System.nanoTime() - start);
+    }
+
     /**
      * Executes the greedy workflow scheduling algorithm based on the CETSS paper.
      */
@@ -93,6 +157,7 @@ public class CETSS implements SchedulingAlgorithm {
         for (VM vm : vms) {
             vm.clearSchedule();
         }
+        instanceClasses.reset();
 
         Map<Integer, LevelGroup> levelGroups = getLevelGroups(tasks);
         Queue<TaskCETSS> schedulableTasks = new LinkedList<>();
@@ -105,124 +170,216 @@ public class CETSS implements SchedulingAlgorithm {
             }
         }
 
+        Span candidateLoopSpan = begin(SchedulingPhase.GREEDY_CANDIDATE_LOOP);
         while (!schedulableTasks.isEmpty()) {
-            TaskVmPair bestChoice = null;
-
-            // Phase 1: Find the cheapest task-VM assignment that MEETS the subdeadline.
-            for (TaskCETSS task : schedulableTasks) {
-                LevelGroup levelGroup = levelGroups.get(task.getGroupLevel());
-                if (levelGroup == null) continue;
-                double subdeadline = levelGroup.getSubdeadline();
-
-                for (VM vm : vms) {
-                    if (vm.getTyp() == task.getTyp()){
-                        double executionTime = getExecutionTime(task, vm);
-                        double actualEST = vm.findEarliestAvailableStartTime(executionTime, task.getEarliestStartTime());
-                        double actualEFT = actualEST + executionTime;
-
-                        if (actualEFT <= subdeadline) {
-                            double financialCost = vm.vmCalculateFinancialCost(actualEST, actualEFT, this.tau);
-                            TaskVmPair candidate = new TaskVmPair(task, vm, financialCost, actualEST, actualEFT, executionTime);
-
-                            // If this candidate is cheaper, it's the new best choice.
-                            if (bestChoice == null || candidate.getFinancialCost() < bestChoice.getFinancialCost()) {
-                                bestChoice = candidate;
-                            } else if (candidate.getFinancialCost() == bestChoice.getFinancialCost()) {
-                                // Tie-breaking rule: if costs are equal, choose the one that finishes earlier.
-                                if (candidate.getEft() < bestChoice.getEft()) {
-                                    bestChoice = candidate;
-                                }
-                            }
-                        }
-                    }
+            TaskVmPair bestChoice = selectBestChoice(schedulableTasks, levelGroups);
 
-                }
+            if (bestChoice == null) {
+                System.err.println("Error: Could not determine a best choice for scheduling. Workflow might be stuck.");
+                end(candidateLoopSpan, "CETSS");
+                return vms;
             }
 
-            // Phase 2: If no assignment could meet its deadline (bestChoice is null),
-            // we must violate the deadline. Choose the assignment that finishes the earliest
-            // to minimize the extent of the violation.
-            if (bestChoice == null) {
-                TaskVmPair earliestFinishChoice = null;
-                for (TaskCETSS task : schedulableTasks) {
-                    for (VM vm : vms) {
-                        if (vm.getTyp() == task.getTyp()){
-                            double executionTime = getExecutionTime(task, vm);
-                            double actualEST = vm.findEarliestAvailableStartTime(executionTime, task.getEarliestStartTime());
-                            double actualEFT = actualEST + executionTime;
-                            double financialCost = vm.vmCalculateFinancialCost(actualEST, actualEFT, this.tau);
-                            TaskVmPair candidate = new TaskVmPair(task, vm, financialCost, actualEST, actualEFT, executionTime);
-
-                            if (earliestFinishChoice == null || candidate.getEft() < earliestFinishChoice.getEft()) {
-                                earliestFinishChoice = candidate;
-                            }
-                        }
+            scheduleChoice(bestChoice, levelGroups, schedulableTasks);
+        }
+        end(candidateLoopSpan, "CETSS");
+        return vms;
+    }
+
+    public CandidatePruner getCandidatePruner() { return candidatePruner; }
+    public void setCandidatePruner(CandidatePruner candidatePruner) { this.candidatePruner = candidatePruner; }
+
+    /**
+     * Subdeadline of the task as if it were the critical task of its level,
+     * i.e. the workflow deadline split in proportion to its earliest finish time on the standard VMs.
+     * The split is relative to the latest sink task, so it also holds for workflows with several exit tasks
+     * or an exit task that is not last in the list.
+     */
+    public double getTaskSubdeadline(int taskId) {
+        return getSubdeadline(te[taskId], teOfSinks, workflowDeadline);
+    }
+
+    /**
+     * Estimated time from the finish of the task to the finish of the workflow on the standard VMs.
+     */
+    double getTimeToFinish(int taskId) {
+        return teOfSinks - te[taskId];
+    }
+
+    private static double getLatestSinkFinishTime(List<TaskCETSS> tasks, double[] te) {
+        double teOfSinks = 0.0;
+        for (TaskCETSS task : tasks) {
+            if (task.getChildren().isEmpty()) teOfSinks = Math.max(teOfSinks, te[task.getId()]);
+        }
+        return teOfSinks;
+    }
+
+    /**
+     * Rebuilds the instance classes after the VM schedules were cleared outside of this planner.
+     */
+    void resetInstanceClasses() {
+        instanceClasses.reset();
+    }
+
+    /**
+     * Returns the cheapest task-VM assignment among the schedulable tasks that meets its level's subdeadline,
+     * or the earliest finishing one if none does. Null if no VM can run any of the tasks.
+     * Candidates are compared on primitives, only the winner becomes a TaskVmPair.
+     */
+    TaskVmPair selectBestChoice(Collection<TaskCETSS> schedulableTasks, Map<Integer, LevelGroup> levelGroups) {
+        TaskCETSS bestTask = null;
+        VM bestVm = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+        double bestEst = Double.POSITIVE_INFINITY;
+        double bestEft = Double.POSITIVE_INFINITY;
+        double bestEt = Double.POSITIVE_INFINITY;
+
+        // Phase 1: Find the cheapest task-VM assignment that MEETS the subdeadline.
+        for (TaskCETSS task : schedulableTasks) {
+            LevelGroup levelGroup = levelGroups.get(task.getGroupLevel());
+            if (levelGroup == null) continue;
+            double subdeadline = levelGroup.getSubdeadline();
+
+            // Idle copies of an instance class are interchangeable, only one of them is evaluated.
+            for (VM vm : candidatePruner.select(instanceClasses.getCandidates(task), task, task.getEarliestStartTime(), List.of())) {
+                double executionTime = getExecutionTime(task, vm);
+                if (candidatePruner.prune(task.getEarliestStartTime() + executionTime, subdeadline)
+                        || bestVm != null && candidatePruner.prune(CandidatePruner.getCostLowerBound(vm, executionTime, this.tau), bestCost)) {
+                    continue;
+                }
+                count(CANDIDATE_EVALUATIONS);
+                double actualEST = vm.findEarliestAvailableStartTime(executionTime, task.getEarliestStartTime());
+                double actualEFT = actualEST + executionTime;
+
+                if (actualEFT <= subdeadline) {
+                    double financialCost = vm.vmCalculateFinancialCost(actualEST, actualEFT, this.tau);
+
+                    // A cheaper candidate is the new best choice, on equal costs the one that finishes earlier.
+                    if (bestVm == null || financialCost < bestCost || financialCost == bestCost && actualEFT < bestEft) {
+                        bestTask = task;
+                        bestVm = vm;
+                        bestCost = financialCost;
+                        bestEst = actualEST;
+                        bestEft = actualEFT;
+                        bestEt = executionTime;
                     }
                 }
-                bestChoice = earliestFinishChoice;
             }
+        }
 
-            if (bestChoice == null) {
-                System.err.println("Error: Could not determine a best choice for scheduling. Workflow might be stuck.");
-                return vms;
+        // Phase 2: If no assignment could meet its deadline (bestVm is null),
+        // we must violate the deadline. Choose the assignment that finishes the earliest
+        // to minimize the extent of the violation.
+        if (bestVm == null) {
+            for (TaskCETSS task : schedulableTasks) {
+                for (VM vm : candidatePruner.select(instanceClasses.getCandidates(task), task, task.getEarliestStartTime(), List.of())) {
+                    double executionTime = getExecutionTime(task, vm);
+                    if (bestVm != null && candidatePruner.prune(task.getEarliestStartTime() + executionTime, bestEft)) {
+                        continue;
+                    }
+                    count(CANDIDATE_EVALUATIONS);
+                    double actualEST = vm.findEarliestAvailableStartTime(executionTime, task.getEarliestStartTime());
+                    double actualEFT = actualEST + executionTime;
+
+                    if (bestVm == null || actualEFT < bestEft) {
+                        bestTask = task;
+                        bestVm = vm;
+                        bestCost = vm.vmCalculateFinancialCost(actualEST, actualEFT, this.tau);
+                        bestEst = actualEST;
+                        bestEft = actualEFT;
+                        bestEt = executionTime;
+                    }
+                }
             }
+        }
+        return bestVm == null ? null : new TaskVmPair(bestTask, bestVm, bestCost, bestEst, bestEft, bestEt);
+    }
 
-            // --- Schedule the chosen task ---
-            TaskCETSS taskToSchedule = bestChoice.getTask();
-            VM vmToScheduleOn = bestChoice.getVm();
-            LevelGroup currentLevelGroup = levelGroups.get(taskToSchedule.getGroupLevel());
-            double finalFinishTime = bestChoice.getEft();
-
-            VM.TimeSlot scheduledSlot = vmToScheduleOn.scheduleTask(taskToSchedule, bestChoice.getEt(), bestChoice.getEst(), currentLevelGroup.getSubdeadline(), bestChoice.getFinancialCost());
-            taskToSchedule.setStatus(SCHEDULED);
-            schedulableTasks.remove(taskToSchedule);
-
-            // --- Subdeadline Relaxation ---
-            // If the actual finish time is later than the level's estimated finish time,
-            // it may delay subsequent tasks. This logic updates the estimates.
-            if (finalFinishTime > currentLevelGroup.getEft()) {
-                currentLevelGroup.setEft(finalFinishTime);
-                double newSubdeadline = getSubdeadline(finalFinishTime, te[tasks.size() - 1], this.workflowDeadline);
-                currentLevelGroup.setSubdeadline(newSubdeadline);
-            }
+    /**
+     * Commits the chosen assignment, relaxes the subdeadline of its level and releases the children that became ready.
+     */
+    VM.TimeSlot scheduleChoice(TaskVmPair bestChoice, Map<Integer, LevelGroup> levelGroups, Collection<TaskCETSS> schedulableTasks) {
+        TaskCETSS taskToSchedule = bestChoice.getTask();
+        VM vmToScheduleOn = bestChoice.getVm();
+        LevelGroup currentLevelGroup = levelGroups.get(taskToSchedule.getGroupLevel());
+        double finalFinishTime = bestChoice.getEft();
+
+        VM.TimeSlot scheduledSlot = vmToScheduleOn.scheduleTask(taskToSchedule, bestChoice.getEt(), bestChoice.getEst(), currentLevelGroup.getSubdeadline(), bestChoice.getFinancialCost());
+        taskToSchedule.setStatus(SCHEDULED);
+        schedulableTasks.remove(taskToSchedule);
+
+        // --- Subdeadline Relaxation ---
+        // If the actual finish time is later than the level's estimated finish time,
+        // it may delay subsequent tasks. This logic updates the estimates.
+        if (finalFinishTime > currentLevelGroup.getEft()) {
+            currentLevelGroup.setEft(finalFinishTime);
+            double newSubdeadline = getSubdeadline(finalFinishTime, te[tasks.size() - 1], this.workflowDeadline);
+            currentLevelGroup.setSubdeadline(newSubdeadline);
+        }
 
-            // --- Update Children and Add to Queue ---
-            for (Integer childId : taskToSchedule.getChildren()) {
-                TaskCETSS child = tasks.get(childId);
-                // A child's earliest start time is determined by the latest finishing parent.
-                child.setEarliestStartTime(Math.max(child.getEarliestStartTime(), scheduledSlot.getEnd()));
-                child.reduceInDegree();
-                if (child.getInDegree() == 0 && child.getStatus() == Task.Status.UNSCHEDULED) {
-                    schedulableTasks.add(child);
-                }
+        // --- Update Children and Add to Queue ---
+        for (Integer childId : taskToSchedule.getChildren()) {
+            TaskCETSS child = tasks.get(childId);
+            // A child's earliest start time is determined by the latest finishing parent.
+            child.setEarliestStartTime(Math.max(child.getEarliestStartTime(), scheduledSlot.getEnd()));
+            child.reduceInDegree();
+            if (child.getInDegree() == 0 && child.getStatus() == Task.Status.UNSCHEDULED) {
+                schedulableTasks.add(child);
             }
         }
-        return vms;
+        return scheduledSlot;
     }
 
     public ArrayList<VM> performTaskAdjustment() {
         ArrayList<VM> scheduledVMs = getGreedyWorkflowScheduling();
+        adjustTasks(scheduledVMs, Long.MAX_VALUE);
+        return scheduledVMs;
+    }
+
+    /**
+     * Moves tasks of the greedy schedule to cheaper slots, in reversed topological order.
+     *
+     * Slots of other workflows on the same VMs are left in place.
+     *
+     * @param budgetEnd {@link System#nanoTime()} after which no further task is adjusted, Long.MAX_VALUE for no budget
+     * @return the number of tasks visited before the budget expired and the number of them that moved
+     */
+    AdjustmentPass adjustTasks(ArrayList<VM> scheduledVMs, long budgetEnd) {
+        return adjustTasks(scheduledVMs, budgetEnd, false);
+    }
 
+    /**
+     * @param currentCosts weigh a task by what its VM saves without it now instead of the cost stored with its slot,
+     *                     the stored cost goes stale once later tasks share its billing periods
+     */
+    private AdjustmentPass adjustTasks(ArrayList<VM> scheduledVMs, long budgetEnd, boolean currentCosts) {
         Map<Integer, VM> taskToVmMap = new HashMap<>();
         Map<Integer, VM.TimeSlot> taskToSlotMap = new HashMap<>();
         for (VM vm : scheduledVMs) {
             for (VM.TimeSlot slot : vm.getSchedule()) {
+                int id = slot.getTask().getId();
+                if (id < 0 || id >= tasks.size() || tasks.get(id) != slot.getTask()) continue;
                 taskToVmMap.put(slot.getTask().getId(), vm);
                 taskToSlotMap.put(slot.getTask().getId(), slot);
             }
         }
 
+        Span adjustmentSpan = begin(SchedulingPhase.TASK_ADJUSTMENT);
         List<TaskCETSS> revTopOrder = getReversedTopologicalOrder(this.tasks);
         Map<Integer, LevelGroup> levelGroups = getLevelGroups(this.tasks);
 
         // Iterate through each task and try to find a cheaper VM placement.
+        int numOfVisitedTasks = 0;
+        int numOfMovedTasks = 0;
         for (TaskCETSS taskToAdjust : revTopOrder) {
+            if (budgetEnd != Long.MAX_VALUE && System.nanoTime() >= budgetEnd) break;
+            numOfVisitedTasks++;
             VM sourceVm = taskToVmMap.get(taskToAdjust.getId());
             VM.TimeSlot sourceSlot = taskToSlotMap.get(taskToAdjust.getId());
 
             if (sourceVm == null || sourceSlot == null) continue;
 
-            double currentCost = sourceSlot.getFinancialCost();
+            double currentCost = currentCosts ? getRemovalSaving(sourceVm, sourceSlot) : sourceSlot.getFinancialCost();
             if (currentCost == 0) continue; // Cannot be improved if it's already free.
 
             VM.TimeSlot bestReplacementSlot = null;
@@ -249,21 +406,25 @@ public class CETSS implements SchedulingAlgorithm {
             double finalDeadline = Math.min(childrenEarliestST, taskSubdeadline);
 
             // Check every other VM as a potential new host.
-            for (VM targetVm : this.vms) {
-                if (targetVm.getTyp() == taskToAdjust.getTyp()){
-                    if (targetVm.getId() == sourceVm.getId()) continue;
-
-                    double executionTimeOnTarget = getExecutionTime(taskToAdjust, targetVm);
+            for (VM targetVm : candidatePruner.select(instanceClasses.getCandidates(taskToAdjust), taskToAdjust, parentsLatestFT, List.of())) {
+                if (targetVm.getId() == sourceVm.getId()) continue;
+
+                double executionTimeOnTarget = getExecutionTime(taskToAdjust, targetVm);
+                double costBound = bestReplacementSlot == null ? currentCost : Math.min(currentCost, bestReplacementSlot.getFinancialCost());
+                if (candidatePruner.prune(parentsLatestFT + executionTimeOnTarget, finalDeadline)
+                        || candidatePruner.prune(CandidatePruner.getCostLowerBound(targetVm, executionTimeOnTarget, this.tau), costBound)) {
+                    continue;
+                }
+                count(CANDIDATE_EVALUATIONS);
 
-                    VM.TimeSlot candidateSlot = targetVm.findBestSlotForTask(taskToAdjust, executionTimeOnTarget, parentsLatestFT, finalDeadline, this.tau);
+                VM.TimeSlot candidateSlot = targetVm.findBestSlotForTask(taskToAdjust, executionTimeOnTarget, parentsLatestFT, finalDeadline, this.tau);
 
-                    // If a valid, cheaper slot is found
-                    if (candidateSlot != null && candidateSlot.getFinancialCost() < currentCost) {
-                        // Check if it's the best one found so far
-                        if (bestReplacementSlot == null || candidateSlot.getFinancialCost() < bestReplacementSlot.getFinancialCost()) {
-                            bestReplacementSlot = candidateSlot;
-                            bestReplacementVm = targetVm;
-                        }
+                // If a valid, cheaper slot is found
+                if (candidateSlot != null && candidateSlot.getFinancialCost() < currentCost) {
+                    // Check if it's the best one found so far
+                    if (bestReplacementSlot == null || candidateSlot.getFinancialCost() < bestReplacementSlot.getFinancialCost()) {
+                        bestReplacementSlot = candidateSlot;
+                        bestReplacementVm = targetVm;
                     }
                 }
             }
@@ -271,20 +432,31 @@ public class CETSS implements SchedulingAlgorithm {
             // If a better placement was found, perform the adjustment.
             if (bestReplacementSlot != null) {
                 // Remove from old VM
-                sourceVm.getSchedule().remove(sourceSlot);
+                sourceVm.removeSlotFromSchedule(sourceSlot);
 
-                // Add to new VM
-                bestReplacementVm.getSchedule().add(bestReplacementSlot);
-                // Keep the schedule sorted by start time
-                bestReplacementVm.getSchedule().sort(Comparator.comparingDouble(VM.TimeSlot::getStart));
+                // Add to new VM, keeps the schedule sorted by start time
+                bestReplacementVm.addSlotToSchedule(bestReplacementSlot);
 
                 // Update maps to reflect the change for subsequent tasks
                 taskToVmMap.put(taskToAdjust.getId(), bestReplacementVm);
                 taskToSlotMap.put(taskToAdjust.getId(), bestReplacementSlot);
+                numOfMovedTasks++;
             }
         }
+        end(adjustmentSpan, "CETSS");
 
-        return scheduledVMs;
+        return new AdjustmentPass(numOfVisitedTasks, numOfMovedTasks);
+    }
+
+    private double getRemovalSaving(VM vm, VM.TimeSlot slot) {
+        double costWithSlot = vm.calculateTotalCost(this.tau);
+        vm.removeSlotFromSchedule(slot);
+        double costWithoutSlot = vm.calculateTotalCost(this.tau);
+        vm.addSlotToSchedule(slot);
+        return costWithSlot - costWithoutSlot;
+    }
+
+    record AdjustmentPass(int numOfVisitedTasks, int numOfMovedTasks) {
     }
 
     private static List<TaskCETSS> getReversedTopologicalOrder(List<TaskCETSS> tasks) {
@@ -327,6 +499,7 @@ public class CETSS implements SchedulingAlgorithm {
     public Map<Integer, LevelGroup> getLevelGroups(List<TaskCETSS> tasks) {
         Map<Integer, LevelGroup> levelGroupsMap = new HashMap<>();
         if (tasks.isEmpty()) return levelGroupsMap;
+        Span levelGroupingSpan = begin(SchedulingPhase.LEVEL_GROUPING);
 
         // Calculate task depths (levels) using a BFS-like approach.
         Map<TaskCETSS, Integer> taskDepths = new HashMap<>();
@@ -395,6 +568,7 @@ public class CETSS implements SchedulingAlgorithm {
                 levelGroup.setSubdeadline(maxTlInLevel > 0 ? maxTlInLevel : Double.MAX_VALUE);
             }
         }
+        end(levelGroupingSpan, "CETSS");
         return levelGroupsMap;
     }
 }
\ No newline at end of file
@@ -0,0 +1,171 @@
+package org.vf.src.algorithms.CETSS;
+
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.UtilsCETSS.LevelGroup;
+import org.vf.src.algorithms.CETSS.UtilsCETSS.TaskVmPair;
+import org.vf.src.instrumentation.SchedulerInstrumentation.Span;
+import org.vf.src.instrumentation.SchedulingPhase;
+
+import java.util.*;
+
+import static org.vf.src.instrumentation.SchedulerInstrumentation.begin;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.end;
+
+/**
+ * Co-schedules several workflows with their own deadlines on one shared VM pool.
+ *
+ * Every workflow keeps its CETSS level groups and subdeadlines, computed for its own deadline.
+ * The workflows are interleaved task by task: each step schedules a task of the workflow with the least slack,
+ * the deadline minus the earliest start and the estimated remaining time of its tightest schedulable task, ties go
+ * to the earlier deadline. A workflow that falls behind moves to the front, one that is ahead lets the others in, and
+ * workflows with negative slack, which can no longer meet their deadline, wait until the others are placed.
+ * The task is placed with the CETSS greedy rule, so periods already rented by other workflows are free and concurrent
+ * workflows fill each other's billing periods. Afterwards every workflow runs the CETSS task adjustment on its own
+ * tasks. Task ids only need to be unique within their workflow and equal their index in it.
+ */
+public class MultiWorkflowCETSS implements SchedulingAlgorithm {
+
+    private final List<ArrayList<TaskCETSS>> workflows;
+    private final int[] workflowDeadlines;
+    private final ArrayList<VM> vms;
+    private final int tau;
+    private final CETSS[] planners;
+    private final double[] workflowFinishTimes;
+
+    public MultiWorkflowCETSS(List<ArrayList<TaskCETSS>> workflows, int[] workflowDeadlines, ArrayList<VM> vms, int tau) {
+        if (workflows.size() != workflowDeadlines.length) {
+            throw new IllegalArgumentException("Every workflow needs a deadline.");
+        }
+        this.workflows = workflows;
+        this.workflowDeadlines = workflowDeadlines;
+        this.vms = vms;
+        this.tau = tau;
+        this.planners = new CETSS[workflows.size()];
+        for (int i = 0; i < workflows.size(); i++) {
+            planners[i] = new CETSS(workflows.get(i), vms, tau, workflowDeadlines[i]);
+        }
+        this.workflowFinishTimes = new double[workflows.size()];
+    }
+
+    @Override
+    public ArrayList<VM> scheduler() {
+        for (VM vm : vms) {
+            vm.clearSchedule();
+        }
+        for (CETSS planner : planners) {
+            planner.resetInstanceClasses();
+        }
+
+        int numOfWorkflows = workflows.size();
+        List<Map<Integer, LevelGroup>> levelGroups = new ArrayList<>(numOfWorkflows);
+        List<Queue<TaskCETSS>> schedulableTasks = new ArrayList<>(numOfWorkflows);
+        for (int i = 0; i < numOfWorkflows; i++) {
+            ArrayList<TaskCETSS> tasks = workflows.get(i);
+            for (TaskCETSS task : tasks) {
+                task.reset();
+            }
+            levelGroups.add(planners[i].getLevelGroups(tasks));
+
+            Queue<TaskCETSS> entryTasks = new LinkedList<>();
+            for (TaskCETSS task : tasks) {
+                if (task.getInDegree() == 0) {
+                    entryTasks.add(task);
+                }
+            }
+            schedulableTasks.add(entryTasks);
+        }
+
+        Span candidateLoopSpan = begin(SchedulingPhase.GREEDY_CANDIDATE_LOOP);
+        int workflow;
+        while ((workflow = selectNextWorkflow(schedulableTasks)) >= 0) {
+            TaskVmPair bestChoice = planners[workflow].selectBestChoice(schedulableTasks.get(workflow), levelGroups.get(workflow));
+            if (bestChoice == null) {
+                System.err.println("Error: Could not determine a best choice for workflow " + workflow + ". Workflow might be stuck.");
+                schedulableTasks.get(workflow).clear();
+                continue;
+            }
+            planners[workflow].scheduleChoice(bestChoice, levelGroups.get(workflow), schedulableTasks.get(workflow));
+        }
+        end(candidateLoopSpan, "MultiWorkflowCETSS");
+
+        Span adjustmentSpan = begin(SchedulingPhase.TASK_ADJUSTMENT);
+        for (int i = 0; i < numOfWorkflows; i++) {
+            planners[i].adjustTasks(vms, Long.MAX_VALUE);
+            workflowFinishTimes[i] = getFinishTime(workflows.get(i));
+        }
+        end(adjustmentSpan, "MultiWorkflowCETSS");
+        return vms;
+    }
+
+    /**
+     * Workflow with schedulable tasks and the least slack, ties go to the earlier deadline, -1 if all are done.
+     * Workflows with negative slack can no longer meet their deadline and only come after all others.
+     */
+    private int selectNextWorkflow(List<Queue<TaskCETSS>> schedulableTasks) {
+        int next = -1;
+        double nextSlack = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < workflows.size(); i++) {
+            if (schedulableTasks.get(i).isEmpty()) continue;
+            double slack = getSlack(i, schedulableTasks.get(i));
+            if (next < 0 || isBefore(slack, nextSlack) || slack == nextSlack && workflowDeadlines[i] < workflowDeadlines[next]) {
+                next = i;
+                nextSlack = slack;
+            }
+        }
+        return next;
+    }
+
+    private static boolean isBefore(double slack, double otherSlack) {
+        if ((slack >= 0) != (otherSlack >= 0)) {
+            return slack >= 0;
+        }
+        return slack < otherSlack;
+    }
+
+    /**
+     * Deadline of the workflow minus the earliest start and the estimated time to finish of its tightest
+     * schedulable task.
+     */
+    private double getSlack(int workflow, Queue<TaskCETSS> schedulableTasks) {
+        double slack = Double.POSITIVE_INFINITY;
+        for (TaskCETSS task : schedulableTasks) {
+            slack = Math.min(slack, workflowDeadlines[workflow] - task.getEarliestStartTime() - planners[workflow].getTimeToFinish(task.getId()));
+        }
+        return slack;
+    }
+
+    /**
+     * Latest end of the slots holding tasks of the workflow.
+     */
+    private double getFinishTime(List<TaskCETSS> tasks) {
+        double finishTime = 0.0;
+        for (VM vm : vms) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                int id = slot.getTask().getId();
+                if (id >= 0 && id < tasks.size() && tasks.get(id) == slot.getTask()) {
+                    finishTime = Math.max(finishTime, slot.getEnd());
+                }
+            }
+        }
+        return finishTime;
+    }
+
+    public List<ArrayList<TaskCETSS>> getWorkflows() { return workflows; }
+    public int[] getWorkflowDeadlines() { return workflowDeadlines; }
+
+    /**
+     * Finish time of the last task of every workflow in the last run.
+     */
+    public double[] getWorkflowFinishTimes() { return workflowFinishTimes; }
+
+    public int getNumOfWorkflowsWithinDeadline() {
+        int withinDeadline = 0;
+        for (int i = 0; i < workflowDeadlines.length; i++) {
+            if (workflowFinishTimes[i] <= workflowDeadlines[i]) {
+                withinDeadline++;
+            }
+        }
+        return withinDeadline;
+    }
+}
@@ -9,9 +9,6 @@ import java.util.function.ToDoubleFunction;
 
 public class UtilsCETSS {
 
-    private static double[] te;
-    private static double[] tl;
-
     public static class TaskVmPair {
 
         public final TaskCETSS task;
@@ -96,32 +93,7 @@ public class UtilsCETSS {
      * 3. The task's start time alignment requires renting an additional period at the beginning that would otherwise be unused.
      */
     public static double calculateFinancialCost(VM vm, double taskStartTime, double taskFinishTime, int tau) {
-        Set<Integer> rentedPeriods = new HashSet<>();
-        List<VM.TimeSlot> schedule = vm.getSchedule();
-
-        // Identify all billing periods that are already rented by existing tasks on the VM.
-        for (VM.TimeSlot existingSlot : schedule) {
-            int startPeriod = (int) Math.floor(existingSlot.start / tau);
-            // The ceiling of the end time gives the end of the last billing period.
-            int endPeriodIndex = (int) Math.ceil(existingSlot.end / tau);
-
-            for (int i = startPeriod; i < endPeriodIndex; i++) {
-                rentedPeriods.add(i);
-            }
-        }
-        // Determine the billing periods required by the new task.
-        int newStartPeriod = (int) Math.floor(taskStartTime / tau);
-        int newEndPeriodIndex = (int) Math.ceil(taskFinishTime / tau);
-
-        // Calculate the number of *new* periods that must be rented.
-        int additionalPeriodsToRent = 0;
-        for (int i = newStartPeriod; i < newEndPeriodIndex; i++) {
-            if (!rentedPeriods.contains(i)) {
-                additionalPeriodsToRent++;
-            }
-        }
-
-        return additionalPeriodsToRent * vm.getC();
+        return vm.vmCalculateFinancialCost(taskStartTime, taskFinishTime, tau);
     }
 
     public static double getSubdeadline(double te_i, double te_exit, double d){
@@ -184,19 +156,20 @@ public class UtilsCETSS {
         if (tasks == null || tasks.isEmpty()) {
             return new double[0];
         }
-        te = new double[tasks.size()];
+        double[] te = new double[tasks.size()];
         Arrays.fill(te, -1.0);
 
         for (TaskCETSS task : tasks) {
-            computeEFT(tasks, task, vmstMap);
+            computeEFT(tasks, task, vmstMap, te);
         }
         return te;
     }
 
     /**
      * Computes the Earliest Finish Time (EFT) for a given task.
+     * Every edge is charged with the transfer of its data volume to the receiver's standard VM.
      */
-    private static double computeEFT(List<TaskCETSS> tasks, TaskCETSS current, HashMap<HardwareType, VM> vmstMap) {
+    private static double computeEFT(List<TaskCETSS> tasks, TaskCETSS current, HashMap<HardwareType, VM> vmstMap, double[] te) {
         int id = current.getId();
         if (te[id] >= 0) {
             return te[id];
@@ -204,15 +177,15 @@ public class UtilsCETSS {
 
         double maxParentEFT = 0.0;
         // The start time of the current task is determined by the latest finish time among all its parents.
-        if (!current.getParents().isEmpty()) {
-            for (Integer parentId : current.getParents()) {
-                TaskCETSS parent = tasks.get(parentId);
-                maxParentEFT = Math.max(maxParentEFT, computeEFT(tasks, parent, vmstMap));
-            }
+        List<Integer> parents = current.getParents();
+        for (int i = 0; i < parents.size(); i++) {
+            TaskCETSS parent = tasks.get(parents.get(i));
+            double transferTime = getStandardTransferTime(current.getInputVolume(i, parent), current, vmstMap);
+            maxParentEFT = Math.max(maxParentEFT, computeEFT(tasks, parent, vmstMap, te) + transferTime);
         }
 
-        // EFT is the finish time of the last parent + own execution time.
-        double eft = maxParentEFT + getExecutionTime(current, vmstMap.get(current.getTyp()));
+        // EFT is the data arrival of the last parent + own execution time.
+        double eft = maxParentEFT + getStandardExecutionTime(current, vmstMap);
         te[id] = eft;
         return eft;
     }
@@ -221,17 +194,21 @@ public class UtilsCETSS {
      *  Compute Latest Finish Times (LFT) for all tasks.
      */
     public static double[] getLatestFinishTimes(List<TaskCETSS> tasks, HashMap<HardwareType, VM> vmst) {
+        return getLatestFinishTimes(tasks, vmst, getEarliestFinishTimes(tasks, vmst));
+    }
+
+    /**
+     * Compute Latest Finish Times (LFT) for all tasks from already computed earliest finish times.
+     */
+    public static double[] getLatestFinishTimes(List<TaskCETSS> tasks, HashMap<HardwareType, VM> vmst, double[] te) {
         if (tasks == null || tasks.isEmpty()) {
             return new double[0];
         }
         int n = tasks.size();
-        tl = new double[n];
+        double[] tl = new double[n];
         Arrays.fill(tl, -1.0);
 
         double makespan = 0.0;
-        if (te == null || te.length != n) {
-            getEarliestFinishTimes(tasks, vmst);
-        }
         for (TaskCETSS task : tasks) {
             if (task.getChildren().isEmpty()) {
                 makespan = Math.max(makespan, te[task.getId()]);
@@ -239,7 +216,7 @@ public class UtilsCETSS {
         }
 
         for (TaskCETSS task : tasks) {
-            computeLFT(tasks, task, vmst, makespan);
+            computeLFT(tasks, task, vmst, makespan, tl);
         }
 
         return tl;
@@ -248,7 +225,7 @@ public class UtilsCETSS {
     /**
      * Computes the Latest Finish Time (LFT) for a given task.
      */
-    private static double computeLFT(List<TaskCETSS> tasks, TaskCETSS current, HashMap<HardwareType, VM> vmstMap, double makespan) {
+    private static double computeLFT(List<TaskCETSS> tasks, TaskCETSS current, HashMap<HardwareType, VM> vmstMap, double makespan, double[] tl) {
         int id = current.getId();
         if (tl[id] >= 0) {
             return tl[id];
@@ -259,10 +236,12 @@ public class UtilsCETSS {
             lft = makespan;
         } else {
             double minChildLftMinusExec = Double.POSITIVE_INFINITY;
-            for (Integer childId : current.getChildren()) {
-                TaskCETSS child = tasks.get(childId);
-                double childLFT = computeLFT(tasks, child, vmstMap, makespan);
-                minChildLftMinusExec = Math.min(minChildLftMinusExec, childLFT - getExecutionTime(child, vmstMap.get(child.getTyp())));
+            List<Integer> children = current.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                TaskCETSS child = tasks.get(children.get(i));
+                double childLFT = computeLFT(tasks, child, vmstMap, makespan, tl);
+                double transferTime = getStandardTransferTime(current.getOutputVolume(i), child, vmstMap);
+                minChildLftMinusExec = Math.min(minChildLftMinusExec, childLFT - getStandardExecutionTime(child, vmstMap) - transferTime);
             }
             lft = minChildLftMinusExec;
         }
@@ -271,13 +250,42 @@ public class UtilsCETSS {
         return lft;
     }
 
+    /**
+     * Execution time of the task on the standard VM of its type, on the fastest standard VM of its eligible types
+     * for a task that can run on several.
+     */
+    public static double getStandardExecutionTime(Task task, Map<HardwareType, VM> vmstMap) {
+        if (!task.isFlexible()) {
+            return getExecutionTime(task, vmstMap.get(task.getTyp()));
+        }
+        double executionTime = Double.POSITIVE_INFINITY;
+        for (Map.Entry<HardwareType, VM> vmst : vmstMap.entrySet()) {
+            // A type without VMs has a standard VM without speed, its NaN or infinite time is never the minimum.
+            double vmstExecutionTime = task.canRunOn(vmst.getKey()) ? getExecutionTime(task, vmst.getValue()) : Double.NaN;
+            if (vmstExecutionTime < executionTime) {
+                executionTime = vmstExecutionTime;
+            }
+        }
+        return executionTime;
+    }
+
+    /**
+     * Time to transfer an edge's data volume to the standard VM of the receiving task, the edge's own volume or the
+     * sender's whole output.
+     */
+    private static double getStandardTransferTime(double volume, Task receiver, Map<HardwareType, VM> vmstMap) {
+        VM vmst = vmstMap.get(receiver.getTyp());
+        // A type without VMs has a standard VM without speed, it adds no transfer.
+        return vmst == null || volume == 0 || !(vmst.getGsr() > 0) ? 0.0 : volume / vmst.getGsr();
+    }
+
     /**
      * Calculates the total execution time of a task on a specific VM.
      */
     public static double getExecutionTime(Task task, VM vm) {
         if (vm == null) return Double.POSITIVE_INFINITY;
         return (task.getDin() / vm.getGsr()) +
-                (task.getMi() / vm.getW()) +
+                (task.getMi(vm.getTyp()) / vm.getW()) +
                 (task.getDout() / vm.getGsw());
     }
 }
\ No newline at end of file
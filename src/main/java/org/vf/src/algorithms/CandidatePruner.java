@@ -0,0 +1,200 @@
+package org.vf.src.algorithms;
+
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.instrumentation.SchedulerInstrumentation;
+import org.vf.src.instrumentation.SchedulingCounter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Discards (task, VM) candidates that cannot win before they are evaluated.
+ *
+ * Exact pruning compares cheap lower bounds of a candidate with the best value found so far: a VM cannot start a
+ * task before the task's earliest start time, so est + execution time bounds its finish time, and an idle VM has to
+ * pay at least the minimum charge of its billing model. A candidate is only skipped if its bound is strictly worse,
+ * so the chosen VM and the tie-breaking in pool order stay the same as without pruning.
+ *
+ * Top-k pruning is approximate: only the k candidates with the smallest finish time bound and the VMs hosting a
+ * parent of the task (no transfer time) are evaluated.
+ *
+ * The mode is read from the system property {@code scheduler.pruning}: {@code exact} (default), {@code none}
+ * or the k of top-k pruning.
+ */
+public class CandidatePruner {
+
+    private static final int NO_TOP_K = 0;
+
+    private final boolean enabled;
+    private final int topK;
+    private final ArrayList<VM> selectedCandidates = new ArrayList<>();
+    private double[] lowerBounds = new double[0];
+    private long numOfCandidates;
+    private long numOfPrunedCandidates;
+    private double minimum;
+
+    private CandidatePruner(boolean enabled, int topK) {
+        this.enabled = enabled;
+        this.topK = topK;
+    }
+
+    public static CandidatePruner disabled() {
+        return new CandidatePruner(false, NO_TOP_K);
+    }
+
+    public static CandidatePruner exact() {
+        return new CandidatePruner(true, NO_TOP_K);
+    }
+
+    public static CandidatePruner topK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("k must be positive: " + k);
+        }
+        return new CandidatePruner(true, k);
+    }
+
+    public static CandidatePruner fromSystemProperties() {
+        String mode = System.getProperty("scheduler.pruning", "exact");
+        return switch (mode) {
+            case "none" -> disabled();
+            case "exact" -> exact();
+            default -> topK(Integer.parseInt(mode));
+        };
+    }
+
+    /**
+     * The candidates to evaluate for the task, all of them unless top-k pruning is enabled.
+     * The returned list keeps the order of the candidates and is reused by the next call.
+     *
+     * @param earliestStartTime lower bound of the task's start time on every candidate
+     * @param parentHosts VMs that are never pruned by top-k
+     */
+    public List<VM> select(List<VM> candidates, Task task, double earliestStartTime, Collection<VM> parentHosts) {
+        numOfCandidates += candidates.size();
+        if (topK == NO_TOP_K || candidates.size() <= topK) {
+            return candidates;
+        }
+
+        if (lowerBounds.length < candidates.size()) {
+            lowerBounds = new double[Math.max(candidates.size(), 2 * lowerBounds.length)];
+        }
+        for (int i = 0; i < candidates.size(); i++) {
+            lowerBounds[i] = getEftLowerBound(task, candidates.get(i), earliestStartTime);
+        }
+        double[] sortedBounds = Arrays.copyOf(lowerBounds, candidates.size());
+        Arrays.sort(sortedBounds);
+        double threshold = sortedBounds[topK - 1];
+
+        // Candidates on the threshold are taken in pool order until k are selected.
+        selectedCandidates.clear();
+        int numBelowThreshold = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            if (lowerBounds[i] < threshold) numBelowThreshold++;
+        }
+        int numOnThreshold = topK - numBelowThreshold;
+        for (int i = 0; i < candidates.size(); i++) {
+            VM vm = candidates.get(i);
+            if (lowerBounds[i] < threshold || (lowerBounds[i] == threshold && numOnThreshold-- > 0) || parentHosts.contains(vm)) {
+                selectedCandidates.add(vm);
+            }
+        }
+        countPruned(candidates.size() - selectedCandidates.size());
+        return selectedCandidates;
+    }
+
+    /**
+     * The first candidate in list order with the smallest value, null if no value is below infinity.
+     * The candidate with the smallest lower bound is evaluated first, its value prunes all candidates whose lower
+     * bound is larger. The smallest value is available from {@link #getMinimum()} afterwards.
+     */
+    public VM selectMinimum(List<VM> candidates, ToDoubleFunction<VM> lowerBound, ToDoubleFunction<VM> value) {
+        minimum = Double.POSITIVE_INFINITY;
+        VM best = null;
+        if (!enabled || candidates.size() < 2) {
+            for (VM vm : candidates) {
+                double candidateValue = value.applyAsDouble(vm);
+                if (candidateValue < minimum) {
+                    minimum = candidateValue;
+                    best = vm;
+                }
+            }
+            return best;
+        }
+
+        if (lowerBounds.length < candidates.size()) {
+            lowerBounds = new double[Math.max(candidates.size(), 2 * lowerBounds.length)];
+        }
+        int probe = 0;
+        for (int i = 0; i < candidates.size(); i++) {
+            lowerBounds[i] = lowerBound.applyAsDouble(candidates.get(i));
+            if (lowerBounds[i] < lowerBounds[probe]) probe = i;
+        }
+        double probeValue = value.applyAsDouble(candidates.get(probe));
+
+        for (int i = 0; i < candidates.size(); i++) {
+            double candidateValue;
+            if (i == probe) {
+                candidateValue = probeValue;
+            } else if (prune(lowerBounds[i], Math.min(probeValue, minimum))) {
+                continue;
+            } else {
+                candidateValue = value.applyAsDouble(candidates.get(i));
+            }
+            if (candidateValue < minimum) {
+                minimum = candidateValue;
+                best = candidates.get(i);
+            }
+        }
+        return best;
+    }
+
+    /**
+     * True if a candidate whose value is at least lowerBound cannot beat the bound.
+     */
+    public boolean prune(double lowerBound, double bound) {
+        if (enabled && lowerBound > bound) {
+            countPruned(1);
+            return true;
+        }
+        return false;
+    }
+
+    private void countPruned(long n) {
+        numOfPrunedCandidates += n;
+        SchedulerInstrumentation.count(SchedulingCounter.PRUNED_CANDIDATES, n);
+    }
+
+    /**
+     * The VM cannot start the task before its earliest start time.
+     */
+    public static double getEftLowerBound(Task task, VM vm, double earliestStartTime) {
+        return earliestStartTime + Utils.getExecutionTime(task, vm);
+    }
+
+    /**
+     * An idle VM has to pay at least the minimum its billing model charges for the task,
+     * a busy VM might already have paid for the whole slot.
+     */
+    public static double getCostLowerBound(VM vm, double executionTime, double tau) {
+        if (!vm.getSchedule().isEmpty()) {
+            return 0.0;
+        }
+        return vm.getEffectiveBillingModel(tau).getIdleCostLowerBound(vm, executionTime);
+    }
+
+    public void resetCounts() {
+        numOfCandidates = 0;
+        numOfPrunedCandidates = 0;
+    }
+
+    public boolean isEnabled() { return enabled; }
+    public int getTopK() { return topK; }
+    public long getNumOfCandidates() { return numOfCandidates; }
+    public long getNumOfPrunedCandidates() { return numOfPrunedCandidates; }
+    public long getNumOfEvaluations() { return numOfCandidates - numOfPrunedCandidates; }
+    public double getMinimum() { return minimum; }
+}
@@ -1,21 +1,28 @@
 package org.vf.src.algorithms.EHEFT;
 
 import org.vf.src.HardwareType;
+import org.vf.src.InstanceClassIndex;
 import org.vf.src.algorithms.HEFT.TaskHEFT;
 import org.vf.src.SchedulingAlgorithm;
 import org.vf.src.Task;
 import org.vf.src.VM;
+import org.vf.src.algorithms.CandidatePruner;
+import org.vf.src.instrumentation.SchedulingPhase;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
 import static org.vf.src.algorithms.Utils.*;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.*;
+import static org.vf.src.instrumentation.SchedulingCounter.CANDIDATE_EVALUATIONS;
 
 public class EHEFT implements SchedulingAlgorithm {
 
     private final ArrayList<TaskHEFT> tasks;
     private final ArrayList<VM> vms;
     private final Map<Integer, TaskHEFT> taskMap;
+    private final InstanceClassIndex instanceClasses;
+    private CandidatePruner candidatePruner = CandidatePruner.fromSystemProperties();
 
     private final Map<Task, Double> actualStartTimes = new HashMap<>();
     private final Map<Task, Double> actualFinishTimes = new HashMap<>();
@@ -29,11 +36,15 @@ public class EHEFT implements SchedulingAlgorithm {
         this.tasks = tasks;
         this.vms = vms;
         this.taskMap = new HashMap<>();
+        this.instanceClasses = new InstanceClassIndex(vms);
         for (TaskHEFT task : tasks) {
             this.taskMap.put(task.getId(), task);
         }
     }
 
+    public CandidatePruner getCandidatePruner() { return candidatePruner; }
+    public void setCandidatePruner(CandidatePruner candidatePruner) { this.candidatePruner = candidatePruner; }
+
     /**
      * E-HEFT scheduling algorithm.
      * 0. VM Threshold Attribution: Assigns a load threshold to each VM for balancing purposes.
@@ -46,6 +57,7 @@ public class EHEFT implements SchedulingAlgorithm {
         for (VM vm : vms) {
             vm.clearSchedule();
         }
+        instanceClasses.reset();
 
         actualStartTimes.clear();
         actualFinishTimes.clear();
@@ -62,65 +74,66 @@ public class EHEFT implements SchedulingAlgorithm {
         attributeVmThresholds();
 
         // Phase 1: Task Prioritization (Ranking) like in the HEFT algorithm
+        Span rankingSpan = begin(SchedulingPhase.RANKING);
         for (TaskHEFT task : tasks) {
             calculateUpwardRank(task, vms, taskMap);
         }
+        end(rankingSpan, "E-HEFT");
 
         PriorityQueue<TaskHEFT> taskQueue = new PriorityQueue<>(Comparator.comparingDouble(TaskHEFT::getUpperRank).reversed());
         taskQueue.addAll(tasks);
 
         // Scheduling
+        Span candidateLoopSpan = begin(SchedulingPhase.GREEDY_CANDIDATE_LOOP);
         while (!taskQueue.isEmpty()) {
             TaskHEFT task = taskQueue.poll();
 
-            double minEFT = Double.POSITIVE_INFINITY;
-            VM bestVM = null;
-
-            for (VM vm : vms) {
-                if (task.getTyp() == vm.getTyp()){
-                    double currentLoadPercentage = 0;
-                    if (totalDagWorkload > 0) {
-                        currentLoadPercentage = this.assignedWorkload.get(vm) / totalDagWorkload;
-                    }
-                    double vmThreshold = this.vmThresholds.get(vm);
-
-                    if (currentLoadPercentage < vmThreshold) {
-                        double eft = calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
-                        if (eft < minEFT) {
-                            minEFT = eft;
-                            bestVM = vm;
+            // Idle copies of an instance class share load and threshold, only one of them is evaluated.
+            double parentsFinishTime = getLatestParentFinishTime(task, taskMap, actualFinishTimes);
+            List<VM> candidates = candidatePruner.select(instanceClasses.getCandidates(task), task, parentsFinishTime,
+                    getParentHosts(task, taskMap, taskAssignments));
+            // VMs over their threshold are not considered.
+            VM bestVM = candidatePruner.selectMinimum(candidates,
+                    vm -> isOverThreshold(vm) ? Double.POSITIVE_INFINITY : CandidatePruner.getEftLowerBound(task, vm, parentsFinishTime),
+                    vm -> {
+                        if (isOverThreshold(vm)) {
+                            return Double.POSITIVE_INFINITY;
                         }
-                    }
-                }
-            }
+                        count(CANDIDATE_EVALUATIONS);
+                        return calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
+                    });
 
             // Fallback: If no VM was found because all are over their threshold,
             // just pick the VM with the best EFT
             if (bestVM == null) {
-                minEFT = Double.POSITIVE_INFINITY;
-                for (VM vm : vms) {
-                    if (task.getTyp() == vm.getTyp()) {
-                        double eft = calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
-                        if (eft < minEFT) {
-                            minEFT = eft;
-                            bestVM = vm;
-                        }
-                    }
-                }
+                bestVM = candidatePruner.selectMinimum(candidates, vm -> CandidatePruner.getEftLowerBound(task, vm, parentsFinishTime), vm -> {
+                    count(CANDIDATE_EVALUATIONS);
+                    return calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
+                });
             }
+            double minEFT = candidatePruner.getMinimum();
 
             double executionTime = getExecutionTime(task, bestVM);
             double actualStartTime = minEFT - executionTime;
             actualStartTimes.put(task, actualStartTime);
             actualFinishTimes.put(task, minEFT);
             taskAssignments.put(task, bestVM);
-            this.assignedWorkload.put(bestVM, this.assignedWorkload.get(bestVM) + task.getMi());
+            this.assignedWorkload.put(bestVM, this.assignedWorkload.get(bestVM) + task.getMi(bestVM.getTyp()));
             bestVM.addSlotToSchedule(new VM.TimeSlot(actualStartTime, minEFT, task, 0, 0));
         }
+        end(candidateLoopSpan, "E-HEFT");
 
         return vms;
     }
 
+    private boolean isOverThreshold(VM vm) {
+        double currentLoadPercentage = 0;
+        if (totalDagWorkload > 0) {
+            currentLoadPercentage = this.assignedWorkload.get(vm) / totalDagWorkload;
+        }
+        return currentLoadPercentage >= this.vmThresholds.get(vm);
+    }
+
     /**
      *  I used the TFLOPS of the VM as relative performance metric, as a proxy for a Linpack benchmark score.
      *  The sum of the threshold over all VMs is 1.0.
@@ -0,0 +1,470 @@
+package org.vf.src.algorithms.GA;
+
+import org.vf.src.BudgetedSchedule;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.decoder.ScheduleDecoder;
+import org.vf.src.instrumentation.SchedulingPhase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.vf.src.instrumentation.SchedulerInstrumentation.*;
+import static org.vf.src.instrumentation.SchedulingCounter.DECODED_SOLUTIONS;
+
+/**
+ * Genetic algorithm searching for the cheapest schedule that meets the workflow deadline.
+ *
+ * A solution is a VM for every task and a priority for every task. It is decoded by placing the tasks in priority
+ * order, parents first, with the {@link ScheduleDecoder}. The initial population contains the VM assignments and
+ * start orders of the HEFT and the CETSS schedule and mutated copies of them; the best solutions are always kept,
+ * so the result is never worse than the better decoded seed.
+ *
+ * Solutions meeting the deadline beat those that don't; among them the cheaper wins, among the late ones the one
+ * with the smaller makespan. Every generation keeps the best solutions and breeds the rest by tournament selection,
+ * uniform crossover and mutation. Offspring are bred and decoded in parallel, every worker has its own decoder and
+ * random stream split from the seed up front, so a run with a fixed number of generations is reproducible.
+ * With a time budget the search stops after the generation that exceeds it and returns the best solution so far.
+ */
+public class GeneticAlgorithm implements SchedulingAlgorithm {
+
+    private static final int NUM_OF_ELITES = 2;
+    private static final int TOURNAMENT_SIZE = 3;
+
+    private final ArrayList<? extends Task> tasks;
+    private final ArrayList<VM> vms;
+    private final int tau;
+    private final int deadline;
+    private final int numOfTasks;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final int[][] compatibleVMs;
+
+    private int populationSize = 64;
+    private int maxGenerations = 200;
+    private Duration timeBudget;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private long seed = 42;
+    private double mutationRate = -1;
+
+    private Individual best;
+    private int numOfGenerations;
+    private long numOfDecodedSolutions;
+
+    public GeneticAlgorithm(ArrayList<? extends Task> tasks, ArrayList<VM> vms, int tau, int deadline) {
+        this.tasks = tasks;
+        this.vms = vms;
+        this.tau = tau;
+        this.deadline = deadline;
+        this.numOfTasks = tasks.size();
+
+        Map<Integer, Integer> indexOfId = new HashMap<>();
+        for (int t = 0; t < numOfTasks; t++) {
+            indexOfId.put(tasks.get(t).getId(), t);
+        }
+        this.childOffsets = new int[numOfTasks + 1];
+        for (int t = 0; t < numOfTasks; t++) {
+            childOffsets[t + 1] = childOffsets[t] + tasks.get(t).getChildren().size();
+        }
+        this.children = new int[childOffsets[numOfTasks]];
+        for (int t = 0; t < numOfTasks; t++) {
+            List<Integer> childIds = tasks.get(t).getChildren();
+            for (int c = 0; c < childIds.size(); c++) {
+                children[childOffsets[t] + c] = indexOfId.get(childIds.get(c));
+            }
+        }
+
+        this.compatibleVMs = new int[numOfTasks][];
+        for (int t = 0; t < numOfTasks; t++) {
+            int[] compatible = new int[vms.size()];
+            int numOfCompatible = 0;
+            for (int v = 0; v < vms.size(); v++) {
+                if (tasks.get(t).canRunOn(vms.get(v).getTyp())) compatible[numOfCompatible++] = v;
+            }
+            if (numOfCompatible == 0) {
+                throw new IllegalArgumentException("No VM can run task " + tasks.get(t).getId());
+            }
+            compatibleVMs[t] = Arrays.copyOf(compatible, numOfCompatible);
+        }
+    }
+
+    @Override
+    public ArrayList<VM> scheduler() {
+        long startNanos = System.nanoTime();
+        return search(timeBudget == null ? Long.MAX_VALUE : BudgetedSchedule.getBudgetEndNanos(startNanos, timeBudget));
+    }
+
+    /**
+     * Searches until the earlier of the configured time budget and the given one expires.
+     * The completed fraction is the share of the maximum number of generations that ran.
+     */
+    @Override
+    public BudgetedSchedule scheduler(Duration budget) {
+        long startNanos = System.nanoTime();
+        long budgetEndNanos = BudgetedSchedule.getBudgetEndNanos(startNanos, budget);
+        if (timeBudget != null) {
+            budgetEndNanos = Math.min(budgetEndNanos, BudgetedSchedule.getBudgetEndNanos(startNanos, timeBudget));
+        }
+        ArrayList<VM> scheduledVMs = search(budgetEndNanos);
+        double completedFraction = maxGenerations <= 0 ? 1.0 : Math.min(1.0, (double) numOfGenerations / maxGenerations);
+        return new BudgetedSchedule(scheduledVMs, completedFraction, System.nanoTime() - startNanos);
+    }
+
+    private ArrayList<VM> search(long budgetEndNanos) {
+        numOfGenerations = 0;
+        numOfDecodedSolutions = 0;
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, tau);
+        double rate = mutationRate >= 0 ? mutationRate : 1.0 / Math.max(1, numOfTasks);
+        SplittableRandom root = new SplittableRandom(seed);
+        int numOfWorkers = Math.max(1, Math.min(parallelism, populationSize - NUM_OF_ELITES));
+        Worker[] workers = new Worker[numOfWorkers];
+        for (int w = 0; w < numOfWorkers; w++) {
+            workers[w] = new Worker(new ScheduleDecoder(decoder), root.split(), rate);
+        }
+
+        Individual[] population = new Individual[populationSize];
+        Individual[] offspring = new Individual[populationSize];
+        for (int i = 0; i < populationSize; i++) {
+            population[i] = new Individual(numOfTasks);
+            offspring[i] = new Individual(numOfTasks);
+        }
+        Comparator<Individual> byFitness = (a, b) -> isBetter(a, b) ? -1 : isBetter(b, a) ? 1 : 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(numOfWorkers);
+        Span searchSpan = begin(SchedulingPhase.POPULATION_SEARCH);
+        try {
+            // Seeds and their mutated copies, the remaining individuals are random.
+            List<Individual> seeds = List.of(getHeftSeed(), getCetssSeed());
+            for (int i = 0; i < populationSize; i++) {
+                if (i < seeds.size()) {
+                    population[i].copyFrom(seeds.get(i));
+                } else if (i < populationSize / 2) {
+                    population[i].copyFrom(seeds.get(i % seeds.size()));
+                    workers[0].mutate(population[i], 0.1);
+                } else {
+                    workers[0].randomize(population[i]);
+                }
+            }
+            evaluateInParallel(executor, workers, population, 0, null);
+            Arrays.sort(population, byFitness);
+            best = new Individual(numOfTasks);
+            best.copyFrom(population[0]);
+
+            while (numOfGenerations < maxGenerations && System.nanoTime() < budgetEndNanos) {
+                for (int i = 0; i < NUM_OF_ELITES && i < populationSize; i++) {
+                    offspring[i].copyFrom(population[i]);
+                }
+                evaluateInParallel(executor, workers, offspring, NUM_OF_ELITES, population);
+
+                Individual[] previous = population;
+                population = offspring;
+                offspring = previous;
+                Arrays.sort(population, byFitness);
+                if (isBetter(population[0], best)) {
+                    best.copyFrom(population[0]);
+                }
+                numOfGenerations++;
+            }
+        } finally {
+            executor.shutdownNow();
+            end(searchSpan, "GA");
+        }
+
+        decoder.decode(best.assignment, topologicalOrder(best.priorities, new int[numOfTasks], new int[numOfTasks], new int[numOfTasks]));
+        return decoder.writeSchedules();
+    }
+
+    /**
+     * Evaluates the individuals from index first on; with parents they are bred from the parents first.
+     */
+    private void evaluateInParallel(ExecutorService executor, Worker[] workers, Individual[] individuals, int first, Individual[] parents) {
+        List<Callable<Void>> chunks = new ArrayList<>(workers.length);
+        for (int w = 0; w < workers.length; w++) {
+            Worker worker = workers[w];
+            int offset = w;
+            chunks.add(() -> {
+                for (int i = first + offset; i < individuals.length; i += workers.length) {
+                    if (parents != null) {
+                        worker.breed(parents, individuals[i]);
+                    }
+                    worker.evaluate(individuals[i]);
+                }
+                return null;
+            });
+        }
+        try {
+            for (var chunk : executor.invokeAll(chunks)) {
+                chunk.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Population search was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Population search failed.", e.getCause());
+        }
+        for (Worker worker : workers) {
+            numOfDecodedSolutions += worker.numOfDecodedSolutions;
+            worker.numOfDecodedSolutions = 0;
+        }
+        count(DECODED_SOLUTIONS, individuals.length - first);
+    }
+
+    /**
+     * Meeting the deadline first, then the cost, for late solutions the makespan.
+     */
+    private boolean isBetter(Individual a, Individual b) {
+        boolean aMeetsDeadline = a.makespan <= deadline;
+        boolean bMeetsDeadline = b.makespan <= deadline;
+        if (aMeetsDeadline != bMeetsDeadline) return aMeetsDeadline;
+        if (aMeetsDeadline) {
+            return a.cost < b.cost || a.cost == b.cost && a.makespan < b.makespan;
+        }
+        return a.makespan < b.makespan || a.makespan == b.makespan && a.cost < b.cost;
+    }
+
+    private Individual getHeftSeed() {
+        ArrayList<VM> seedVMs = copyOf(vms);
+        new HEFT(copyOf(tasks, TaskHEFT::new), seedVMs).scheduler();
+        return toIndividual(seedVMs);
+    }
+
+    private Individual getCetssSeed() {
+        ArrayList<VM> seedVMs = copyOf(vms);
+        new CETSS(copyOf(tasks, TaskCETSS::new), seedVMs, tau, deadline).scheduler();
+        return toIndividual(seedVMs);
+    }
+
+    /**
+     * The VM of every task and its rank by start time as priority. Tasks the seed did not schedule get a random VM
+     * and the lowest priority.
+     */
+    private Individual toIndividual(List<VM> scheduledVMs) {
+        Map<Integer, Integer> indexOfId = new HashMap<>();
+        for (int t = 0; t < numOfTasks; t++) {
+            indexOfId.put(tasks.get(t).getId(), t);
+        }
+        Individual individual = new Individual(numOfTasks);
+        double[] starts = new double[numOfTasks];
+        Arrays.fill(starts, Double.POSITIVE_INFINITY);
+        for (int t = 0; t < numOfTasks; t++) {
+            individual.assignment[t] = compatibleVMs[t][0];
+        }
+        for (int v = 0; v < scheduledVMs.size(); v++) {
+            for (VM.TimeSlot slot : scheduledVMs.get(v).getSchedule()) {
+                int t = indexOfId.get(slot.getTask().getId());
+                individual.assignment[t] = v;
+                starts[t] = slot.getStart();
+            }
+        }
+        Integer[] byStart = new Integer[numOfTasks];
+        for (int t = 0; t < numOfTasks; t++) byStart[t] = t;
+        Arrays.sort(byStart, Comparator.comparingDouble((Integer t) -> starts[t]).thenComparingInt(t -> t));
+        for (int rank = 0; rank < numOfTasks; rank++) {
+            individual.priorities[byStart[rank]] = (double) rank / numOfTasks;
+        }
+        return individual;
+    }
+
+    private static ArrayList<VM> copyOf(List<VM> vms) {
+        ArrayList<VM> copy = new ArrayList<>(vms.size());
+        for (VM vm : vms) {
+            VM vmCopy = new VM(vm);
+            vmCopy.clearSchedule();
+            copy.add(vmCopy);
+        }
+        return copy;
+    }
+
+    private static <T extends Task> ArrayList<T> copyOf(List<? extends Task> tasks, TaskFactory<T> factory) {
+        ArrayList<T> copy = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            T taskCopy = factory.create(task.getId(), task.getDin(), task.getDout(), task.getMi(),
+                    new ArrayList<>(task.getParents()), new ArrayList<>(task.getChildren()), task.getTyp());
+            taskCopy.copyWorkEstimatesFrom(task);
+            taskCopy.copyEdgeVolumesFrom(task);
+            copy.add(taskCopy);
+        }
+        return copy;
+    }
+
+    /**
+     * Orders the tasks by priority, smallest first, among the tasks whose parents are already ordered.
+     */
+    private int[] topologicalOrder(double[] priorities, int[] order, int[] remainingParents, int[] heap) {
+        int heapSize = 0;
+        for (int t = 0; t < numOfTasks; t++) {
+            remainingParents[t] = tasks.get(t).getParents().size();
+        }
+        for (int t = 0; t < numOfTasks; t++) {
+            if (remainingParents[t] == 0) heapSize = push(heap, heapSize, t, priorities);
+        }
+        for (int i = 0; i < numOfTasks; i++) {
+            int t = heap[0];
+            heap[0] = heap[--heapSize];
+            siftDown(heap, heapSize, 0, priorities);
+            order[i] = t;
+            for (int c = childOffsets[t]; c < childOffsets[t + 1]; c++) {
+                if (--remainingParents[children[c]] == 0) heapSize = push(heap, heapSize, children[c], priorities);
+            }
+        }
+        return order;
+    }
+
+    private static int push(int[] heap, int heapSize, int t, double[] priorities) {
+        int i = heapSize;
+        heap[i] = t;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isBefore(heap[i], heap[parent], priorities)) break;
+            int swap = heap[i];
+            heap[i] = heap[parent];
+            heap[parent] = swap;
+            i = parent;
+        }
+        return heapSize + 1;
+    }
+
+    private static void siftDown(int[] heap, int heapSize, int i, double[] priorities) {
+        while (true) {
+            int smallest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < heapSize && isBefore(heap[left], heap[smallest], priorities)) smallest = left;
+            if (right < heapSize && isBefore(heap[right], heap[smallest], priorities)) smallest = right;
+            if (smallest == i) return;
+            int swap = heap[i];
+            heap[i] = heap[smallest];
+            heap[smallest] = swap;
+            i = smallest;
+        }
+    }
+
+    private static boolean isBefore(int a, int b, double[] priorities) {
+        return priorities[a] < priorities[b] || priorities[a] == priorities[b] && a < b;
+    }
+
+    private static class Individual {
+        final int[] assignment;
+        final double[] priorities;
+        double makespan;
+        double cost;
+
+        Individual(int numOfTasks) {
+            this.assignment = new int[numOfTasks];
+            this.priorities = new double[numOfTasks];
+        }
+
+        void copyFrom(Individual source) {
+            System.arraycopy(source.assignment, 0, assignment, 0, assignment.length);
+            System.arraycopy(source.priorities, 0, priorities, 0, priorities.length);
+            makespan = source.makespan;
+            cost = source.cost;
+        }
+    }
+
+    /**
+     * Breeds and decodes individuals with its own decoder, random stream and scratch arrays.
+     */
+    private class Worker {
+        private final ScheduleDecoder decoder;
+        private final SplittableRandom random;
+        private final double mutationRate;
+        private final int[] order = new int[numOfTasks];
+        private final int[] remainingParents = new int[numOfTasks];
+        private final int[] heap = new int[numOfTasks];
+        private long numOfDecodedSolutions;
+
+        Worker(ScheduleDecoder decoder, SplittableRandom random, double mutationRate) {
+            this.decoder = decoder;
+            this.random = random;
+            this.mutationRate = mutationRate;
+        }
+
+        void evaluate(Individual individual) {
+            individual.makespan = decoder.decode(individual.assignment, topologicalOrder(individual.priorities, order, remainingParents, heap));
+            individual.cost = decoder.getTotalCost();
+            numOfDecodedSolutions++;
+        }
+
+        void breed(Individual[] parents, Individual child) {
+            Individual first = tournament(parents);
+            Individual second = tournament(parents);
+            for (int t = 0; t < numOfTasks; t++) {
+                Individual parent = random.nextBoolean() ? first : second;
+                child.assignment[t] = parent.assignment[t];
+                child.priorities[t] = parent.priorities[t];
+            }
+            mutate(child, mutationRate);
+        }
+
+        /**
+         * Moves every task with the given probability to a random compatible VM and gives it a new priority.
+         */
+        void mutate(Individual individual, double rate) {
+            for (int t = 0; t < numOfTasks; t++) {
+                if (random.nextDouble() < rate) {
+                    individual.assignment[t] = compatibleVMs[t][random.nextInt(compatibleVMs[t].length)];
+                }
+                if (random.nextDouble() < rate) {
+                    individual.priorities[t] = random.nextDouble();
+                }
+            }
+        }
+
+        void randomize(Individual individual) {
+            mutate(individual, 1.0);
+        }
+
+        /**
+         * The population is sorted by fitness, so the smallest of the drawn indices wins.
+         */
+        private Individual tournament(Individual[] population) {
+            int winner = population.length;
+            for (int i = 0; i < TOURNAMENT_SIZE; i++) {
+                winner = Math.min(winner, random.nextInt(population.length));
+            }
+            return population[winner];
+        }
+    }
+
+    public int getPopulationSize() { return populationSize; }
+    public void setPopulationSize(int populationSize) {
+        if (populationSize <= NUM_OF_ELITES) {
+            throw new IllegalArgumentException("The population needs more than " + NUM_OF_ELITES + " individuals: " + populationSize);
+        }
+        this.populationSize = populationSize;
+    }
+    public int getMaxGenerations() { return maxGenerations; }
+    public void setMaxGenerations(int maxGenerations) { this.maxGenerations = maxGenerations; }
+    public Duration getTimeBudget() { return timeBudget; }
+    /** Wall-clock limit of a scheduler() call, null for none. */
+    public void setTimeBudget(Duration timeBudget) { this.timeBudget = timeBudget; }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = Math.max(1, parallelism); }
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+    /** Per task probability of a new VM and of a new priority, negative for 1 / number of tasks. */
+    public void setMutationRate(double mutationRate) { this.mutationRate = mutationRate; }
+
+    public int getNumOfGenerations() { return numOfGenerations; }
+    public long getNumOfDecodedSolutions() { return numOfDecodedSolutions; }
+    public double getBestMakespan() { return best == null ? Double.NaN : best.makespan; }
+    public double getBestCost() { return best == null ? Double.NaN : best.cost; }
+}
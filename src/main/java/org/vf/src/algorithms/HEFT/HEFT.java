@@ -1,18 +1,25 @@
 package org.vf.src.algorithms.HEFT;
 
+import org.vf.src.InstanceClassIndex;
 import org.vf.src.SchedulingAlgorithm;
 import org.vf.src.Task;
 import org.vf.src.VM;
+import org.vf.src.algorithms.CandidatePruner;
+import org.vf.src.instrumentation.SchedulingPhase;
 
 import java.util.*;
 
 import static org.vf.src.algorithms.Utils.*;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.*;
+import static org.vf.src.instrumentation.SchedulingCounter.CANDIDATE_EVALUATIONS;
 
 public class HEFT implements SchedulingAlgorithm {
 
     private final ArrayList<TaskHEFT> tasks;
     private final ArrayList<VM> vms;
     private final Map<Integer, TaskHEFT> taskMap;
+    private final InstanceClassIndex instanceClasses;
+    private CandidatePruner candidatePruner = CandidatePruner.fromSystemProperties();
 
     private final Map<Task, Double> actualStartTimes = new HashMap<>();
     private final Map<Task, Double> actualFinishTimes = new HashMap<>();
@@ -22,41 +29,46 @@ public class HEFT implements SchedulingAlgorithm {
         this.tasks = tasks;
         this.vms = vms;
         this.taskMap = new HashMap<>();
+        this.instanceClasses = new InstanceClassIndex(vms);
 
         for (TaskHEFT task : tasks) {
             this.taskMap.put(task.getId(), task);
         }
     }
 
+    public CandidatePruner getCandidatePruner() { return candidatePruner; }
+    public void setCandidatePruner(CandidatePruner candidatePruner) { this.candidatePruner = candidatePruner; }
+
     @Override
     public ArrayList<VM>  scheduler() {
         for (VM vm : vms) {
             vm.clearSchedule();
         }
+        instanceClasses.reset();
 
+        Span rankingSpan = begin(SchedulingPhase.RANKING);
         for (TaskHEFT task : tasks) {
             calculateUpwardRank(task, vms, taskMap);
         }
+        end(rankingSpan, "HEFT");
 
         // Scheduling list sorted by decreasing order of upward rank.
         PriorityQueue<TaskHEFT> taskQueue = new PriorityQueue<>(Comparator.comparingDouble(TaskHEFT::getUpperRank).reversed());
         taskQueue.addAll(tasks);
 
+        Span candidateLoopSpan = begin(SchedulingPhase.GREEDY_CANDIDATE_LOOP);
         while (!taskQueue.isEmpty()) {
             TaskHEFT task = taskQueue.poll();
 
-            double minEFT = Double.POSITIVE_INFINITY;
-            VM bestVM = null;
-
-            for (VM vm : vms) {
-                if (vm.getTyp() == task.getTyp()) {
-                    double eft = calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
-                    if (eft < minEFT) {
-                        minEFT = eft;
-                        bestVM = vm;
-                    }
-                }
-            }
+            // Idle copies of an instance class are interchangeable, only one of them is evaluated.
+            double parentsFinishTime = getLatestParentFinishTime(task, taskMap, actualFinishTimes);
+            List<VM> candidates = candidatePruner.select(instanceClasses.getCandidates(task), task, parentsFinishTime,
+                    getParentHosts(task, taskMap, taskAssignments));
+            VM bestVM = candidatePruner.selectMinimum(candidates, vm -> CandidatePruner.getEftLowerBound(task, vm, parentsFinishTime), vm -> {
+                count(CANDIDATE_EVALUATIONS);
+                return calculateEFT(task, vm, taskMap, taskAssignments, actualFinishTimes);
+            });
+            double minEFT = candidatePruner.getMinimum();
 
             // Assign the task to the best VM found.
             double executionTime = getExecutionTime(task, bestVM);
@@ -69,6 +81,7 @@ public class HEFT implements SchedulingAlgorithm {
 
             bestVM.addSlotToSchedule(new VM.TimeSlot(actualStartTime, minEFT, task, 0, 0));
         }
+        end(candidateLoopSpan, "HEFT");
         return vms;
     }
 }
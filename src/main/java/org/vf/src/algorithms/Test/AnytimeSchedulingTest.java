@@ -0,0 +1,81 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.BudgetedSchedule;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class AnytimeSchedulingTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("An expired budget should still return the complete greedy schedule, an unlimited one the converged CETSS schedule")
+    void testCetssBudget() {
+        int deadline = (int) Math.ceil(3 * getFastestCriticalPath(getRandomLayeredWorkflow(TaskHEFT::new, 200, 10, 4), getVMConfig(1)));
+
+        BudgetedSchedule expired = newCetss(deadline).scheduler(Duration.ZERO);
+        ArrayList<VM> greedy = newCetss(deadline).getGreedyWorkflowScheduling();
+        assertEquals(0.0, expired.completedFraction());
+        assertFalse(expired.isComplete());
+        assertEquals(describe(greedy), describe(expired.vms()));
+
+        BudgetedSchedule unlimited = newCetss(deadline).scheduler(Duration.ofSeconds(Long.MAX_VALUE));
+        assertTrue(unlimited.isComplete());
+        assertTrue(ScheduleMetrics.of(unlimited.vms(), TAU, deadline).getTotalCost()
+                <= ScheduleMetrics.of(newCetss(deadline).scheduler(), TAU, deadline).getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Spare budget should repeat the CETSS task adjustment until no task moves to a cheaper slot")
+    void testCetssRepeatedAdjustment() {
+        int deadline = (int) Math.ceil(1.5 * getFastestCriticalPath(getRandomLayeredWorkflow(TaskHEFT::new, 100, 10, 6), getVMConfig(4)));
+
+        ScheduleMetrics singlePass = ScheduleMetrics.of(
+                new CETSS(getRandomLayeredWorkflow(TaskCETSS::new, 100, 10, 6), getVMConfig(4), TAU, deadline).scheduler(), TAU, deadline);
+        BudgetedSchedule repeated = new CETSS(getRandomLayeredWorkflow(TaskCETSS::new, 100, 10, 6), getVMConfig(4), TAU, deadline)
+                .scheduler(Duration.ofSeconds(Long.MAX_VALUE));
+        ScheduleMetrics repeatedPasses = ScheduleMetrics.of(repeated.vms(), TAU, deadline);
+
+        assertTrue(repeated.isComplete());
+        assertTrue(singlePass.isWithinDeadline());
+        assertTrue(repeatedPasses.isWithinDeadline());
+        assertEquals(100, repeated.vms().stream().mapToInt(vm -> vm.getSchedule().size()).sum());
+        assertTrue(repeatedPasses.getTotalCost() < singlePass.getTotalCost());
+    }
+
+    @Test
+    @DisplayName("Algorithms without improvement phases should run to completion regardless of the budget")
+    void testDefaultBudget() {
+        BudgetedSchedule schedule = new HEFT(getRandomLayeredWorkflow(TaskHEFT::new, 50, 5, 1), getVMConfig(1)).scheduler(Duration.ZERO);
+        assertTrue(schedule.isComplete());
+        assertEquals(50, schedule.vms().stream().mapToInt(vm -> vm.getSchedule().size()).sum());
+    }
+
+    private static CETSS newCetss(int deadline) {
+        return new CETSS(getRandomLayeredWorkflow(TaskCETSS::new, 200, 10, 4), getVMConfig(1), TAU, deadline);
+    }
+
+    private static String describe(ArrayList<VM> vms) {
+        StringBuilder description = new StringBuilder();
+        for (int v = 0; v < vms.size(); v++) {
+            for (VM.TimeSlot slot : vms.get(v).getSchedule()) {
+                description.append(v).append(':').append(slot.getTask().getId()).append('@').append(slot.getStart()).append(' ');
+            }
+        }
+        return description.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.evaluation.AsyncResultSink;
+import org.vf.src.evaluation.ResultSink;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncResultSinkTest {
+
+    @Test
+    @DisplayName("Rows and new lines should reach the wrapped sink in order")
+    void testOrdering() throws IOException {
+        RecordingSink delegate = new RecordingSink(Integer.MAX_VALUE);
+        List<Integer> row = new ArrayList<>(List.of(0));
+        try (AsyncResultSink sink = new AsyncResultSink(delegate, 4, 3)) {
+            for (int i = 0; i < 1000; i++) {
+                row.set(0, i);
+                sink.addRow(row);
+                if (i % 100 == 99) sink.addNewLine();
+            }
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add("[" + i + "]");
+            if (i % 100 == 99) expected.add("");
+        }
+        assertEquals(expected, delegate.lines);
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    @DisplayName("A failure of the writer should be rethrown to the producer and by close, which still closes the wrapped sink")
+    void testWriterFailure() {
+        RecordingSink delegate = new RecordingSink(10);
+        AsyncResultSink sink = new AsyncResultSink(delegate, 4, 3);
+        // More rows than the queue holds, the producer must neither block on the dead writer nor miss its error.
+        IOException producerException = assertThrows(IOException.class, () -> {
+            for (int i = 0; i < 100_000; i++) {
+                sink.addRow(List.of(i));
+            }
+        });
+        assertEquals("Writing results failed: disk full", producerException.getMessage());
+
+        IOException closeException = assertThrows(IOException.class, sink::close);
+        assertSame(producerException.getCause(), closeException.getCause());
+        assertTrue(delegate.closed);
+        assertEquals(10, delegate.lines.size());
+        assertThrows(IOException.class, () -> sink.addRow(List.of(0)));
+        assertDoesNotThrow(sink::close);
+    }
+
+    private static class RecordingSink implements ResultSink {
+
+        private final int maxRows;
+        private final List<String> lines = new ArrayList<>();
+        private volatile boolean closed;
+
+        RecordingSink(int maxRows) {
+            this.maxRows = maxRows;
+        }
+
+        @Override
+        public <T> void addRow(List<T> row) throws IOException {
+            if (lines.size() == maxRows) throw new IOException("disk full");
+            lines.add(row.toString());
+        }
+
+        @Override
+        public void addNewLine() {
+            lines.add("");
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.billing.BillingModel;
+import org.vf.src.billing.SustainedUseBilling;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BillingModelTest {
+
+    private static final double TAU = 3600;
+
+    @Test
+    @DisplayName("Incremental marginal costs should match the cost difference of billing the schedule from scratch")
+    void testIncrementalStateMatchesRebuild() {
+        VM vm = new VM(1, "test", 2.5, 1, 1, 1, HardwareType.CPU);
+        List<BillingModel> models = List.of(
+                BillingModel.perPeriod(TAU),
+                BillingModel.perSecond(TAU, 60),
+                BillingModel.sustainedUse(TAU),
+                BillingModel.spot(TAU, new double[] {0.3, 0.5, 0.9}));
+
+        for (BillingModel model : models) {
+            SplittableRandom random = new SplittableRandom(7);
+            BillingModel.State state = model.newState(vm);
+            List<double[]> slots = new ArrayList<>();
+            for (int step = 0; step < 400; step++) {
+                if (!slots.isEmpty() && random.nextInt(3) == 0) {
+                    double[] slot = slots.remove(random.nextInt(slots.size()));
+                    state.remove(slot[0], slot[1]);
+                } else {
+                    double start = random.nextDouble(0, 40 * TAU);
+                    double end = start + random.nextDouble(1, 2 * TAU);
+                    double expected = rebuild(model, vm, slots, start, end) - rebuild(model, vm, slots, Double.NaN, Double.NaN);
+                    assertEquals(expected, state.getMarginalCost(start, end), 1e-9, model.getClass().getSimpleName());
+                    state.add(start, end);
+                    slots.add(new double[] {start, end});
+                }
+                assertEquals(rebuild(model, vm, slots, Double.NaN, Double.NaN), state.getCost(), 1e-9, model.getClass().getSimpleName());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Billing models should charge periods, seconds with a minimum, discounts and price curves")
+    void testBillingModels() {
+        VM vm = new VM(1, "test", 1.0, 1, 1, 1, HardwareType.CPU);
+
+        BillingModel.State perPeriod = BillingModel.perPeriod(TAU).newState(vm);
+        perPeriod.add(100, 200);
+        perPeriod.add(3000, 4000);
+        assertEquals(2.0, perPeriod.getCost(), 1e-12);
+        assertEquals(0.0, perPeriod.getMarginalCost(300, 400), 1e-12);
+
+        BillingModel.State perSecond = BillingModel.perSecond(TAU, 60).newState(vm);
+        perSecond.add(0, 10);
+        perSecond.add(10, 100);
+        assertEquals(100 / TAU, perSecond.getCost(), 1e-12);
+        perSecond.remove(0, 10);
+        assertEquals(90 / TAU, perSecond.getCost(), 1e-12);
+        assertEquals(60 / TAU, perSecond.getMarginalCost(1000, 1001), 1e-12);
+
+        BillingModel.State sustainedUse = new SustainedUseBilling(TAU, 8, new double[] {1.0, 0.8, 0.6, 0.4}).newState(vm);
+        sustainedUse.add(0, 3 * TAU);
+        assertEquals(1.0 + 1.0 + 0.8, sustainedUse.getCost(), 1e-12);
+        assertEquals(0.8 + 0.6 + 0.6 + 0.4 + 0.4, sustainedUse.getMarginalCost(3 * TAU, 8 * TAU), 1e-12);
+        assertEquals(1.0, sustainedUse.getMarginalCost(8 * TAU, 9 * TAU), 1e-12);
+
+        BillingModel.State spot = BillingModel.spot(TAU, new double[] {0.5, 1.0}).newState(vm);
+        spot.add(0, 2 * TAU);
+        assertEquals(1.5, spot.getCost(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("A VM should charge candidate slots with its billing model")
+    void testVmBillingModel() {
+        VM vm = new VM(1, "test", 1.0, 1, 1, 1, HardwareType.CPU);
+        vm.addSlotToSchedule(new VM.TimeSlot(0, 100, null, 0, 0));
+        assertEquals(1.0, vm.calculateTotalCost((int) TAU), 1e-12);
+        assertEquals(0.0, vm.vmCalculateFinancialCost(200, 300, TAU), 1e-12);
+
+        vm.setBillingModel(BillingModel.perSecond(TAU, 0));
+        assertEquals(100 / TAU, vm.calculateTotalCost((int) TAU), 1e-12);
+        assertEquals(100 / TAU, vm.vmCalculateFinancialCost(200, 300, TAU), 1e-12);
+    }
+
+    private static double rebuild(BillingModel model, VM vm, List<double[]> slots, double extraStart, double extraEnd) {
+        BillingModel.State state = model.newState(vm);
+        for (double[] slot : slots) {
+            state.add(slot[0], slot[1]);
+        }
+        if (!Double.isNaN(extraStart)) {
+            state.add(extraStart, extraEnd);
+        }
+        return state.getCost();
+    }
+}
@@ -0,0 +1,129 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.decoder.ScheduleDecoder;
+import org.vf.src.service.SchedulingRequest;
+import org.vf.src.simulation.ScheduleSimulator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.algorithms.CETSS.UtilsCETSS.getEarliestFinishTimes;
+import static org.vf.src.algorithms.CETSS.UtilsCETSS.getLatestFinishTimes;
+import static org.vf.src.algorithms.Utils.calculateEST;
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+import static org.vf.src.evaluation.EvaluationSetup.splitOutputsAcrossChildren;
+
+class EdgeVolumeTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("Edge volumes should give the same start times in calculateEST, the decoder and the simulator")
+    void testEdgeVolumesAreChargedConsistently() {
+        ArrayList<TaskHEFT> tasks = splitOutputsAcrossChildren(getRandomLayeredWorkflow(TaskHEFT::new, 200, 10, 4));
+        ArrayList<VM> vms = getVMConfig(2);
+        int[] assignment = new int[tasks.size()];
+        SplittableRandom random = new SplittableRandom(9);
+        int[] order = new int[tasks.size()];
+        for (int t = 0; t < tasks.size(); t++) {
+            do {
+                assignment[t] = random.nextInt(vms.size());
+            } while (!tasks.get(t).canRunOn(vms.get(assignment[t]).getTyp()));
+            order[t] = t;
+        }
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, TAU);
+        decoder.decode(assignment, order);
+
+        Map<Integer, TaskHEFT> taskMap = new HashMap<>();
+        Map<Task, VM> taskAssignments = new HashMap<>();
+        Map<Task, Double> finishTimes = new HashMap<>();
+        for (TaskHEFT task : tasks) taskMap.put(task.getId(), task);
+        for (TaskHEFT task : tasks) {
+            VM vm = vms.get(assignment[task.getId()]);
+            double executionTime = getExecutionTime(task, vm);
+            double start = vm.findEarliestAvailableStartTime(executionTime, calculateEST(task, vm, taskMap, taskAssignments, finishTimes));
+            vm.addSlotToSchedule(new VM.TimeSlot(start, start + executionTime, task, 0, 0));
+            taskAssignments.put(task, vm);
+            finishTimes.put(task, start + executionTime);
+            assertEquals(start, decoder.getStartTime(task.getId()));
+        }
+
+        ScheduleSimulator simulator = new ScheduleSimulator(vms, TAU, true);
+        simulator.simulate();
+        for (int slot = 0; slot < simulator.getNumOfSlots(); slot++) {
+            assertEquals(simulator.getSlot(slot).getStart(), simulator.getStartTime(slot), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("Edge volumes should survive formatting and parsing a scheduling request")
+    void testRequestRoundTrip() {
+        ArrayList<TaskHEFT> tasks = splitOutputsAcrossChildren(getRandomLayeredWorkflow(TaskHEFT::new, 60, 5, 2));
+        SchedulingRequest request = SchedulingRequest.parse(SchedulingRequest.format("HEFT", TAU, 5000, getVMConfig(1), tasks));
+        ArrayList<TaskHEFT> parsed = request.createTasks(TaskHEFT::new);
+
+        boolean splitEdges = false;
+        for (TaskHEFT task : tasks) {
+            TaskHEFT parsedTask = parsed.get(task.getId());
+            for (int p = 0; p < task.getParents().size(); p++) {
+                Task parent = tasks.get(task.getParents().get(p));
+                assertEquals(task.getInputVolume(p, parent), parsedTask.getInputVolume(p, parsed.get(parent.getId())));
+                splitEdges |= task.getInputVolume(p, parent) < parent.getDout();
+            }
+        }
+        assertTrue(splitEdges);
+    }
+
+    @Test
+    @DisplayName("CETSS te and tl should charge every edge, split fan-out edges lower the estimates")
+    void testCetssEstimatesChargeEdgeVolumes() {
+        // Fork 0 -> {1, 2} -> 3 on a standard VM with w 1 and gsr, gsw 10. Task 0 writes 100, task 1 writes 20.
+        // Whole outputs: te = {20, 20 + 10 + 17, 20 + 10 + 20, max(47 + 2, 50) + 10}, tl = {20, 60 - 10 - 2, 60 - 10, 60}.
+        // Halved fan-out of task 0: te = {20, 20 + 5 + 17, 20 + 5 + 20, max(42 + 2, 45) + 10}, tl = {20, 43, 45, 55}.
+        HashMap<HardwareType, VM> vmstMap = new HashMap<>();
+        vmstMap.put(HardwareType.CPU, new VM(-1, "vmst-CPU", -1, 1, 10, 10, HardwareType.CPU));
+        vmstMap.put(HardwareType.GPU, new VM(-1, "vmst-GPU", -1, 10, 10, 10, HardwareType.GPU));
+        ArrayList<TaskCETSS> fork = getFork();
+        assertArrayEquals(new double[] {20, 47, 50, 60}, getEarliestFinishTimes(fork, vmstMap), 1e-9);
+        assertArrayEquals(new double[] {20, 48, 50, 60}, getLatestFinishTimes(fork, vmstMap), 1e-9);
+
+        ArrayList<TaskCETSS> splitFork = splitOutputsAcrossChildren(getFork());
+        assertArrayEquals(new double[] {20, 42, 45, 55}, getEarliestFinishTimes(splitFork, vmstMap), 1e-9);
+        assertArrayEquals(new double[] {20, 43, 45, 55}, getLatestFinishTimes(splitFork, vmstMap), 1e-9);
+
+        // A split edge carries at most the whole output, so no estimate grows and the subdeadline estimates drop.
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 100, 8, 4);
+        ArrayList<TaskCETSS> splitTasks = splitOutputsAcrossChildren(getRandomLayeredWorkflow(TaskCETSS::new, 100, 8, 4));
+        double[] te = getEarliestFinishTimes(tasks, vmstMap);
+        double[] splitTe = getEarliestFinishTimes(splitTasks, vmstMap);
+        boolean lower = false;
+        for (int t = 0; t < tasks.size(); t++) {
+            assertTrue(splitTe[t] <= te[t]);
+            lower |= splitTe[t] < te[t];
+        }
+        assertTrue(lower);
+    }
+
+    private static ArrayList<TaskCETSS> getFork() {
+        ArrayList<TaskCETSS> fork = new ArrayList<>();
+        fork.add(new TaskCETSS(0, 0, 100, 10, new ArrayList<>(), new ArrayList<>(List.of(1, 2)), HardwareType.CPU));
+        fork.add(new TaskCETSS(1, 100, 20, 5, new ArrayList<>(List.of(0)), new ArrayList<>(List.of(3)), HardwareType.CPU));
+        fork.add(new TaskCETSS(2, 100, 0, 10, new ArrayList<>(List.of(0)), new ArrayList<>(List.of(3)), HardwareType.CPU));
+        fork.add(new TaskCETSS(3, 0, 0, 10, new ArrayList<>(List.of(1, 2)), new ArrayList<>(), HardwareType.CPU));
+        return fork;
+    }
+}
@@ -0,0 +1,89 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.decoder.ScheduleDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class FlexibleHardwareTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("GPU tasks that may run on CPUs should spill over to the CPUs of a pool with a single GPU")
+    void testFlexibleTasksUseBothTypes() {
+        ArrayList<TaskHEFT> heftTasks = getFlexibleTasks(getRandomLayeredWorkflow(TaskHEFT::new, 200, 10, 7));
+        assertSlotsOnEligibleTypes(heftTasks, new HEFT(heftTasks, getGpuScarcePool()).scheduler(), true);
+
+        ArrayList<TaskHEFT> eheftTasks = getFlexibleTasks(getRandomLayeredWorkflow(TaskHEFT::new, 200, 10, 7));
+        assertSlotsOnEligibleTypes(eheftTasks, new EHEFT(eheftTasks, getGpuScarcePool()).scheduler(), true);
+
+        ArrayList<TaskCETSS> cetssTasks = getFlexibleTasks(getRandomLayeredWorkflow(TaskCETSS::new, 200, 10, 7));
+        assertSlotsOnEligibleTypes(cetssTasks, new CETSS(cetssTasks, getGpuScarcePool(), TAU, 20000).scheduler(), true);
+    }
+
+    @Test
+    @DisplayName("Pinned tasks should only run on their own type, also in the schedule decoder")
+    void testPinnedTasksStayOnTheirType() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 200, 10, 7);
+        assertSlotsOnEligibleTypes(tasks, new CETSS(tasks, getGpuScarcePool(), TAU, 20000).scheduler(), false);
+
+        ArrayList<TaskHEFT> decoderTasks = getRandomLayeredWorkflow(TaskHEFT::new, 50, 5, 7);
+        decoderTasks.get(0).setWorkEstimate(decoderTasks.get(0).getTyp() == HardwareType.GPU ? HardwareType.CPU : HardwareType.GPU, 1000);
+        ArrayList<VM> vms = getVMConfig(1);
+        ScheduleDecoder decoder = new ScheduleDecoder(decoderTasks, vms, TAU);
+        for (int t = 0; t < decoderTasks.size(); t++) {
+            for (int v = 0; v < vms.size(); v++) {
+                assertEquals(decoderTasks.get(t).canRunOn(vms.get(v).getTyp()), decoder.canRunOn(t, v));
+            }
+        }
+        assertTrue(decoder.canRunOn(0, 0) && decoder.canRunOn(0, vms.size() - 1));
+    }
+
+    private static <T extends Task> ArrayList<T> getFlexibleTasks(ArrayList<T> tasks) {
+        for (T task : tasks) {
+            if (task.getTyp() == HardwareType.GPU) task.setWorkEstimate(HardwareType.CPU, 2 * task.getMi());
+        }
+        return tasks;
+    }
+
+    private static ArrayList<VM> getGpuScarcePool() {
+        ArrayList<VM> vms = new ArrayList<>();
+        for (VM vm : getVMConfig(3)) {
+            if (vm.getTyp() == HardwareType.CPU) vms.add(vm);
+        }
+        vms.add(VM.createNvidiaP100VM());
+        return vms;
+    }
+
+    private static void assertSlotsOnEligibleTypes(List<? extends Task> tasks, List<VM> scheduledVMs, boolean expectGpuTasksOnCpus) {
+        int numOfSlots = 0;
+        int numOfGpuTasksOnCpus = 0;
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                Task task = slot.getTask();
+                assertTrue(task.canRunOn(vm.getTyp()));
+                assertEquals(getExecutionTime(task, vm), slot.getEt(), 1e-9);
+                if (task.getTyp() != vm.getTyp()) numOfGpuTasksOnCpus++;
+                numOfSlots++;
+            }
+        }
+        assertEquals(tasks.size(), numOfSlots);
+        assertEquals(expectGpuTasksOnCpus, numOfGpuTasksOnCpus > 0);
+    }
+}
@@ -0,0 +1,122 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.evaluation.GanttExporter;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GanttExporterTest {
+
+    private static final int CHART_WIDTH = 1600;
+    private static final double MIN_SLOT_WIDTH = 2.0;
+    private static final int ROW_HEIGHT = 20;
+
+    @Test
+    @DisplayName("An unsorted schedule should be drawn like the sorted one")
+    void testUnsortedSchedule() throws Exception {
+        VM sorted = new VM(0, 1, 1, 10, 10);
+        VM unsorted = new VM(0, 1, 1, 10, 10);
+        int[] starts = {600, 0, 300, 900};
+        for (int i = 0; i < starts.length; i++) {
+            TaskHEFT task = getTask(i);
+            sorted.addSlotToSchedule(new VM.TimeSlot(starts[i], starts[i] + 100, task, 0, 0));
+            unsorted.getSchedule().add(new VM.TimeSlot(starts[i], starts[i] + 100, task, 0, 0));
+        }
+
+        String svg = writeSvg(List.of(unsorted));
+        assertEquals(writeSvg(List.of(sorted)), svg);
+        List<Element> rects = getRects(parse(svg));
+        assertEquals(4, rects.size());
+        for (int i = 1; i < rects.size(); i++) {
+            assertTrue(getX(rects.get(i)) > getX(rects.get(i - 1)));
+        }
+    }
+
+    @Test
+    @DisplayName("A million slots should give at most chartWidth / minSlotWidth + 1 bars per VM in well-formed SVG")
+    void testLargeScheduleIsDownsampled() throws Exception {
+        // The chart spans 1.6e6 seconds, 1000 seconds per pixel.
+        SplittableRandom random = new SplittableRandom(3);
+        List<VM> vms = new ArrayList<>();
+        for (int v = 0; v < 4; v++) {
+            VM vm = new VM(v, 1, 1, 10, 10);
+            double time = 0.0;
+            for (int i = 0; i < 250_000; i++) {
+                // Short slots with gaps from none to a few pixels
+                time += random.nextDouble() * (i % 1000 == 0 ? 4000 : 2);
+                double duration = random.nextDouble() * 2;
+                vm.addSlotToSchedule(new VM.TimeSlot(time, time + duration, getTask(i), 0, 0));
+                time += duration;
+            }
+            vm.addSlotToSchedule(new VM.TimeSlot(1.6e6 - 1, 1.6e6, getTask(250_000), 0, 0));
+            vms.add(vm);
+        }
+        // Slots of a fifth of a pixel, 1.4 pixels apart, the gaps between them are visible
+        VM comb = new VM(4, 1, 1, 10, 10);
+        for (int i = 0; i * 1400 < 1.6e6; i++) {
+            comb.addSlotToSchedule(new VM.TimeSlot(i * 1400, i * 1400 + 200, getTask(i), 0, 0));
+        }
+        vms.add(comb);
+
+        String svg = writeSvg(vms);
+        Document document = parse(svg);
+        assertEquals("svg", document.getDocumentElement().getTagName());
+
+        Map<String, Integer> barsPerRow = new HashMap<>();
+        for (Element rect : getRects(document)) {
+            barsPerRow.merge(rect.getAttribute("y"), 1, Integer::sum);
+            assertTrue(Double.parseDouble(rect.getAttribute("width")) >= 1.0);
+        }
+        assertEquals(vms.size(), barsPerRow.size());
+        for (int bars : barsPerRow.values()) {
+            assertTrue(bars <= CHART_WIDTH / MIN_SLOT_WIDTH + 1, bars + " bars");
+        }
+    }
+
+    private static TaskHEFT getTask(int id) {
+        return new TaskHEFT(id, 0, 0, 1, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU);
+    }
+
+    private static String writeSvg(List<VM> vms) throws Exception {
+        StringWriter writer = new StringWriter();
+        new GanttExporter(CHART_WIDTH, MIN_SLOT_WIDTH).writeSvg(vms, writer);
+        return writer.toString();
+    }
+
+    private static Document parse(String svg) throws Exception {
+        return DocumentBuilderFactory.newInstance().newDocumentBuilder()
+                .parse(new ByteArrayInputStream(svg.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static List<Element> getRects(Document document) {
+        NodeList nodes = document.getElementsByTagName("rect");
+        List<Element> rects = new ArrayList<>(nodes.getLength());
+        for (int i = 0; i < nodes.getLength(); i++) {
+            Element rect = (Element) nodes.item(i);
+            assertEquals(ROW_HEIGHT, Integer.parseInt(rect.getAttribute("height")));
+            rects.add(rect);
+        }
+        return rects;
+    }
+
+    private static double getX(Element rect) {
+        return Double.parseDouble(rect.getAttribute("x"));
+    }
+}
@@ -0,0 +1,58 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.GA.GeneticAlgorithm;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.time.Duration;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class GeneticAlgorithmTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("A run with a fixed number of generations should be reproducible and write its best schedule")
+    void testReproducibleSearch() {
+        int deadline = (int) Math.ceil(4 * getFastestCriticalPath(getRandomLayeredWorkflow(TaskHEFT::new, 60, 8, 5), getVMConfig(1)));
+        double[] costs = new double[2];
+        for (int run = 0; run < 2; run++) {
+            ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, 60, 8, 5);
+            GeneticAlgorithm ga = new GeneticAlgorithm(tasks, getVMConfig(1), TAU, deadline);
+            ga.setPopulationSize(16);
+            ga.setMaxGenerations(20);
+            ga.setParallelism(2);
+            ArrayList<VM> vms = ga.scheduler();
+
+            ScheduleMetrics metrics = ScheduleMetrics.of(vms, TAU, deadline);
+            assertEquals(ga.getBestMakespan(), metrics.getMakespan(), 1e-9);
+            assertEquals(ga.getBestCost(), metrics.getTotalCost(), 1e-9);
+            assertEquals(tasks.size(), vms.stream().mapToInt(vm -> vm.getSchedule().size()).sum());
+            assertEquals(20, ga.getNumOfGenerations());
+            costs[run] = ga.getBestCost();
+        }
+        assertEquals(costs[0], costs[1]);
+    }
+
+    @Test
+    @DisplayName("The search should stop after the time budget and return the best schedule so far")
+    void testTimeBudget() {
+        GeneticAlgorithm ga = new GeneticAlgorithm(getRandomLayeredWorkflow(TaskHEFT::new, 100, 10, 2), getVMConfig(1), TAU, 1);
+        ga.setMaxGenerations(Integer.MAX_VALUE);
+        ga.setTimeBudget(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        ArrayList<VM> vms = ga.scheduler();
+        assertTrue(System.nanoTime() - start < Duration.ofSeconds(5).toNanos());
+        assertEquals(100, vms.stream().mapToInt(vm -> vm.getSchedule().size()).sum());
+        assertFalse(ScheduleMetrics.of(vms, TAU, 1).isWithinDeadline());
+    }
+}
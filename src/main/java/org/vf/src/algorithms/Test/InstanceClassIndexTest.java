@@ -0,0 +1,114 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.InstanceClassIndex;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+
+class InstanceClassIndexTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("Candidates should be the busy VMs and one idle VM per class, in pool order")
+    void testOneRepresentativePerIdleClass() {
+        VM a1 = getSmallVM();
+        VM a2 = getSmallVM();
+        VM b1 = getLargeVM();
+        VM a3 = getSmallVM();
+        VM b2 = getLargeVM();
+        VM gpu = VM.createNvidiaP100VM();
+        InstanceClassIndex index = new InstanceClassIndex(new ArrayList<>(List.of(a1, a2, b1, a3, b2, gpu)));
+        assertEquals(3, index.getNumOfClasses());
+
+        assertCandidates(index.getCandidates(HardwareType.CPU), a1, b1);
+        assertCandidates(index.getCandidates(HardwareType.GPU), gpu);
+
+        // The representative of a class that received a slot becomes busy, the next idle VM of the class takes over.
+        addSlot(b1);
+        assertCandidates(index.getCandidates(HardwareType.CPU), a1, b1, b2);
+        addSlot(a1);
+        assertCandidates(index.getCandidates(HardwareType.CPU), a1, a2, b1, b2);
+        addSlot(a2);
+        addSlot(b2);
+        assertCandidates(index.getCandidates(HardwareType.CPU), a1, a2, b1, a3, b2);
+        addSlot(a3);
+        assertCandidates(index.getCandidates(HardwareType.CPU), a1, a2, b1, a3, b2);
+        assertEquals(5, index.getNumOfBusyVMs());
+    }
+
+    @Test
+    @DisplayName("Elastic classes should provision an idle VM when the last one is taken and drop it again on reset")
+    void testElasticGrowth() {
+        VM a = getSmallVM();
+        VM b = getLargeVM();
+        ArrayList<VM> vms = new ArrayList<>(List.of(a, b));
+        InstanceClassIndex index = new InstanceClassIndex(vms, true);
+
+        assertCandidates(index.getCandidates(HardwareType.CPU), a, b);
+        addSlot(a);
+        List<VM> candidates = index.getCandidates(HardwareType.CPU);
+        assertEquals(3, vms.size());
+        VM provisioned = vms.get(2);
+        assertEquals(a.getC(), provisioned.getC());
+        assertCandidates(candidates, a, b, provisioned);
+
+        addSlot(provisioned);
+        index.getCandidates(HardwareType.CPU);
+        assertEquals(4, vms.size());
+
+        // Only the provisioned VMs without slots are dropped, the original pool stays.
+        a.clearSchedule();
+        index.reset();
+        assertEquals(List.of(a, b, provisioned), vms);
+        provisioned.clearSchedule();
+        index.reset();
+        assertEquals(List.of(a, b), vms);
+    }
+
+    @Test
+    @DisplayName("Repeated elastic CETSS runs should not pile up provisioned VMs in the caller's pool")
+    void testRepeatedElasticScheduling() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 100, 8, 3);
+        ArrayList<VM> vms = new ArrayList<>(List.of(VM.createIntelCascadeLakeVM(), VM.createNvidiaP100VM()));
+        CETSS loose = new CETSS(tasks, vms, TAU, 100 * TAU, true);
+        int poolSizeOfLooseDeadline = loose.scheduler().size();
+
+        new CETSS(loose, 1).scheduler();
+        assertTrue(vms.size() > poolSizeOfLooseDeadline);
+        assertEquals(poolSizeOfLooseDeadline, loose.scheduler().size());
+        assertEquals(poolSizeOfLooseDeadline, loose.scheduler().size());
+    }
+
+    private static VM getSmallVM() {
+        return new VM(0, "small", 1.0, 1.0, 10, 10, HardwareType.CPU);
+    }
+
+    private static VM getLargeVM() {
+        return new VM(0, "large", 4.0, 4.0, 10, 10, HardwareType.CPU);
+    }
+
+    private static void addSlot(VM vm) {
+        vm.addSlotToSchedule(new VM.TimeSlot(0, 1, new TaskHEFT(0, 0, 0, 1, new ArrayList<>(), new ArrayList<>(), vm.getTyp()), 0, 0));
+    }
+
+    /**
+     * Same VMs in the same order, by identity.
+     */
+    private static void assertCandidates(List<VM> candidates, VM... expected) {
+        assertEquals(expected.length, candidates.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertSame(expected[i], candidates.get(i));
+        }
+    }
+}
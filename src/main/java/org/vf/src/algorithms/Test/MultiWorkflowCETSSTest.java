@@ -0,0 +1,111 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.MultiWorkflowCETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class MultiWorkflowCETSSTest {
+
+    private static final int TAU = 3600;
+    private static final int NUM_OF_WORKFLOWS = 6;
+
+    @Test
+    @DisplayName("Every workflow on the shared pool should keep its precedences and report its own finish time")
+    void testSharedPoolAccounting() {
+        for (double deadlineFactor : new double[] {1.5, 3.0, 20.0}) {
+            List<ArrayList<TaskCETSS>> workflows = new ArrayList<>();
+            int[] deadlines = new int[NUM_OF_WORKFLOWS];
+            for (int w = 0; w < NUM_OF_WORKFLOWS; w++) {
+                workflows.add(getRandomLayeredWorkflow(TaskCETSS::new, 30, 5, w));
+                deadlines[w] = getDeadline(w, deadlineFactor, 1);
+            }
+            MultiWorkflowCETSS scheduler = new MultiWorkflowCETSS(workflows, deadlines, getVMConfig(1), TAU);
+            ArrayList<VM> vms = scheduler.scheduler();
+
+            Map<TaskCETSS, VM.TimeSlot> slots = new IdentityHashMap<>();
+            for (VM vm : vms) {
+                for (VM.TimeSlot slot : vm.getSchedule()) {
+                    assertNull(slots.put((TaskCETSS) slot.getTask(), slot));
+                }
+            }
+
+            int withinDeadline = 0;
+            for (int w = 0; w < NUM_OF_WORKFLOWS; w++) {
+                ArrayList<TaskCETSS> workflow = workflows.get(w);
+                double finishTime = 0.0;
+                for (TaskCETSS task : workflow) {
+                    VM.TimeSlot slot = slots.get(task);
+                    assertNotNull(slot);
+                    // Parents are looked up in the task's own workflow, ids repeat across workflows
+                    for (int parentId : task.getParents()) {
+                        assertTrue(slot.getStart() >= slots.get(workflow.get(parentId)).getEnd() - 1e-9);
+                    }
+                    finishTime = Math.max(finishTime, slot.getEnd());
+                }
+                assertEquals(finishTime, scheduler.getWorkflowFinishTimes()[w]);
+                if (finishTime <= deadlines[w]) withinDeadline++;
+            }
+            assertEquals(NUM_OF_WORKFLOWS * 30, slots.size());
+            assertEquals(withinDeadline, scheduler.getNumOfWorkflowsWithinDeadline());
+            if (deadlineFactor >= 20.0) assertEquals(NUM_OF_WORKFLOWS, withinDeadline);
+        }
+    }
+
+    @Test
+    @DisplayName("A workflow with a late deadline should run alongside an urgent one instead of after it")
+    void testLateDeadlineNotStarved() {
+        ArrayList<TaskCETSS> urgent = getRandomLayeredWorkflow(TaskCETSS::new, 30, 5, 2);
+        ArrayList<TaskCETSS> relaxed = getRandomLayeredWorkflow(TaskCETSS::new, 30, 5, 3);
+        int[] deadlines = {getDeadline(2, 3.0, 1), getDeadline(3, 20.0, 1)};
+        MultiWorkflowCETSS scheduler = new MultiWorkflowCETSS(List.of(urgent, relaxed), deadlines, getVMConfig(1), TAU);
+        ArrayList<VM> vms = scheduler.scheduler();
+
+        double relaxedStart = Double.POSITIVE_INFINITY;
+        for (VM vm : vms) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                if (relaxed.get(slot.getTask().getId()) == slot.getTask()) relaxedStart = Math.min(relaxedStart, slot.getStart());
+            }
+        }
+        assertEquals(2, scheduler.getNumOfWorkflowsWithinDeadline());
+        assertTrue(relaxedStart < scheduler.getWorkflowFinishTimes()[0]);
+    }
+
+    @Test
+    @DisplayName("Tight deadlines on a shared pool with spare capacity should be met as often as on own pools")
+    void testTightDeadlinesAsIsolated() {
+        for (double deadlineFactor : new double[] {2.0, 3.0}) {
+            List<ArrayList<TaskCETSS>> workflows = new ArrayList<>();
+            int[] deadlines = new int[4];
+            int isolatedWithinDeadline = 0;
+            for (int w = 0; w < deadlines.length; w++) {
+                workflows.add(getRandomLayeredWorkflow(TaskCETSS::new, 30, 5, w));
+                deadlines[w] = getDeadline(w, deadlineFactor, 4);
+                ArrayList<VM> ownPool = new CETSS(workflows.get(w), getVMConfig(4), TAU, deadlines[w]).scheduler();
+                if (ScheduleMetrics.of(ownPool, TAU, deadlines[w]).isWithinDeadline()) isolatedWithinDeadline++;
+            }
+            MultiWorkflowCETSS scheduler = new MultiWorkflowCETSS(workflows, deadlines, getVMConfig(4), TAU);
+            scheduler.scheduler();
+            assertTrue(scheduler.getNumOfWorkflowsWithinDeadline() >= isolatedWithinDeadline);
+        }
+    }
+
+    private static int getDeadline(long seed, double deadlineFactor, int numOfVMsOfEachTyp) {
+        return (int) Math.ceil(deadlineFactor
+                * getFastestCriticalPath(getRandomLayeredWorkflow(TaskHEFT::new, 30, 5, seed), getVMConfig(numOfVMsOfEachTyp)));
+    }
+}
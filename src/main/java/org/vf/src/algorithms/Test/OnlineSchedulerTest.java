@@ -0,0 +1,156 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.online.OnlineScheduler;
+import org.vf.src.online.WorkflowAdmission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class OnlineSchedulerTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("Rejected and released workflows should leave the shared VMs, their costs and metrics as before")
+    void testAdmitRejectRelease() {
+        OnlineScheduler scheduler = new OnlineScheduler(getVMConfig(1), TAU);
+
+        ArrayList<TaskHEFT> first = getRandomLayeredWorkflow(TaskHEFT::new, 60, 6, 1);
+        WorkflowAdmission firstAdmission = scheduler.admit(first, 0, 100 * TAU);
+        assertTrue(firstAdmission.isAccepted());
+        assertFeasible(first, firstAdmission);
+        List<Object> state = getState(scheduler);
+        double[] busyTimes = getBusyTimes(scheduler);
+
+        for (int seed = 2; seed < 5; seed++) {
+            WorkflowAdmission rejected = scheduler.admit(getRandomLayeredWorkflow(TaskHEFT::new, 60, 6, seed), 100, 101);
+            assertFalse(rejected.isAccepted());
+            assertEquals(0.0, rejected.getAdditionalCost());
+            assertEquals(state, getState(scheduler));
+            assertArrayEquals(busyTimes, getBusyTimes(scheduler), 1e-6);
+        }
+
+        ArrayList<TaskHEFT> second = getRandomLayeredWorkflow(TaskHEFT::new, 60, 6, 5);
+        WorkflowAdmission secondAdmission = scheduler.admit(second, 500, 500 + 100 * TAU);
+        assertTrue(secondAdmission.isAccepted());
+        assertFeasible(second, secondAdmission);
+        assertEquals((double) state.get(state.size() - 1), scheduler.getMetrics().getTotalCost() - secondAdmission.getAdditionalCost(), 1e-9);
+
+        scheduler.release(secondAdmission);
+        assertEquals(state, getState(scheduler));
+        assertArrayEquals(busyTimes, getBusyTimes(scheduler), 1e-6);
+
+        scheduler.release(firstAdmission);
+        assertEquals(0, scheduler.getMetrics().getNumOfSlots());
+        assertEquals(0.0, scheduler.getMetrics().getTotalCost(), 1e-9);
+        assertEquals(0.0, scheduler.getMetrics().getTotalBusyTime());
+    }
+
+    @Test
+    @DisplayName("Late workflows should be kept with their placement when late admissions are allowed")
+    void testLateAdmission() {
+        OnlineScheduler scheduler = new OnlineScheduler(getVMConfig(1), TAU, true);
+        ArrayList<TaskHEFT> workflow = getRandomLayeredWorkflow(TaskHEFT::new, 60, 6, 2);
+        WorkflowAdmission admission = scheduler.admit(workflow, 100, 101);
+        assertTrue(admission.isAccepted());
+        assertFalse(admission.isWithinDeadline());
+        assertFeasible(workflow, admission);
+        assertEquals(workflow.size(), scheduler.getMetrics().getNumOfSlots());
+    }
+
+    @Test
+    @DisplayName("Admission should not scan the reservations committed behind the workflow's deadline")
+    void testAdmissionWithManyLaterReservations() {
+        OnlineScheduler scheduler = new OnlineScheduler(getVMConfig(1), TAU);
+        TaskHEFT reserved = new TaskHEFT(0, 0, 0, 1, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU);
+        for (VM vm : scheduler.getVms()) {
+            for (int i = 0; i < 200_000; i++) {
+                vm.addSlotToSchedule(new VM.TimeSlot(100 * TAU + 2 * i, 100 * TAU + 2 * i + 1, reserved, 0, 0));
+            }
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(2), () -> {
+            for (int seed = 0; seed < 20; seed++) {
+                ArrayList<TaskHEFT> workflow = getRandomLayeredWorkflow(TaskHEFT::new, 60, 6, seed);
+                // A loose deadline places every task in a subdeadline slot, an impossible one takes the earliest finish.
+                for (double deadline : new double[] {10 * TAU, 1}) {
+                    WorkflowAdmission admission = scheduler.admit(workflow, 0, deadline);
+                    assertEquals(deadline > 1, admission.isAccepted());
+                    if (admission.isAccepted()) {
+                        assertFeasible(workflow, admission);
+                        scheduler.release(admission);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Slots, costs and slot counts of every VM and the totals, with the total cost last. Slots are compared by identity.
+     */
+    private static List<Object> getState(OnlineScheduler scheduler) {
+        List<Object> state = new ArrayList<>();
+        for (VM vm : scheduler.getVms()) {
+            List<VM.TimeSlot> schedule = vm.getSchedule();
+            for (int i = 1; i < schedule.size(); i++) {
+                assertTrue(schedule.get(i - 1).getStart() <= schedule.get(i).getStart());
+            }
+            state.add(new ArrayList<>(schedule));
+            state.add(vm.calculateTotalCost(TAU));
+            state.add(vm.getMetrics().getCost());
+            state.add(vm.getMetrics().getNumOfSlots());
+        }
+        ScheduleMetrics metrics = scheduler.getMetrics();
+        assertEquals(ScheduleMetrics.of(scheduler.getVms(), TAU, Double.POSITIVE_INFINITY).getTotalCost(), metrics.getTotalCost(), 1e-9);
+        state.add(metrics.getNumOfSlots());
+        state.add(metrics.getTotalCost());
+        return state;
+    }
+
+    /**
+     * Busy times are running sums, removing a slot may leave a rounding residue.
+     */
+    private static double[] getBusyTimes(OnlineScheduler scheduler) {
+        double[] busyTimes = new double[scheduler.getVms().size()];
+        for (int v = 0; v < busyTimes.length; v++) {
+            busyTimes[v] = scheduler.getVms().get(v).getMetrics().getBusyTime();
+        }
+        return busyTimes;
+    }
+
+    /**
+     * Every task starts after the arrival and after the data of its parents, and the admission reports its last finish.
+     */
+    private static void assertFeasible(List<? extends Task> workflow, WorkflowAdmission admission) {
+        double finishTime = admission.getArrivalTime();
+        for (Task task : workflow) {
+            VM vm = admission.getVms().get(task.getId());
+            VM.TimeSlot slot = admission.getSlots().get(task.getId());
+            assertTrue(vm.getSchedule().contains(slot));
+            assertTrue(slot.getStart() >= admission.getArrivalTime());
+            for (int p = 0; p < task.getParents().size(); p++) {
+                int parentId = task.getParents().get(p);
+                double dataReadyTime = admission.getSlots().get(parentId).getEnd();
+                if (admission.getVms().get(parentId) != vm) {
+                    dataReadyTime += task.getInputVolume(p, workflow.get(parentId)) / vm.getGsr();
+                }
+                assertTrue(slot.getStart() >= dataReadyTime - 1e-9);
+            }
+            finishTime = Math.max(finishTime, slot.getEnd());
+        }
+        assertEquals(finishTime, admission.getFinishTime());
+        assertEquals(finishTime <= admission.getDeadline(), admission.isWithinDeadline());
+    }
+}
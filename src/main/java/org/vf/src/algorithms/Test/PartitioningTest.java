@@ -0,0 +1,122 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.billing.BillingModel;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler.Strategy;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler.VmSharing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class PartitioningTest {
+
+    private static final int TAU = 3600;
+    private static final AlgorithmScheduler<TaskCETSS, CETSS> CETSS_SCHEDULER =
+            (tasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, deadline).scheduler();
+
+    @Test
+    @DisplayName("Stitched level bands should form a valid schedule of the whole workflow")
+    void testLevelBands() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 400, 20, 6);
+        PartitioningAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new PartitioningAlgorithmScheduler<>(TaskCETSS::new, CETSS_SCHEDULER);
+        scheduler.setNumOfPartitions(4);
+        scheduler.setParallelism(2);
+
+        assertValidSchedule(tasks, scheduler.schedule(tasks, getVMConfig(2), TAU, 20000));
+        assertEquals(4, scheduler.getNumOfScheduledPartitions());
+    }
+
+    @Test
+    @DisplayName("Independent workflows on disjoint VMs should not share a VM")
+    void testComponentsOnDisjointVMs() {
+        ArrayList<TaskCETSS> tasks = new ArrayList<>();
+        for (int w = 0; w < 3; w++) {
+            int offset = tasks.size();
+            for (TaskCETSS task : getRandomLayeredWorkflow(TaskCETSS::new, 60, 6, w)) {
+                tasks.add(new TaskCETSS(task.getId() + offset, task.getDin(), task.getDout(), task.getMi(),
+                        task.getParents().stream().map(id -> id + offset).toList(), task.getChildren().stream().map(id -> id + offset).toList(), task.getTyp()));
+            }
+        }
+        PartitioningAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new PartitioningAlgorithmScheduler<>(TaskCETSS::new, CETSS_SCHEDULER);
+        scheduler.setStrategy(Strategy.COMPONENTS);
+        scheduler.setVmSharing(VmSharing.DISJOINT);
+        scheduler.setNumOfPartitions(8);
+
+        ArrayList<VM> scheduledVMs = scheduler.schedule(tasks, getVMConfig(3), TAU, 20000);
+        assertValidSchedule(tasks, scheduledVMs);
+        assertEquals(3, scheduler.getNumOfScheduledPartitions());
+        for (VM vm : scheduledVMs) {
+            assertTrue(vm.getSchedule().stream().mapToInt(slot -> slot.getTask().getId() / 60).distinct().count() <= 1);
+        }
+    }
+
+    @Test
+    @DisplayName("Band deadlines should be relative to the latest sink task, not to the last task in the list")
+    void testSubdeadlinesOfSeveralSinks() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 200, 10, 4);
+        ArrayList<TaskCETSS> withShortSink = getRandomLayeredWorkflow(TaskCETSS::new, 200, 10, 4);
+        withShortSink.add(new TaskCETSS(200, 1, 1, 1, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU));
+
+        CETSS planner = new CETSS(tasks, getVMConfig(1), TAU, 20000);
+        CETSS plannerWithShortSink = new CETSS(withShortSink, getVMConfig(1), TAU, 20000);
+        for (TaskCETSS task : tasks) {
+            assertEquals(planner.getTaskSubdeadline(task.getId()), plannerWithShortSink.getTaskSubdeadline(task.getId()));
+        }
+        assertEquals(20000, planner.getTaskSubdeadline(tasks.size() - 1), 1e-6);
+
+        PartitioningAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new PartitioningAlgorithmScheduler<>(TaskCETSS::new, CETSS_SCHEDULER);
+        assertValidSchedule(withShortSink, scheduler.schedule(withShortSink, getVMConfig(1), TAU, 20000));
+    }
+
+    @Test
+    @DisplayName("Pools with their own billing models should be rejected before any partition is scheduled")
+    void testBillingModelsAreRejected() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, 100, 10, 4);
+        ArrayList<VM> vms = getVMConfig(1);
+        vms.get(0).setBillingModel(BillingModel.perSecond(TAU, 0));
+        int[] numOfScheduledPartitions = new int[1];
+        PartitioningAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new PartitioningAlgorithmScheduler<>(TaskCETSS::new,
+                (partitionTasks, partitionVMs, tau, deadline) -> {
+                    numOfScheduledPartitions[0]++;
+                    return CETSS_SCHEDULER.schedule(partitionTasks, partitionVMs, tau, deadline);
+                });
+
+        assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(tasks, vms, TAU, 20000));
+        assertEquals(0, numOfScheduledPartitions[0]);
+    }
+
+    private static void assertValidSchedule(List<TaskCETSS> tasks, List<VM> scheduledVMs) {
+        VM[] hosts = new VM[tasks.size()];
+        VM.TimeSlot[] slots = new VM.TimeSlot[tasks.size()];
+        for (VM vm : scheduledVMs) {
+            double previousEnd = 0.0;
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                assertTrue(slot.getStart() >= previousEnd - 1e-9);
+                assertEquals(getExecutionTime(slot.getTask(), vm), slot.getEt(), 1e-9);
+                previousEnd = slot.getEnd();
+                assertNull(slots[slot.getTask().getId()]);
+                hosts[slot.getTask().getId()] = vm;
+                slots[slot.getTask().getId()] = slot;
+            }
+        }
+        for (TaskCETSS task : tasks) {
+            assertNotNull(slots[task.getId()]);
+            for (Integer parentId : task.getParents()) {
+                double transfer = hosts[parentId] == hosts[task.getId()] ? 0.0 : tasks.get(parentId).getDout() / hosts[task.getId()].getGsr();
+                assertTrue(slots[task.getId()].getStart() >= slots[parentId].getEnd() + transfer - 1e-9);
+            }
+        }
+    }
+}
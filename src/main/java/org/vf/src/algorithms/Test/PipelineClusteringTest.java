@@ -0,0 +1,65 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.clustering.ClusteringAlgorithmScheduler;
+import org.vf.src.clustering.PipelineClustering;
+
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getPipelineWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class PipelineClusteringTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("Only chains of single-parent/single-child tasks with the same hardware type should be merged")
+    void testClusters() {
+        PipelineClustering<TaskCETSS> pipelines = new PipelineClustering<>(getPipelineWorkflow(TaskCETSS::new, 6, 5, 3), TaskCETSS::new);
+        assertEquals(8, pipelines.getNumOfClusters());
+        assertArrayEquals(new int[] {1, 7, 13, 19, 25}, pipelines.getMembers(pipelines.getClusterOf(1)));
+        assertEquals(pipelines.getClusterOf(25), pipelines.getClusteredTasks().get(7).getParents().get(0));
+
+        // The Epigenomics pipelines alternate between CPU and GPU, only t18 -> t19 share their type.
+        PipelineClustering<TaskCETSS> epigenomics = new PipelineClustering<>(getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize(TaskCETSS::new), TaskCETSS::new);
+        assertEquals(18, epigenomics.getNumOfClusters());
+        assertArrayEquals(new int[] {17, 18}, epigenomics.getMembers(17));
+    }
+
+    @Test
+    @DisplayName("The expanded schedule should run every task once, keep the pipelines together and respect the dependencies")
+    void testExpandedSchedule() {
+        ArrayList<TaskCETSS> tasks = getPipelineWorkflow(TaskCETSS::new, 20, 6, 7);
+        ClusteringAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new ClusteringAlgorithmScheduler<>(TaskCETSS::new,
+                (clusteredTasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) clusteredTasks, vms, tau, deadline).scheduler());
+        ArrayList<VM> scheduledVMs = scheduler.schedule(tasks, getVMConfig(2), TAU, 20000);
+
+        VM[] hosts = new VM[tasks.size()];
+        VM.TimeSlot[] slots = new VM.TimeSlot[tasks.size()];
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                assertNull(slots[slot.getTask().getId()]);
+                assertSame(tasks.get(slot.getTask().getId()), slot.getTask());
+                hosts[slot.getTask().getId()] = vm;
+                slots[slot.getTask().getId()] = slot;
+            }
+        }
+        for (TaskCETSS task : tasks) {
+            assertNotNull(slots[task.getId()]);
+            for (Integer parentId : task.getParents()) {
+                assertTrue(slots[task.getId()].getStart() >= slots[parentId].getEnd() - 1e-9);
+                if (task.getParents().size() == 1 && tasks.get(parentId).getChildren().size() == 1 && tasks.get(parentId).getTyp() == task.getTyp()) {
+                    assertSame(hosts[parentId], hosts[task.getId()]);
+                    assertEquals(slots[parentId].getEnd(), slots[task.getId()].getStart());
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.simulation.QuantileSketch;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuantileSketchTest {
+
+    @Test
+    @DisplayName("Quantiles should stay within the relative accuracy and merged sketches should equal a single sketch")
+    void testQuantilesAndMerge() {
+        QuantileSketch all = new QuantileSketch(0.01);
+        QuantileSketch lower = new QuantileSketch(0.01);
+        QuantileSketch upper = new QuantileSketch(0.01);
+        for (int i = 1; i <= 10000; i++) {
+            all.add(i);
+            (i % 2 == 0 ? lower : upper).add(i);
+        }
+        lower.merge(upper);
+
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            double exact = Math.ceil(quantile * 10000);
+            assertEquals(exact, all.getQuantile(quantile), exact * 0.01);
+            assertEquals(all.getQuantile(quantile), lower.getQuantile(quantile));
+        }
+        assertEquals(10000, lower.getCount());
+        assertEquals(5000.5, lower.getMean(), 1e-9);
+        assertEquals(1.0, lower.getMin());
+        assertEquals(10000.0, lower.getMax());
+    }
+}
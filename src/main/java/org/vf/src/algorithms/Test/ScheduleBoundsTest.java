@@ -0,0 +1,74 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.billing.BillingModel;
+import org.vf.src.bounds.ScheduleBounds;
+import org.vf.src.decoder.ScheduleDecoder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class ScheduleBoundsTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("No decoded schedule and no CETSS schedule should beat the lower bounds")
+    void testBoundsHoldForSchedules() {
+        ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, 300, 12, 5);
+        ArrayList<VM> vms = getVMConfig(2);
+        ScheduleBounds bounds = ScheduleBounds.of(tasks, vms, TAU);
+        assertTrue(bounds.getCriticalPathBound() >= getFastestCriticalPath(tasks, vms) - 1e-9);
+        assertTrue(bounds.getCostLowerBound() > 0.0);
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, TAU);
+        SplittableRandom random = new SplittableRandom(3);
+        int[] assignment = new int[tasks.size()];
+        int[] order = new int[tasks.size()];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+        for (int run = 0; run < 20; run++) {
+            for (int t = 0; t < tasks.size(); t++) {
+                do {
+                    assignment[t] = random.nextInt(vms.size());
+                } while (!decoder.canRunOn(t, assignment[t]));
+            }
+            assertTrue(decoder.decode(assignment, order) >= bounds.getMakespanLowerBound() - 1e-9);
+            assertTrue(decoder.getTotalCost() >= bounds.getCostLowerBound() - 1e-9);
+        }
+
+        ArrayList<TaskCETSS> cetssTasks = getRandomLayeredWorkflow(TaskCETSS::new, 300, 12, 5);
+        ScheduleMetrics metrics = ScheduleMetrics.of(new CETSS(cetssTasks, getVMConfig(2), TAU, 20000).scheduler(), TAU, 20000);
+        assertTrue(metrics.getMakespan() >= bounds.getMakespanLowerBound() - 1e-9);
+        assertTrue(metrics.getTotalCost() >= bounds.getCostLowerBound() - 1e-9);
+    }
+
+    @Test
+    @DisplayName("A single task on a single VM should be bounded by its own execution time and billing")
+    void testSingleTaskBounds() {
+        TaskHEFT task = new TaskHEFT(0, 100, 50, 4000, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU);
+        VM vm = VM.createIntelCascadeLakeVM();
+        double executionTime = 100 / vm.getGsr() + 4000 / vm.getW() + 50 / vm.getGsw();
+
+        ScheduleBounds periodBounds = ScheduleBounds.of(List.of(task), List.of(vm), TAU);
+        assertEquals(executionTime, periodBounds.getMakespanLowerBound(), 1e-9);
+        assertEquals(vm.getC(), periodBounds.getCostLowerBound(), 1e-9);
+
+        vm.setBillingModel(BillingModel.perSecond(TAU, 0));
+        ScheduleBounds perSecondBounds = ScheduleBounds.of(List.of(task), List.of(vm), TAU);
+        assertEquals(executionTime * vm.getC() / TAU, perSecondBounds.getCostLowerBound(), 1e-9);
+        assertEquals(0.0, ScheduleBounds.getGap(executionTime, perSecondBounds.getMakespanLowerBound()), 1e-9);
+    }
+}
@@ -0,0 +1,66 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.cache.CachingAlgorithmScheduler;
+import org.vf.src.cache.ScheduleCache;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class ScheduleCacheTest {
+
+    private AlgorithmScheduler<TaskCETSS, CETSS> cetssScheduler;
+    private int tau;
+    private int deadline;
+
+    @BeforeEach
+    void setUp() {
+        cetssScheduler = (tasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, deadline).scheduler();
+        tau = 3600;
+        deadline = 20000;
+    }
+
+    @Test
+    @DisplayName("A cached schedule should be restored identically from memory and from the disk tier")
+    void testCachedScheduleIsRestored(@TempDir Path cacheDirectory) {
+        ScheduleCache cache = new ScheduleCache(16, cacheDirectory);
+        CachingAlgorithmScheduler<TaskCETSS, CETSS> scheduler = new CachingAlgorithmScheduler<>("CETSS", cetssScheduler, cache);
+
+        List<String> computed = describe(scheduler.schedule(getRandomLayeredWorkflow(TaskCETSS::new, 50, 6, 1), getVMConfig(1), tau, deadline));
+        List<String> fromMemory = describe(scheduler.schedule(getRandomLayeredWorkflow(TaskCETSS::new, 50, 6, 1), getVMConfig(1), tau, deadline));
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getMemoryHits());
+        assertEquals(computed, fromMemory);
+
+        cache.clearMemory();
+        List<String> fromDisk = describe(scheduler.schedule(getRandomLayeredWorkflow(TaskCETSS::new, 50, 6, 1), getVMConfig(1), tau, deadline));
+        assertEquals(1, cache.getDiskHits());
+        assertEquals(computed, fromDisk);
+
+        // A different deadline is a different request
+        scheduler.schedule(getRandomLayeredWorkflow(TaskCETSS::new, 50, 6, 1), getVMConfig(1), tau, deadline + 1);
+        assertEquals(2, cache.getMisses());
+    }
+
+    private static List<String> describe(List<VM> scheduledVMs) {
+        List<String> slots = new ArrayList<>();
+        for (int i = 0; i < scheduledVMs.size(); i++) {
+            for (VM.TimeSlot slot : scheduledVMs.get(i).getSchedule()) {
+                slots.add(i + ":" + slot.getTask().getId() + ":" + slot.getStart() + ":" + slot.getEnd() + ":" + slot.getFinancialCost());
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,123 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.decoder.ScheduleDecoder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.algorithms.Utils.calculateEST;
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class ScheduleDecoderTest {
+
+    private static final int TAU = 3600;
+
+    @Test
+    @DisplayName("Decoding should place the tasks like the VM timeline methods and bill like calculateTotalCost")
+    void testDecodeMatchesVmTimelines() {
+        ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, 300, 12, 3);
+        ArrayList<VM> vms = getVMConfig(2);
+        int[] assignment = randomAssignment(tasks, vms, new SplittableRandom(5));
+        int[] order = new int[tasks.size()];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, TAU);
+        double makespan = decoder.decode(assignment, order);
+
+        Map<Integer, TaskHEFT> taskMap = new HashMap<>();
+        Map<Task, VM> taskAssignments = new HashMap<>();
+        Map<Task, Double> finishTimes = new HashMap<>();
+        for (TaskHEFT task : tasks) taskMap.put(task.getId(), task);
+        double expectedMakespan = 0.0;
+        for (int t : order) {
+            TaskHEFT task = tasks.get(t);
+            VM vm = vms.get(assignment[t]);
+            double executionTime = getExecutionTime(task, vm);
+            double start = vm.findEarliestAvailableStartTime(executionTime, calculateEST(task, vm, taskMap, taskAssignments, finishTimes));
+            vm.addSlotToSchedule(new VM.TimeSlot(start, start + executionTime, task, 0, 0));
+            taskAssignments.put(task, vm);
+            finishTimes.put(task, start + executionTime);
+            expectedMakespan = Math.max(expectedMakespan, start + executionTime);
+
+            assertEquals(start, decoder.getStartTime(t));
+            assertEquals(start + executionTime, decoder.getFinishTime(t));
+        }
+        assertEquals(expectedMakespan, makespan);
+        double expectedCost = 0.0;
+        for (int v = 0; v < vms.size(); v++) {
+            assertEquals(vms.get(v).calculateTotalCost(TAU), decoder.getVmCost(v), 1e-12);
+            expectedCost += vms.get(v).calculateTotalCost(TAU);
+        }
+        assertEquals(expectedCost, decoder.getTotalCost(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Moving a task should give the same schedule as decoding the changed solution from scratch")
+    void testMoveTaskMatchesFullDecode() {
+        ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, 200, 10, 8);
+        ArrayList<VM> vms = getVMConfig(2);
+        SplittableRandom random = new SplittableRandom(11);
+        int[] assignment = randomAssignment(tasks, vms, random);
+        int[] order = new int[tasks.size()];
+        for (int t = 0; t < order.length; t++) order[t] = t;
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, TAU);
+        ScheduleDecoder reference = new ScheduleDecoder(decoder);
+        decoder.decode(assignment, order);
+        for (int move = 0; move < 100; move++) {
+            int task = random.nextInt(tasks.size());
+            int vm = randomAssignment(tasks, vms, random)[task];
+            assignment[task] = vm;
+
+            double makespan = decoder.moveTask(task, vm);
+            assertEquals(reference.decode(assignment, order), makespan);
+            assertEquals(reference.getTotalCost(), decoder.getTotalCost(), 1e-9);
+            for (int t = 0; t < tasks.size(); t++) {
+                assertEquals(reference.getStartTime(t), decoder.getStartTime(t));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Orders placing a child before its parent and incompatible VMs should be rejected")
+    void testInvalidSolutions() {
+        ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, 20, 4, 1);
+        ArrayList<VM> vms = getVMConfig(1);
+        int[] assignment = randomAssignment(tasks, vms, new SplittableRandom(1));
+        int[] order = new int[tasks.size()];
+        for (int t = 0; t < order.length; t++) order[t] = order.length - 1 - t;
+
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, TAU);
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(assignment, order));
+        assertThrows(IllegalStateException.class, () -> decoder.moveTask(0, assignment[0]));
+
+        int incompatible = 0;
+        while (decoder.canRunOn(0, incompatible)) incompatible++;
+        assignment[0] = incompatible;
+        for (int t = 0; t < order.length; t++) order[t] = t;
+        assertThrows(IllegalArgumentException.class, () -> decoder.decode(assignment, order));
+    }
+
+    private static int[] randomAssignment(List<? extends Task> tasks, List<VM> vms, SplittableRandom random) {
+        int[] assignment = new int[tasks.size()];
+        for (int t = 0; t < tasks.size(); t++) {
+            int vm;
+            do {
+                vm = random.nextInt(vms.size());
+            } while (vms.get(vm).getTyp() != tasks.get(t).getTyp());
+            assignment[t] = vm;
+        }
+        return assignment;
+    }
+}
@@ -0,0 +1,61 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleMetricsTest {
+
+    private VM vm1, vm2;
+    private TaskCETSS task;
+    private int tau;
+
+    @BeforeEach
+    void setUp() {
+        vm1 = new VM(1, 10.0, 1000, 100, 100);
+        vm2 = new VM(2, 4.0, 1000, 100, 100);
+        tau = 3600;
+        task = new TaskCETSS(1, 100, 100, 1000, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU);
+    }
+
+    @Test
+    @DisplayName("Incrementally accumulated metrics should match metrics collected from the final schedule")
+    void testIncrementalMetricsMatchFinalSchedule() {
+        ScheduleMetrics metrics = new ScheduleMetrics(tau, 10000);
+        metrics.attach(List.of(vm1, vm2));
+
+        // vm1 rents periods 0, 1 and 2, vm2 rents periods 0 and 1
+        vm1.addSlotToSchedule(new VM.TimeSlot(0, 1000, task, 0, 0));
+        VM.TimeSlot movedSlot = new VM.TimeSlot(2000, 9000, task, 0, 0);
+        vm1.addSlotToSchedule(movedSlot);
+        vm1.addSlotToSchedule(new VM.TimeSlot(7500, 8000, task, 0, 0));
+        vm2.addSlotToSchedule(new VM.TimeSlot(3000, 4000, task, 0, 0));
+
+        assertEquals(3 * 10.0 + 2 * 4.0, metrics.getTotalCost(), 1e-9);
+        assertEquals(9000, metrics.getMakespan(), 1e-9);
+
+        // Removing the slot that defines the VM's end must release its periods and shrink the makespan.
+        assertTrue(vm1.removeSlotFromSchedule(movedSlot));
+        ScheduleMetrics collected = ScheduleMetrics.of(List.of(vm1, vm2), tau, 10000);
+
+        assertEquals(collected.getTotalCost(), metrics.getTotalCost(), 1e-9);
+        assertEquals(2 * 10.0 + 2 * 4.0, metrics.getTotalCost(), 1e-9);
+        assertEquals(8000, metrics.getMakespan(), 1e-9);
+        assertEquals(collected.getResourceUtilization(), metrics.getResourceUtilization(), 1e-9);
+        assertEquals(vm1.calculateTotalCost(tau) + vm2.calculateTotalCost(tau), metrics.getTotalCost(), 1e-9);
+        assertTrue(metrics.isWithinDeadline());
+
+        vm1.clearSchedule();
+        assertEquals(2 * 4.0, metrics.getTotalCost(), 1e-9);
+        assertEquals(4000, metrics.getMakespan(), 1e-9);
+    }
+}
@@ -0,0 +1,164 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.simulation.EventQueue;
+import org.vf.src.simulation.RuntimeDistribution;
+import org.vf.src.simulation.ScheduleSimulator;
+import org.vf.src.simulation.SimulationResult;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleSimulatorTest {
+
+    private static final int TAU = 10;
+
+    /**
+     * Diamond 0 -> {1, 2} -> 3 with 0, 1 and 3 on VM a (gsr 10, c 1) and 2 on VM b (gsr 5, c 2).
+     * Task 0 writes 20, task 2 writes 10. Planned: 0 [0, 4], 1 [4, 7], 2 [8, 11] after 20 / 5, 3 [12, 14] after 10 / 10.
+     */
+    private static List<VM> getDiamondSchedule() {
+        TaskHEFT t0 = new TaskHEFT(0, 0, 20, 1, new ArrayList<>(), new ArrayList<>(List.of(1, 2)), HardwareType.CPU);
+        TaskHEFT t1 = new TaskHEFT(1, 20, 0, 1, new ArrayList<>(List.of(0)), new ArrayList<>(List.of(3)), HardwareType.CPU);
+        TaskHEFT t2 = new TaskHEFT(2, 20, 10, 1, new ArrayList<>(List.of(0)), new ArrayList<>(List.of(3)), HardwareType.CPU);
+        TaskHEFT t3 = new TaskHEFT(3, 10, 0, 1, new ArrayList<>(List.of(1, 2)), new ArrayList<>(), HardwareType.CPU);
+        VM a = new VM(0, 1, 1, 10, 10);
+        VM b = new VM(1, 2, 1, 5, 5);
+        a.addSlotToSchedule(new VM.TimeSlot(0, 4, t0, 0, 0));
+        a.addSlotToSchedule(new VM.TimeSlot(4, 7, t1, 0, 0));
+        b.addSlotToSchedule(new VM.TimeSlot(8, 11, t2, 0, 0));
+        a.addSlotToSchedule(new VM.TimeSlot(12, 14, t3, 0, 0));
+        return List.of(a, b);
+    }
+
+    @Test
+    @DisplayName("Replaying a hand-computed schedule should charge transfers only across VMs and bill touched periods")
+    void testNominalReplay() {
+        ScheduleSimulator simulator = new ScheduleSimulator(getDiamondSchedule(), TAU, false);
+        SimulationResult result = simulator.simulate();
+
+        double[] expectedStarts = {0, 4, 8, 12};
+        double[] expectedFinishes = {4, 7, 11, 14};
+        for (int slot = 0; slot < simulator.getNumOfSlots(); slot++) {
+            int task = simulator.getSlot(slot).getTask().getId();
+            assertEquals(expectedStarts[task], simulator.getStartTime(slot), 1e-9);
+            assertEquals(expectedFinishes[task], simulator.getFinishTime(slot), 1e-9);
+        }
+        assertEquals(14, result.getMakespan(), 1e-9);
+        // a busy in [0, 7] and [12, 14]: periods 0 and 1 at 1, b busy in [8, 11]: periods 0 and 1 at 2
+        assertEquals(6, result.getTotalCost(), 1e-9);
+        assertEquals(4, result.getNumOfEvents());
+        assertFalse(result.isDeadlocked());
+        assertTrue(result.isWithinDeadline(14));
+    }
+
+    @Test
+    @DisplayName("Perturbed runtimes and read speeds should shift the dependent tasks and their billing")
+    void testPerturbedReplay() {
+        ScheduleSimulator simulator = new ScheduleSimulator(getDiamondSchedule(), TAU, false);
+        double[] durations = new double[simulator.getNumOfSlots()];
+        for (int slot = 0; slot < durations.length; slot++) {
+            durations[slot] = simulator.getNominalDuration(slot) + (simulator.getSlot(slot).getTask().getId() == 0 ? 2 : 0);
+        }
+
+        // 0 [0, 6], 1 [6, 9], 2 [10, 13], 3 [14, 16]; a in periods 0 and 1, b only in period 1
+        SimulationResult slower = simulator.simulate(durations, null);
+        assertEquals(16, slower.getMakespan(), 1e-9);
+        assertEquals(4, slower.getTotalCost(), 1e-9);
+
+        // b reads at half speed: 2 [14, 17], 3 [18, 20]; still a in periods 0 and 1, b in period 1
+        SimulationResult slowerRead = simulator.simulate(durations, new double[] {1.0, 0.5});
+        assertEquals(20, slowerRead.getMakespan(), 1e-9);
+        assertEquals(4, slowerRead.getTotalCost(), 1e-9);
+
+        // Faster tasks finish early, but not before their planned starts when these are respected
+        for (int slot = 0; slot < durations.length; slot++) {
+            durations[slot] = simulator.getNominalDuration(slot) / 2;
+        }
+        ScheduleSimulator planned = new ScheduleSimulator(getDiamondSchedule(), TAU, true);
+        assertEquals(13, planned.simulate(durations, null).getMakespan(), 1e-9);
+        assertEquals(9.5, simulator.simulate(durations, null).getMakespan(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("Slower write speeds should stretch the writing tasks by their dout / gsw share")
+    void testPerturbedWrites() {
+        ScheduleSimulator simulator = new ScheduleSimulator(getDiamondSchedule(), TAU, false);
+        double[] durations = new double[simulator.getNumOfSlots()];
+        for (int slot = 0; slot < durations.length; slot++) {
+            durations[slot] = simulator.getNominalDuration(slot);
+        }
+        assertEquals(14, simulator.simulate(durations, null, new double[] {1.0, 1.0}).getMakespan(), 1e-9);
+
+        // a writes at half speed: 20 / 5 instead of 20 / 10, so 0 [0, 6] like the slower task above
+        SimulationResult slowerWriteA = simulator.simulate(durations, null, new double[] {0.5, 1.0});
+        assertEquals(16, slowerWriteA.getMakespan(), 1e-9);
+        assertEquals(4, slowerWriteA.getTotalCost(), 1e-9);
+
+        // b writes at half speed: 2 [8, 13], 3 [14, 16]; a in periods 0 and 1, b in periods 0 and 1
+        SimulationResult slowerWriteB = simulator.simulate(durations, null, new double[] {1.0, 0.5});
+        assertEquals(16, slowerWriteB.getMakespan(), 1e-9);
+        assertEquals(6, slowerWriteB.getTotalCost(), 1e-9);
+        for (int slot = 0; slot < durations.length; slot++) {
+            if (simulator.getSlot(slot).getTask().getId() == 2) assertEquals(13, simulator.getFinishTime(slot), 1e-9);
+        }
+    }
+
+    @Test
+    @DisplayName("The event queue should poll events by time and events at the same time in insertion order")
+    void testEventQueueOrdering() {
+        EventQueue events = new EventQueue(1);
+        SplittableRandom random = new SplittableRandom(5);
+        int numOfEvents = 1000;
+        for (int payload = 0; payload < numOfEvents; payload++) {
+            events.push(random.nextInt(50), payload % 3, payload);
+        }
+        assertEquals(numOfEvents, events.size());
+
+        double lastTime = Double.NEGATIVE_INFINITY;
+        int lastPayload = -1;
+        while (!events.isEmpty()) {
+            events.poll();
+            assertTrue(events.getPolledTime() >= lastTime);
+            if (events.getPolledTime() == lastTime) assertTrue(events.getPolledPayload() > lastPayload);
+            assertEquals(events.getPolledPayload() % 3, events.getPolledType());
+            lastTime = events.getPolledTime();
+            lastPayload = events.getPolledPayload();
+        }
+
+        events.push(2.0, 0, 7);
+        events.clear();
+        assertTrue(events.isEmpty());
+        events.push(1.0, 0, 1);
+        events.push(1.0, 0, 2);
+        events.push(0.5, 0, 3);
+        events.poll();
+        assertEquals(3, events.getPolledPayload());
+        events.poll();
+        assertEquals(1, events.getPolledPayload());
+        events.poll();
+        assertEquals(2, events.getPolledPayload());
+    }
+
+    @Test
+    @DisplayName("The truncated normal distribution should redraw samples below minFactor instead of clamping them")
+    void testTruncatedNormal() {
+        RuntimeDistribution distribution = RuntimeDistribution.normal(1.0, 0.5, 0.8);
+        SplittableRandom random = new SplittableRandom(3);
+        double minSample = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < 10000; i++) {
+            double factor = distribution.sampleFactor(random);
+            assertNotEquals(0.8, factor);
+            minSample = Math.min(minSample, factor);
+        }
+        assertTrue(minSample > 0.8 && minSample < 0.81);
+        assertThrows(IllegalArgumentException.class, () -> RuntimeDistribution.normal(1.0, 0.5, 1.0));
+    }
+}
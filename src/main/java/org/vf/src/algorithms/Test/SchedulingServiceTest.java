@@ -0,0 +1,97 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.service.RequestBatcher;
+import org.vf.src.service.SchedulingRequest;
+import org.vf.src.service.SchedulingServer;
+import org.vf.src.service.ServiceStats;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+class SchedulingServiceTest {
+
+    private static final String VMS = """
+            vm cpu 1 100 10 10 CPU
+            vm gpu 2 400 10 10 GPU
+            """;
+
+    @Test
+    @DisplayName("Malformed requests should be rejected when parsed")
+    void testMalformedRequests() {
+        assertThrows(IllegalArgumentException.class, () -> SchedulingRequest.parse("deadline 100\n" + VMS + "task 0 1 1 100 CPU 0\n"));
+        assertThrows(IllegalArgumentException.class, () -> SchedulingRequest.parse("deadline 100\n" + VMS + "task 0 1 1 100 CPU -\ntask 1 1 1 100 CPU 5\n"));
+        assertThrows(IllegalArgumentException.class, () -> SchedulingRequest.parse("deadline 100\n" + VMS + "task 0 1 1 100 TPU -\n"));
+        assertThrows(IllegalArgumentException.class, () -> SchedulingRequest.parse("deadline 100\nvm cpu 1 100 10 10 FPGA\ntask 0 1 1 100 CPU -\n"));
+        assertThrows(IllegalArgumentException.class, () -> SchedulingRequest.parse(VMS + "task 0 1 1 100 CPU -\n"));
+
+        SchedulingRequest request = SchedulingRequest.parse("deadline 100\n" + VMS + "task 0 1 1 100 CPU -\ntask 1 1 1 100 GPU 0:0.5\n");
+        assertEquals(0.5, request.createTasks(TaskHEFT::new).get(1).getEdgeVolumeFromParent(0));
+    }
+
+    @Test
+    @DisplayName("Requests for the same workflow within the batch window should be scheduled as one batch")
+    void testBatching() throws Exception {
+        String body = SchedulingRequest.format("CETSS", 3600, 5000, getVMConfig(1), getRandomLayeredWorkflow(TaskHEFT::new, 40, 5, 1));
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+        ServiceStats stats = new ServiceStats();
+        try (RequestBatcher batcher = new RequestBatcher(TimeUnit.MILLISECONDS.toMicros(200), 4, workers, stats)) {
+            List<CompletableFuture<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                responses.add(batcher.submit(SchedulingRequest.parse(body), System.nanoTime()));
+            }
+            for (CompletableFuture<String> response : responses) {
+                assertTrue(response.get(10, TimeUnit.SECONDS).contains("batchSize 4\n"));
+            }
+            assertEquals(1, stats.getNumOfBatches());
+            assertEquals(4, stats.getNumOfRequests());
+            assertEquals(0, stats.getNumOfFailedRequests());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("The server should answer valid requests with 200 and malformed ones with 400 on localhost")
+    void testServerOnLocalhost() throws Exception {
+        try (SchedulingServer server = new SchedulingServer(0, 1000, 8).start()) {
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+            URI schedule = URI.create("http://localhost:" + server.getPort() + "/schedule");
+
+            String valid = SchedulingRequest.format("HEFT", 3600, 5000, getVMConfig(1), getRandomLayeredWorkflow(TaskHEFT::new, 30, 4, 2));
+            HttpResponse<String> ok = client.send(HttpRequest.newBuilder(schedule).timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofString(valid)).build(), HttpResponse.BodyHandlers.ofString());
+            assertEquals(200, ok.statusCode());
+            assertTrue(ok.body().contains("makespan "));
+            assertEquals(30, ok.body().lines().filter(line -> line.startsWith("slot ")).count());
+
+            HttpResponse<String> selfParent = client.send(HttpRequest.newBuilder(schedule).timeout(Duration.ofSeconds(10))
+                    .POST(HttpRequest.BodyPublishers.ofString("deadline 100\n" + VMS + "task 0 1 1 100 CPU 0\n")).build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(400, selfParent.statusCode());
+
+            HttpResponse<String> get = client.send(HttpRequest.newBuilder(schedule).timeout(Duration.ofSeconds(10)).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            assertEquals(405, get.statusCode());
+
+            HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.getPort() + "/stats"))
+                    .timeout(Duration.ofSeconds(10)).GET().build(), HttpResponse.BodyHandlers.ofString());
+            assertTrue(stats.body().contains("requests 1\n"));
+        }
+    }
+}
@@ -7,6 +7,7 @@ import org.vf.src.algorithms.CETSS.TaskCETSS;
 import org.vf.src.HardwareType;
 import org.vf.src.VM;
 
+import java.time.Duration;
 import java.util.ArrayList;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -79,4 +80,23 @@ class VMTest {
         assertEquals(10.0, bestSlotTask5.getFinancialCost(), "Cost should be for one new billing period.");
     }
 
-}
\ No newline at end of file
+    @Test
+    @DisplayName("Gap scans should stop at the deadline instead of walking the reservations behind it")
+    void testScansStopAtDeadline() {
+        // One million short reservations with gaps too small for the task, all behind the deadline.
+        int numOfReservations = 1_000_000;
+        for (int i = 0; i < numOfReservations; i++) {
+            vm.addSlotToSchedule(new VM.TimeSlot(10000 + 2 * i, 10001 + 2 * i, task1, 0, 0));
+        }
+
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            for (int i = 0; i < 10000; i++) {
+                VM.TimeSlot slot = vm.findBestSlotForTask(task2, 100, 0, 5000, tau);
+                assertEquals(0, slot.getStart());
+                assertNull(vm.findBestSlotForTask(task2, 100, 9950, 12000, tau));
+                assertEquals(Double.POSITIVE_INFINITY, vm.findEarliestAvailableStartTime(100, 9950, 12000));
+            }
+        });
+        assertEquals(10000 + 2 * numOfReservations - 1, vm.findEarliestAvailableStartTime(100, 9950));
+    }
+}
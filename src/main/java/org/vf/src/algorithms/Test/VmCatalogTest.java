@@ -0,0 +1,91 @@
+package org.vf.src.algorithms.Test;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.catalog.VmCatalog;
+import org.vf.src.catalog.VmPoolBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VmCatalogTest {
+
+    private static final String CSV = """
+            name,type,costPerHour,tflops,readSpeed,writeSpeed,region
+            CPU-E2-MICRO,CPU,0.0092215,0.024,42,42,
+            CPU-C4,CPU,0.03938,4.10,307.2,307.2,
+            CPU-C4,CPU,0.04500,4.10,307.2,307.2,eu-west
+            GPU-H200,GPU,3.72,30.16,4890.0,4890.0,
+            """;
+
+    private static final String JSON = """
+            [
+              {"name": "CPU-E2-MICRO", "type": "CPU", "costPerHour": 0.0092215, "tflops": 0.024, "readSpeed": 42, "writeSpeed": 42},
+              {"name": "CPU-C4", "type": "cpu", "costPerHour": 0.03938, "tflops": 4.10, "readSpeed": 307.2, "writeSpeed": 307.2},
+              {"name": "CPU-C4", "type": "CPU", "costPerHour": 0.045, "tflops": 4.10, "readSpeed": 307.2, "writeSpeed": 307.2, "region": "eu-west"},
+              {"name": "GPU-H200", "type": "GPU", "costPerHour": 3.72, "tflops": 30.16, "readSpeed": 4890.0, "writeSpeed": 4890.0}
+            ]
+            """;
+
+    @Test
+    @DisplayName("CSV and JSON catalogs should yield the same prototypes sorted by price/performance")
+    void testCatalogFormats() throws IOException {
+        VmCatalog fromCsv = VmCatalog.readCsv(new StringReader(CSV));
+        VmCatalog fromJson = VmCatalog.readJson(new StringReader(JSON));
+
+        assertEquals(4, fromCsv.size());
+        assertEquals(List.of("CPU-C4", "CPU-C4@eu-west", "CPU-E2-MICRO"), names(fromCsv.getPrototypes(HardwareType.CPU)));
+        assertEquals(names(fromCsv.getPrototypes(HardwareType.CPU)), names(fromJson.getPrototypes(HardwareType.CPU)));
+        assertEquals(List.of("GPU-H200"), names(fromJson.getPrototypes(HardwareType.GPU)));
+        assertEquals(0.045, fromJson.getPrototype("CPU-C4@eu-west").getC(), 1e-12);
+    }
+
+    @Test
+    @DisplayName("The pool builder should create fresh VMs of the requested types and counts")
+    void testPoolBuilder() throws IOException {
+        VmCatalog catalog = VmCatalog.readCsv(new StringReader(CSV));
+        ArrayList<VM> pool = new VmPoolBuilder(catalog)
+                .add("GPU-H200", 2)
+                .addCheapest(HardwareType.CPU, 1, 3)
+                .build();
+
+        assertEquals(5, pool.size());
+        assertEquals(List.of("GPU-H200", "GPU-H200", "CPU-C4", "CPU-C4", "CPU-C4"), names(pool));
+        assertEquals(5, pool.stream().mapToInt(VM::getId).distinct().count());
+        assertThrows(IllegalArgumentException.class, () -> catalog.getPrototype("CPU-UNKNOWN"));
+    }
+
+    @Test
+    @DisplayName("Malformed catalog entries should be rejected with their location")
+    void testMalformedCatalog() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> VmCatalog.readCsv(new StringReader("name,type,costPerHour,tflops,readSpeed,writeSpeed\nCPU-X,TPU,1,1,1,1\n")));
+        assertTrue(e.getMessage().startsWith("Line 2"));
+        assertThrows(IllegalArgumentException.class, () -> VmCatalog.readJson(new StringReader("[{\"name\": \"CPU-X\"}]")));
+    }
+
+    @Test
+    @DisplayName("Non-finite values, non-positive speeds or TFLOPS and negative costs should be rejected with their location")
+    void testInvalidValues() throws IOException {
+        String header = "name,type,costPerHour,tflops,readSpeed,writeSpeed\n";
+        for (String row : List.of("CPU-X,CPU,1,0,1,1", "CPU-X,CPU,1,1,-1,1", "CPU-X,CPU,1,1,1,NaN",
+                "CPU-X,CPU,1,Infinity,1,1", "CPU-X,CPU,-0.5,1,1,1")) {
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                    () -> VmCatalog.readCsv(new StringReader(header + "CPU-OK,CPU,1,1,1,1\n" + row + "\n")));
+            assertTrue(e.getMessage().startsWith("Line 3"), e.getMessage());
+        }
+        assertThrows(IllegalArgumentException.class, () -> VmCatalog.readJson(new StringReader(
+                "[{\"name\": \"CPU-X\", \"type\": \"CPU\", \"costPerHour\": 1, \"tflops\": 1, \"readSpeed\": 0, \"writeSpeed\": 1}]")));
+        assertEquals(0.0, VmCatalog.readCsv(new StringReader(header + "CPU-FREE,CPU,0,1,1,1\n")).getPrototype("CPU-FREE").getC());
+    }
+
+    private static List<String> names(List<VM> vms) {
+        return vms.stream().map(VM::getName).toList();
+    }
+}
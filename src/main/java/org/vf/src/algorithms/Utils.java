@@ -5,6 +5,7 @@ import org.vf.src.VM;
 import org.vf.src.algorithms.HEFT.TaskHEFT;
 
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 
 public class Utils {
@@ -18,15 +19,17 @@ public class Utils {
     public static double calculateEST(TaskHEFT task, VM vm, Map<Integer, TaskHEFT> taskMap, Map<Task, VM> taskAssignments, Map<Task, Double> actualFinishTimes) {
         double vmReadyTime = vm.findEarliestAvailableStartTime(0, 0);
 
+        // Called for every candidate VM, the indexed loop does not create an iterator.
         double maxParentFinishTime = 0.0;
-        for (Integer parentId : task.getParents()) {
-            TaskHEFT parentTask = taskMap.get(parentId);
+        List<Integer> parents = task.getParents();
+        for (int i = 0; i < parents.size(); i++) {
+            TaskHEFT parentTask = taskMap.get(parents.get(i));
             VM parentVM = taskAssignments.get(parentTask);
             double parentFinishTime = actualFinishTimes.get(parentTask);
 
             double communicationCost = 0.0;
             if (parentVM != null && parentVM.getId() != vm.getId()) {
-                communicationCost = parentTask.getDout() / vm.getGsr();
+                communicationCost = task.getInputVolume(i, parentTask) / vm.getGsr();
             }
             maxParentFinishTime = Math.max(maxParentFinishTime, parentFinishTime + communicationCost);
         }
@@ -34,9 +37,34 @@ public class Utils {
         return Math.max(vmReadyTime, maxParentFinishTime);
     }
 
+    /**
+     * Latest finish time of the task's parents, the task cannot start earlier on any VM.
+     */
+    public static double getLatestParentFinishTime(TaskHEFT task, Map<Integer, TaskHEFT> taskMap, Map<Task, Double> actualFinishTimes) {
+        double latestParentFinishTime = 0.0;
+        for (Integer parentId : task.getParents()) {
+            latestParentFinishTime = Math.max(latestParentFinishTime, actualFinishTimes.get(taskMap.get(parentId)));
+        }
+        return latestParentFinishTime;
+    }
+
+    /**
+     * VMs running a parent of the task, the task reads the parent's output there without transfer.
+     */
+    public static List<VM> getParentHosts(TaskHEFT task, Map<Integer, TaskHEFT> taskMap, Map<Task, VM> taskAssignments) {
+        List<VM> parentHosts = new ArrayList<>(task.getParents().size());
+        for (Integer parentId : task.getParents()) {
+            VM parentVM = taskAssignments.get(taskMap.get(parentId));
+            if (parentVM != null) {
+                parentHosts.add(parentVM);
+            }
+        }
+        return parentHosts;
+    }
+
     public static double getExecutionTime(Task task, VM vm) {
         return task.getDin() / vm.getGsr() +
-                task.getMi() / vm.getW() +
+                task.getMi(vm.getTyp()) / vm.getW() +
                 task.getDout() / vm.getGsw();
     }
 
@@ -57,15 +85,29 @@ public class Utils {
         return totalCommunicationCost / vms.size();
     }
 
+    /**
+     * Average time to transfer the data volume to a VM of the pool.
+     */
+    public static double getAvgTransferTime(double volume, List<VM> vms) {
+        double totalTransferTime = 0;
+        for (VM vm : vms) {
+            totalTransferTime += volume / vm.getGsr();
+        }
+        return totalTransferTime / vms.size();
+    }
+
     public static double calculateUpwardRank(TaskHEFT task, ArrayList<VM> vms, Map<Integer, TaskHEFT> taskMap) {
         if (task.getUpperRank() != -1) {
             return task.getUpperRank();
         }
 
         double maxSuccPath = 0.0;
-        for (Integer childId : task.getChildren()) {
-            TaskHEFT childTask = taskMap.get(childId);
-            double avgCommCost = getAvgCommunicationCost(task, vms);
+        List<Integer> children = task.getChildren();
+        for (int i = 0; i < children.size(); i++) {
+            TaskHEFT childTask = taskMap.get(children.get(i));
+            // Edges without their own volume keep the task's average I/O time as communication cost.
+            double edgeVolume = task.getEdgeVolumeToChild(i);
+            double avgCommCost = Double.isNaN(edgeVolume) ? getAvgCommunicationCost(task, vms) : getAvgTransferTime(edgeVolume, vms);
             double childRank = calculateUpwardRank(childTask, vms, taskMap);
             maxSuccPath = Math.max(maxSuccPath, avgCommCost + childRank);
         }
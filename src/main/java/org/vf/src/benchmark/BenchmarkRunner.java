@@ -0,0 +1,17 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+
+/**
+ * Entry point for the JMH benchmarks. Accepts the usual JMH command line,
+ * e.g. "VMBenchmark -p scheduleDepth=1000 -prof gc".
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new CommandLineOptions(args)).run();
+    }
+}
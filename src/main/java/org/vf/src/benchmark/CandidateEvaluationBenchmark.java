@@ -0,0 +1,113 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CandidatePruner;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.algorithms.Utils.calculateEFT;
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+
+/**
+ * The per-candidate work of the scheduler inner loops, one operation is one (task, VM) candidate.
+ * Run with "-prof gc": gc.alloc.rate.norm is the allocation per candidate and should stay at 0 B/op.
+ * The VMs carry scheduleDepth slots far beyond the first billing periods, so period indices are not small integers.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CandidateEvaluationBenchmark {
+
+    @Param({"10", "1000"})
+    public int scheduleDepth;
+
+    private static final int NUM_OF_VMS = 64;
+    private static final int TAU = 3600;
+    private static final double SLOT_LENGTH = 1000;
+    private static final double GAP_LENGTH = 500;
+
+    private final List<VM> vms = new ArrayList<>();
+    private TaskHEFT task;
+    private final Map<Integer, TaskHEFT> taskMap = new HashMap<>();
+    private final Map<Task, VM> taskAssignments = new HashMap<>();
+    private final Map<Task, Double> actualFinishTimes = new HashMap<>();
+    private double horizon;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        TaskHEFT parent = new TaskHEFT(0, 10, 10, 100, new ArrayList<>(), new ArrayList<>(List.of(1)), HardwareType.CPU);
+        task = new TaskHEFT(1, 10, 10, 100, new ArrayList<>(List.of(0)), new ArrayList<>(), HardwareType.CPU);
+        taskMap.put(0, parent);
+        taskMap.put(1, task);
+
+        for (int v = 0; v < NUM_OF_VMS; v++) {
+            VM vm = new VM(v, "Benchmark", 1.0, 1.0 + v % 4, 100, 100, HardwareType.CPU);
+            double start = 0;
+            for (int i = 0; i < scheduleDepth; i++) {
+                vm.addSlotToSchedule(new VM.TimeSlot(start, start + SLOT_LENGTH, parent, Double.MAX_VALUE, 0));
+                start += SLOT_LENGTH + GAP_LENGTH;
+            }
+            horizon = start;
+            vms.add(vm);
+        }
+        taskAssignments.put(parent, vms.get(0));
+        actualFinishTimes.put(parent, horizon / 2);
+    }
+
+    /**
+     * CETSS: earliest start, finish and marginal cost of the task on every VM.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_VMS)
+    public double cetssCandidates() {
+        double bestCost = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < vms.size(); i++) {
+            VM vm = vms.get(i);
+            double executionTime = getExecutionTime(task, vm);
+            if (CandidatePruner.getCostLowerBound(vm, executionTime, TAU) > bestCost) continue;
+            double est = vm.findEarliestAvailableStartTime(executionTime, horizon / 2);
+            bestCost = Math.min(bestCost, vm.vmCalculateFinancialCost(est, est + executionTime, TAU));
+        }
+        return bestCost;
+    }
+
+    /**
+     * HEFT: earliest finish time of the task on every VM, with the transfer from its parent.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_VMS)
+    public double heftCandidates() {
+        double minEft = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < vms.size(); i++) {
+            minEft = Math.min(minEft, calculateEFT(task, vms.get(i), taskMap, taskAssignments, actualFinishTimes));
+        }
+        return minEft;
+    }
+
+    /**
+     * CETSS task adjustment: the cheapest gap for the task on every VM.
+     * The gaps are not materialized, the only allocation is the returned placement of each VM.
+     */
+    @Benchmark
+    @OperationsPerInvocation(NUM_OF_VMS)
+    public double findBestSlotForTask() {
+        double minCost = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < vms.size(); i++) {
+            // Longer than every gap, so no placement is found in front of the last slot.
+            VM.TimeSlot slot = vms.get(i).findBestSlotForTask(task, GAP_LENGTH * 2, horizon / 2, Double.MAX_VALUE, TAU);
+            if (slot != null) minCost = Math.min(minCost, slot.getFinancialCost());
+        }
+        return minCost;
+    }
+}
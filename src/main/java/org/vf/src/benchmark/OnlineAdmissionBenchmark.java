@@ -0,0 +1,68 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.online.OnlineScheduler;
+import org.vf.src.online.WorkflowAdmission;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Admission latency of a small workflow on VMs that already carry committedSlots reservations.
+ * Every invocation admits the workflow at the end of the committed horizon and releases it again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OnlineAdmissionBenchmark {
+
+    @Param({"1000", "1000000"})
+    public int committedSlots;
+
+    @Param({"20"})
+    public int numOfTasks;
+
+    private static final int TAU = 3600;
+    private static final double SLOT_LENGTH = 600;
+    private static final double GAP_LENGTH = 60;
+
+    private OnlineScheduler scheduler;
+    private List<TaskCETSS> workflow;
+    private double arrivalTime;
+    private double deadline;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<VM> vms = getVMConfig(1);
+        TaskCETSS placeholder = new TaskCETSS(0, 0, 0, 0, new ArrayList<>(), new ArrayList<>(), vms.get(0).getTyp());
+        double start = 0;
+        for (int i = 0; i < committedSlots; i++) {
+            VM vm = vms.get(i % vms.size());
+            vm.addSlotToSchedule(new VM.TimeSlot(start, start + SLOT_LENGTH, placeholder, Double.MAX_VALUE, 0));
+            if (i % vms.size() == vms.size() - 1) {
+                start += SLOT_LENGTH + GAP_LENGTH;
+            }
+        }
+
+        scheduler = new OnlineScheduler(vms, TAU);
+        workflow = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, 5, 42);
+        arrivalTime = start;
+        deadline = arrivalTime + 100 * TAU;
+    }
+
+    @Benchmark
+    public WorkflowAdmission admitAndRelease() {
+        WorkflowAdmission admission = scheduler.admit(workflow, arrivalTime, deadline);
+        scheduler.release(admission);
+        return admission;
+    }
+}
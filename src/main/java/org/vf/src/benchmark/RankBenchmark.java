@@ -0,0 +1,83 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.CETSS.UtilsCETSS;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.algorithms.Utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Benchmarks the deadline independent precomputations: HEFT upward ranks and the CETSS earliest/latest finish times.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RankBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int numOfTasks;
+
+    @Param({"1", "10"})
+    public int numOfVMsOfEachTyp;
+
+    @Param({"10", "100"})
+    public int depth;
+
+    private ArrayList<TaskHEFT> heftTasks;
+    private Map<Integer, TaskHEFT> heftTaskMap;
+    private ArrayList<TaskCETSS> cetssTasks;
+    private ArrayList<VM> vms;
+    private HashMap<HardwareType, VM> vmstMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        heftTasks = getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, depth, 42);
+        cetssTasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, depth, 42);
+        vms = getVMConfig(numOfVMsOfEachTyp);
+
+        heftTaskMap = new HashMap<>();
+        for (TaskHEFT task : heftTasks) {
+            heftTaskMap.put(task.getId(), task);
+        }
+
+        vmstMap = new HashMap<>();
+        vmstMap.put(HardwareType.CPU, new VM(-1, "vmst-CPU", -1, 2.0, 150, 150, HardwareType.CPU));
+        vmstMap.put(HardwareType.GPU, new VM(-1, "vmst-GPU", -1, 10.0, 1500, 1500, HardwareType.GPU));
+    }
+
+    @Benchmark
+    public double calculateUpwardRank() {
+        // Ranks are memoised on the task, reset them so every invocation does the full computation.
+        for (TaskHEFT task : heftTasks) {
+            task.setUpperRank(-1);
+        }
+        double rank = 0;
+        for (TaskHEFT task : heftTasks) {
+            rank += Utils.calculateUpwardRank(task, vms, heftTaskMap);
+        }
+        return rank;
+    }
+
+    @Benchmark
+    public double[] getEarliestFinishTimes() {
+        return UtilsCETSS.getEarliestFinishTimes(cetssTasks, vmstMap);
+    }
+
+    @Benchmark
+    public double[] getLatestFinishTimes() {
+        return UtilsCETSS.getLatestFinishTimes(cetssTasks, vmstMap);
+    }
+}
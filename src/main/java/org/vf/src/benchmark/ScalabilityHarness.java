@@ -0,0 +1,220 @@
+package org.vf.src.benchmark;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Runs HEFT, E-HEFT and CETSS on growing random workflows and VM pools and records
+ * wall time, allocation rate, peak heap and schedule quality for every point.
+ * The JSON report contains the fitted complexity exponents, i.e. the slope of log(time)
+ * over log(#tasks) for a fixed pool and over log(#VMs) for a fixed workflow.
+ *
+ * Usage: ScalabilityHarness [reportPath] [maxTasks] [maxVMsOfEachTyp] [timeBudgetSeconds]
+ */
+public class ScalabilityHarness {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 100;
+    private static final long SEED = 42;
+
+    public static class Point {
+        public final String algorithm;
+        public final int numOfTasks;
+        public final int numOfVMs;
+        public final double wallTimeSeconds;
+        public final long allocatedBytes;
+        public final long peakHeapBytes;
+        public final double makespan;
+        public final double totalCost;
+        public final double deadline;
+
+        public Point(String algorithm, int numOfTasks, int numOfVMs, double wallTimeSeconds, long allocatedBytes,
+                     long peakHeapBytes, double makespan, double totalCost, double deadline) {
+            this.algorithm = algorithm;
+            this.numOfTasks = numOfTasks;
+            this.numOfVMs = numOfVMs;
+            this.wallTimeSeconds = wallTimeSeconds;
+            this.allocatedBytes = allocatedBytes;
+            this.peakHeapBytes = peakHeapBytes;
+            this.makespan = makespan;
+            this.totalCost = totalCost;
+            this.deadline = deadline;
+        }
+
+        public double getAllocationRate() {
+            return wallTimeSeconds > 0 ? allocatedBytes / wallTimeSeconds : 0.0;
+        }
+    }
+
+    private record Algorithm<T extends Task>(String name, TaskFactory<T> taskFactory, AlgorithmScheduler<T, ? extends SchedulingAlgorithm> scheduler) {}
+
+    public static void main(String[] args) throws IOException {
+        Path reportPath = Path.of(args.length > 0 ? args[0] : "scalability-report.json");
+        int maxTasks = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int maxVMsOfEachTyp = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+        double timeBudgetSeconds = args.length > 3 ? Double.parseDouble(args[3]) : 60;
+
+        List<Algorithm<?>> algorithms = List.of(
+                new Algorithm<TaskHEFT>("HEFT", TaskHEFT::new, (tasks, vms, tau, deadline) -> new HEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler()),
+                new Algorithm<TaskHEFT>("E-HEFT", TaskHEFT::new, (tasks, vms, tau, deadline) -> new EHEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler()),
+                new Algorithm<TaskCETSS>("CETSS", TaskCETSS::new, (tasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, deadline).scheduler()));
+
+        // Warm up the JIT so the smallest points are not dominated by interpretation.
+        for (Algorithm<?> algorithm : algorithms) {
+            for (int i = 0; i < 5; i++) {
+                measure(algorithm, 1000, 1);
+            }
+        }
+
+        List<Point> points = new ArrayList<>();
+        for (Algorithm<?> algorithm : algorithms) {
+            for (int numOfVMsOfEachTyp = 1; numOfVMsOfEachTyp <= maxVMsOfEachTyp; numOfVMsOfEachTyp *= 10) {
+                for (int numOfTasks = 100; numOfTasks <= maxTasks; numOfTasks *= 10) {
+                    Point point = measure(algorithm, numOfTasks, numOfVMsOfEachTyp);
+                    points.add(point);
+                    System.out.printf(Locale.ROOT, "%-7s tasks=%-8d vms=%-6d time=%10.3fs alloc=%8.1fMB/s peakHeap=%8.1fMB makespan=%.2f cost=%.2f%n",
+                            point.algorithm, point.numOfTasks, point.numOfVMs, point.wallTimeSeconds,
+                            point.getAllocationRate() / 1e6, point.peakHeapBytes / 1e6, point.makespan, point.totalCost);
+
+                    // Larger workflows would only take longer, stop growing this curve.
+                    if (point.wallTimeSeconds > timeBudgetSeconds) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        writeReport(reportPath, algorithms, points);
+        System.out.println("Scalability report written to " + reportPath.toAbsolutePath());
+    }
+
+    private static <T extends Task> Point measure(Algorithm<T> algorithm, int numOfTasks, int numOfVMsOfEachTyp) {
+        ArrayList<T> tasks = getRandomLayeredWorkflow(algorithm.taskFactory(), numOfTasks, DEPTH, SEED);
+        ArrayList<VM> vms = getVMConfig(numOfVMsOfEachTyp);
+        int deadline = (int) Math.min(Integer.MAX_VALUE, Math.ceil(2 * getFastestCriticalPath(tasks, vms)));
+
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                heapPools.add(pool);
+            }
+        }
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threadBean.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        ArrayList<VM> scheduledVMs = algorithm.scheduler().schedule(tasks, vms, TAU, deadline);
+        double wallTimeSeconds = (System.nanoTime() - start) / 1e9;
+        long allocatedBytes = threadBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        long peakHeapBytes = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            peakHeapBytes += pool.getPeakUsage().getUsed();
+        }
+
+        double makespan = 0.0;
+        double totalCost = 0.0;
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                makespan = Math.max(makespan, slot.getEnd());
+            }
+            totalCost += vm.calculateTotalCost(TAU);
+        }
+
+        return new Point(algorithm.name(), numOfTasks, vms.size(), wallTimeSeconds, allocatedBytes, peakHeapBytes, makespan, totalCost, deadline);
+    }
+
+    /**
+     * Least squares slope of log(y) over log(x).
+     */
+    public static double getComplexityExponent(List<Double> xs, List<Double> ys) {
+        int n = xs.size();
+        if (n < 2) return Double.NaN;
+        double sumX = 0, sumY = 0, sumXY = 0, sumXX = 0;
+        for (int i = 0; i < n; i++) {
+            double x = Math.log(xs.get(i));
+            double y = Math.log(Math.max(ys.get(i), 1e-9));
+            sumX += x;
+            sumY += y;
+            sumXY += x * y;
+            sumXX += x * x;
+        }
+        double denominator = n * sumXX - sumX * sumX;
+        return denominator == 0 ? Double.NaN : (n * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * JSON has no NaN, a curve with a single point has no exponent.
+     */
+    private static String toJson(double exponent) {
+        return Double.isFinite(exponent) ? String.format(Locale.ROOT, "%.3f", exponent) : "null";
+    }
+
+    private static void writeReport(Path reportPath, List<Algorithm<?>> algorithms, List<Point> points) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(reportPath)) {
+            writer.write("{\n  \"points\": [\n");
+            for (int i = 0; i < points.size(); i++) {
+                Point p = points.get(i);
+                writer.write(String.format(Locale.ROOT,
+                        "    {\"algorithm\": \"%s\", \"tasks\": %d, \"vms\": %d, \"wallTimeSeconds\": %.6f, \"allocatedBytes\": %d, " +
+                                "\"allocationRateBytesPerSecond\": %.1f, \"peakHeapBytes\": %d, \"makespan\": %.4f, \"totalCost\": %.6f, " +
+                                "\"deadline\": %.1f, \"withinDeadline\": %b}%s\n",
+                        p.algorithm, p.numOfTasks, p.numOfVMs, p.wallTimeSeconds, p.allocatedBytes, p.getAllocationRate(),
+                        p.peakHeapBytes, p.makespan, p.totalCost, p.deadline, p.makespan <= p.deadline,
+                        i < points.size() - 1 ? "," : ""));
+            }
+            writer.write("  ],\n  \"complexityExponents\": [\n");
+
+            List<String> exponents = new ArrayList<>();
+            for (Algorithm<?> algorithm : algorithms) {
+                List<Integer> vmCounts = points.stream().filter(p -> p.algorithm.equals(algorithm.name())).map(p -> p.numOfVMs).distinct().toList();
+                List<Integer> taskCounts = points.stream().filter(p -> p.algorithm.equals(algorithm.name())).map(p -> p.numOfTasks).distinct().toList();
+
+                for (int numOfVMs : vmCounts) {
+                    List<Point> curve = points.stream().filter(p -> p.algorithm.equals(algorithm.name()) && p.numOfVMs == numOfVMs).toList();
+                    exponents.add(String.format(Locale.ROOT,
+                            "    {\"algorithm\": \"%s\", \"over\": \"tasks\", \"vms\": %d, \"timeExponent\": %s, \"peakHeapExponent\": %s}",
+                            algorithm.name(), numOfVMs,
+                            toJson(getComplexityExponent(curve.stream().map(p -> (double) p.numOfTasks).toList(), curve.stream().map(p -> p.wallTimeSeconds).toList())),
+                            toJson(getComplexityExponent(curve.stream().map(p -> (double) p.numOfTasks).toList(), curve.stream().map(p -> (double) p.peakHeapBytes).toList()))));
+                }
+                for (int numOfTasks : taskCounts) {
+                    List<Point> curve = points.stream().filter(p -> p.algorithm.equals(algorithm.name()) && p.numOfTasks == numOfTasks).toList();
+                    exponents.add(String.format(Locale.ROOT,
+                            "    {\"algorithm\": \"%s\", \"over\": \"vms\", \"tasks\": %d, \"timeExponent\": %s, \"peakHeapExponent\": %s}",
+                            algorithm.name(), numOfTasks,
+                            toJson(getComplexityExponent(curve.stream().map(p -> (double) p.numOfVMs).toList(), curve.stream().map(p -> p.wallTimeSeconds).toList())),
+                            toJson(getComplexityExponent(curve.stream().map(p -> (double) p.numOfVMs).toList(), curve.stream().map(p -> (double) p.peakHeapBytes).toList()))));
+                }
+            }
+            writer.write(String.join(",\n", exponents));
+            writer.write("\n  ]\n}\n");
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.cache.CachingAlgorithmScheduler;
+import org.vf.src.cache.ScheduleCache;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * A repeated CETSS request answered from the schedule cache, compared with running CETSS again.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleCacheBenchmark {
+
+    @Param({"100", "1000"})
+    public int numOfTasks;
+
+    private static final int TAU = 3600;
+
+    private ArrayList<TaskCETSS> tasks;
+    private ArrayList<VM> vms;
+    private int deadline;
+    private CachingAlgorithmScheduler<TaskCETSS, CETSS> cachingScheduler;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        tasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, 10, 42);
+        vms = getVMConfig(2);
+        deadline = (int) Math.ceil(2 * getFastestCriticalPath(tasks, vms));
+        cachingScheduler = new CachingAlgorithmScheduler<>("CETSS",
+                (tasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, deadline).scheduler(),
+                new ScheduleCache(16));
+        cachingScheduler.schedule(tasks, vms, TAU, deadline);
+    }
+
+    @Benchmark
+    public ArrayList<VM> cacheHit() {
+        return cachingScheduler.schedule(tasks, vms, TAU, deadline);
+    }
+
+    @Benchmark
+    public ArrayList<VM> cetss() {
+        return new CETSS(tasks, vms, TAU, deadline).scheduler();
+    }
+}
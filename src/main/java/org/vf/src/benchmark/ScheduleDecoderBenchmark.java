@@ -0,0 +1,87 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.VM;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.decoder.ScheduleDecoder;
+
+import java.util.ArrayList;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Decodes per second: full decodes of random solutions and single-task moves with delta re-evaluation.
+ * Run with "-prof gc" to check that decoding does not allocate.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScheduleDecoderBenchmark {
+
+    @Param({"100", "1000"})
+    public int numOfTasks;
+
+    @Param({"1", "4"})
+    public int numOfVMsOfEachTyp;
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 20;
+    private static final int NUM_OF_SOLUTIONS = 64;
+
+    private ScheduleDecoder decoder;
+    private int[][] assignments;
+    private int[] order;
+    private int[] moveTasks;
+    private int[] moveVMs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<TaskHEFT> tasks = getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, DEPTH, 42);
+        ArrayList<VM> vms = getVMConfig(numOfVMsOfEachTyp);
+        decoder = new ScheduleDecoder(tasks, vms, TAU);
+
+        // Task ids of the random workflows are a topological order.
+        order = new int[numOfTasks];
+        for (int t = 0; t < numOfTasks; t++) order[t] = t;
+
+        SplittableRandom random = new SplittableRandom(42);
+        assignments = new int[NUM_OF_SOLUTIONS][numOfTasks];
+        moveTasks = new int[NUM_OF_SOLUTIONS];
+        moveVMs = new int[NUM_OF_SOLUTIONS];
+        for (int s = 0; s < NUM_OF_SOLUTIONS; s++) {
+            for (int t = 0; t < numOfTasks; t++) {
+                assignments[s][t] = randomVm(random, t, vms.size());
+            }
+            moveTasks[s] = random.nextInt(numOfTasks);
+            moveVMs[s] = randomVm(random, moveTasks[s], vms.size());
+        }
+        decoder.decode(assignments[0], order);
+    }
+
+    private int randomVm(SplittableRandom random, int task, int numOfVMs) {
+        int vm;
+        do {
+            vm = random.nextInt(numOfVMs);
+        } while (!decoder.canRunOn(task, vm));
+        return vm;
+    }
+
+    @Benchmark
+    public double decode() {
+        next = (next + 1) % NUM_OF_SOLUTIONS;
+        return decoder.decode(assignments[next], order);
+    }
+
+    @Benchmark
+    public double moveTask() {
+        next = (next + 1) % NUM_OF_SOLUTIONS;
+        return decoder.moveTask(moveTasks[next], moveVMs[next]);
+    }
+}
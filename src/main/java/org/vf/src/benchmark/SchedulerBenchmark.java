@@ -0,0 +1,79 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * End-to-end benchmarks of HEFT, E-HEFT and CETSS on random layered workflows.
+ * The schedulers mutate their tasks, so every invocation works on a fresh workflow.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SchedulerBenchmark {
+
+    @Param({"100", "1000"})
+    public int numOfTasks;
+
+    @Param({"1", "4"})
+    public int numOfVMsOfEachTyp;
+
+    @Param({"10", "50"})
+    public int depth;
+
+    private static final int TAU = 3600;
+
+    private ArrayList<TaskHEFT> heftTasks;
+    private ArrayList<TaskCETSS> cetssTasks;
+    private ArrayList<VM> vms;
+    private int deadline;
+
+    @Setup(Level.Trial)
+    public void setUpDeadline() {
+        // Loose enough for CETSS to find feasible placements: 1.5 times the HEFT makespan.
+        ArrayList<VM> scheduled = new HEFT(getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, depth, 42), getVMConfig(numOfVMsOfEachTyp)).scheduler();
+        double makespan = 0;
+        for (VM vm : scheduled) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                makespan = Math.max(makespan, slot.getEnd());
+            }
+        }
+        deadline = (int) Math.min(Integer.MAX_VALUE, Math.ceil(makespan * 1.5));
+    }
+
+    @Setup(Level.Invocation)
+    public void setUpWorkflow() {
+        heftTasks = getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, depth, 42);
+        cetssTasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, depth, 42);
+        vms = getVMConfig(numOfVMsOfEachTyp);
+    }
+
+    @Benchmark
+    public ArrayList<VM> heft() {
+        return new HEFT(heftTasks, vms).scheduler();
+    }
+
+    @Benchmark
+    public ArrayList<VM> eheft() {
+        return new EHEFT(heftTasks, vms).scheduler();
+    }
+
+    @Benchmark
+    public ArrayList<VM> cetss() {
+        return new CETSS(cetssTasks, vms, TAU, deadline).scheduler();
+    }
+}
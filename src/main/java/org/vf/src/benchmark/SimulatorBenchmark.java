@@ -0,0 +1,64 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.simulation.ScheduleSimulator;
+import org.vf.src.simulation.SimulationResult;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Replays a round-robin schedule of a random layered workflow. The "events" counter reports simulated events per second.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimulatorBenchmark {
+
+    @Param({"10000", "1000000"})
+    public int numOfTasks;
+
+    @Param({"1", "100"})
+    public int numOfVMsOfEachTyp;
+
+    private ScheduleSimulator simulator;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class EventCounter {
+        public long events;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            events = 0;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, 100, 42);
+        ArrayList<VM> vms = getVMConfig(numOfVMsOfEachTyp);
+
+        // Task ids are a topological order, so placing them round-robin in id order keeps every VM order feasible.
+        for (TaskCETSS task : tasks) {
+            VM vm = vms.get(task.getId() % vms.size());
+            vm.addSlotToSchedule(new VM.TimeSlot(task.getId(), task.getId() + 1.0, task, 0, 0));
+        }
+        simulator = new ScheduleSimulator(vms, 3600, false);
+    }
+
+    @Benchmark
+    public SimulationResult simulate(EventCounter counter) {
+        SimulationResult result = simulator.simulate();
+        counter.events += result.getNumOfEvents();
+        return result;
+    }
+}
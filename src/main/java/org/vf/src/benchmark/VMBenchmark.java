@@ -0,0 +1,62 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Microbenchmarks for the VM timeline operations the schedulers call in their candidate loops.
+ * The VM carries scheduleDepth slots with an idle gap after every slot.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VMBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int scheduleDepth;
+
+    private static final int TAU = 3600;
+    private static final double SLOT_LENGTH = 1000;
+    private static final double GAP_LENGTH = 500;
+
+    private VM vm;
+    private TaskCETSS task;
+    private double horizon;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        vm = new VM(0, "Benchmark", 1.0, 1.0, 100, 100, HardwareType.CPU);
+        task = new TaskCETSS(0, 10, 10, 100, new ArrayList<>(), new ArrayList<>(), HardwareType.CPU);
+
+        double start = 0;
+        for (int i = 0; i < scheduleDepth; i++) {
+            vm.addSlotToSchedule(new VM.TimeSlot(start, start + SLOT_LENGTH, task, Double.MAX_VALUE, 0));
+            start += SLOT_LENGTH + GAP_LENGTH;
+        }
+        horizon = start;
+    }
+
+    @Benchmark
+    public double findEarliestAvailableStartTime() {
+        // Too long for any gap, so the whole timeline is scanned.
+        return vm.findEarliestAvailableStartTime(GAP_LENGTH * 2, 0);
+    }
+
+    @Benchmark
+    public VM.TimeSlot findBestSlotForTask() {
+        return vm.findBestSlotForTask(task, GAP_LENGTH / 2, 0, horizon + TAU, TAU);
+    }
+
+    @Benchmark
+    public double vmCalculateFinancialCost() {
+        return vm.vmCalculateFinancialCost(horizon, horizon + SLOT_LENGTH, TAU);
+    }
+}
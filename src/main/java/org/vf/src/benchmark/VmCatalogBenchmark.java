@@ -0,0 +1,63 @@
+package org.vf.src.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+import org.vf.src.catalog.VmCatalog;
+import org.vf.src.catalog.VmPoolBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup cost of a large instance type catalog: parsing it and building a pool with instances of every type.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VmCatalogBenchmark {
+
+    @Param({"1000"})
+    public int numOfTypes;
+
+    @Param({"100000"})
+    public int poolSize;
+
+    private String csv;
+    private VmCatalog catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        StringBuilder builder = new StringBuilder("name,type,costPerHour,tflops,readSpeed,writeSpeed,region\n");
+        for (int i = 0; i < numOfTypes; i++) {
+            boolean gpu = i % 4 == 0;
+            builder.append(String.format(Locale.ROOT, "type-%d,%s,%.6f,%.4f,%.2f,%.2f,region-%d%n",
+                    i, gpu ? "GPU" : "CPU", random.nextDouble(0.005, gpu ? 5.0 : 0.5), random.nextDouble(0.01, gpu ? 40.0 : 5.0),
+                    random.nextDouble(40, 5000), random.nextDouble(40, 5000), i % 10));
+        }
+        csv = builder.toString();
+        catalog = VmCatalog.readCsv(new StringReader(csv));
+    }
+
+    @Benchmark
+    public VmCatalog loadCatalog() throws IOException {
+        return VmCatalog.readCsv(new StringReader(csv));
+    }
+
+    @Benchmark
+    public ArrayList<VM> buildPool() {
+        VmPoolBuilder builder = new VmPoolBuilder(catalog);
+        int countPerType = poolSize / catalog.size();
+        builder.addEach(HardwareType.CPU, countPerType);
+        builder.addEach(HardwareType.GPU, countPerType);
+        return builder.build();
+    }
+}
@@ -0,0 +1,75 @@
+package org.vf.src.billing;
+
+import org.vf.src.VM;
+
+/**
+ * How a VM is charged for the slots on its schedule. The price of a VM, {@link VM#getC()}, is interpreted by the model,
+ * e.g. as the price of one billing period.
+ *
+ * Every VM keeps an incremental {@link State} that is updated with each added or removed slot, so the marginal cost of
+ * a candidate slot does not require a rescan of the schedule.
+ */
+public interface BillingModel {
+
+    /**
+     * Billing state of one VM.
+     */
+    interface State {
+        void add(double start, double end);
+        void remove(double start, double end);
+        void clear();
+        double getCost();
+
+        /**
+         * Additional cost of adding a slot from start to end, the state is not changed.
+         */
+        double getMarginalCost(double start, double end);
+
+        /**
+         * Time the VM is charged for, e.g. the length of all rented periods.
+         */
+        double getBilledTime();
+    }
+
+    State newState(VM vm);
+
+    /**
+     * Lower bound of the cost of running a task for executionTime on a VM without slots.
+     */
+    double getIdleCostLowerBound(VM vm, double executionTime);
+
+    /**
+     * Lower bound of the cost per second the VM is busy, over any schedule.
+     */
+    double getCostRateLowerBound(VM vm);
+
+    /**
+     * Every period of length tau touched by a slot is paid once.
+     */
+    static BillingModel perPeriod(double tau) {
+        return new PeriodBilling(tau);
+    }
+
+    /**
+     * Per-second billing of the busy runs of a VM, every run is charged for at least minimumCharge.
+     *
+     * @param pricePeriod time the price of the VM refers to, e.g. 3600 for an hourly price
+     */
+    static BillingModel perSecond(double pricePeriod, double minimumCharge) {
+        return new PerSecondBilling(pricePeriod, minimumCharge);
+    }
+
+    /**
+     * Per-period billing with sustained-use discounts, see {@link SustainedUseBilling}.
+     */
+    static BillingModel sustainedUse(double tau) {
+        return new SustainedUseBilling(tau, (int) Math.round(730 * 3600 / tau), new double[] {1.0, 0.8, 0.6, 0.4});
+    }
+
+    /**
+     * Per-period billing with a price curve, period i costs priceFactors[i mod length] times the price of the VM.
+     */
+    static BillingModel spot(double tau, double[] priceFactors) {
+        return new PeriodBilling(tau, priceFactors);
+    }
+}
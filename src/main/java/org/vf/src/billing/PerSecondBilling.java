@@ -0,0 +1,161 @@
+package org.vf.src.billing;
+
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-second billing: a VM is rented for every run of back-to-back or overlapping slots and released in between.
+ * Every run is charged for its length, but at least for minimumCharge. The price of the VM refers to pricePeriod.
+ *
+ * The state keeps the slots sorted by start and the merged runs, a candidate slot only touches the runs it overlaps,
+ * which is O(log n) for the usual case of at most two of them. Removing a slot rebuilds the run that contained it.
+ */
+public class PerSecondBilling implements BillingModel {
+
+    // The length of a slot computed from its start and end may differ from its execution time by rounding.
+    private static final double ROUNDING_SLACK = 1e-9;
+
+    private final double pricePeriod;
+    private final double minimumCharge;
+
+    public PerSecondBilling(double pricePeriod, double minimumCharge) {
+        if (pricePeriod <= 0 || minimumCharge < 0) {
+            throw new IllegalArgumentException("Invalid per-second billing: price period " + pricePeriod + ", minimum charge " + minimumCharge);
+        }
+        this.pricePeriod = pricePeriod;
+        this.minimumCharge = minimumCharge;
+    }
+
+    private double getCharge(double start, double end) {
+        return Math.max(end - start, minimumCharge);
+    }
+
+    @Override
+    public State newState(VM vm) {
+        return new PerSecondState(vm.getC());
+    }
+
+    @Override
+    public double getIdleCostLowerBound(VM vm, double executionTime) {
+        if (executionTime <= 0 && minimumCharge == 0) return 0.0;
+        return Math.max(executionTime, minimumCharge) * (1 - ROUNDING_SLACK) * vm.getC() / pricePeriod;
+    }
+
+    @Override
+    public double getCostRateLowerBound(VM vm) {
+        return (1 - ROUNDING_SLACK) * vm.getC() / pricePeriod;
+    }
+
+    @Override
+    public String toString() {
+        return "per-second(pricePeriod=" + pricePeriod + ", minimumCharge=" + minimumCharge + ")";
+    }
+
+    private class PerSecondState implements State {
+        private final double price;
+        private final TreeMap<Double, ArrayList<Double>> slotEndsByStart = new TreeMap<>();
+        private final TreeMap<Double, Double> runs = new TreeMap<>();
+        private double billedTime;
+
+        PerSecondState(double price) {
+            this.price = price;
+        }
+
+        @Override
+        public void add(double start, double end) {
+            slotEndsByStart.computeIfAbsent(start, key -> new ArrayList<>(1)).add(end);
+            double runStart = start;
+            double runEnd = end;
+            Map.Entry<Double, Double> run = firstOverlappingRun(start);
+            while (run != null && run.getKey() <= end) {
+                runStart = Math.min(runStart, run.getKey());
+                runEnd = Math.max(runEnd, run.getValue());
+                billedTime -= getCharge(run.getKey(), run.getValue());
+                runs.remove(run.getKey());
+                run = runs.ceilingEntry(run.getKey());
+            }
+            runs.put(runStart, runEnd);
+            billedTime += getCharge(runStart, runEnd);
+        }
+
+        @Override
+        public void remove(double start, double end) {
+            ArrayList<Double> ends = slotEndsByStart.get(start);
+            if (ends == null || !ends.remove(end)) return;
+            if (ends.isEmpty()) {
+                slotEndsByStart.remove(start);
+            }
+
+            Map.Entry<Double, Double> run = runs.floorEntry(start);
+            runs.remove(run.getKey());
+            billedTime -= getCharge(run.getKey(), run.getValue());
+
+            // Merge the remaining slots of the run again, it may fall apart into several runs.
+            double runStart = Double.NaN;
+            double runEnd = Double.NaN;
+            for (Map.Entry<Double, ArrayList<Double>> slots : slotEndsByStart.subMap(run.getKey(), true, run.getValue(), true).entrySet()) {
+                double slotEnd = slots.getValue().stream().mapToDouble(Double::doubleValue).max().getAsDouble();
+                if (!Double.isNaN(runStart) && slots.getKey() <= runEnd) {
+                    runEnd = Math.max(runEnd, slotEnd);
+                    continue;
+                }
+                if (!Double.isNaN(runStart)) {
+                    runs.put(runStart, runEnd);
+                    billedTime += getCharge(runStart, runEnd);
+                }
+                runStart = slots.getKey();
+                runEnd = slotEnd;
+            }
+            if (!Double.isNaN(runStart)) {
+                runs.put(runStart, runEnd);
+                billedTime += getCharge(runStart, runEnd);
+            }
+        }
+
+        @Override
+        public void clear() {
+            slotEndsByStart.clear();
+            runs.clear();
+            billedTime = 0.0;
+        }
+
+        @Override
+        public double getCost() {
+            return billedTime * price / pricePeriod;
+        }
+
+        @Override
+        public double getMarginalCost(double start, double end) {
+            double runStart = start;
+            double runEnd = end;
+            double replacedCharge = 0.0;
+            Map.Entry<Double, Double> run = firstOverlappingRun(start);
+            while (run != null && run.getKey() <= end) {
+                runStart = Math.min(runStart, run.getKey());
+                runEnd = Math.max(runEnd, run.getValue());
+                replacedCharge += getCharge(run.getKey(), run.getValue());
+                run = runs.higherEntry(run.getKey());
+            }
+            return (getCharge(runStart, runEnd) - replacedCharge) * price / pricePeriod;
+        }
+
+        /**
+         * The run containing or touching start, otherwise the first run behind it.
+         */
+        private Map.Entry<Double, Double> firstOverlappingRun(double start) {
+            Map.Entry<Double, Double> run = runs.floorEntry(start);
+            if (run != null && run.getValue() >= start) {
+                return run;
+            }
+            return runs.higherEntry(start);
+        }
+
+        @Override
+        public double getBilledTime() {
+            return billedTime;
+        }
+    }
+}
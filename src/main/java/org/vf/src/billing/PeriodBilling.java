@@ -0,0 +1,136 @@
+package org.vf.src.billing;
+
+import org.vf.src.VM;
+
+import java.util.Arrays;
+
+/**
+ * Every billing period of length tau touched by a slot is paid once. Without price factors all periods cost the price
+ * of the VM, with price factors period i costs priceFactors[i mod length] times the price, e.g. a spot price curve.
+ *
+ * The state counts the slots per rented period, adding, removing and pricing a slot only touches its own periods.
+ */
+public class PeriodBilling implements BillingModel {
+
+    private final double tau;
+    private final double[] priceFactors;
+    private final double minPriceFactor;
+
+    public PeriodBilling(double tau) {
+        this(tau, null);
+    }
+
+    public PeriodBilling(double tau, double[] priceFactors) {
+        if (tau <= 0) {
+            throw new IllegalArgumentException("tau must be positive: " + tau);
+        }
+        if (priceFactors != null && priceFactors.length == 0) {
+            throw new IllegalArgumentException("Empty price curve.");
+        }
+        this.tau = tau;
+        this.priceFactors = priceFactors == null ? null : priceFactors.clone();
+        this.minPriceFactor = priceFactors == null ? 1.0 : Arrays.stream(priceFactors).min().getAsDouble();
+    }
+
+    public double getTau() { return tau; }
+
+    public boolean isUniformPrice() { return priceFactors == null; }
+
+    private double getPriceFactor(int period) {
+        return priceFactors == null ? 1.0 : priceFactors[Math.floorMod(period, priceFactors.length)];
+    }
+
+    @Override
+    public State newState(VM vm) {
+        return new PeriodState(vm.getC());
+    }
+
+    /**
+     * An idle VM rents at least one period and every full period of the task.
+     */
+    @Override
+    public double getIdleCostLowerBound(VM vm, double executionTime) {
+        if (executionTime <= 0) return 0.0;
+        return Math.max(1.0, Math.floor(executionTime / tau)) * minPriceFactor * vm.getC();
+    }
+
+    /**
+     * A busy second costs at least a share of the cheapest period.
+     */
+    @Override
+    public double getCostRateLowerBound(VM vm) {
+        return minPriceFactor * vm.getC() / tau;
+    }
+
+    @Override
+    public String toString() {
+        return priceFactors == null ? "per-period(tau=" + tau + ")" : "spot(tau=" + tau + ", priceFactors=" + Arrays.toString(priceFactors) + ")";
+    }
+
+    private class PeriodState implements State {
+        private final double price;
+        private final PeriodCounts slotsPerPeriod = new PeriodCounts();
+        private double rentedPriceFactors;
+
+        PeriodState(double price) {
+            this.price = price;
+        }
+
+        @Override
+        public void add(double start, double end) {
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                if (slotsPerPeriod.increment(i) == 1) {
+                    rentedPriceFactors += getPriceFactor(i);
+                }
+            }
+        }
+
+        @Override
+        public void remove(double start, double end) {
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                if (slotsPerPeriod.decrement(i) == 0) {
+                    rentedPriceFactors -= getPriceFactor(i);
+                }
+            }
+        }
+
+        @Override
+        public void clear() {
+            slotsPerPeriod.clear();
+            rentedPriceFactors = 0.0;
+        }
+
+        @Override
+        public double getCost() {
+            return priceFactors == null ? slotsPerPeriod.size() * price : rentedPriceFactors * price;
+        }
+
+        @Override
+        public double getMarginalCost(double start, double end) {
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            if (priceFactors == null) {
+                int additionalPeriodsToRent = 0;
+                for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                    if (!slotsPerPeriod.contains(i)) {
+                        additionalPeriodsToRent++;
+                    }
+                }
+                return additionalPeriodsToRent * price;
+            }
+            double additionalPriceFactors = 0.0;
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                if (!slotsPerPeriod.contains(i)) {
+                    additionalPriceFactors += getPriceFactor(i);
+                }
+            }
+            return additionalPriceFactors * price;
+        }
+
+        @Override
+        public double getBilledTime() {
+            return slotsPerPeriod.size() * tau;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.vf.src.billing;
+
+import java.util.Arrays;
+
+/**
+ * Map from a period index to a positive count on primitive arrays, so pricing a slot does not box period indices.
+ * Open addressing with linear probing, a count of 0 marks a free entry.
+ */
+final class PeriodCounts {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] keys = new int[INITIAL_CAPACITY];
+    private int[] counts = new int[INITIAL_CAPACITY];
+    private int size;
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int key) {
+        return counts[indexOf(key)] > 0;
+    }
+
+    int get(int key) {
+        return counts[indexOf(key)];
+    }
+
+    /**
+     * Adds 1 to the count of the key and returns the new count.
+     */
+    int increment(int key) {
+        int index = indexOf(key);
+        if (counts[index] == 0) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+                index = indexOf(key);
+            }
+            keys[index] = key;
+            size++;
+        }
+        return ++counts[index];
+    }
+
+    /**
+     * Subtracts 1 from the count of the key and returns the new count, the key is removed at 0.
+     * Returns -1 if the key is not contained.
+     */
+    int decrement(int key) {
+        int index = indexOf(key);
+        if (counts[index] == 0) {
+            return -1;
+        }
+        int count = --counts[index];
+        if (count == 0) {
+            size--;
+            removeAt(index);
+        }
+        return count;
+    }
+
+    void clear() {
+        Arrays.fill(counts, 0);
+        size = 0;
+    }
+
+    /**
+     * Index of the key, or of the free entry where it would be inserted.
+     */
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        int index = hash(key) & mask;
+        while (counts[index] != 0 && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Shifts the following entries of the probe sequence back into the freed entry.
+     */
+    private void removeAt(int index) {
+        int mask = keys.length - 1;
+        int free = index;
+        int next = (free + 1) & mask;
+        while (counts[next] != 0) {
+            int home = hash(keys[next]) & mask;
+            // The entry may move to the free index if its home is not cyclically in (free, next].
+            if (((next - home) & mask) >= ((next - free) & mask)) {
+                keys[free] = keys[next];
+                counts[free] = counts[next];
+                counts[next] = 0;
+                free = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldCounts = counts;
+        keys = new int[oldKeys.length * 2];
+        counts = new int[oldKeys.length * 2];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldCounts[i] != 0) {
+                int index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                counts[index] = oldCounts[i];
+            }
+        }
+    }
+}
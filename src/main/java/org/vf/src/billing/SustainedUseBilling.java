@@ -0,0 +1,159 @@
+package org.vf.src.billing;
+
+import org.vf.src.VM;
+
+import java.util.Arrays;
+
+/**
+ * Per-period billing with sustained-use discounts: the more periods a VM rents within a month, the cheaper the
+ * additional ones. A month of periodsPerMonth periods is split into equal tiers, the k-th rented period of a month
+ * costs the rate of tier k * tiers / periodsPerMonth times the price of the VM.
+ *
+ * The cost of a month only depends on its number of rented periods, so the state keeps the rented periods and a
+ * count per month and prices a slot in O(#periods of the slot + #tiers).
+ */
+public class SustainedUseBilling implements BillingModel {
+
+    private final double tau;
+    private final int periodsPerMonth;
+    private final double[] tierRates;
+
+    /**
+     * @param tierRates price factor of every tier, e.g. {1.0, 0.8, 0.6, 0.4}, must not increase
+     */
+    public SustainedUseBilling(double tau, int periodsPerMonth, double[] tierRates) {
+        if (tau <= 0 || periodsPerMonth <= 0 || tierRates.length == 0) {
+            throw new IllegalArgumentException("Invalid sustained-use billing: tau " + tau + ", " + periodsPerMonth + " periods per month, " + tierRates.length + " tiers");
+        }
+        for (int i = 1; i < tierRates.length; i++) {
+            if (tierRates[i] > tierRates[i - 1]) {
+                throw new IllegalArgumentException("Tier rates must not increase.");
+            }
+        }
+        this.tau = tau;
+        this.periodsPerMonth = periodsPerMonth;
+        this.tierRates = tierRates.clone();
+    }
+
+    /**
+     * Sum of the rates of the first numOfPeriods rented periods of a month.
+     */
+    double getCumulativeRate(int numOfPeriods) {
+        int periods = Math.min(numOfPeriods, periodsPerMonth);
+        double cumulativeRate = 0.0;
+        for (int tier = 0; tier < tierRates.length && periods > 0; tier++) {
+            long tierEnd = (long) (tier + 1) * periodsPerMonth / tierRates.length;
+            long tierStart = (long) tier * periodsPerMonth / tierRates.length;
+            long periodsInTier = Math.min(periods, tierEnd) - tierStart;
+            if (periodsInTier > 0) {
+                cumulativeRate += periodsInTier * tierRates[tier];
+            }
+            if (periods <= tierEnd) break;
+        }
+        return cumulativeRate;
+    }
+
+    @Override
+    public State newState(VM vm) {
+        return new SustainedUseState(vm.getC());
+    }
+
+    /**
+     * An idle VM rents at least one period and every full period of the task, at the best rates of one month.
+     */
+    @Override
+    public double getIdleCostLowerBound(VM vm, double executionTime) {
+        if (executionTime <= 0) return 0.0;
+        return getCumulativeRate((int) Math.max(1.0, Math.floor(executionTime / tau))) * vm.getC();
+    }
+
+    /**
+     * A busy second costs at least a share of a period at the rate of the last tier.
+     */
+    @Override
+    public double getCostRateLowerBound(VM vm) {
+        return tierRates[tierRates.length - 1] * vm.getC() / tau;
+    }
+
+    @Override
+    public String toString() {
+        return "sustained-use(tau=" + tau + ", periodsPerMonth=" + periodsPerMonth + ", tierRates=" + Arrays.toString(tierRates) + ")";
+    }
+
+    private class SustainedUseState implements State {
+        private final double price;
+        private final PeriodCounts slotsPerPeriod = new PeriodCounts();
+        private final PeriodCounts periodsPerMonthIndex = new PeriodCounts();
+        private double cumulativeRate;
+
+        SustainedUseState(double price) {
+            this.price = price;
+        }
+
+        @Override
+        public void add(double start, double end) {
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                if (slotsPerPeriod.increment(i) == 1) {
+                    int rented = periodsPerMonthIndex.increment(Math.floorDiv(i, periodsPerMonth));
+                    cumulativeRate += getCumulativeRate(rented) - getCumulativeRate(rented - 1);
+                }
+            }
+        }
+
+        @Override
+        public void remove(double start, double end) {
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                if (slotsPerPeriod.decrement(i) != 0) continue;
+                int rented = periodsPerMonthIndex.decrement(Math.floorDiv(i, periodsPerMonth)) + 1;
+                cumulativeRate -= getCumulativeRate(rented) - getCumulativeRate(rented - 1);
+            }
+        }
+
+        @Override
+        public void clear() {
+            slotsPerPeriod.clear();
+            periodsPerMonthIndex.clear();
+            cumulativeRate = 0.0;
+        }
+
+        @Override
+        public double getCost() {
+            return cumulativeRate * price;
+        }
+
+        @Override
+        public double getMarginalCost(double start, double end) {
+            // The periods of a slot are consecutive, so are their months: the new periods are summed up per month.
+            double additionalRate = 0.0;
+            int month = Integer.MIN_VALUE;
+            int newPeriods = 0;
+            int endPeriodIndex = (int) Math.ceil(end / tau);
+            for (int i = (int) Math.floor(start / tau); i < endPeriodIndex; i++) {
+                int periodMonth = Math.floorDiv(i, periodsPerMonth);
+                if (periodMonth != month) {
+                    additionalRate += getAdditionalRate(month, newPeriods);
+                    month = periodMonth;
+                    newPeriods = 0;
+                }
+                if (!slotsPerPeriod.contains(i)) {
+                    newPeriods++;
+                }
+            }
+            additionalRate += getAdditionalRate(month, newPeriods);
+            return additionalRate * price;
+        }
+
+        private double getAdditionalRate(int month, int newPeriods) {
+            if (newPeriods == 0) return 0.0;
+            int rented = periodsPerMonthIndex.get(month);
+            return getCumulativeRate(rented + newPeriods) - getCumulativeRate(rented);
+        }
+
+        @Override
+        public double getBilledTime() {
+            return slotsPerPeriod.size() * tau;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package org.vf.src.bounds;
+
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.billing.BillingModel;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Lower bounds of the makespan and the cost of any schedule of a workflow on a VM pool, to tell how far a heuristic's
+ * result is from optimal. All bounds take O(#tasks + #edges + #VMs).
+ *
+ * Makespan:
+ * <ul>
+ *   <li>critical path: every task on the fastest VM of its eligible types, reading and writing at the highest gsr and
+ *   gsw of that type, a transfer only between tasks that cannot share a hardware type</li>
+ *   <li>capacity: the work of the tasks pinned to a type spread over the summed speed of the VMs of that type</li>
+ * </ul>
+ * Cost:
+ * <ul>
+ *   <li>work: every task at the cheapest cost per unit of work, read and written data of its eligible types, see
+ *   {@link BillingModel#getCostRateLowerBound}</li>
+ *   <li>billing granularity: every type with pinned tasks rents at least one VM, which is charged at least
+ *   {@link BillingModel#getIdleCostLowerBound} for the shortest of these tasks</li>
+ * </ul>
+ * The read, work and write terms are bounded separately per type, which keeps the bounds linear but may put them
+ * below the best single VM.
+ */
+public class ScheduleBounds {
+
+    private static final int NUM_OF_TYPES = HardwareType.values().length;
+
+    private final double criticalPathBound;
+    private final double capacityBound;
+    private final double workCostBound;
+    private final double granularityCostBound;
+
+    private ScheduleBounds(double criticalPathBound, double capacityBound, double workCostBound, double granularityCostBound) {
+        this.criticalPathBound = criticalPathBound;
+        this.capacityBound = capacityBound;
+        this.workCostBound = workCostBound;
+        this.granularityCostBound = granularityCostBound;
+    }
+
+    /**
+     * @param tau billing period of the VMs without their own billing model
+     */
+    public static ScheduleBounds of(List<? extends Task> tasks, List<VM> vms, int tau) {
+        // Per type: fastest speeds, summed speed and cheapest rates per unit of read data, work and written data
+        double[] maxW = new double[NUM_OF_TYPES];
+        double[] maxGsr = new double[NUM_OF_TYPES];
+        double[] maxGsw = new double[NUM_OF_TYPES];
+        double[] totalW = new double[NUM_OF_TYPES];
+        double[] minRatePerRead = filled(Double.POSITIVE_INFINITY);
+        double[] minRatePerWork = filled(Double.POSITIVE_INFINITY);
+        double[] minRatePerWrite = filled(Double.POSITIVE_INFINITY);
+        for (VM vm : vms) {
+            int h = vm.getTyp().ordinal();
+            double rate = vm.getEffectiveBillingModel(tau).getCostRateLowerBound(vm);
+            maxW[h] = Math.max(maxW[h], vm.getW());
+            maxGsr[h] = Math.max(maxGsr[h], vm.getGsr());
+            maxGsw[h] = Math.max(maxGsw[h], vm.getGsw());
+            totalW[h] += vm.getW();
+            minRatePerRead[h] = Math.min(minRatePerRead[h], rate / vm.getGsr());
+            minRatePerWork[h] = Math.min(minRatePerWork[h], rate / vm.getW());
+            minRatePerWrite[h] = Math.min(minRatePerWrite[h], rate / vm.getGsw());
+        }
+
+        int n = tasks.size();
+        IntUnaryOperator indexOfId = getIndexOfId(tasks);
+
+        double[] minExecutionTimes = new double[n];
+        double[] pinnedWork = new double[NUM_OF_TYPES];
+        double[] shortestPinnedTask = filled(Double.POSITIVE_INFINITY);
+        double workCostBound = 0.0;
+        for (int t = 0; t < n; t++) {
+            Task task = tasks.get(t);
+            double minExecutionTime = Double.POSITIVE_INFINITY;
+            double minCost = Double.POSITIVE_INFINITY;
+            for (HardwareType typ : HardwareType.values()) {
+                int h = typ.ordinal();
+                if (maxW[h] == 0.0 || !task.canRunOn(typ)) continue;
+                double mi = task.getMi(typ);
+                minExecutionTime = Math.min(minExecutionTime, task.getDin() / maxGsr[h] + mi / maxW[h] + task.getDout() / maxGsw[h]);
+                minCost = Math.min(minCost, task.getDin() * minRatePerRead[h] + mi * minRatePerWork[h] + task.getDout() * minRatePerWrite[h]);
+            }
+            if (minExecutionTime == Double.POSITIVE_INFINITY) {
+                throw new IllegalArgumentException("No VM can run task " + task.getId());
+            }
+            minExecutionTimes[t] = minExecutionTime;
+            workCostBound += minCost;
+            if (!task.isFlexible()) {
+                int h = task.getTyp().ordinal();
+                pinnedWork[h] += task.getMi();
+                shortestPinnedTask[h] = Math.min(shortestPinnedTask[h], minExecutionTime);
+            }
+        }
+
+        double capacityBound = 0.0;
+        for (int h = 0; h < NUM_OF_TYPES; h++) {
+            if (pinnedWork[h] > 0.0) capacityBound = Math.max(capacityBound, pinnedWork[h] / totalW[h]);
+        }
+
+        double[] cheapestRental = filled(Double.POSITIVE_INFINITY);
+        for (VM vm : vms) {
+            int h = vm.getTyp().ordinal();
+            if (shortestPinnedTask[h] == Double.POSITIVE_INFINITY) continue;
+            cheapestRental[h] = Math.min(cheapestRental[h], vm.getEffectiveBillingModel(tau).getIdleCostLowerBound(vm, shortestPinnedTask[h]));
+        }
+        double granularityCostBound = 0.0;
+        for (int h = 0; h < NUM_OF_TYPES; h++) {
+            if (cheapestRental[h] != Double.POSITIVE_INFINITY) granularityCostBound += cheapestRental[h];
+        }
+
+        return new ScheduleBounds(getCriticalPath(tasks, indexOfId, minExecutionTimes, maxGsr), capacityBound, workCostBound, granularityCostBound);
+    }
+
+    /**
+     * Longest path of the fastest execution times in Kahn's order, with a transfer at the highest gsr of the child's
+     * types on the edges between tasks without a common type.
+     */
+    private static double getCriticalPath(List<? extends Task> tasks, IntUnaryOperator indexOfId, double[] minExecutionTimes, double[] maxGsr) {
+        int n = tasks.size();
+        int[] remainingParents = new int[n];
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int t = 0; t < n; t++) {
+            remainingParents[t] = tasks.get(t).getParents().size();
+            if (remainingParents[t] == 0) order[tail++] = t;
+        }
+
+        double[] startTimes = new double[n];
+        double criticalPath = 0.0;
+        while (head < tail) {
+            int t = order[head++];
+            Task task = tasks.get(t);
+            List<Integer> parents = task.getParents();
+            for (int p = 0; p < parents.size(); p++) {
+                int parentIndex = indexOfId.applyAsInt(parents.get(p));
+                Task parent = tasks.get(parentIndex);
+                double transferTime = shareType(parent, task) ? 0.0 : getMinTransferTime(task.getInputVolume(p, parent), task, maxGsr);
+                startTimes[t] = Math.max(startTimes[t], startTimes[parentIndex] + minExecutionTimes[parentIndex] + transferTime);
+            }
+            criticalPath = Math.max(criticalPath, startTimes[t] + minExecutionTimes[t]);
+            for (Integer childId : task.getChildren()) {
+                int child = indexOfId.applyAsInt(childId);
+                if (--remainingParents[child] == 0) order[tail++] = child;
+            }
+        }
+        if (tail != n) {
+            throw new IllegalArgumentException("The tasks contain a cycle.");
+        }
+        return criticalPath;
+    }
+
+    /**
+     * Maps task ids to list indices, without boxing when the ids are the indices as in the generated workflows.
+     */
+    private static IntUnaryOperator getIndexOfId(List<? extends Task> tasks) {
+        boolean idsAreIndices = true;
+        for (int t = 0; t < tasks.size() && idsAreIndices; t++) {
+            idsAreIndices = tasks.get(t).getId() == t;
+        }
+        if (idsAreIndices) return id -> id;
+
+        Map<Integer, Integer> indexOfId = new HashMap<>(2 * tasks.size());
+        for (int t = 0; t < tasks.size(); t++) {
+            indexOfId.put(tasks.get(t).getId(), t);
+        }
+        return id -> {
+            Integer index = indexOfId.get(id);
+            if (index == null) throw new IllegalArgumentException("Unknown task " + id);
+            return index;
+        };
+    }
+
+    private static boolean shareType(Task task, Task other) {
+        for (HardwareType typ : HardwareType.values()) {
+            if (task.canRunOn(typ) && other.canRunOn(typ)) return true;
+        }
+        return false;
+    }
+
+    private static double getMinTransferTime(double volume, Task receiver, double[] maxGsr) {
+        double transferTime = Double.POSITIVE_INFINITY;
+        for (HardwareType typ : HardwareType.values()) {
+            if (maxGsr[typ.ordinal()] > 0.0 && receiver.canRunOn(typ)) {
+                transferTime = Math.min(transferTime, volume / maxGsr[typ.ordinal()]);
+            }
+        }
+        return transferTime;
+    }
+
+    private static double[] filled(double value) {
+        double[] values = new double[NUM_OF_TYPES];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    /**
+     * Relative distance of a result to its lower bound in percent, an upper bound of the distance to the optimum.
+     */
+    public static double getGap(double value, double lowerBound) {
+        return lowerBound > 0.0 ? 100.0 * (value - lowerBound) / lowerBound : 0.0;
+    }
+
+    public double getCriticalPathBound() { return criticalPathBound; }
+    public double getCapacityBound() { return capacityBound; }
+    public double getMakespanLowerBound() { return Math.max(criticalPathBound, capacityBound); }
+    public double getWorkCostBound() { return workCostBound; }
+    public double getGranularityCostBound() { return granularityCostBound; }
+    public double getCostLowerBound() { return Math.max(workCostBound, granularityCostBound); }
+}
@@ -0,0 +1,113 @@
+package org.vf.src.cache;
+
+import org.vf.src.Task;
+import org.vf.src.VM;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compact copy of a schedule that refers to tasks by id and to VMs by their position in the pool,
+ * so it can be restored onto other task and VM objects with the same fingerprint.
+ */
+public class CachedSchedule {
+
+    private final int[] taskIds;
+    private final int[] vmIndices;
+    private final double[] starts;
+    private final double[] ends;
+    private final double[] deadlines;
+    private final double[] financialCosts;
+
+    private CachedSchedule(int numOfSlots) {
+        this.taskIds = new int[numOfSlots];
+        this.vmIndices = new int[numOfSlots];
+        this.starts = new double[numOfSlots];
+        this.ends = new double[numOfSlots];
+        this.deadlines = new double[numOfSlots];
+        this.financialCosts = new double[numOfSlots];
+    }
+
+    /**
+     * @param pool the VM list that was given to the scheduler, the scheduled VMs must be part of it
+     */
+    public static CachedSchedule of(List<VM> scheduledVMs, List<VM> pool) {
+        Map<VM, Integer> poolIndices = new IdentityHashMap<>();
+        for (int i = 0; i < pool.size(); i++) {
+            poolIndices.put(pool.get(i), i);
+        }
+
+        int numOfSlots = 0;
+        for (VM vm : scheduledVMs) {
+            numOfSlots += vm.getSchedule().size();
+        }
+
+        CachedSchedule cached = new CachedSchedule(numOfSlots);
+        int slotIndex = 0;
+        for (VM vm : scheduledVMs) {
+            Integer vmIndex = poolIndices.get(vm);
+            if (vmIndex == null) {
+                throw new IllegalArgumentException("VM " + vm.getId() + " is not part of the pool.");
+            }
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                cached.taskIds[slotIndex] = slot.getTask().getId();
+                cached.vmIndices[slotIndex] = vmIndex;
+                cached.starts[slotIndex] = slot.getStart();
+                cached.ends[slotIndex] = slot.getEnd();
+                cached.deadlines[slotIndex] = slot.getDeadline();
+                cached.financialCosts[slotIndex] = slot.getFinancialCost();
+                slotIndex++;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Clears the pool and puts the cached slots back on it. Task ids must equal their index in the list.
+     */
+    public ArrayList<VM> restore(List<? extends Task> tasks, ArrayList<VM> pool) {
+        for (VM vm : pool) {
+            vm.clearSchedule();
+        }
+        for (int i = 0; i < taskIds.length; i++) {
+            Task task = tasks.get(taskIds[i]);
+            task.setStatus(Task.Status.SCHEDULED);
+            pool.get(vmIndices[i]).addSlotToSchedule(new VM.TimeSlot(starts[i], ends[i], task, deadlines[i], financialCosts[i]));
+        }
+        return pool;
+    }
+
+    public int getNumOfSlots() {
+        return taskIds.length;
+    }
+
+    void write(DataOutputStream out) throws IOException {
+        out.writeInt(taskIds.length);
+        for (int i = 0; i < taskIds.length; i++) {
+            out.writeInt(taskIds[i]);
+            out.writeInt(vmIndices[i]);
+            out.writeDouble(starts[i]);
+            out.writeDouble(ends[i]);
+            out.writeDouble(deadlines[i]);
+            out.writeDouble(financialCosts[i]);
+        }
+    }
+
+    static CachedSchedule read(DataInputStream in) throws IOException {
+        CachedSchedule cached = new CachedSchedule(in.readInt());
+        for (int i = 0; i < cached.taskIds.length; i++) {
+            cached.taskIds[i] = in.readInt();
+            cached.vmIndices[i] = in.readInt();
+            cached.starts[i] = in.readDouble();
+            cached.ends[i] = in.readDouble();
+            cached.deadlines[i] = in.readDouble();
+            cached.financialCosts[i] = in.readDouble();
+        }
+        return cached;
+    }
+}
@@ -0,0 +1,43 @@
+package org.vf.src.cache;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+
+/**
+ * Answers repeated scheduling requests from a {@link ScheduleCache} and only runs the wrapped scheduler on a miss.
+ * A hit restores the cached slots onto the given VMs, so callers see the same result as from the scheduler.
+ */
+public class CachingAlgorithmScheduler<T extends Task, S extends SchedulingAlgorithm> implements AlgorithmScheduler<T, S> {
+
+    private final String algorithmName;
+    private final AlgorithmScheduler<T, S> scheduler;
+    private final ScheduleCache cache;
+
+    /**
+     * @param algorithmName part of the fingerprint, must differ between schedulers sharing a cache
+     */
+    public CachingAlgorithmScheduler(String algorithmName, AlgorithmScheduler<T, S> scheduler, ScheduleCache cache) {
+        this.algorithmName = algorithmName;
+        this.scheduler = scheduler;
+        this.cache = cache;
+    }
+
+    @Override
+    public ArrayList<VM> schedule(ArrayList<? extends Task> tasks, ArrayList<VM> vms, int tau, int deadline) {
+        ScheduleFingerprint fingerprint = ScheduleFingerprint.of(algorithmName, tasks, vms, tau, deadline);
+        CachedSchedule cached = cache.get(fingerprint);
+        if (cached != null) {
+            return cached.restore(tasks, vms);
+        }
+
+        ArrayList<VM> scheduledVMs = scheduler.schedule(tasks, vms, tau, deadline);
+        cache.put(fingerprint, CachedSchedule.of(scheduledVMs, vms));
+        return scheduledVMs;
+    }
+
+    public ScheduleCache getCache() { return cache; }
+}
@@ -0,0 +1,138 @@
+package org.vf.src.cache;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Size bounded LRU cache of schedules by fingerprint, with an optional write-through disk tier.
+ * Entries evicted from memory stay on disk and are loaded back on their next hit.
+ */
+public class ScheduleCache {
+
+    private static final int FILE_MAGIC = 0x43575343; // "CWSC"
+
+    private final int maxEntries;
+    private final Path directory;
+    private final Map<ScheduleFingerprint, CachedSchedule> entries;
+    private final LongAdder memoryHits = new LongAdder();
+    private final LongAdder diskHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public ScheduleCache(int maxEntries) {
+        this(maxEntries, null);
+    }
+
+    /**
+     * @param directory disk tier, null to keep the cache in memory only
+     */
+    public ScheduleCache(int maxEntries, Path directory) {
+        this.maxEntries = maxEntries;
+        this.directory = directory;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScheduleFingerprint, CachedSchedule> eldest) {
+                return size() > ScheduleCache.this.maxEntries;
+            }
+        };
+        if (directory != null) {
+            try {
+                Files.createDirectories(directory);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @return the cached schedule, null on a miss
+     */
+    public CachedSchedule get(ScheduleFingerprint fingerprint) {
+        CachedSchedule cached;
+        synchronized (entries) {
+            cached = entries.get(fingerprint);
+        }
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+
+        cached = readFromDisk(fingerprint);
+        if (cached != null) {
+            diskHits.increment();
+            synchronized (entries) {
+                entries.put(fingerprint, cached);
+            }
+            return cached;
+        }
+        misses.increment();
+        return null;
+    }
+
+    public void put(ScheduleFingerprint fingerprint, CachedSchedule schedule) {
+        synchronized (entries) {
+            entries.put(fingerprint, schedule);
+        }
+        writeToDisk(fingerprint, schedule);
+    }
+
+    public void clearMemory() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private Path getFile(ScheduleFingerprint fingerprint) {
+        return directory.resolve(fingerprint.toHex() + ".schedule");
+    }
+
+    private CachedSchedule readFromDisk(ScheduleFingerprint fingerprint) {
+        if (directory == null) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(getFile(fingerprint))))) {
+            if (in.readInt() != FILE_MAGIC) return null;
+            return CachedSchedule.read(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes to a temporary file first, concurrent readers never see a partial entry.
+     */
+    private void writeToDisk(ScheduleFingerprint fingerprint, CachedSchedule schedule) {
+        if (directory == null) return;
+        try {
+            Path temporary = Files.createTempFile(directory, fingerprint.toHex(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(FILE_MAGIC);
+                schedule.write(out);
+            }
+            Files.move(temporary, getFile(fingerprint), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public int getMaxEntries() { return maxEntries; }
+    public long getMemoryHits() { return memoryHits.sum(); }
+    public long getDiskHits() { return diskHits.sum(); }
+    public long getMisses() { return misses.sum(); }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package org.vf.src.cache;
+
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.List;
+
+/**
+ * SHA-256 over everything a scheduling result depends on: algorithm, tau, deadline, the VM specs in pool order
+ * and the tasks with their attributes and parents. VM ids and names are not part of it, so equal pools created
+ * by the factory methods match.
+ */
+public final class ScheduleFingerprint {
+
+    private final byte[] digest;
+    private final int hashCode;
+
+    private ScheduleFingerprint(byte[] digest) {
+        this.digest = digest;
+        this.hashCode = Arrays.hashCode(digest);
+    }
+
+    public static ScheduleFingerprint of(String algorithm, List<? extends Task> tasks, List<VM> vms, int tau, int deadline) {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        byte[] name = algorithm.getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(name.length).put(name);
+        buffer.putInt(tau).putInt(deadline);
+
+        buffer.putInt(vms.size());
+        for (VM vm : vms) {
+            buffer = ensureCapacity(buffer, sha256, 40);
+            buffer.putDouble(vm.getC()).putDouble(vm.getW()).putDouble(vm.getGsr()).putDouble(vm.getGsw()).putInt(vm.getTyp().ordinal());
+            // The billing model changes the cost of every candidate, its description identifies it.
+            byte[] billing = (vm.getBillingModel() == null ? "" : vm.getBillingModel().toString()).getBytes(StandardCharsets.UTF_8);
+            buffer = ensureCapacity(buffer, sha256, 4 + billing.length);
+            buffer.putInt(billing.length).put(billing);
+        }
+
+        buffer.putInt(tasks.size());
+        for (Task task : tasks) {
+            List<Integer> parents = task.getParents();
+            buffer = ensureCapacity(buffer, sha256, 36);
+            buffer.putInt(task.getId()).putDouble(task.getDin()).putDouble(task.getDout()).putDouble(task.getMi())
+                    .putInt(task.getTyp().ordinal()).putInt(parents.size());
+            for (Integer parent : parents) {
+                buffer = ensureCapacity(buffer, sha256, 4);
+                buffer.putInt(parent);
+            }
+            if (task.hasEdgeVolumes()) {
+                for (int p = 0; p < parents.size(); p++) {
+                    buffer = ensureCapacity(buffer, sha256, 8);
+                    buffer.putDouble(task.getEdgeVolumeFromParent(p));
+                }
+            }
+            // Pinned tasks add nothing, which keeps their fingerprints as they were.
+            if (task.isFlexible()) {
+                for (HardwareType typ : HardwareType.values()) {
+                    buffer = ensureCapacity(buffer, sha256, 8);
+                    buffer.putDouble(task.canRunOn(typ) ? task.getMi(typ) : Double.NaN);
+                }
+            }
+        }
+        buffer.flip();
+        sha256.update(buffer);
+        return new ScheduleFingerprint(sha256.digest());
+    }
+
+    private static ByteBuffer ensureCapacity(ByteBuffer buffer, MessageDigest sha256, int bytes) {
+        if (buffer.remaining() < bytes) {
+            buffer.flip();
+            sha256.update(buffer);
+            buffer.clear();
+        }
+        return buffer;
+    }
+
+    public String toHex() {
+        return HexFormat.of().formatHex(digest);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof ScheduleFingerprint fingerprint && Arrays.equals(digest, fingerprint.digest);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return toHex();
+    }
+}
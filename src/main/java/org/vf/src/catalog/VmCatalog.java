@@ -0,0 +1,287 @@
+package org.vf.src.catalog;
+
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * VM instance types loaded from a CSV or JSON catalog instead of the hard-coded factories in {@link VM}.
+ *
+ * Every entry has the fields name, type (CPU or GPU), costPerHour, tflops, readSpeed and writeSpeed, and optionally
+ * a region. Entries of the same instance type in different regions are kept apart as "name@region". The prototypes
+ * of a hardware type are sorted by price/performance, i.e. cost per TFLOPS, cheapest first.
+ *
+ * CSV catalogs start with a header line naming the columns, JSON catalogs are an array of objects.
+ * Prototypes are never scheduled, {@link VmPoolBuilder} creates the actual VMs.
+ */
+public class VmCatalog {
+
+    private static final List<String> REQUIRED_FIELDS = List.of("name", "type", "costPerHour", "tflops", "readSpeed", "writeSpeed");
+    private static final Comparator<VM> BY_PRICE_PERFORMANCE = Comparator
+            .comparingDouble((VM vm) -> vm.getC() / vm.getW())
+            .thenComparing(VM::getName);
+
+    private final Map<String, VM> prototypesByName = new HashMap<>();
+    private final Map<HardwareType, List<VM>> prototypesByTyp = new EnumMap<>(HardwareType.class);
+
+    private VmCatalog(Collection<VM> prototypes) {
+        for (VM prototype : prototypes) {
+            if (prototypesByName.put(prototype.getName(), prototype) != null) {
+                throw new IllegalArgumentException("Duplicate instance type: " + prototype.getName());
+            }
+            prototypesByTyp.computeIfAbsent(prototype.getTyp(), typ -> new ArrayList<>()).add(prototype);
+        }
+        for (Map.Entry<HardwareType, List<VM>> entry : prototypesByTyp.entrySet()) {
+            entry.getValue().sort(BY_PRICE_PERFORMANCE);
+            entry.setValue(Collections.unmodifiableList(entry.getValue()));
+        }
+    }
+
+    public static VmCatalog of(Collection<VM> prototypes) {
+        return new VmCatalog(prototypes);
+    }
+
+    /**
+     * Loads a .json catalog as JSON and any other file as CSV.
+     */
+    public static VmCatalog load(Path catalogPath) throws IOException {
+        try (Reader reader = Files.newBufferedReader(catalogPath, StandardCharsets.UTF_8)) {
+            return catalogPath.toString().toLowerCase(Locale.ROOT).endsWith(".json") ? readJson(reader) : readCsv(reader);
+        }
+    }
+
+    public static VmCatalog readCsv(Reader reader) throws IOException {
+        BufferedReader lines = reader instanceof BufferedReader bufferedReader ? bufferedReader : new BufferedReader(reader);
+        String header = lines.readLine();
+        if (header == null) {
+            throw new IllegalArgumentException("Empty catalog.");
+        }
+        String[] columns = header.split(",", -1);
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = columns[i].trim();
+        }
+
+        List<VM> prototypes = new ArrayList<>();
+        Map<String, String> entry = new HashMap<>();
+        String line;
+        int lineNumber = 1;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || line.startsWith("#")) continue;
+            String[] values = line.split(",", -1);
+            if (values.length != columns.length) {
+                throw new IllegalArgumentException("Line " + lineNumber + ": expected " + columns.length + " fields, got " + values.length);
+            }
+            entry.clear();
+            for (int i = 0; i < columns.length; i++) {
+                entry.put(columns[i], values[i].trim());
+            }
+            prototypes.add(createPrototype(entry, "Line " + lineNumber));
+        }
+        return new VmCatalog(prototypes);
+    }
+
+    public static VmCatalog readJson(Reader reader) throws IOException {
+        List<VM> prototypes = new ArrayList<>();
+        List<Map<String, String>> entries = new JsonCatalogReader(readFully(reader)).readEntries();
+        for (int i = 0; i < entries.size(); i++) {
+            prototypes.add(createPrototype(entries.get(i), "Entry " + i));
+        }
+        return new VmCatalog(prototypes);
+    }
+
+    private static String readFully(Reader reader) throws IOException {
+        StringBuilder content = new StringBuilder();
+        char[] buffer = new char[1 << 14];
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            content.append(buffer, 0, read);
+        }
+        return content.toString();
+    }
+
+    private static VM createPrototype(Map<String, String> entry, String location) {
+        for (String field : REQUIRED_FIELDS) {
+            String value = entry.get(field);
+            if (value == null || value.isEmpty()) {
+                throw new IllegalArgumentException(location + ": missing " + field);
+            }
+        }
+        String region = entry.get("region");
+        String name = region == null || region.isEmpty() ? entry.get("name") : entry.get("name") + "@" + region;
+        try {
+            return new VM(-1, name,
+                    parseValue(entry, "costPerHour", false),
+                    parseValue(entry, "tflops", true),
+                    parseValue(entry, "readSpeed", true),
+                    parseValue(entry, "writeSpeed", true),
+                    HardwareType.valueOf(entry.get("type").toUpperCase(Locale.ROOT)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(location + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Speeds and TFLOPS divide the task sizes, so they have to be positive, a cost may be 0 but not negative.
+     */
+    private static double parseValue(Map<String, String> entry, String field, boolean positive) {
+        double value = Double.parseDouble(entry.get(field));
+        if (!Double.isFinite(value) || value < 0 || (positive && value == 0)) {
+            throw new IllegalArgumentException("invalid " + field + " " + entry.get(field));
+        }
+        return value;
+    }
+
+    /**
+     * Prototypes of the hardware type, cheapest per TFLOPS first.
+     */
+    public List<VM> getPrototypes(HardwareType typ) {
+        return prototypesByTyp.getOrDefault(typ, List.of());
+    }
+
+    public VM getPrototype(String name) {
+        VM prototype = prototypesByName.get(name);
+        if (prototype == null) {
+            throw new IllegalArgumentException("Unknown instance type: " + name);
+        }
+        return prototype;
+    }
+
+    public boolean contains(String name) {
+        return prototypesByName.containsKey(name);
+    }
+
+    public int size() {
+        return prototypesByName.size();
+    }
+
+    /**
+     * Just enough JSON for a catalog: an array of flat objects with string, number or boolean values.
+     */
+    private static class JsonCatalogReader {
+        private final String json;
+        private int position;
+
+        JsonCatalogReader(String json) {
+            this.json = json;
+        }
+
+        List<Map<String, String>> readEntries() {
+            List<Map<String, String>> entries = new ArrayList<>();
+            expect('[');
+            if (!tryConsume(']')) {
+                do {
+                    entries.add(readObject());
+                } while (tryConsume(','));
+                expect(']');
+            }
+            skipWhitespace();
+            if (position < json.length()) {
+                throw error("Trailing content");
+            }
+            return entries;
+        }
+
+        private Map<String, String> readObject() {
+            Map<String, String> entry = new LinkedHashMap<>();
+            expect('{');
+            if (!tryConsume('}')) {
+                do {
+                    String key = readString();
+                    expect(':');
+                    entry.put(key, readValue());
+                } while (tryConsume(','));
+                expect('}');
+            }
+            return entry;
+        }
+
+        private String readValue() {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == '"') {
+                return readString();
+            }
+            int start = position;
+            while (position < json.length() && ",}] \t\r\n".indexOf(json.charAt(position)) < 0) {
+                position++;
+            }
+            if (start == position) {
+                throw error("Expected a value");
+            }
+            String literal = json.substring(start, position);
+            return literal.equals("null") ? null : literal;
+        }
+
+        private String readString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (position < json.length()) {
+                char c = json.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c == '\\') {
+                    if (position >= json.length()) break;
+                    char escaped = json.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> value.append('\n');
+                        case 't' -> value.append('\t');
+                        case 'r' -> value.append('\r');
+                        case 'b' -> value.append('\b');
+                        case 'f' -> value.append('\f');
+                        case 'u' -> {
+                            if (position + 4 > json.length()) throw error("Invalid escape");
+                            value.append((char) Integer.parseInt(json.substring(position, position + 4), 16));
+                            position += 4;
+                        }
+                        default -> value.append(escaped);
+                    }
+                } else {
+                    value.append(c);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private void expect(char expected) {
+            if (!tryConsume(expected)) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private boolean tryConsume(char expected) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at offset " + position);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package org.vf.src.catalog;
+
+import org.vf.src.HardwareType;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds a VM pool from the instance types of a {@link VmCatalog}.
+ * The pool contains the VMs in the order they were added, every VM gets a fresh id.
+ */
+public class VmPoolBuilder {
+
+    private final VmCatalog catalog;
+    private final List<VM> prototypes = new ArrayList<>();
+    private final List<Integer> counts = new ArrayList<>();
+    private int size;
+
+    public VmPoolBuilder(VmCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    public VmPoolBuilder add(String instanceType, int count) {
+        return add(catalog.getPrototype(instanceType), count);
+    }
+
+    public VmPoolBuilder add(VM prototype, int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Negative count for " + prototype.getName() + ": " + count);
+        }
+        prototypes.add(prototype);
+        counts.add(count);
+        size += count;
+        return this;
+    }
+
+    /**
+     * Adds count VMs of every instance type of the hardware type.
+     */
+    public VmPoolBuilder addEach(HardwareType typ, int count) {
+        for (VM prototype : catalog.getPrototypes(typ)) {
+            add(prototype, count);
+        }
+        return this;
+    }
+
+    /**
+     * Adds count VMs of each of the numOfTypes instance types with the best price/performance.
+     */
+    public VmPoolBuilder addCheapest(HardwareType typ, int numOfTypes, int count) {
+        List<VM> byPricePerformance = catalog.getPrototypes(typ);
+        for (int i = 0; i < Math.min(numOfTypes, byPricePerformance.size()); i++) {
+            add(byPricePerformance.get(i), count);
+        }
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ArrayList<VM> build() {
+        ArrayList<VM> vms = new ArrayList<>(size);
+        for (int i = 0; i < prototypes.size(); i++) {
+            VM prototype = prototypes.get(i);
+            for (int j = 0; j < counts.get(i); j++) {
+                vms.add(VM.createInstanceOf(prototype));
+            }
+        }
+        return vms;
+    }
+}
@@ -0,0 +1,33 @@
+package org.vf.src.clustering;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+
+/**
+ * Schedules the workflow reduced by {@link PipelineClustering} with the wrapped scheduler and expands the result,
+ * so callers see a schedule of their own tasks.
+ */
+public class ClusteringAlgorithmScheduler<T extends Task, S extends SchedulingAlgorithm> implements AlgorithmScheduler<T, S> {
+
+    private final TaskFactory<T> taskFactory;
+    private final AlgorithmScheduler<T, S> scheduler;
+
+    /**
+     * @param taskFactory creates the composite tasks in the type the wrapped scheduler expects
+     */
+    public ClusteringAlgorithmScheduler(TaskFactory<T> taskFactory, AlgorithmScheduler<T, S> scheduler) {
+        this.taskFactory = taskFactory;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public ArrayList<VM> schedule(ArrayList<? extends Task> tasks, ArrayList<VM> vms, int tau, int deadline) {
+        PipelineClustering<T> clustering = new PipelineClustering<>(tasks, taskFactory);
+        return clustering.expand(scheduler.schedule(clustering.getClusteredTasks(), vms, tau, deadline));
+    }
+}
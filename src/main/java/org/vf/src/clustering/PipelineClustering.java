@@ -0,0 +1,192 @@
+package org.vf.src.clustering;
+
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.instrumentation.SchedulerInstrumentation.Span;
+import org.vf.src.instrumentation.SchedulingPhase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.begin;
+import static org.vf.src.instrumentation.SchedulerInstrumentation.end;
+
+/**
+ * Merges pipelines, i.e. chains of tasks where every task has exactly one child and that child exactly one parent,
+ * into composite tasks if all tasks of the chain share their hardware type. The reduced workflow can be given to
+ * any scheduler, {@link #expand} then replaces every composite slot by the slots of its members, one after another.
+ *
+ * A composite reads the input and writes the output of all its members, so its execution time on every VM is the
+ * sum of their execution times. Its dout is the sum as well, which overestimates the transfer to the children of the
+ * composite: the expanded schedule is still valid, the children only start later than they would have to.
+ * Task ids must equal their index in the list and be a topological order.
+ */
+public class PipelineClustering<T extends Task> {
+
+    private final List<? extends Task> tasks;
+    private final int[] clusterOf;
+    private final int[] firstMember;
+    private final int[] members;
+    private final ArrayList<T> clusteredTasks;
+
+    public PipelineClustering(List<? extends Task> tasks, TaskFactory<T> factory) {
+        this.tasks = tasks;
+        Span clusteringSpan = begin(SchedulingPhase.PIPELINE_CLUSTERING);
+        int n = tasks.size();
+        for (int i = 0; i < n; i++) {
+            if (tasks.get(i).getId() != i) {
+                throw new IllegalArgumentException("Task ids must equal their index, task " + tasks.get(i).getId() + " is at " + i);
+            }
+        }
+
+        // Members of one cluster are stored consecutively in members, from firstMember[c] to firstMember[c + 1].
+        this.clusterOf = new int[n];
+        this.members = new int[n];
+        int[] firstMembers = new int[n + 1];
+        int numOfClusters = 0;
+        int numOfMembers = 0;
+        for (int head = 0; head < n; head++) {
+            Task task = tasks.get(head);
+            if (task.getParents().size() == 1 && continuesPipeline(tasks.get(task.getParents().get(0)))) continue;
+
+            firstMembers[numOfClusters] = numOfMembers;
+            int member = head;
+            while (true) {
+                clusterOf[member] = numOfClusters;
+                members[numOfMembers++] = member;
+                if (!continuesPipeline(tasks.get(member))) break;
+                member = tasks.get(member).getChildren().get(0);
+            }
+            numOfClusters++;
+        }
+        firstMembers[numOfClusters] = numOfMembers;
+        if (numOfMembers != n) {
+            throw new IllegalArgumentException("The tasks contain a cycle.");
+        }
+        this.firstMember = Arrays.copyOf(firstMembers, numOfClusters + 1);
+
+        // Clusters are numbered by their first member, which keeps the ids a topological order.
+        this.clusteredTasks = new ArrayList<>(numOfClusters);
+        for (int c = 0; c < numOfClusters; c++) {
+            Task head = tasks.get(members[firstMember[c]]);
+            Task tail = tasks.get(members[firstMember[c + 1] - 1]);
+            double din = 0.0;
+            double dout = 0.0;
+            double mi = 0.0;
+            for (int m = firstMember[c]; m < firstMember[c + 1]; m++) {
+                Task member = tasks.get(members[m]);
+                din += member.getDin();
+                dout += member.getDout();
+                mi += member.getMi();
+            }
+            List<Integer> parents = new ArrayList<>(head.getParents().size());
+            for (Integer parentId : head.getParents()) {
+                parents.add(clusterOf[parentId]);
+            }
+            List<Integer> children = new ArrayList<>(tail.getChildren().size());
+            for (Integer childId : tail.getChildren()) {
+                children.add(clusterOf[childId]);
+            }
+            T composite = factory.create(c, din, dout, mi, parents, children, head.getTyp());
+            if (head.isFlexible()) {
+                for (HardwareType typ : HardwareType.values()) {
+                    if (typ == head.getTyp() || !head.canRunOn(typ)) continue;
+                    double typMi = 0.0;
+                    for (int m = firstMember[c]; m < firstMember[c + 1]; m++) {
+                        typMi += tasks.get(members[m]).getMi(typ);
+                    }
+                    composite.setWorkEstimate(typ, typMi);
+                }
+            }
+            clusteredTasks.add(composite);
+        }
+        // An edge between clusters carries the data of the edge between the tail and the head, not the summed dout.
+        for (int c = 0; c < numOfClusters; c++) {
+            Task head = tasks.get(members[firstMember[c]]);
+            List<Integer> parentIds = head.getParents();
+            for (int p = 0; p < parentIds.size(); p++) {
+                Task parentComposite = clusteredTasks.get(clusterOf[parentIds.get(p)]);
+                double volume = head.getInputVolume(p, tasks.get(parentIds.get(p)));
+                if (volume != parentComposite.getDout()) {
+                    Task.setEdgeVolume(parentComposite, clusteredTasks.get(c), volume);
+                }
+            }
+        }
+        end(clusteringSpan, "PipelineClustering");
+    }
+
+    /**
+     * Whether the task and its only child belong to the same pipeline.
+     */
+    private boolean continuesPipeline(Task task) {
+        if (task.getChildren().size() != 1) return false;
+        Task child = tasks.get(task.getChildren().get(0));
+        return child.getParents().size() == 1 && child.getTyp() == task.getTyp() && hasSameEligibility(task, child);
+    }
+
+    private static boolean hasSameEligibility(Task task, Task other) {
+        for (HardwareType typ : HardwareType.values()) {
+            if (task.canRunOn(typ) != other.canRunOn(typ)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Replaces the slots of the composite tasks by slots of their members in place. The members run back to back
+     * within the composite's slot, each for its share of the execution time on that VM, and get the same share of
+     * the slot's financial cost.
+     */
+    public ArrayList<VM> expand(ArrayList<VM> scheduledVMs) {
+        Span expansionSpan = begin(SchedulingPhase.PIPELINE_CLUSTERING);
+        for (VM vm : scheduledVMs) {
+            List<VM.TimeSlot> compositeSlots = new ArrayList<>(vm.getSchedule());
+            vm.clearSchedule();
+            for (VM.TimeSlot compositeSlot : compositeSlots) {
+                int cluster = compositeSlot.getTask().getId();
+                if (compositeSlot.getTask() != clusteredTasks.get(cluster)) {
+                    throw new IllegalArgumentException("VM " + vm.getId() + " runs a task that is not a cluster of this clustering.");
+                }
+                expandSlot(vm, compositeSlot, cluster);
+            }
+        }
+        end(expansionSpan, "PipelineClustering");
+        return scheduledVMs;
+    }
+
+    private void expandSlot(VM vm, VM.TimeSlot compositeSlot, int cluster) {
+        double totalExecutionTime = 0.0;
+        for (int m = firstMember[cluster]; m < firstMember[cluster + 1]; m++) {
+            totalExecutionTime += getExecutionTime(tasks.get(members[m]), vm);
+        }
+
+        double elapsed = 0.0;
+        double start = compositeSlot.getStart();
+        for (int m = firstMember[cluster]; m < firstMember[cluster + 1]; m++) {
+            Task member = tasks.get(members[m]);
+            double executionTime = getExecutionTime(member, vm);
+            elapsed += executionTime;
+            // The last member ends exactly with the composite, rounding must not move the end.
+            double end = m == firstMember[cluster + 1] - 1 ? compositeSlot.getEnd()
+                    : compositeSlot.getStart() + compositeSlot.getEt() * elapsed / totalExecutionTime;
+            member.setStatus(Task.Status.SCHEDULED);
+            vm.addSlotToSchedule(new VM.TimeSlot(start, end, member, compositeSlot.getDeadline(),
+                    compositeSlot.getFinancialCost() * executionTime / totalExecutionTime));
+            start = end;
+        }
+    }
+
+    public ArrayList<T> getClusteredTasks() { return clusteredTasks; }
+    public int getNumOfClusters() { return clusteredTasks.size(); }
+    public int getClusterOf(int taskId) { return clusterOf[taskId]; }
+
+    /**
+     * Ids of the tasks merged into the cluster, in pipeline order.
+     */
+    public int[] getMembers(int cluster) {
+        return Arrays.copyOfRange(members, firstMember[cluster], firstMember[cluster + 1]);
+    }
+}
@@ -0,0 +1,440 @@
+package org.vf.src.decoder;
+
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes a solution of a metaheuristic, a task to VM assignment and a priority order of the tasks, into a schedule
+ * and evaluates its makespan and billed cost.
+ *
+ * Tasks are placed in priority order, each into the first gap of its VM that holds it, exactly like
+ * {@link VM#findEarliestAvailableStartTime} and {@link VM#addSlotToSchedule}. A task cannot start before all parents
+ * finished and their data arrived, a transfer between different VMs takes the edge's data volume / gsr of the
+ * receiving VM as in {@link org.vf.src.algorithms.Utils#calculateEST}. Every billing period of length tau touched by a slot is paid
+ * once, as in {@link VM#calculateTotalCost(int)}.
+ *
+ * The workflow and the VM timelines live in primitive arrays. Decoding allocates nothing once the timelines reached
+ * their largest size. After a full {@link #decode}, {@link #moveTask} only re-places the tasks behind the moved task
+ * in the priority order, the tasks in front of it cannot be affected.
+ *
+ * A decoder is not thread-safe. Copies share the workflow structure and can decode in parallel.
+ */
+public class ScheduleDecoder {
+
+    private static final int INITIAL_SLOTS_PER_VM = 8;
+    private static final int NUM_OF_TYPES = HardwareType.values().length;
+
+    // --- Structure, shared between copies ---
+    private final int numOfTasks;
+    private final int numOfVMs;
+    private final int tau;
+    private final List<? extends Task> tasks;
+    private final List<VM> vms;
+    private final double[] din;
+    private final double[] dout;
+    // Work of task t on hardware type h at t * NUM_OF_TYPES + h, NaN if the task cannot run on the type.
+    private final double[] mi;
+    private final double[] gsr;
+    private final double[] gsw;
+    private final double[] w;
+    private final double[] c;
+    private final int[] vmTyp;
+    private final int[] parentOffsets;
+    private final int[] parents;
+    // Data read over the edge from parents[p], see Task#getInputVolume
+    private final double[] parentVolumes;
+
+    // --- Solution ---
+    private final int[] assignment;
+    private final int[] order;
+    private final int[] position;
+
+    // --- Schedule ---
+    private final double[] startTimes;
+    private final double[] finishTimes;
+    private final int[] slotVm;
+    private final int[][] vmSlots;
+    private final int[] vmNumOfSlots;
+    private final double[] vmCosts;
+    private final boolean[] vmChanged;
+    private final int[] changedVMs;
+    private int numOfChangedVMs;
+    private double makespan;
+    private double totalCost;
+    private boolean decoded;
+
+    /**
+     * @param tasks the workflow, parents are resolved by task id
+     * @param vms the VMs of the assignment, indexed like the list; they must use the default per-period billing
+     */
+    public ScheduleDecoder(List<? extends Task> tasks, List<VM> vms, int tau) {
+        this.numOfTasks = tasks.size();
+        this.numOfVMs = vms.size();
+        this.tau = tau;
+        this.tasks = tasks;
+        this.vms = vms;
+
+        Map<Integer, Integer> indexOfId = new HashMap<>();
+        for (int t = 0; t < numOfTasks; t++) {
+            indexOfId.put(tasks.get(t).getId(), t);
+        }
+        this.din = new double[numOfTasks];
+        this.dout = new double[numOfTasks];
+        this.mi = new double[numOfTasks * NUM_OF_TYPES];
+        this.parentOffsets = new int[numOfTasks + 1];
+        for (int t = 0; t < numOfTasks; t++) {
+            Task task = tasks.get(t);
+            din[t] = task.getDin();
+            dout[t] = task.getDout();
+            for (HardwareType typ : HardwareType.values()) {
+                mi[t * NUM_OF_TYPES + typ.ordinal()] = task.canRunOn(typ) ? task.getMi(typ) : Double.NaN;
+            }
+            parentOffsets[t + 1] = parentOffsets[t] + task.getParents().size();
+        }
+        this.parents = new int[parentOffsets[numOfTasks]];
+        this.parentVolumes = new double[parentOffsets[numOfTasks]];
+        for (int t = 0; t < numOfTasks; t++) {
+            List<Integer> parentIds = tasks.get(t).getParents();
+            for (int p = 0; p < parentIds.size(); p++) {
+                Integer parent = indexOfId.get(parentIds.get(p));
+                if (parent == null) {
+                    throw new IllegalArgumentException("Task " + tasks.get(t).getId() + " depends on unknown task " + parentIds.get(p));
+                }
+                parents[parentOffsets[t] + p] = parent;
+                parentVolumes[parentOffsets[t] + p] = tasks.get(t).getInputVolume(p, tasks.get(parent));
+            }
+        }
+
+        this.gsr = new double[numOfVMs];
+        this.gsw = new double[numOfVMs];
+        this.w = new double[numOfVMs];
+        this.c = new double[numOfVMs];
+        this.vmTyp = new int[numOfVMs];
+        for (int v = 0; v < numOfVMs; v++) {
+            VM vm = vms.get(v);
+            if (vm.getBillingModel() != null) {
+                throw new IllegalArgumentException("VM " + vm.getId() + " has its own billing model, the decoder bills per period.");
+            }
+            gsr[v] = vm.getGsr();
+            gsw[v] = vm.getGsw();
+            w[v] = vm.getW();
+            c[v] = vm.getC();
+            vmTyp[v] = vm.getTyp().ordinal();
+        }
+
+        this.assignment = new int[numOfTasks];
+        this.order = new int[numOfTasks];
+        this.position = new int[numOfTasks];
+        this.startTimes = new double[numOfTasks];
+        this.finishTimes = new double[numOfTasks];
+        this.slotVm = new int[numOfTasks];
+        this.vmSlots = newVmSlots(numOfVMs);
+        this.vmNumOfSlots = new int[numOfVMs];
+        this.vmCosts = new double[numOfVMs];
+        this.vmChanged = new boolean[numOfVMs];
+        this.changedVMs = new int[numOfVMs];
+    }
+
+    /**
+     * Creates a decoder sharing the workflow structure of the source, with its own solution and schedule.
+     */
+    public ScheduleDecoder(ScheduleDecoder source) {
+        this.numOfTasks = source.numOfTasks;
+        this.numOfVMs = source.numOfVMs;
+        this.tau = source.tau;
+        this.tasks = source.tasks;
+        this.vms = source.vms;
+        this.din = source.din;
+        this.dout = source.dout;
+        this.mi = source.mi;
+        this.gsr = source.gsr;
+        this.gsw = source.gsw;
+        this.w = source.w;
+        this.c = source.c;
+        this.vmTyp = source.vmTyp;
+        this.parentOffsets = source.parentOffsets;
+        this.parents = source.parents;
+        this.parentVolumes = source.parentVolumes;
+
+        this.assignment = new int[numOfTasks];
+        this.order = new int[numOfTasks];
+        this.position = new int[numOfTasks];
+        this.startTimes = new double[numOfTasks];
+        this.finishTimes = new double[numOfTasks];
+        this.slotVm = new int[numOfTasks];
+        this.vmSlots = newVmSlots(numOfVMs);
+        this.vmNumOfSlots = new int[numOfVMs];
+        this.vmCosts = new double[numOfVMs];
+        this.vmChanged = new boolean[numOfVMs];
+        this.changedVMs = new int[numOfVMs];
+    }
+
+    private static int[][] newVmSlots(int numOfVMs) {
+        int[][] vmSlots = new int[numOfVMs][];
+        for (int v = 0; v < numOfVMs; v++) {
+            vmSlots[v] = new int[INITIAL_SLOTS_PER_VM];
+        }
+        return vmSlots;
+    }
+
+    /**
+     * Decodes the solution from scratch and returns its makespan.
+     *
+     * @param assignment VM index of every task, the VM must have the hardware type of the task
+     * @param order permutation of the task indices in which the tasks are placed, parents before children
+     */
+    public double decode(int[] assignment, int[] order) {
+        if (assignment.length != numOfTasks || order.length != numOfTasks) {
+            throw new IllegalArgumentException("Expected " + numOfTasks + " tasks, got an assignment of " + assignment.length + " and an order of " + order.length);
+        }
+        for (int t = 0; t < numOfTasks; t++) {
+            checkAssignment(t, assignment[t]);
+        }
+        Arrays.fill(position, -1);
+        for (int i = 0; i < numOfTasks; i++) {
+            int t = order[i];
+            if (t < 0 || t >= numOfTasks || position[t] >= 0) {
+                throw new IllegalArgumentException("The order is not a permutation of the tasks.");
+            }
+            position[t] = i;
+        }
+        for (int t = 0; t < numOfTasks; t++) {
+            for (int p = parentOffsets[t]; p < parentOffsets[t + 1]; p++) {
+                if (position[parents[p]] > position[t]) {
+                    throw new IllegalArgumentException("Task " + tasks.get(t).getId() + " is ordered before its parent " + tasks.get(parents[p]).getId());
+                }
+            }
+        }
+        System.arraycopy(assignment, 0, this.assignment, 0, numOfTasks);
+        System.arraycopy(order, 0, this.order, 0, numOfTasks);
+
+        Arrays.fill(vmNumOfSlots, 0);
+        for (int v = 0; v < numOfVMs; v++) {
+            markChanged(v);
+        }
+        placeFrom(0);
+        decoded = true;
+        return makespan;
+    }
+
+    /**
+     * Moves a task of the last decoded solution to another VM and returns the new makespan.
+     * Only the moved task and the tasks behind it in the priority order are placed again.
+     */
+    public double moveTask(int task, int vm) {
+        if (!decoded) {
+            throw new IllegalStateException("Decode a solution before moving tasks.");
+        }
+        checkAssignment(task, vm);
+        int from = position[task];
+        removeFrom(from);
+        assignment[task] = vm;
+        markChanged(vm);
+        placeFrom(from);
+        return makespan;
+    }
+
+    private void checkAssignment(int task, int vm) {
+        if (vm < 0 || vm >= numOfVMs || !canRunOn(task, vm)) {
+            throw new IllegalArgumentException("Task " + tasks.get(task).getId() + " cannot run on VM index " + vm);
+        }
+    }
+
+    /**
+     * Removes the tasks at priority positions from and later from their VM timelines.
+     */
+    private void removeFrom(int from) {
+        for (int i = from; i < numOfTasks; i++) {
+            markChanged(slotVm[order[i]]);
+        }
+        for (int k = 0; k < numOfChangedVMs; k++) {
+            int v = changedVMs[k];
+            int[] slots = vmSlots[v];
+            int kept = 0;
+            for (int s = 0; s < vmNumOfSlots[v]; s++) {
+                if (position[slots[s]] < from) {
+                    slots[kept++] = slots[s];
+                }
+            }
+            vmNumOfSlots[v] = kept;
+        }
+    }
+
+    private void placeFrom(int from) {
+        for (int i = from; i < numOfTasks; i++) {
+            place(order[i]);
+        }
+
+        for (int k = 0; k < numOfChangedVMs; k++) {
+            int v = changedVMs[k];
+            vmCosts[v] = calculateVmCost(v);
+            vmChanged[v] = false;
+        }
+        numOfChangedVMs = 0;
+
+        makespan = 0.0;
+        for (int t = 0; t < numOfTasks; t++) {
+            makespan = Math.max(makespan, finishTimes[t]);
+        }
+        totalCost = 0.0;
+        for (int v = 0; v < numOfVMs; v++) {
+            totalCost += vmCosts[v];
+        }
+    }
+
+    private void place(int t) {
+        int v = assignment[t];
+        double earliestStartTime = 0.0;
+        for (int p = parentOffsets[t]; p < parentOffsets[t + 1]; p++) {
+            int parent = parents[p];
+            double communicationCost = slotVm[parent] != v ? parentVolumes[p] / gsr[v] : 0.0;
+            earliestStartTime = Math.max(earliestStartTime, finishTimes[parent] + communicationCost);
+        }
+        double executionTime = din[t] / gsr[v] + mi[t * NUM_OF_TYPES + vmTyp[v]] / w[v] + dout[t] / gsw[v];
+        double start = findEarliestAvailableStartTime(v, executionTime, earliestStartTime);
+
+        startTimes[t] = start;
+        finishTimes[t] = start + executionTime;
+        slotVm[t] = v;
+        insertSlot(v, t);
+    }
+
+    /**
+     * Same scan as {@link VM#findEarliestAvailableStartTime} on the timeline of VM v.
+     */
+    private double findEarliestAvailableStartTime(int v, double duration, double earliestStartTime) {
+        int[] slots = vmSlots[v];
+        int numOfSlots = vmNumOfSlots[v];
+        int firstIndex = indexOfFirstStartAtLeast(v, earliestStartTime + duration);
+        double lastFinishTime = firstIndex == 0 ? 0.0 : finishTimes[slots[firstIndex - 1]];
+
+        for (int i = firstIndex; i < numOfSlots; i++) {
+            double potentialStart = Math.max(earliestStartTime, lastFinishTime);
+            if (potentialStart + duration <= startTimes[slots[i]]) {
+                return potentialStart;
+            }
+            lastFinishTime = finishTimes[slots[i]];
+        }
+        return Math.max(earliestStartTime, lastFinishTime);
+    }
+
+    /**
+     * Inserts the task behind all slots with the same or an earlier start, as {@link VM#addSlotToSchedule}.
+     */
+    private void insertSlot(int v, int t) {
+        int numOfSlots = vmNumOfSlots[v];
+        if (numOfSlots == vmSlots[v].length) {
+            vmSlots[v] = Arrays.copyOf(vmSlots[v], 2 * numOfSlots);
+        }
+        int[] slots = vmSlots[v];
+        int index = numOfSlots;
+        if (index > 0 && startTimes[slots[index - 1]] > startTimes[t]) {
+            index = indexOfFirstStartAfter(v, startTimes[t]);
+            System.arraycopy(slots, index, slots, index + 1, numOfSlots - index);
+        }
+        slots[index] = t;
+        vmNumOfSlots[v] = numOfSlots + 1;
+    }
+
+    private int indexOfFirstStartAtLeast(int v, double time) {
+        int[] slots = vmSlots[v];
+        int low = 0;
+        int high = vmNumOfSlots[v];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[slots[mid]] < time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int indexOfFirstStartAfter(int v, double time) {
+        int[] slots = vmSlots[v];
+        int low = 0;
+        int high = vmNumOfSlots[v];
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[slots[mid]] <= time) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * The slots are sorted by start, so the union of their billing periods only needs the end of the last counted period.
+     */
+    private double calculateVmCost(int v) {
+        int[] slots = vmSlots[v];
+        long billedUntilPeriod = Long.MIN_VALUE;
+        long numOfPeriods = 0;
+        for (int s = 0; s < vmNumOfSlots[v]; s++) {
+            long startPeriod = (long) Math.floor(startTimes[slots[s]] / tau);
+            long endPeriodIndex = (long) Math.ceil(finishTimes[slots[s]] / tau);
+            long firstNewPeriod = Math.max(startPeriod, billedUntilPeriod);
+            if (endPeriodIndex > firstNewPeriod) {
+                numOfPeriods += endPeriodIndex - firstNewPeriod;
+                billedUntilPeriod = endPeriodIndex;
+            }
+        }
+        return numOfPeriods * c[v];
+    }
+
+    private void markChanged(int v) {
+        if (!vmChanged[v]) {
+            vmChanged[v] = true;
+            changedVMs[numOfChangedVMs++] = v;
+        }
+    }
+
+    /**
+     * Replaces the schedules of the decoder's VMs with the decoded schedule and returns the VMs.
+     */
+    public ArrayList<VM> writeSchedules() {
+        if (!decoded) {
+            throw new IllegalStateException("Decode a solution before writing it.");
+        }
+        ArrayList<VM> scheduledVMs = new ArrayList<>(vms);
+        for (int v = 0; v < numOfVMs; v++) {
+            VM vm = scheduledVMs.get(v);
+            vm.clearSchedule();
+            for (int s = 0; s < vmNumOfSlots[v]; s++) {
+                int t = vmSlots[v][s];
+                vm.addSlotToSchedule(new VM.TimeSlot(startTimes[t], finishTimes[t], tasks.get(t), 0, 0));
+            }
+        }
+        return scheduledVMs;
+    }
+
+    public int getNumOfTasks() { return numOfTasks; }
+    public int getNumOfVMs() { return numOfVMs; }
+    public List<? extends Task> getTasks() { return tasks; }
+    public List<VM> getVMs() { return vms; }
+    public double getMakespan() { return makespan; }
+    public double getTotalCost() { return totalCost; }
+    public double getVmCost(int vm) { return vmCosts[vm]; }
+    public double getStartTime(int task) { return startTimes[task]; }
+    public double getFinishTime(int task) { return finishTimes[task]; }
+    public int getAssignment(int task) { return assignment[task]; }
+    public int getPosition(int task) { return position[task]; }
+    public int getOrder(int position) { return order[position]; }
+
+    /**
+     * True if the task can run on the hardware type of the VM.
+     */
+    public boolean canRunOn(int task, int vm) {
+        return !Double.isNaN(mi[task * NUM_OF_TYPES + vmTyp[vm]]);
+    }
+}
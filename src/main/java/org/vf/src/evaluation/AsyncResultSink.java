@@ -0,0 +1,155 @@
+package org.vf.src.evaluation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Decouples the evaluation thread from disk I/O. Rows are handed over through a bounded queue to a dedicated
+ * writer thread, which drains them in batches into the wrapped sink and flushes once per batch.
+ * The caller only blocks when the queue is full, i.e. when the disk cannot keep up over a whole queue length.
+ * Errors of the writer thread are rethrown by the next call on this sink, interrupts do not stop it before the end of
+ * the stream.
+ */
+public class AsyncResultSink implements ResultSink {
+
+    private static final Object NEW_LINE = new Object();
+    private static final Object END_OF_STREAM = new Object();
+
+    private final ResultSink delegate;
+    private final BlockingQueue<Object> queue;
+    private final int maxBatchSize;
+    private final Thread writerThread;
+    private volatile IOException writerException;
+    private boolean closed;
+
+    public AsyncResultSink(ResultSink delegate) {
+        this(delegate, 65536, 1024);
+    }
+
+    public AsyncResultSink(ResultSink delegate, int queueCapacity, int maxBatchSize) {
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.writerThread = new Thread(this::drain, "result-sink-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+    }
+
+    private void drain() {
+        List<Object> batch = new ArrayList<>(maxBatchSize);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    batch.add(queue.take());
+                } catch (InterruptedException e) {
+                    // Stopping here would block the producers on a full queue, only END_OF_STREAM ends the writer.
+                    interrupted = true;
+                    continue;
+                }
+                queue.drainTo(batch, maxBatchSize - 1);
+                for (Object element : batch) {
+                    if (element == END_OF_STREAM) {
+                        delegate.flush();
+                        return;
+                    } else if (element == NEW_LINE) {
+                        delegate.addNewLine();
+                    } else {
+                        delegate.addRow((List<?>) element);
+                    }
+                }
+                batch.clear();
+                delegate.flush();
+            }
+        } catch (IOException | RuntimeException e) {
+            writerException = e instanceof IOException ioException ? ioException : new IOException(e);
+            // Keep consuming so producers never block on a dead writer.
+            while (true) {
+                try {
+                    if (queue.take() == END_OF_STREAM) return;
+                } catch (InterruptedException e2) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Object element) throws IOException {
+        if (closed) {
+            throw new IOException("Result sink is already closed.");
+        }
+        rethrowWriterException();
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while handing over a result row.", e);
+        }
+    }
+
+    private void rethrowWriterException() throws IOException {
+        IOException e = writerException;
+        if (e != null) {
+            throw new IOException("Writing results failed: " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public <T> void addRow(List<T> row) throws IOException {
+        // Copy, the caller may reuse its list.
+        enqueue(new ArrayList<>(row));
+    }
+
+    @Override
+    public void addNewLine() throws IOException {
+        enqueue(NEW_LINE);
+    }
+
+    /**
+     * Rows are flushed by the writer thread after every batch, so this only surfaces pending errors.
+     */
+    @Override
+    public void flush() throws IOException {
+        rethrowWriterException();
+    }
+
+    /**
+     * Waits for the pending rows even when interrupted, the wrapped sink is closed in any case.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        boolean interrupted = false;
+        try {
+            // The writer consumes until END_OF_STREAM also after a failure, so neither call blocks forever.
+            while (true) {
+                try {
+                    queue.put(END_OF_STREAM);
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            while (true) {
+                try {
+                    writerThread.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+            delegate.close();
+        }
+        rethrowWriterException();
+    }
+}
@@ -0,0 +1,102 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.clustering.ClusteringAlgorithmScheduler;
+import org.vf.src.clustering.PipelineClustering;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getPipelineWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Schedules workflows with HEFT and CETSS directly and after pipeline clustering, and reports the number of tasks
+ * the scheduler saw, the wall time, the makespan, the cost and the time spent on transfers between VMs.
+ *
+ * Usage: ClusteringEvaluation [numOfPipelines] [pipelineLength] [numOfVMsOfEachTyp] [deadlineFactor]
+ */
+public class ClusteringEvaluation {
+
+    private static final int TAU = 3600;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int numOfPipelines = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int pipelineLength = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int numOfVMsOfEachTyp = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        double deadlineFactor = args.length > 3 ? Double.parseDouble(args[3]) : 3.0;
+
+        System.out.printf(Locale.ROOT, "%-22s %-6s %-9s %8s %10s %14s %12s %14s%n",
+                "Workflow", "Algo", "Mode", "Tasks", "Millis", "Makespan", "Cost", "Transfers");
+        evaluate("Epigenomics", numOfVMsOfEachTyp, deadlineFactor, () -> getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize(TaskHEFT::new),
+                () -> getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize(TaskCETSS::new));
+        evaluate("Pipelines " + numOfPipelines + "x" + pipelineLength, numOfVMsOfEachTyp, deadlineFactor,
+                () -> getPipelineWorkflow(TaskHEFT::new, numOfPipelines, pipelineLength, SEED),
+                () -> getPipelineWorkflow(TaskCETSS::new, numOfPipelines, pipelineLength, SEED));
+        int numOfRandomTasks = numOfPipelines * pipelineLength;
+        evaluate("Random layered " + numOfRandomTasks, numOfVMsOfEachTyp, deadlineFactor,
+                () -> getRandomLayeredWorkflow(TaskHEFT::new, numOfRandomTasks, 50, SEED),
+                () -> getRandomLayeredWorkflow(TaskCETSS::new, numOfRandomTasks, 50, SEED));
+    }
+
+    private static void evaluate(String name, int numOfVMsOfEachTyp, double deadlineFactor,
+                                 Supplier<ArrayList<TaskHEFT>> heftTasks, Supplier<ArrayList<TaskCETSS>> cetssTasks) {
+        int deadline = (int) Math.ceil(deadlineFactor * getFastestCriticalPath(heftTasks.get(), getVMConfig(numOfVMsOfEachTyp)));
+
+        AlgorithmScheduler<TaskHEFT, HEFT> heft = (tasks, vms, tau, d) -> new HEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler();
+        AlgorithmScheduler<TaskCETSS, CETSS> cetss = (tasks, vms, tau, d) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, d).scheduler();
+        run(name, "HEFT", "direct", heftTasks.get(), numOfVMsOfEachTyp, deadline, heft, heftTasks.get().size());
+        run(name, "HEFT", "clustered", heftTasks.get(), numOfVMsOfEachTyp, deadline, new ClusteringAlgorithmScheduler<>(TaskHEFT::new, heft),
+                new PipelineClustering<>(heftTasks.get(), TaskHEFT::new).getNumOfClusters());
+        run(name, "CETSS", "direct", cetssTasks.get(), numOfVMsOfEachTyp, deadline, cetss, cetssTasks.get().size());
+        run(name, "CETSS", "clustered", cetssTasks.get(), numOfVMsOfEachTyp, deadline, new ClusteringAlgorithmScheduler<>(TaskCETSS::new, cetss),
+                new PipelineClustering<>(cetssTasks.get(), TaskCETSS::new).getNumOfClusters());
+    }
+
+    private static void run(String name, String algorithm, String mode, ArrayList<? extends Task> tasks, int numOfVMsOfEachTyp,
+                            int deadline, AlgorithmScheduler<?, ?> scheduler, int numOfScheduledTasks) {
+        long start = System.nanoTime();
+        ArrayList<VM> scheduledVMs = scheduler.schedule(tasks, getVMConfig(numOfVMsOfEachTyp), TAU, deadline);
+        double millis = (System.nanoTime() - start) / 1e6;
+        ScheduleMetrics metrics = ScheduleMetrics.of(scheduledVMs, TAU, deadline);
+        System.out.printf(Locale.ROOT, "%-22s %-6s %-9s %8d %10.1f %14.2f %12.4f %14.2f%n",
+                name, algorithm, mode, numOfScheduledTasks, millis, metrics.getMakespan(), metrics.getTotalCost(),
+                getTransferTime(tasks, scheduledVMs));
+    }
+
+    /**
+     * Sum of the transfer times of all edges whose tasks run on different VMs.
+     */
+    private static double getTransferTime(List<? extends Task> tasks, List<VM> scheduledVMs) {
+        VM[] hosts = new VM[tasks.size()];
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                hosts[slot.getTask().getId()] = vm;
+            }
+        }
+        double transferTime = 0.0;
+        for (Task task : tasks) {
+            List<Integer> children = task.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                int childId = children.get(i);
+                if (hosts[childId] != hosts[task.getId()]) {
+                    transferTime += task.getOutputVolume(i) / hosts[childId].getGsr();
+                }
+            }
+        }
+        return transferTime;
+    }
+}
@@ -0,0 +1,106 @@
+package org.vf.src.evaluation;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary columnar result format.
+ *
+ * The file starts with the magic "CWSB" and a version int. Rows are buffered into blocks, each block is written as
+ * (int rowCount, int columnCount) followed column by column by a type byte and the values of that column:
+ * {@link #DOUBLE_COLUMN} stores rowCount doubles (NaN for missing cells), {@link #STRING_COLUMN} rowCount modified UTF-8 strings.
+ * A block only holds rows of one kind (all numeric or not), so numeric result rows are always stored as doubles.
+ * Block separators, flushes and full blocks end the current block.
+ */
+public class ColumnarBinaryFile implements ResultSink {
+
+    public static final int MAGIC = 0x43575342; // "CWSB"
+    public static final int VERSION = 1;
+    public static final byte DOUBLE_COLUMN = 0;
+    public static final byte STRING_COLUMN = 1;
+
+    private final DataOutputStream out;
+    private final int blockSize;
+    private final List<List<?>> block = new ArrayList<>();
+    private boolean blockIsNumeric;
+
+    public ColumnarBinaryFile(String binaryFilePath) throws IOException {
+        this(binaryFilePath, 4096);
+    }
+
+    public ColumnarBinaryFile(String binaryFilePath, int blockSize) throws IOException {
+        boolean isNewFile = !new File(binaryFilePath).exists() || new File(binaryFilePath).length() == 0;
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(binaryFilePath, true), 1 << 16));
+        this.blockSize = blockSize;
+        if (isNewFile) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+        }
+    }
+
+    @Override
+    public <T> void addRow(List<T> row) throws IOException {
+        boolean rowIsNumeric = isNumeric(row);
+        if (!block.isEmpty() && (rowIsNumeric != blockIsNumeric || block.size() >= blockSize)) {
+            writeBlock();
+        }
+        blockIsNumeric = rowIsNumeric;
+        block.add(row);
+    }
+
+    private static boolean isNumeric(List<?> row) {
+        for (Object value : row) {
+            if (!(value instanceof Number)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void writeBlock() throws IOException {
+        if (block.isEmpty()) {
+            return;
+        }
+        int columnCount = 0;
+        for (List<?> row : block) {
+            columnCount = Math.max(columnCount, row.size());
+        }
+
+        out.writeInt(block.size());
+        out.writeInt(columnCount);
+        for (int column = 0; column < columnCount; column++) {
+            out.writeByte(blockIsNumeric ? DOUBLE_COLUMN : STRING_COLUMN);
+            for (List<?> row : block) {
+                Object value = column < row.size() ? row.get(column) : null;
+                if (blockIsNumeric) {
+                    out.writeDouble(value == null ? Double.NaN : ((Number) value).doubleValue());
+                } else {
+                    out.writeUTF(value == null ? "" : value.toString());
+                }
+            }
+        }
+        block.clear();
+    }
+
+    @Override
+    public void addNewLine() throws IOException {
+        writeBlock();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writeBlock();
+        out.close();
+    }
+}
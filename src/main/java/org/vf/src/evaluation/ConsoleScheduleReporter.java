@@ -0,0 +1,60 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.vf.src.evaluation.Utils.*;
+
+/**
+ * Prints every scheduled slot and the workflow summary to the console.
+ * Slots are printed in start time order without reordering the VM schedules.
+ */
+public class ConsoleScheduleReporter implements ScheduleReporter {
+
+    @Override
+    public void report(ScheduleMetrics metrics, int totalNumOfTasks) {
+        System.out.println("Scheduled Task running under VM: \n");
+
+        for (ScheduleMetrics.VmMetrics vmMetrics : metrics.getVmMetrics()) {
+            VM vm = vmMetrics.getVm();
+            System.out.println("VM " + vm.getId() + " (Cost/Period: " + vm.getC() + "):");
+            if (vm.getSchedule().isEmpty()) {
+                System.out.println("  No tasks scheduled.");
+            } else {
+                List<VM.TimeSlot> sortedSchedule = new ArrayList<>(vm.getSchedule());
+                sortedSchedule.sort(Comparator.comparingDouble(VM.TimeSlot::getStart));
+                for (VM.TimeSlot slot : sortedSchedule) {
+                    System.out.printf("  Task %d: Start=%.2f (%s), End=%.2f (%s), Cost=%.2f, Deadline=%.2f (%s)\n",
+                            slot.getTask().getId(),
+                            slot.getStart(), convertSecondsToHMS(slot.getStart()),
+                            slot.getEnd(), convertSecondsToHMS(slot.getEnd()),
+                            slot.getFinancialCost(),
+                            slot.getDeadline(), convertSecondsToHMS(slot.getDeadline()));
+                }
+            }
+            System.out.println("  Total Cost for VM " + vm.getId() + ": " + vmMetrics.getCost());
+        }
+
+        double overallMakespan = metrics.getMakespan();
+        double totalWorkflowCost = metrics.getTotalCost();
+        double workflowDeadline = metrics.getWorkflowDeadline();
+
+        System.out.println("\n--------------------------");
+        System.out.printf("Overall Workflow Makespan: %.2f seconds (%s)\n", overallMakespan, convertSecondsToHMS(overallMakespan));
+        System.out.printf("Total Workflow Financial Cost: %.2f\n", totalWorkflowCost);
+        System.out.printf("Overall Resource Utilization: %.2f\n", metrics.getResourceUtilization());
+        System.out.printf("Average Cost Per Task: %.2f\n", calculateAverageCostPerTask(totalWorkflowCost, totalNumOfTasks));
+        System.out.printf("Average Makespan Per Task: %.2f\n", calculateAverageMakespanPerTask(overallMakespan, totalNumOfTasks));
+        System.out.printf("Defined Workflow Deadline: %.2f seconds (%s)\n", workflowDeadline, convertSecondsToHMS(workflowDeadline));
+
+        if (metrics.isWithinDeadline()) {
+            System.out.println("Workflow completed within the deadline!");
+        } else {
+            System.out.println("Workflow exceeded the deadline!");
+        }
+    }
+}
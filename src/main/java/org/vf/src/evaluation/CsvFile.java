@@ -5,7 +5,7 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.List;
 
-public class CsvFile {
+public class CsvFile implements ResultSink {
 
     private BufferedWriter writer;
 
@@ -25,10 +25,12 @@ public class CsvFile {
         }
     }
 
+    @Override
     public void addNewLine() throws IOException {
         this.writer.newLine();
     }
 
+    @Override
     public <T> void addRow(List<T> row) throws IOException {
         StringBuilder sb = new StringBuilder();
 
@@ -43,6 +45,12 @@ public class CsvFile {
         writer.newLine();
     }
 
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
     public void close() throws IOException {
         if (writer != null) {
             writer.close();
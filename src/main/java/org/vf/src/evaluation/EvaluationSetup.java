@@ -7,6 +7,10 @@ import org.vf.src.VM;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.vf.src.algorithms.Utils.getExecutionTime;
 
 public class EvaluationSetup {
 
@@ -111,6 +115,167 @@ public class EvaluationSetup {
         return tasks;
     }
 
+    /**
+     * Generates a random layered workflow with a single entry task (id 0) and a single exit task (id numOfTasks - 1).
+     * The remaining tasks are spread over depth - 2 levels; every task gets one to three parents from the previous level.
+     * Task ids follow the level order, so they are a topological order and equal the index in the returned list.
+     */
+    public static <T extends Task> ArrayList<T> getRandomLayeredWorkflow(TaskFactory<T> factory, int numOfTasks, int depth, long seed) {
+        if (numOfTasks < 2 || depth < 2) {
+            throw new IllegalArgumentException("A workflow needs at least an entry and an exit task.");
+        }
+        Random random = new Random(seed);
+
+        // Same magnitudes as the Epigenomics workflows
+        double[] computations = {0.1, 0.5, 5, 100};
+        double[] dataTransfers = {10, 50, 500, 10000};
+
+        int innerLevels = Math.max(1, Math.min(depth - 2, numOfTasks - 2));
+        int innerTasks = numOfTasks - 2;
+
+        // levelStart[l] is the id of the first task of inner level l, levelStart[innerLevels] the exit task.
+        int[] levelStart = new int[innerLevels + 1];
+        for (int l = 0; l <= innerLevels; l++) {
+            levelStart[l] = 1 + (int) ((long) innerTasks * l / innerLevels);
+        }
+
+        List<List<Integer>> parents = new ArrayList<>(numOfTasks);
+        List<List<Integer>> children = new ArrayList<>(numOfTasks);
+        for (int i = 0; i < numOfTasks; i++) {
+            parents.add(new ArrayList<>());
+            children.add(new ArrayList<>());
+        }
+
+        int exitId = numOfTasks - 1;
+        for (int l = 0; l < innerLevels; l++) {
+            for (int id = levelStart[l]; id < levelStart[l + 1]; id++) {
+                if (l == 0 || levelStart[l - 1] == levelStart[l]) {
+                    parents.get(id).add(0);
+                    children.get(0).add(id);
+                    continue;
+                }
+                int previousLevelSize = levelStart[l] - levelStart[l - 1];
+                int numOfParents = 1 + random.nextInt(Math.min(3, previousLevelSize));
+                for (int p = 0; p < numOfParents; p++) {
+                    int parentId = levelStart[l - 1] + random.nextInt(previousLevelSize);
+                    if (!parents.get(id).contains(parentId)) {
+                        parents.get(id).add(parentId);
+                        children.get(parentId).add(id);
+                    }
+                }
+            }
+        }
+
+        // Every task without a child feeds the exit task.
+        for (int id = 0; id < exitId; id++) {
+            if (children.get(id).isEmpty()) {
+                children.get(id).add(exitId);
+                parents.get(exitId).add(id);
+            }
+        }
+
+        ArrayList<T> tasks = new ArrayList<>(numOfTasks);
+        for (int id = 0; id < numOfTasks; id++) {
+            HardwareType hardwareType = (id == 0 || id == exitId || random.nextBoolean()) ? HardwareType.CPU : HardwareType.GPU;
+            tasks.add(factory.create(id,
+                    dataTransfers[random.nextInt(dataTransfers.length)],
+                    dataTransfers[random.nextInt(dataTransfers.length)],
+                    computations[random.nextInt(computations.length)],
+                    parents.get(id),
+                    children.get(id),
+                    hardwareType));
+        }
+        return tasks;
+    }
+
+    /**
+     * An entry task fanning out into parallel pipelines that join in an exit task, like the Epigenomics workflows
+     * but with a configurable number and length of pipelines. All stages of a pipeline share one hardware type.
+     * Task ids are level by level, so they are a topological order.
+     */
+    public static <T extends Task> ArrayList<T> getPipelineWorkflow(TaskFactory<T> factory, int numOfPipelines, int pipelineLength, long seed) {
+        if (numOfPipelines < 1 || pipelineLength < 1) {
+            throw new IllegalArgumentException("A pipeline workflow needs at least one pipeline with one stage.");
+        }
+        Random random = new Random(seed);
+
+        // Same magnitudes as the Epigenomics workflows
+        double[] computations = {0.1, 0.5, 5, 100};
+        double[] dataTransfers = {10, 50, 500, 10000};
+
+        int exitId = 1 + numOfPipelines * pipelineLength;
+        HardwareType[] pipelineTypes = new HardwareType[numOfPipelines];
+        for (int p = 0; p < numOfPipelines; p++) {
+            pipelineTypes[p] = random.nextBoolean() ? HardwareType.CPU : HardwareType.GPU;
+        }
+
+        ArrayList<T> tasks = new ArrayList<>(exitId + 1);
+        List<Integer> entryChildren = new ArrayList<>(numOfPipelines);
+        List<Integer> exitParents = new ArrayList<>(numOfPipelines);
+        for (int p = 0; p < numOfPipelines; p++) {
+            entryChildren.add(1 + p);
+            exitParents.add(1 + (pipelineLength - 1) * numOfPipelines + p);
+        }
+        tasks.add(factory.create(0, dataTransfers[random.nextInt(dataTransfers.length)], dataTransfers[random.nextInt(dataTransfers.length)],
+                computations[random.nextInt(computations.length)], new ArrayList<>(), entryChildren, HardwareType.CPU));
+        for (int stage = 0; stage < pipelineLength; stage++) {
+            for (int p = 0; p < numOfPipelines; p++) {
+                int id = 1 + stage * numOfPipelines + p;
+                List<Integer> parents = new ArrayList<>(List.of(stage == 0 ? 0 : id - numOfPipelines));
+                List<Integer> children = new ArrayList<>(List.of(stage == pipelineLength - 1 ? exitId : id + numOfPipelines));
+                tasks.add(factory.create(id,
+                        dataTransfers[random.nextInt(dataTransfers.length)],
+                        dataTransfers[random.nextInt(dataTransfers.length)],
+                        computations[random.nextInt(computations.length)],
+                        parents,
+                        children,
+                        pipelineTypes[p]));
+            }
+        }
+        tasks.add(factory.create(exitId, dataTransfers[random.nextInt(dataTransfers.length)], dataTransfers[random.nextInt(dataTransfers.length)],
+                computations[random.nextInt(computations.length)], exitParents, new ArrayList<>(), HardwareType.CPU));
+        return tasks;
+    }
+
+    /**
+     * Splits the output of every task with several children evenly across the edges to its children, so a fan-out
+     * task transfers its dout once in total instead of once per child.
+     */
+    public static <T extends Task> ArrayList<T> splitOutputsAcrossChildren(ArrayList<T> tasks) {
+        for (T task : tasks) {
+            int numOfChildren = task.getChildren().size();
+            if (numOfChildren < 2) continue;
+            for (Integer childId : task.getChildren()) {
+                Task.setEdgeVolume(task, tasks.get(childId), task.getDout() / numOfChildren);
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Length of the critical path when every task runs on its fastest matching VM, ignoring communication.
+     * Relies on task ids being a topological order, as produced by {@link #getRandomLayeredWorkflow}.
+     */
+    public static double getFastestCriticalPath(List<? extends Task> tasks, List<VM> vms) {
+        double[] finishTimes = new double[tasks.size()];
+        double criticalPath = 0.0;
+        for (Task task : tasks) {
+            double minExecutionTime = Double.POSITIVE_INFINITY;
+            for (VM vm : vms) {
+                if (task.canRunOn(vm.getTyp())) {
+                    minExecutionTime = Math.min(minExecutionTime, getExecutionTime(task, vm));
+                }
+            }
+            double start = 0.0;
+            for (Integer parentId : task.getParents()) {
+                start = Math.max(start, finishTimes[parentId]);
+            }
+            finishTimes[task.getId()] = start + minExecutionTime;
+            criticalPath = Math.max(criticalPath, finishTimes[task.getId()]);
+        }
+        return criticalPath;
+    }
+
     public static ArrayList<VM> getVMConfig(int numOfVMsOfEachTyp){
         ArrayList<VM> vms = new ArrayList<>();
 
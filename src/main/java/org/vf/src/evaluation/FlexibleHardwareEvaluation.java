@@ -0,0 +1,94 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.HardwareType;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Schedules a random layered workflow on a pool with a single GPU, once with every task pinned to its hardware type
+ * and once with the GPU tasks also eligible for CPUs at a multiple of their work, and reports the makespan, the cost
+ * and the share of GPU tasks that ran on a CPU for HEFT, E-HEFT and CETSS.
+ *
+ * Usage: FlexibleHardwareEvaluation [numOfTasks] [numOfCpuVMsOfEachTyp] [cpuWorkFactor] [deadlineFactor]
+ */
+public class FlexibleHardwareEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 20;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int numOfTasks = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int numOfCpuVMsOfEachTyp = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        double cpuWorkFactor = args.length > 2 ? Double.parseDouble(args[2]) : 4.0;
+        double deadlineFactor = args.length > 3 ? Double.parseDouble(args[3]) : 3.0;
+
+        int deadline = (int) Math.ceil(deadlineFactor * getFastestCriticalPath(
+                getTasks(TaskHEFT::new, numOfTasks, 0.0), getGpuScarcePool(numOfCpuVMsOfEachTyp)));
+
+        System.out.printf(Locale.ROOT, "%-6s %-8s %14s %12s %8s %10s%n", "Algo", "Mode", "Makespan", "Cost", "Met", "GPU on CPU");
+        for (double factor : new double[]{0.0, cpuWorkFactor}) {
+            String mode = factor == 0.0 ? "pinned" : "flexible";
+            ArrayList<TaskHEFT> heftTasks = getTasks(TaskHEFT::new, numOfTasks, factor);
+            print("HEFT", mode, new HEFT(heftTasks, getGpuScarcePool(numOfCpuVMsOfEachTyp)).scheduler(), deadline);
+            ArrayList<TaskHEFT> eheftTasks = getTasks(TaskHEFT::new, numOfTasks, factor);
+            print("E-HEFT", mode, new EHEFT(eheftTasks, getGpuScarcePool(numOfCpuVMsOfEachTyp)).scheduler(), deadline);
+            ArrayList<TaskCETSS> cetssTasks = getTasks(TaskCETSS::new, numOfTasks, factor);
+            print("CETSS", mode, new CETSS(cetssTasks, getGpuScarcePool(numOfCpuVMsOfEachTyp), TAU, deadline).scheduler(), deadline);
+        }
+    }
+
+    /**
+     * @param cpuWorkFactor work of a GPU task on a CPU relative to its GPU work, 0 to keep the tasks pinned
+     */
+    private static <T extends Task> ArrayList<T> getTasks(TaskFactory<T> factory, int numOfTasks, double cpuWorkFactor) {
+        ArrayList<T> tasks = getRandomLayeredWorkflow(factory, numOfTasks, DEPTH, SEED);
+        if (cpuWorkFactor > 0.0) {
+            for (T task : tasks) {
+                if (task.getTyp() == HardwareType.GPU) task.setWorkEstimate(HardwareType.CPU, cpuWorkFactor * task.getMi());
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * The CPU VMs of {@link EvaluationSetup#getVMConfig} and a single P100.
+     */
+    private static ArrayList<VM> getGpuScarcePool(int numOfCpuVMsOfEachTyp) {
+        ArrayList<VM> vms = new ArrayList<>();
+        for (VM vm : getVMConfig(numOfCpuVMsOfEachTyp)) {
+            if (vm.getTyp() == HardwareType.CPU) vms.add(vm);
+        }
+        vms.add(VM.createNvidiaP100VM());
+        return vms;
+    }
+
+    private static void print(String algorithm, String mode, ArrayList<VM> scheduledVMs, int deadline) {
+        int numOfGpuTasks = 0;
+        int numOfGpuTasksOnCpu = 0;
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                if (slot.getTask().getTyp() != HardwareType.GPU) continue;
+                numOfGpuTasks++;
+                if (vm.getTyp() == HardwareType.CPU) numOfGpuTasksOnCpu++;
+            }
+        }
+        ScheduleMetrics metrics = ScheduleMetrics.of(scheduledVMs, TAU, deadline);
+        System.out.printf(Locale.ROOT, "%-6s %-8s %14.2f %12.4f %8s %9.1f%%%n", algorithm, mode, metrics.getMakespan(),
+                metrics.getTotalCost(), metrics.isWithinDeadline(), numOfGpuTasks == 0 ? 0.0 : 100.0 * numOfGpuTasksOnCpu / numOfGpuTasks);
+    }
+}
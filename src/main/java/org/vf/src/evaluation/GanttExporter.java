@@ -0,0 +1,165 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.VM;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streams a Gantt chart of the scheduled VMs as SVG or HTML straight into a file channel.
+ *
+ * Slots are downsampled to the pixel resolution of the chart: a slot that starts less than {@link #minSlotWidth}
+ * pixels behind the start of the pending bar of its VM, or inside it, is merged into that bar. Bars therefore start at
+ * least minSlotWidth pixels apart, a VM has at most chartWidth / minSlotWidth + 1 bars independent of the number of
+ * slots, and only one pending bar is kept in memory. The opacity of an aggregate bar shows the busy fraction of its
+ * interval.
+ */
+public class GanttExporter {
+
+    private static final int LABEL_WIDTH = 90;
+    private static final int ROW_HEIGHT = 20;
+    private static final int ROW_GAP = 4;
+    private static final int AXIS_HEIGHT = 24;
+    private static final int MIN_LABELED_SLOT_WIDTH = 30;
+
+    private final int chartWidth;
+    private final double minSlotWidth;
+
+    public GanttExporter() {
+        this(1600, 2.0);
+    }
+
+    /**
+     * @param chartWidth width of the time axis in pixels
+     * @param minSlotWidth bars narrower than this many pixels are merged with their direct neighbours
+     */
+    public GanttExporter(int chartWidth, double minSlotWidth) {
+        this.chartWidth = chartWidth;
+        this.minSlotWidth = minSlotWidth;
+    }
+
+    public void exportSvg(List<VM> scheduledVMs, Path svgFilePath) throws IOException {
+        try (Writer writer = openChannelWriter(svgFilePath)) {
+            writeSvg(scheduledVMs, writer);
+        }
+    }
+
+    public void exportHtml(List<VM> scheduledVMs, Path htmlFilePath) throws IOException {
+        try (Writer writer = openChannelWriter(htmlFilePath)) {
+            writer.write("<!DOCTYPE html>\n<html>\n<head>\n<meta charset=\"utf-8\">\n<title>Gantt Chart</title>\n</head>\n<body>\n");
+            writeSvg(scheduledVMs, writer);
+            writer.write("</body>\n</html>\n");
+        }
+    }
+
+    private static Writer openChannelWriter(Path filePath) throws IOException {
+        FileChannel channel = FileChannel.open(filePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        return new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    public void writeSvg(List<VM> scheduledVMs, Writer writer) throws IOException {
+        double makespan = 0.0;
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                makespan = Math.max(makespan, slot.getEnd());
+            }
+        }
+        double scale = makespan > 0 ? chartWidth / makespan : 0.0;
+
+        int height = AXIS_HEIGHT + scheduledVMs.size() * (ROW_HEIGHT + ROW_GAP);
+        int width = LABEL_WIDTH + chartWidth + 10;
+        writer.write(String.format(Locale.ROOT,
+                "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"%d\" height=\"%d\" font-family=\"monospace\" font-size=\"11\">\n", width, height));
+        writer.write("<style>.slot{fill:#4e79a7}.merged{fill:#1f3b5a}.label{fill:#fff}</style>\n");
+        writer.write(String.format(Locale.ROOT, "<text x=\"%d\" y=\"14\">0 s</text><text x=\"%d\" y=\"14\" text-anchor=\"end\">%.2f s (%s)</text>\n",
+                LABEL_WIDTH, LABEL_WIDTH + chartWidth, makespan, Utils.convertSecondsToHMS(makespan)));
+
+        int y = AXIS_HEIGHT;
+        for (VM vm : scheduledVMs) {
+            writer.write(String.format(Locale.ROOT, "<text x=\"0\" y=\"%d\">VM %d</text>\n", y + ROW_HEIGHT - 6, vm.getId()));
+            writeRow(vm.getSchedule(), scale, y, writer);
+            y += ROW_HEIGHT + ROW_GAP;
+        }
+        writer.write("</svg>\n");
+    }
+
+    private void writeRow(List<VM.TimeSlot> schedule, double scale, int y, Writer writer) throws IOException {
+        Bar pending = new Bar();
+        for (VM.TimeSlot slot : inStartOrder(schedule)) {
+            double x0 = slot.getStart() * scale;
+            double x1 = slot.getEnd() * scale;
+
+            // Merge while the slot starts within the minimum width of the bar's start or overlaps the bar.
+            boolean belowResolution = x0 < pending.x0 + minSlotWidth || x0 < pending.x1;
+            if (pending.numOfSlots > 0 && belowResolution) {
+                pending.x1 = Math.max(pending.x1, x1);
+                pending.end = Math.max(pending.end, slot.getEnd());
+                pending.busyTime += slot.getEt();
+                pending.numOfSlots++;
+            } else {
+                pending.write(y, writer);
+                pending.x0 = x0;
+                pending.x1 = x1;
+                pending.start = slot.getStart();
+                pending.end = slot.getEnd();
+                pending.busyTime = slot.getEt();
+                pending.taskId = slot.getTask().getId();
+                pending.numOfSlots = 1;
+            }
+        }
+        pending.write(y, writer);
+    }
+
+    /**
+     * VM schedules are normally kept sorted by start time, only sort a copy if they are not.
+     */
+    private static List<VM.TimeSlot> inStartOrder(List<VM.TimeSlot> schedule) {
+        for (int i = 1; i < schedule.size(); i++) {
+            if (schedule.get(i).getStart() < schedule.get(i - 1).getStart()) {
+                VM.TimeSlot[] sorted = schedule.toArray(new VM.TimeSlot[0]);
+                Arrays.sort(sorted, Comparator.comparingDouble(VM.TimeSlot::getStart));
+                return Arrays.asList(sorted);
+            }
+        }
+        return schedule;
+    }
+
+    private static class Bar {
+        double x0;
+        double x1;
+        double start;
+        double end;
+        double busyTime;
+        int taskId;
+        int numOfSlots;
+
+        void write(int y, Writer writer) throws IOException {
+            if (numOfSlots == 0) return;
+            double width = Math.max(x1 - x0, 1.0);
+            if (numOfSlots == 1) {
+                writer.write(String.format(Locale.ROOT, "<rect class=\"slot\" x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\"><title>Task %d: %.2f - %.2f</title></rect>\n",
+                        LABEL_WIDTH + x0, y, width, ROW_HEIGHT, taskId, start, end));
+            } else {
+                // The opacity shows how busy the VM is within the aggregated interval.
+                double utilization = end > start ? Math.min(1.0, busyTime / (end - start)) : 1.0;
+                writer.write(String.format(Locale.ROOT, "<rect class=\"merged\" x=\"%.1f\" y=\"%d\" width=\"%.1f\" height=\"%d\" fill-opacity=\"%.2f\"><title>%d tasks: %.2f - %.2f (%.0f%% busy)</title></rect>\n",
+                        LABEL_WIDTH + x0, y, width, ROW_HEIGHT, 0.3 + 0.7 * utilization, numOfSlots, start, end, utilization * 100));
+            }
+            if (numOfSlots == 1 && width >= MIN_LABELED_SLOT_WIDTH) {
+                writer.write(String.format(Locale.ROOT, "<text class=\"label\" x=\"%.1f\" y=\"%d\">T%d</text>\n",
+                        LABEL_WIDTH + x0 + 3, y + ROW_HEIGHT - 6, taskId));
+            }
+            numOfSlots = 0;
+        }
+    }
+}
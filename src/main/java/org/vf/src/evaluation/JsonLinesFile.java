@@ -0,0 +1,86 @@
+package org.vf.src.evaluation;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes every row as one JSON array per line. Numbers and booleans are written as JSON literals, everything else as strings.
+ */
+public class JsonLinesFile implements ResultSink {
+
+    private final BufferedWriter writer;
+    private final StringBuilder line = new StringBuilder();
+
+    public JsonLinesFile(String jsonLinesFilePath) throws IOException {
+        this.writer = new BufferedWriter(new FileWriter(jsonLinesFilePath, true));
+    }
+
+    @Override
+    public <T> void addRow(List<T> row) throws IOException {
+        line.setLength(0);
+        line.append('[');
+        for (int i = 0; i < row.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            appendValue(row.get(i));
+        }
+        line.append(']');
+        writer.write(line.toString());
+        writer.newLine();
+    }
+
+    private void appendValue(Object value) {
+        if (value == null) {
+            line.append("null");
+        } else if (value instanceof Double d && (d.isNaN() || d.isInfinite())) {
+            // JSON has no literal for these
+            appendString(d.toString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            line.append(value);
+        } else {
+            appendString(value.toString());
+        }
+    }
+
+    private void appendString(String value) {
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+
+    /**
+     * A blank line would not be valid JSON Lines, so block separators are dropped.
+     */
+    @Override
+    public void addNewLine() {
+    }
+
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,88 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.GA.GeneticAlgorithm;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Locale;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getTaskForEpigenomicsWorkflowWithBalancedPipLoad;
+import static org.vf.src.evaluation.EvaluationSetup.getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Compares the cost and makespan of the genetic algorithm, seeded with HEFT and CETSS, against both seeds on the
+ * Epigenomics workflows and a random layered workflow for several deadlines.
+ *
+ * Usage: MetaheuristicEvaluation [timeBudgetMillis] [numOfVMsOfEachTyp] [numOfRandomTasks]
+ */
+public class MetaheuristicEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 20;
+    private static final long SEED = 42;
+    private static final double[] DEADLINE_FACTORS = {1.5, 2.0, 3.0, 4.0};
+
+    public static void main(String[] args) {
+        Duration timeBudget = Duration.ofMillis(args.length > 0 ? Long.parseLong(args[0]) : 2000);
+        int numOfVMsOfEachTyp = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+        int numOfRandomTasks = args.length > 2 ? Integer.parseInt(args[2]) : 300;
+
+        System.out.printf(Locale.ROOT, "%-26s %6s %10s %-6s %14s %12s %8s %12s%n",
+                "Workflow", "Factor", "Deadline", "Algo", "Makespan", "Cost", "Met", "Generations");
+        evaluate("Epigenomics huge pip diff", 0, numOfVMsOfEachTyp, timeBudget);
+        evaluate("Epigenomics balanced", 1, numOfVMsOfEachTyp, timeBudget);
+        evaluate("Random layered", numOfRandomTasks, numOfVMsOfEachTyp, timeBudget);
+    }
+
+    /**
+     * @param workflow 0 and 1 select the Epigenomics workflows, larger values the number of tasks of a random workflow
+     */
+    private static void evaluate(String name, int workflow, int numOfVMsOfEachTyp, Duration timeBudget) {
+        double criticalPath = getFastestCriticalPath(getTasks(workflow), getVMConfig(numOfVMsOfEachTyp));
+        for (double factor : DEADLINE_FACTORS) {
+            int deadline = (int) Math.min(Integer.MAX_VALUE, Math.ceil(factor * criticalPath));
+
+            ArrayList<VM> heft = new HEFT(getTasks(workflow), getVMConfig(numOfVMsOfEachTyp)).scheduler();
+            print(name, factor, deadline, "HEFT", ScheduleMetrics.of(heft, TAU, deadline), "");
+
+            ArrayList<VM> cetss = new CETSS(getCetssTasks(workflow), getVMConfig(numOfVMsOfEachTyp), TAU, deadline).scheduler();
+            print(name, factor, deadline, "CETSS", ScheduleMetrics.of(cetss, TAU, deadline), "");
+
+            GeneticAlgorithm ga = new GeneticAlgorithm(getTasks(workflow), getVMConfig(numOfVMsOfEachTyp), TAU, deadline);
+            ga.setMaxGenerations(Integer.MAX_VALUE);
+            ga.setTimeBudget(timeBudget);
+            ArrayList<VM> gaVMs = ga.scheduler();
+            print(name, factor, deadline, "GA", ScheduleMetrics.of(gaVMs, TAU, deadline), String.valueOf(ga.getNumOfGenerations()));
+        }
+    }
+
+    private static ArrayList<TaskHEFT> getTasks(int workflow) {
+        return switch (workflow) {
+            case 0 -> getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize(TaskHEFT::new);
+            case 1 -> getTaskForEpigenomicsWorkflowWithBalancedPipLoad(TaskHEFT::new);
+            default -> getRandomLayeredWorkflow(TaskHEFT::new, workflow, DEPTH, SEED);
+        };
+    }
+
+    private static ArrayList<TaskCETSS> getCetssTasks(int workflow) {
+        return switch (workflow) {
+            case 0 -> getTaskForEpigenomicsWorkflowWithHugePipDifferenceSize(TaskCETSS::new);
+            case 1 -> getTaskForEpigenomicsWorkflowWithBalancedPipLoad(TaskCETSS::new);
+            default -> getRandomLayeredWorkflow(TaskCETSS::new, workflow, DEPTH, SEED);
+        };
+    }
+
+    private static void print(String name, double factor, int deadline, String algorithm, ScheduleMetrics metrics, String generations) {
+        System.out.printf(Locale.ROOT, "%-26s %6.2f %10d %-6s %14.2f %12.4f %8s %12s%n",
+                name, factor, deadline, algorithm, metrics.getMakespan(), metrics.getTotalCost(), metrics.isWithinDeadline(), generations);
+    }
+}
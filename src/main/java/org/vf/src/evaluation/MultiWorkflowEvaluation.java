@@ -0,0 +1,94 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.MultiWorkflowCETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Compares co-scheduling concurrent workflows on one shared pool with {@link MultiWorkflowCETSS}
+ * against scheduling every workflow with CETSS on its own copy of the pool.
+ * Throughput is measured as finished workflows per rented VM period.
+ *
+ * Usage: MultiWorkflowEvaluation [numOfWorkflows] [numOfTasks] [numOfVMsOfEachTyp] [deadlineFactor]
+ */
+public class MultiWorkflowEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 10;
+
+    public static void main(String[] args) {
+        int numOfWorkflows = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int numOfTasks = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int numOfVMsOfEachTyp = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        double deadlineFactor = args.length > 3 ? Double.parseDouble(args[3]) : 20.0;
+
+        ArrayList<VM> pool = getVMConfig(numOfVMsOfEachTyp);
+        List<ArrayList<TaskCETSS>> workflows = new ArrayList<>();
+        int[] deadlines = new int[numOfWorkflows];
+        for (int i = 0; i < numOfWorkflows; i++) {
+            ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, DEPTH, i);
+            workflows.add(tasks);
+            deadlines[i] = (int) Math.ceil(deadlineFactor * getFastestCriticalPath(tasks, pool));
+        }
+
+        // Every workflow on its own pool
+        long start = System.nanoTime();
+        double isolatedCost = 0.0;
+        long isolatedPeriods = 0;
+        int isolatedWithinDeadline = 0;
+        for (int i = 0; i < numOfWorkflows; i++) {
+            ArrayList<VM> ownPool = copyOf(pool);
+            ArrayList<VM> scheduledVMs = new CETSS(workflows.get(i), ownPool, TAU, deadlines[i]).scheduler();
+            ScheduleMetrics metrics = ScheduleMetrics.of(scheduledVMs, TAU, deadlines[i]);
+            isolatedCost += metrics.getTotalCost();
+            isolatedPeriods += getNumOfRentedPeriods(metrics);
+            if (metrics.isWithinDeadline()) {
+                isolatedWithinDeadline++;
+            }
+        }
+        double isolatedSeconds = (System.nanoTime() - start) / 1e9;
+
+        // All workflows on one shared pool
+        start = System.nanoTime();
+        ArrayList<VM> sharedPool = copyOf(pool);
+        MultiWorkflowCETSS coScheduler = new MultiWorkflowCETSS(workflows, deadlines, sharedPool, TAU);
+        ScheduleMetrics sharedMetrics = ScheduleMetrics.of(coScheduler.scheduler(), TAU, Double.POSITIVE_INFINITY);
+        double sharedSeconds = (System.nanoTime() - start) / 1e9;
+        double sharedCost = sharedMetrics.getTotalCost();
+        long sharedPeriods = getNumOfRentedPeriods(sharedMetrics);
+
+        System.out.printf(Locale.ROOT, "%d workflows with %d tasks, %d VMs per pool%n", numOfWorkflows, numOfTasks, pool.size());
+        System.out.printf(Locale.ROOT, "Isolated:     cost %10.4f  rented periods %6d  within deadline %4d  throughput %.4f workflows/period  (%.2fs)%n",
+                isolatedCost, isolatedPeriods, isolatedWithinDeadline, (double) numOfWorkflows / isolatedPeriods, isolatedSeconds);
+        System.out.printf(Locale.ROOT, "Co-scheduled: cost %10.4f  rented periods %6d  within deadline %4d  throughput %.4f workflows/period  (%.2fs)%n",
+                sharedCost, sharedPeriods, coScheduler.getNumOfWorkflowsWithinDeadline(), (double) numOfWorkflows / sharedPeriods, sharedSeconds);
+        System.out.printf(Locale.ROOT, "Cost saving %.2f%%, throughput x%.2f%n",
+                100.0 * (isolatedCost - sharedCost) / isolatedCost, (double) isolatedPeriods / sharedPeriods);
+    }
+
+    private static ArrayList<VM> copyOf(List<VM> pool) {
+        ArrayList<VM> copy = new ArrayList<>(pool.size());
+        for (VM vm : pool) {
+            copy.add(new VM(vm));
+        }
+        return copy;
+    }
+
+    private static long getNumOfRentedPeriods(ScheduleMetrics metrics) {
+        long numOfRentedPeriods = 0;
+        for (ScheduleMetrics.VmMetrics vmMetrics : metrics.getVmMetrics()) {
+            numOfRentedPeriods += vmMetrics.getNumOfRentedPeriods();
+        }
+        return numOfRentedPeriods;
+    }
+}
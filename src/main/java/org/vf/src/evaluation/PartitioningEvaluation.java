@@ -0,0 +1,129 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler.Strategy;
+import org.vf.src.partitioning.PartitioningAlgorithmScheduler.VmSharing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Compares partitioned scheduling against the monolithic run of HEFT and CETSS: level bands of one large random
+ * workflow on time-sliced VMs, and the components of an ensemble of independent workflows on disjoint VMs.
+ * Reports the speedup and the makespan and cost penalty of the stitched schedule. HEFT may overlap slots on a VM,
+ * so the monolithic baseline is a single partition, placed by the same stitching.
+ * The speedup over the monolithic run includes the gain of scheduling smaller workflows. The wall-clock parallel
+ * speedup of the thread pool is reported separately, as the time of the same partitions scheduled by one thread over
+ * the time with the given parallelism.
+ *
+ * Usage: PartitioningEvaluation [numOfTasks] [numOfVMsOfEachTyp] [deadlineFactor] [parallelism]
+ */
+public class PartitioningEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 100;
+    private static final long SEED = 42;
+    private static final int NUM_OF_ENSEMBLE_WORKFLOWS = 8;
+    private static final int[] PARTITION_COUNTS = {1, 2, 4, 8};
+
+    public static void main(String[] args) {
+        int numOfTasks = args.length > 0 ? Integer.parseInt(args[0]) : 20000;
+        int numOfVMsOfEachTyp = args.length > 1 ? Integer.parseInt(args[1]) : 4;
+        double deadlineFactor = args.length > 2 ? Double.parseDouble(args[2]) : 3.0;
+        int parallelism = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+
+        System.out.printf(Locale.ROOT, "Parallelism %d on %d available processors%n", parallelism, Runtime.getRuntime().availableProcessors());
+        System.out.printf(Locale.ROOT, "%-10s %-6s %-12s %5s %10s %8s %10s %8s %14s %9s %12s %9s%n",
+                "Workflow", "Algo", "Mode", "Parts", "Millis", "Speedup", "SeqMillis", "Parallel", "Makespan", "Penalty", "Cost", "Penalty");
+        evaluate("Layered", Strategy.LEVEL_BANDS, VmSharing.TIME_SLICED,
+                factory -> getRandomLayeredWorkflow(factory, numOfTasks, DEPTH, SEED), numOfVMsOfEachTyp, deadlineFactor, parallelism);
+        evaluate("Ensemble", Strategy.COMPONENTS, VmSharing.DISJOINT,
+                factory -> getEnsemble(factory, numOfTasks / NUM_OF_ENSEMBLE_WORKFLOWS), numOfVMsOfEachTyp, deadlineFactor, parallelism);
+    }
+
+    private static void evaluate(String name, Strategy strategy, VmSharing vmSharing, Function<TaskFactory<?>, ArrayList<? extends Task>> workflow,
+                                 int numOfVMsOfEachTyp, double deadlineFactor, int parallelism) {
+        int deadline = (int) Math.ceil(deadlineFactor * getFastestCriticalPath(workflow.apply(TaskHEFT::new), getVMConfig(numOfVMsOfEachTyp)));
+
+        AlgorithmScheduler<TaskHEFT, HEFT> heft = (tasks, vms, tau, d) -> new HEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler();
+        AlgorithmScheduler<TaskCETSS, CETSS> cetss = (tasks, vms, tau, d) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, d).scheduler();
+        compare(name, "HEFT", strategy, vmSharing, () -> workflow.apply(TaskHEFT::new), heft, TaskHEFT::new, numOfVMsOfEachTyp, deadline, parallelism);
+        compare(name, "CETSS", strategy, vmSharing, () -> workflow.apply(TaskCETSS::new), cetss, TaskCETSS::new, numOfVMsOfEachTyp, deadline, parallelism);
+    }
+
+    private static <T extends Task> void compare(String name, String algorithm, Strategy strategy, VmSharing vmSharing,
+                                                 Supplier<ArrayList<? extends Task>> tasks, AlgorithmScheduler<T, ?> scheduler,
+                                                 TaskFactory<T> factory, int numOfVMsOfEachTyp, int deadline, int parallelism) {
+        ScheduleMetrics monolithic = null;
+        double monolithicMillis = 0.0;
+        for (int numOfPartitions : PARTITION_COUNTS) {
+            PartitioningAlgorithmScheduler<T, ?> partitioned = new PartitioningAlgorithmScheduler<>(factory, scheduler);
+            partitioned.setStrategy(strategy);
+            partitioned.setVmSharing(vmSharing);
+            partitioned.setNumOfPartitions(numOfPartitions);
+
+            // The same partitions on one thread, then on the pool
+            partitioned.setParallelism(1);
+            long sequentialStart = System.nanoTime();
+            partitioned.schedule(tasks.get(), getVMConfig(numOfVMsOfEachTyp), TAU, deadline);
+            double sequentialMillis = (System.nanoTime() - sequentialStart) / 1e6;
+
+            partitioned.setParallelism(parallelism);
+            long start = System.nanoTime();
+            ScheduleMetrics metrics = ScheduleMetrics.of(partitioned.schedule(tasks.get(), getVMConfig(numOfVMsOfEachTyp), TAU, deadline), TAU, deadline);
+            double millis = (System.nanoTime() - start) / 1e6;
+            if (monolithic == null) {
+                monolithic = metrics;
+                monolithicMillis = millis;
+            }
+            String mode = numOfPartitions == 1 ? "monolithic" : strategy == Strategy.LEVEL_BANDS ? "level bands" : "components";
+            print(name, algorithm, mode, partitioned.getNumOfScheduledPartitions(), millis, monolithicMillis / millis,
+                    sequentialMillis, sequentialMillis / millis, metrics, monolithic);
+        }
+    }
+
+    private static void print(String name, String algorithm, String mode, int numOfPartitions, double millis, double speedup,
+                              double sequentialMillis, double parallelSpeedup, ScheduleMetrics metrics, ScheduleMetrics monolithic) {
+        System.out.printf(Locale.ROOT, "%-10s %-6s %-12s %5d %10.1f %8.2f %10.1f %8.2f %14.2f %+8.2f%% %12.4f %+8.2f%%%n",
+                name, algorithm, mode, numOfPartitions, millis, speedup, sequentialMillis, parallelSpeedup,
+                metrics.getMakespan(), getPenalty(metrics.getMakespan(), monolithic.getMakespan()),
+                metrics.getTotalCost(), getPenalty(metrics.getTotalCost(), monolithic.getTotalCost()));
+    }
+
+    private static double getPenalty(double value, double reference) {
+        return reference > 0 ? 100.0 * (value - reference) / reference : 0.0;
+    }
+
+    /**
+     * Independent random workflows in one task list, the ids of every workflow following those of the previous one.
+     */
+    private static <T extends Task> ArrayList<T> getEnsemble(TaskFactory<T> factory, int numOfTasksPerWorkflow) {
+        ArrayList<T> ensemble = new ArrayList<>(NUM_OF_ENSEMBLE_WORKFLOWS * numOfTasksPerWorkflow);
+        for (int w = 0; w < NUM_OF_ENSEMBLE_WORKFLOWS; w++) {
+            int offset = ensemble.size();
+            for (T task : getRandomLayeredWorkflow(factory, numOfTasksPerWorkflow, DEPTH, SEED + w)) {
+                List<Integer> parents = new ArrayList<>(task.getParents().size());
+                for (Integer parentId : task.getParents()) parents.add(parentId + offset);
+                List<Integer> children = new ArrayList<>(task.getChildren().size());
+                for (Integer childId : task.getChildren()) children.add(childId + offset);
+                ensemble.add(factory.create(task.getId() + offset, task.getDin(), task.getDout(), task.getMi(), parents, children, task.getTyp()));
+            }
+        }
+        return ensemble;
+    }
+}
@@ -0,0 +1,94 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.CandidatePruner;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Runs HEFT, E-HEFT and CETSS without candidate pruning, with exact pruning and with top-k pruning and reports
+ * the candidate evaluations saved and the makespan and cost lost against the unpruned schedule.
+ *
+ * Usage: PruningEvaluation [numOfTasks] [numOfVMsOfEachTyp] [topK] [deadlineFactor]
+ */
+public class PruningEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 50;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int numOfTasks = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int numOfVMsOfEachTyp = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int topK = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        double deadlineFactor = args.length > 3 ? Double.parseDouble(args[3]) : 3.0;
+
+        ArrayList<VM> pool = getVMConfig(numOfVMsOfEachTyp);
+        int deadline = (int) Math.ceil(deadlineFactor * getFastestCriticalPath(getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, DEPTH, SEED), pool));
+        System.out.printf(Locale.ROOT, "%d tasks, %d VMs, deadline %d%n", numOfTasks, pool.size(), deadline);
+
+        evaluate("HEFT", pool, deadline, topK, (vms, pruner) -> {
+            HEFT heft = new HEFT(getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, DEPTH, SEED), vms);
+            heft.setCandidatePruner(pruner);
+            return heft;
+        });
+        evaluate("E-HEFT", pool, deadline, topK, (vms, pruner) -> {
+            EHEFT eheft = new EHEFT(getRandomLayeredWorkflow(TaskHEFT::new, numOfTasks, DEPTH, SEED), vms);
+            eheft.setCandidatePruner(pruner);
+            return eheft;
+        });
+        evaluate("CETSS", pool, deadline, topK, (vms, pruner) -> {
+            CETSS cetss = new CETSS(getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, DEPTH, SEED), vms, TAU, deadline);
+            cetss.setCandidatePruner(pruner);
+            return cetss;
+        });
+    }
+
+    private static void evaluate(String name, List<VM> pool, int deadline, int topK, BiFunction<ArrayList<VM>, CandidatePruner, SchedulingAlgorithm> factory) {
+        ScheduleMetrics reference = null;
+        long referenceEvaluations = 0;
+        for (CandidatePruner pruner : List.of(CandidatePruner.disabled(), CandidatePruner.exact(), CandidatePruner.topK(topK))) {
+            SchedulingAlgorithm scheduler = factory.apply(copyOf(pool), pruner);
+            long start = System.nanoTime();
+            ScheduleMetrics metrics = ScheduleMetrics.of(scheduler.scheduler(), TAU, deadline);
+            double millis = (System.nanoTime() - start) / 1e6;
+
+            if (reference == null) {
+                reference = metrics;
+                referenceEvaluations = pruner.getNumOfEvaluations();
+            }
+            String mode = !pruner.isEnabled() ? "none" : pruner.getTopK() == 0 ? "exact" : "top-" + pruner.getTopK();
+            System.out.printf(Locale.ROOT, "%-7s %-6s evaluations %10d  saved %6.2f%%  makespan %12.2f (%+6.2f%%)  cost %10.4f (%+6.2f%%)  %8.1f ms%n",
+                    name, mode, pruner.getNumOfEvaluations(),
+                    100.0 * (referenceEvaluations - pruner.getNumOfEvaluations()) / referenceEvaluations,
+                    metrics.getMakespan(), getLoss(metrics.getMakespan(), reference.getMakespan()),
+                    metrics.getTotalCost(), getLoss(metrics.getTotalCost(), reference.getTotalCost()), millis);
+        }
+    }
+
+    private static double getLoss(double value, double reference) {
+        return reference > 0 ? 100.0 * (value - reference) / reference : 0.0;
+    }
+
+    private static ArrayList<VM> copyOf(List<VM> pool) {
+        ArrayList<VM> copy = new ArrayList<>(pool.size());
+        for (VM vm : pool) {
+            copy.add(new VM(vm));
+        }
+        return copy;
+    }
+}
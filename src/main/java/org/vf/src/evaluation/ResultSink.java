@@ -0,0 +1,40 @@
+package org.vf.src.evaluation;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Destination for evaluation result rows.
+ */
+public interface ResultSink extends AutoCloseable {
+
+    <T> void addRow(List<T> row) throws IOException;
+
+    /**
+     * Separates two blocks of rows. Formats without a notion of blank lines may ignore it.
+     */
+    void addNewLine() throws IOException;
+
+    void flush() throws IOException;
+
+    @Override
+    void close() throws IOException;
+
+    /**
+     * Opens an asynchronous sink whose format is chosen by the file extension:
+     * ".jsonl" for JSON Lines, ".bin" for the binary columnar format and CSV otherwise.
+     */
+    static ResultSink open(String filePath) throws IOException {
+        String lowerCasePath = filePath.toLowerCase(Locale.ROOT);
+        ResultSink sink;
+        if (lowerCasePath.endsWith(".jsonl")) {
+            sink = new JsonLinesFile(filePath);
+        } else if (lowerCasePath.endsWith(".bin")) {
+            sink = new ColumnarBinaryFile(filePath);
+        } else {
+            sink = new CsvFile(filePath);
+        }
+        return new AsyncResultSink(sink);
+    }
+}
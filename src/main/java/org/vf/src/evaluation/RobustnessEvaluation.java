@@ -0,0 +1,83 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+import org.vf.src.simulation.RobustnessEvaluator;
+import org.vf.src.simulation.RobustnessReport;
+import org.vf.src.simulation.RuntimeDistribution;
+import org.vf.src.simulation.ScheduleSimulator;
+
+import java.util.ArrayList;
+import java.util.Locale;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Compares how robust the HEFT, E-HEFT and CETSS schedules of the same workflow are against runtime uncertainty.
+ * Task runtimes are log-normally perturbed around their estimate and transfer speeds uniformly slowed down,
+ * every schedule is replayed numOfTrials times with the same seed.
+ *
+ * Usage: RobustnessEvaluation [numOfTrials] [numOfTasks] [runtimeSigma] [deadlineFactor]
+ */
+public class RobustnessEvaluation {
+
+    private static final int TAU = 3600;
+    private static final int DEPTH = 20;
+    private static final long SEED = 42;
+
+    public static void main(String[] args) {
+        int numOfTrials = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+        int numOfTasks = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        double runtimeSigma = args.length > 2 ? Double.parseDouble(args[2]) : 0.2;
+        double deadlineFactor = args.length > 3 ? Double.parseDouble(args[3]) : 2.0;
+
+        RuntimeDistribution runtimeDistribution = RuntimeDistribution.logNormal(runtimeSigma);
+        RuntimeDistribution transferSpeedDistribution = RuntimeDistribution.uniform(0.5, 1.0);
+
+        evaluate("HEFT", TaskHEFT::new, (tasks, vms, tau, deadline) -> new HEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler(),
+                numOfTasks, deadlineFactor, numOfTrials, runtimeDistribution, transferSpeedDistribution);
+        evaluate("E-HEFT", TaskHEFT::new, (tasks, vms, tau, deadline) -> new EHEFT((ArrayList<TaskHEFT>) tasks, vms).scheduler(),
+                numOfTasks, deadlineFactor, numOfTrials, runtimeDistribution, transferSpeedDistribution);
+        evaluate("CETSS", TaskCETSS::new, (tasks, vms, tau, deadline) -> new CETSS((ArrayList<TaskCETSS>) tasks, vms, tau, deadline).scheduler(),
+                numOfTasks, deadlineFactor, numOfTrials, runtimeDistribution, transferSpeedDistribution);
+    }
+
+    public static <T extends Task, S extends SchedulingAlgorithm> RobustnessReport evaluate(
+            String algorithmName,
+            TaskFactory<T> taskFactory,
+            AlgorithmScheduler<T, S> scheduler,
+            int numOfTasks,
+            double deadlineFactor,
+            int numOfTrials,
+            RuntimeDistribution runtimeDistribution,
+            RuntimeDistribution transferSpeedDistribution) {
+
+        ArrayList<T> tasks = getRandomLayeredWorkflow(taskFactory, numOfTasks, DEPTH, SEED);
+        ArrayList<VM> vms = getVMConfig(2);
+        int deadline = (int) Math.min(Integer.MAX_VALUE, Math.ceil(deadlineFactor * getFastestCriticalPath(tasks, vms)));
+
+        ArrayList<VM> scheduledVMs = scheduler.schedule(tasks, vms, TAU, deadline);
+        ScheduleMetrics planned = ScheduleMetrics.of(scheduledVMs, TAU, deadline);
+        ScheduleSimulator simulator = new ScheduleSimulator(scheduledVMs, TAU, true);
+
+        long start = System.nanoTime();
+        RobustnessReport report = new RobustnessEvaluator(simulator, runtimeDistribution, transferSpeedDistribution)
+                .evaluate(numOfTrials, deadline, SEED);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%s (%d tasks, deadline %d, planned makespan %.2f, planned cost %.2f, %.2fs)%n  %s%n",
+                algorithmName, numOfTasks, deadline, planned.getMakespan(), planned.getTotalCost(), seconds, report);
+        return report;
+    }
+}
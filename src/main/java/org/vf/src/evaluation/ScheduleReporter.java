@@ -0,0 +1,11 @@
+package org.vf.src.evaluation;
+
+import org.vf.src.ScheduleMetrics;
+
+/**
+ * Optional hook that is handed the metrics of every evaluated schedule, e.g. to print them.
+ */
+@FunctionalInterface
+public interface ScheduleReporter {
+    void report(ScheduleMetrics metrics, int totalNumOfTasks);
+}
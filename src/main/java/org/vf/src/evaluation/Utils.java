@@ -1,67 +1,66 @@
 package org.vf.src.evaluation;
 
+import org.vf.src.ScheduleMetrics;
 import org.vf.src.VM;
+import org.vf.src.bounds.ScheduleBounds;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Comparator;
 import java.util.List;
 
 public class Utils {
 
     public static ArrayList<Double> getEvaluationResults(ArrayList<VM> scheduledVMs, int totalNumOfTasks, int tau, double workflowDeadline){
+        return getEvaluationResults(scheduledVMs, totalNumOfTasks, tau, workflowDeadline, null);
+    }
 
-        double totalWorkflowCost = 0.0;
-        double overallMakespan = 0.0;
-        double overallResourceUtilization;
-        double avgCostPerTask;
-        double avgMakespanPerTask;
-        double isWorkflowCompletedInDeadline;
-
-        System.out.println("Scheduled Task running under VM: \n");
-
-        for (VM vm : scheduledVMs) {
-            System.out.println("VM " + vm.getId() + " (Cost/Period: " + vm.getC() + "):");
-            if (vm.getSchedule().isEmpty()) {
-                System.out.println("  No tasks scheduled.");
-            } else {
-                vm.getSchedule().sort(java.util.Comparator.comparingDouble(VM.TimeSlot::getStart));
-                for (VM.TimeSlot slot : vm.getSchedule()) {
-                    System.out.printf("  Task %d: Start=%.2f (%s), End=%.2f (%s), Cost=%.2f, Deadline=%.2f (%s)\n",
-                            slot.getTask().getId(),
-                            slot.getStart(), convertSecondsToHMS(slot.getStart()),
-                            slot.getEnd(), convertSecondsToHMS(slot.getEnd()),
-                            slot.getFinancialCost(),
-                            slot.getDeadline(), convertSecondsToHMS(slot.getDeadline()));
-                    overallMakespan = Math.max(overallMakespan, slot.getEnd());
-                }
-                totalWorkflowCost += vm.calculateTotalCost(tau);
+    /**
+     * Evaluates the scheduled VMs. Uses the metrics the VMs accumulated while they were scheduled
+     * if they report to a {@link ScheduleMetrics} with the same tau and deadline, otherwise they are collected in one pass.
+     */
+    public static ArrayList<Double> getEvaluationResults(ArrayList<VM> scheduledVMs, int totalNumOfTasks, int tau, double workflowDeadline, ScheduleReporter reporter){
+        ScheduleMetrics metrics = null;
+        if (!scheduledVMs.isEmpty() && scheduledVMs.get(0).getMetrics() != null) {
+            metrics = scheduledVMs.get(0).getMetrics().getScheduleMetrics();
+            if (metrics.getTau() != tau || metrics.getWorkflowDeadline() != workflowDeadline || metrics.getVmMetrics().size() != scheduledVMs.size()) {
+                metrics = null;
             }
-            System.out.println("  Total Cost for VM " + vm.getId() + ": " + vm.calculateTotalCost(tau));
         }
+        if (metrics == null) {
+            metrics = ScheduleMetrics.of(scheduledVMs, tau, workflowDeadline);
+        }
+        return getEvaluationResults(metrics, totalNumOfTasks, reporter);
+    }
 
-        overallResourceUtilization = calculateOverallResourceUtilization(scheduledVMs);
-        avgCostPerTask = calculateAverageCostPerTask(totalWorkflowCost, totalNumOfTasks);
-        avgMakespanPerTask = calculateAverageMakespanPerTask(overallMakespan, totalNumOfTasks);
-
-
-        System.out.println("\n--------------------------");
-        System.out.printf("Overall Workflow Makespan: %.2f seconds (%s)\n", overallMakespan, convertSecondsToHMS(overallMakespan));
-        System.out.printf("Total Workflow Financial Cost: %.2f\n", totalWorkflowCost);
-        System.out.printf("Overall Resource Utilization: %.2f\n", overallResourceUtilization);
-        System.out.printf("Average Cost Per Task: %.2f\n", avgCostPerTask);
-        System.out.printf("Average Makespan Per Task: %.2f\n", avgMakespanPerTask);
-        System.out.printf("Defined Workflow Deadline: %.2f seconds (%s)\n", workflowDeadline, convertSecondsToHMS(workflowDeadline));
-
-        if (overallMakespan <= workflowDeadline) {
-            isWorkflowCompletedInDeadline = 1.0;
-            System.out.println("Workflow completed within the deadline!");
-        } else {
-            isWorkflowCompletedInDeadline = 0.0;
-            System.out.println("Workflow exceeded the deadline!");
+    /**
+     * Derives the evaluation results from accumulated metrics in O(#VMs).
+     */
+    public static ArrayList<Double> getEvaluationResults(ScheduleMetrics metrics, int totalNumOfTasks, ScheduleReporter reporter){
+        double totalWorkflowCost = metrics.getTotalCost();
+        double overallMakespan = metrics.getMakespan();
+        double overallResourceUtilization = metrics.getResourceUtilization();
+        double avgCostPerTask = calculateAverageCostPerTask(totalWorkflowCost, totalNumOfTasks);
+        double avgMakespanPerTask = calculateAverageMakespanPerTask(overallMakespan, totalNumOfTasks);
+        double isWorkflowCompletedInDeadline = metrics.isWithinDeadline() ? 1.0 : 0.0;
+
+        if (reporter != null) {
+            reporter.report(metrics, totalNumOfTasks);
         }
 
-        return new ArrayList<>(Arrays.asList(workflowDeadline, isWorkflowCompletedInDeadline, overallMakespan, totalWorkflowCost, overallResourceUtilization, avgCostPerTask, avgMakespanPerTask));
+        return new ArrayList<>(Arrays.asList(metrics.getWorkflowDeadline(), isWorkflowCompletedInDeadline, overallMakespan, totalWorkflowCost, overallResourceUtilization, avgCostPerTask, avgMakespanPerTask));
+    }
+
+    /**
+     * Evaluation results followed by the lower bounds of makespan and cost and the optimality gaps of the schedule in
+     * percent, see {@link ScheduleBounds}.
+     */
+    public static ArrayList<Double> getEvaluationResults(ScheduleMetrics metrics, ScheduleBounds bounds, int totalNumOfTasks, ScheduleReporter reporter){
+        ArrayList<Double> results = getEvaluationResults(metrics, totalNumOfTasks, reporter);
+        results.add(bounds.getMakespanLowerBound());
+        results.add(ScheduleBounds.getGap(metrics.getMakespan(), bounds.getMakespanLowerBound()));
+        results.add(bounds.getCostLowerBound());
+        results.add(ScheduleBounds.getGap(metrics.getTotalCost(), bounds.getCostLowerBound()));
+        return results;
     }
 
     public static String convertSecondsToHMS(double seconds) {
@@ -77,19 +76,14 @@ public class Utils {
 
         for (VM vm : scheduledVMs) {
             if (!vm.getSchedule().isEmpty()) {
-                List<VM.TimeSlot> sortedSchedule = vm.getSchedule().stream()
-                        .sorted(Comparator.comparingDouble(VM.TimeSlot::getStart))
-                        .toList();
-
-                double vmFirstTaskStart = sortedSchedule.get(0).getStart();
+                double vmFirstTaskStart = Double.POSITIVE_INFINITY;
                 double vmLastTaskEnd = 0.0;
-                double vmIndividualActiveExecutionTime = 0.0;
 
-                for (VM.TimeSlot slot : sortedSchedule) {
+                for (VM.TimeSlot slot : vm.getSchedule()) {
+                    vmFirstTaskStart = Math.min(vmFirstTaskStart, slot.getStart());
                     vmLastTaskEnd = Math.max(vmLastTaskEnd, slot.getEnd());
-                    vmIndividualActiveExecutionTime += slot.getEt();
+                    totalTaskExecutionTime += slot.getEt();
                 }
-                totalTaskExecutionTime += vmIndividualActiveExecutionTime;
                 totalVmActivePeriod += (vmLastTaskEnd - vmFirstTaskStart);
             }
         }
@@ -0,0 +1,127 @@
+package org.vf.src.instrumentation;
+
+import java.io.PrintStream;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lightweight registry of phase timings and loop counters for the schedulers, enabled with
+ * -Dscheduler.instrumentation=true. Coarse phases are additionally committed as {@link SchedulingPhaseEvent}
+ * JFR events, so a recording (-XX:StartFlightRecording) shows them on the timeline.
+ *
+ * The switch is a static final constant, so when disabled the JIT removes the calls entirely.
+ *
+ * Usage:
+ * <pre>
+ * SchedulerInstrumentation.Span ranking = SchedulerInstrumentation.begin(SchedulingPhase.RANKING);
+ * ...
+ * SchedulerInstrumentation.end(ranking, "HEFT");
+ * </pre>
+ */
+public final class SchedulerInstrumentation {
+
+    public static final boolean ENABLED = Boolean.getBoolean("scheduler.instrumentation");
+
+    private static final LongAdder[] phaseCounts = newAdders(SchedulingPhase.values().length);
+    private static final LongAdder[] phaseNanos = newAdders(SchedulingPhase.values().length);
+    private static final LongAdder[] counters = newAdders(SchedulingCounter.values().length);
+
+    private SchedulerInstrumentation() {
+    }
+
+    private static LongAdder[] newAdders(int n) {
+        LongAdder[] adders = new LongAdder[n];
+        for (int i = 0; i < n; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    /**
+     * Starts timing a phase, and for coarse phases a JFR event that begins now. Null when disabled.
+     */
+    public static Span begin(SchedulingPhase phase) {
+        if (!ENABLED) return null;
+        SchedulingPhaseEvent event = null;
+        if (phase.isRecordedAsEvent()) {
+            event = new SchedulingPhaseEvent();
+            if (event.isEnabled()) {
+                event.begin();
+            } else {
+                event = null;
+            }
+        }
+        return new Span(phase, System.nanoTime(), event);
+    }
+
+    public static void end(Span span, String algorithm) {
+        if (!ENABLED) return;
+        long duration = System.nanoTime() - span.start;
+        phaseCounts[span.phase.ordinal()].increment();
+        phaseNanos[span.phase.ordinal()].add(duration);
+
+        SchedulingPhaseEvent event = span.event;
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.algorithm = algorithm;
+                event.phase = span.phase.getLabel();
+                event.commit();
+            }
+        }
+    }
+
+    public static void count(SchedulingCounter counter) {
+        if (ENABLED) {
+            counters[counter.ordinal()].increment();
+        }
+    }
+
+    public static void count(SchedulingCounter counter, long n) {
+        if (ENABLED) {
+            counters[counter.ordinal()].add(n);
+        }
+    }
+
+    public static long getPhaseCount(SchedulingPhase phase) { return phaseCounts[phase.ordinal()].sum(); }
+    public static long getPhaseNanos(SchedulingPhase phase) { return phaseNanos[phase.ordinal()].sum(); }
+    public static long getCount(SchedulingCounter counter) { return counters[counter.ordinal()].sum(); }
+
+    /**
+     * A started phase, ended with {@link #end(Span, String)}.
+     */
+    public static final class Span {
+        private final SchedulingPhase phase;
+        private final long start;
+        private final SchedulingPhaseEvent event;
+
+        private Span(SchedulingPhase phase, long start, SchedulingPhaseEvent event) {
+            this.phase = phase;
+            this.start = start;
+            this.event = event;
+        }
+    }
+
+    public static void reset() {
+        for (LongAdder adder : phaseCounts) adder.reset();
+        for (LongAdder adder : phaseNanos) adder.reset();
+        for (LongAdder adder : counters) adder.reset();
+    }
+
+    /**
+     * Prints the counters collected since the last reset and resets them, does nothing when disabled.
+     */
+    public static void printSummary(String runName, PrintStream out) {
+        if (!ENABLED) return;
+        out.println("--- Scheduling profile: " + runName + " ---");
+        for (SchedulingPhase phase : SchedulingPhase.values()) {
+            long count = getPhaseCount(phase);
+            if (count == 0) continue;
+            double totalMillis = getPhaseNanos(phase) / 1e6;
+            out.printf("  %-28s count=%-10d total=%12.3f ms  avg=%12.6f ms%n", phase.getLabel(), count, totalMillis, totalMillis / count);
+        }
+        for (SchedulingCounter counter : SchedulingCounter.values()) {
+            out.printf("  %-36s %d%n", counter.getLabel(), getCount(counter));
+        }
+        reset();
+    }
+}
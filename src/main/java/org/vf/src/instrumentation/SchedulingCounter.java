@@ -0,0 +1,20 @@
+package org.vf.src.instrumentation;
+
+/**
+ * Untimed counters of the scheduler inner loops.
+ */
+public enum SchedulingCounter {
+    CANDIDATE_EVALUATIONS("(task, VM) candidate evaluations"),
+    PRUNED_CANDIDATES("(task, VM) candidates pruned"),
+    GAP_SCANS("Idle gaps scanned"),
+    BILLING_COST_EVALUATIONS("Billing cost evaluations"),
+    DECODED_SOLUTIONS("Decoded solutions");
+
+    private final String label;
+
+    SchedulingCounter(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() { return label; }
+}
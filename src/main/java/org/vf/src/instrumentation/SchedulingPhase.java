@@ -0,0 +1,26 @@
+package org.vf.src.instrumentation;
+
+/**
+ * Timed phases of the schedulers. Coarse phases are also recorded as JFR events,
+ * fine grained ones that run once per candidate are only aggregated in the counters.
+ */
+public enum SchedulingPhase {
+    PIPELINE_CLUSTERING("Pipeline clustering", true),
+    RANKING("Rank/CPM computation", true),
+    LEVEL_GROUPING("Level grouping", true),
+    GREEDY_CANDIDATE_LOOP("Greedy candidate loop", true),
+    TASK_ADJUSTMENT("Task adjustment", true),
+    POPULATION_SEARCH("Population search", true),
+    FIND_BEST_SLOT("findBestSlotForTask", false);
+
+    private final String label;
+    private final boolean recordedAsEvent;
+
+    SchedulingPhase(String label, boolean recordedAsEvent) {
+        this.label = label;
+        this.recordedAsEvent = recordedAsEvent;
+    }
+
+    public String getLabel() { return label; }
+    public boolean isRecordedAsEvent() { return recordedAsEvent; }
+}
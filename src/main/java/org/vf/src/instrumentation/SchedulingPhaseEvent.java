@@ -0,0 +1,22 @@
+package org.vf.src.instrumentation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("org.vf.SchedulingPhase")
+@Label("Scheduling Phase")
+@Category({"Cloud Workflow Scheduling"})
+@Description("One phase of a scheduling run, from its begin to its end")
+@StackTrace(false)
+public class SchedulingPhaseEvent extends Event {
+
+    @Label("Algorithm")
+    public String algorithm;
+
+    @Label("Phase")
+    public String phase;
+}
@@ -0,0 +1,273 @@
+package org.vf.src.online;
+
+import org.vf.src.HardwareType;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.Task;
+import org.vf.src.VM;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+import static org.vf.src.algorithms.Utils.getExecutionTime;
+
+/**
+ * Schedules continuously arriving workflows onto VMs that keep their committed work.
+ *
+ * Unlike the offline algorithms the VM schedules are never cleared. Every workflow is placed incrementally into the
+ * idle gaps left by earlier reservations, starting at its arrival time:
+ * tasks are taken in upward rank order, every task gets a share of the workflow's slack as subdeadline (as in CETSS)
+ * and is put into the cheapest gap that finishes before it, or into the earliest finishing gap if no gap does.
+ * Workflows that miss their deadline are rolled back and rejected, unless late admissions are allowed.
+ *
+ * The VM timelines are sorted and gaps are looked up by binary search, the marginal cost of a gap comes from the
+ * incremental billing state of the VM, so the admission time depends on the workflow size and the reservations after
+ * its arrival, not on the number of slots committed before. The attached {@link ScheduleMetrics} track the total cost.
+ */
+public class OnlineScheduler {
+
+    private final List<VM> vms;
+    private final int tau;
+    private final boolean admitLateWorkflows;
+    private final ScheduleMetrics metrics;
+    private final Map<HardwareType, List<VM>> vmsByTyp = new EnumMap<>(HardwareType.class);
+    private int nextWorkflowId;
+
+    public OnlineScheduler(List<VM> vms, int tau) {
+        this(vms, tau, false);
+    }
+
+    /**
+     * Takes over the VMs with their current schedules.
+     *
+     * @param admitLateWorkflows keep workflows that cannot meet their deadline instead of rejecting them
+     */
+    public OnlineScheduler(List<VM> vms, int tau, boolean admitLateWorkflows) {
+        this.vms = vms;
+        this.tau = tau;
+        this.admitLateWorkflows = admitLateWorkflows;
+        this.metrics = new ScheduleMetrics(tau, Double.POSITIVE_INFINITY);
+        this.metrics.attach(vms);
+        for (VM vm : vms) {
+            vmsByTyp.computeIfAbsent(vm.getTyp(), typ -> new ArrayList<>()).add(vm);
+        }
+    }
+
+    /**
+     * Places a workflow behind its arrival time. Task ids must equal their index in the list.
+     */
+    public WorkflowAdmission admit(List<? extends Task> workflow, double arrivalTime, double deadline) {
+        long start = System.nanoTime();
+        int n = workflow.size();
+        double costBefore = metrics.getTotalCost();
+
+        double[] averageExecutionTimes = new double[n];
+        double[] ranks = getUpwardRanks(workflow, averageExecutionTimes);
+        double entryRank = 0.0;
+        for (double rank : ranks) {
+            entryRank = Math.max(entryRank, rank);
+        }
+        double slack = deadline - arrivalTime;
+
+        VM[] assignedVms = new VM[n];
+        VM.TimeSlot[] assignedSlots = new VM.TimeSlot[n];
+        double finishTime = arrivalTime;
+
+        // Ready tasks in decreasing rank order, parents are always placed before their children.
+        int[] remainingParents = new int[n];
+        PriorityQueue<Task> ready = new PriorityQueue<>((a, b) -> Double.compare(ranks[b.getId()], ranks[a.getId()]));
+        for (Task task : workflow) {
+            remainingParents[task.getId()] = task.getParents().size();
+            if (remainingParents[task.getId()] == 0) {
+                ready.add(task);
+            }
+        }
+
+        while (!ready.isEmpty()) {
+            Task task = ready.poll();
+            int id = task.getId();
+            double subdeadline = entryRank > 0
+                    ? arrivalTime + slack * (entryRank - ranks[id] + averageExecutionTimes[id]) / entryRank
+                    : deadline;
+
+            placeTask(workflow, task, arrivalTime, Math.min(subdeadline, deadline), assignedVms, assignedSlots);
+            finishTime = Math.max(finishTime, assignedSlots[id].getEnd());
+
+            for (Integer childId : task.getChildren()) {
+                if (--remainingParents[childId] == 0) {
+                    ready.add(workflow.get(childId));
+                }
+            }
+        }
+
+        List<VM> placedVms = Arrays.asList(assignedVms);
+        List<VM.TimeSlot> placedSlots = Arrays.asList(assignedSlots);
+        boolean accepted = finishTime <= deadline || admitLateWorkflows;
+        if (!accepted) {
+            release(placedVms, placedSlots);
+        }
+        double additionalCost = accepted ? metrics.getTotalCost() - costBefore : 0.0;
+        return new WorkflowAdmission(nextWorkflowId++, accepted, arrivalTime, deadline, finishTime, additionalCost,
+                placedVms, placedSlots, System.nanoTime() - start);
+    }
+
+    /**
+     * Removes the reservations of an admitted workflow, e.g. when it was cancelled.
+     */
+    public void release(WorkflowAdmission admission) {
+        if (admission.isAccepted()) {
+            release(admission.getVms(), admission.getSlots());
+        }
+    }
+
+    private void release(List<VM> placedVms, List<VM.TimeSlot> placedSlots) {
+        for (int i = 0; i < placedSlots.size(); i++) {
+            if (placedSlots.get(i) != null) {
+                placedVms.get(i).removeSlotFromSchedule(placedSlots.get(i));
+            }
+        }
+    }
+
+    /**
+     * The VMs of the task's own type, or of every type it can run on for flexible tasks.
+     */
+    private List<VM> getCandidates(Task task) {
+        if (!task.isFlexible()) {
+            return vmsByTyp.getOrDefault(task.getTyp(), List.of());
+        }
+        List<VM> candidates = new ArrayList<>();
+        for (Map.Entry<HardwareType, List<VM>> entry : vmsByTyp.entrySet()) {
+            if (task.canRunOn(entry.getKey())) candidates.addAll(entry.getValue());
+        }
+        return candidates;
+    }
+
+    private void placeTask(List<? extends Task> workflow, Task task, double arrivalTime, double subdeadline,
+                           VM[] assignedVms, VM.TimeSlot[] assignedSlots) {
+        List<VM> candidates = getCandidates(task);
+        if (candidates.isEmpty()) {
+            throw new IllegalStateException("No VM of type " + task.getTyp() + " for task " + task.getId());
+        }
+
+        VM bestVm = null;
+        VM.TimeSlot bestSlot = null;
+
+        for (VM vm : candidates) {
+            double executionTime = getExecutionTime(task, vm);
+            double est = getEarliestStartTime(workflow, task, vm, arrivalTime, assignedVms, assignedSlots);
+
+            VM.TimeSlot slot = vm.findBestSlotForTask(task, executionTime, est, subdeadline, tau);
+            if (slot != null && (bestSlot == null || slot.getFinancialCost() < bestSlot.getFinancialCost()
+                    || (slot.getFinancialCost() == bestSlot.getFinancialCost() && slot.getEnd() < bestSlot.getEnd()))) {
+                bestVm = vm;
+                bestSlot = slot;
+            }
+        }
+
+        if (bestSlot == null) {
+            // No VM meets the subdeadline, the earliest finish wins. A VM is only scanned up to the start
+            // that would still finish before the best finish so far.
+            VM earliestVm = null;
+            double earliestStart = Double.POSITIVE_INFINITY;
+            double earliestFinish = Double.POSITIVE_INFINITY;
+            for (VM vm : candidates) {
+                double executionTime = getExecutionTime(task, vm);
+                double est = getEarliestStartTime(workflow, task, vm, arrivalTime, assignedVms, assignedSlots);
+                double start = vm.findEarliestAvailableStartTime(executionTime, est, earliestFinish - executionTime);
+                if (start + executionTime < earliestFinish) {
+                    earliestVm = vm;
+                    earliestStart = start;
+                    earliestFinish = start + executionTime;
+                }
+            }
+            double cost = earliestVm.vmCalculateFinancialCost(earliestStart, earliestFinish, tau);
+            bestVm = earliestVm;
+            bestSlot = new VM.TimeSlot(earliestStart, earliestFinish, task, subdeadline, cost);
+        }
+
+        bestVm.addSlotToSchedule(bestSlot);
+        assignedVms[task.getId()] = bestVm;
+        assignedSlots[task.getId()] = bestSlot;
+    }
+
+    /**
+     * Arrival time or the latest data arrival of the parents, transfers between different VMs take the edge's data
+     * volume / gsr.
+     */
+    private static double getEarliestStartTime(List<? extends Task> workflow, Task task, VM vm, double arrivalTime,
+                                               VM[] assignedVms, VM.TimeSlot[] assignedSlots) {
+        double est = arrivalTime;
+        List<Integer> parents = task.getParents();
+        for (int i = 0; i < parents.size(); i++) {
+            int parentId = parents.get(i);
+            double dataReadyTime = assignedSlots[parentId].getEnd();
+            if (assignedVms[parentId] != vm) {
+                dataReadyTime += task.getInputVolume(i, workflow.get(parentId)) / vm.getGsr();
+            }
+            est = Math.max(est, dataReadyTime);
+        }
+        return est;
+    }
+
+    /**
+     * Upward ranks with execution times averaged over the VMs that can run the task
+     * and communication averaged over all VMs, computed in reverse topological order.
+     */
+    private double[] getUpwardRanks(List<? extends Task> workflow, double[] averageExecutionTimes) {
+        int n = workflow.size();
+        double averageGsr = 0.0;
+        for (VM vm : vms) {
+            averageGsr += vm.getGsr();
+        }
+        averageGsr /= vms.size();
+
+        int[] order = new int[n];
+        int[] remainingChildren = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (Task task : workflow) {
+            remainingChildren[task.getId()] = task.getChildren().size();
+            if (remainingChildren[task.getId()] == 0) {
+                order[tail++] = task.getId();
+            }
+        }
+
+        double[] ranks = new double[n];
+        while (head < tail) {
+            Task task = workflow.get(order[head++]);
+            List<VM> candidates = getCandidates(task);
+            if (candidates.isEmpty()) candidates = vms;
+            double executionTime = 0.0;
+            for (VM vm : candidates) {
+                executionTime += getExecutionTime(task, vm);
+            }
+            averageExecutionTimes[task.getId()] = executionTime / candidates.size();
+
+            double maxSuccPath = 0.0;
+            List<Integer> children = task.getChildren();
+            for (int i = 0; i < children.size(); i++) {
+                double communicationTime = task.getOutputVolume(i) / averageGsr;
+                maxSuccPath = Math.max(maxSuccPath, communicationTime + ranks[children.get(i)]);
+            }
+            ranks[task.getId()] = averageExecutionTimes[task.getId()] + maxSuccPath;
+
+            for (Integer parentId : task.getParents()) {
+                if (--remainingChildren[parentId] == 0) {
+                    order[tail++] = parentId;
+                }
+            }
+        }
+        return ranks;
+    }
+
+    public List<VM> getVms() { return vms; }
+    public int getTau() { return tau; }
+
+    /**
+     * Metrics of all committed work, kept up to date by the VMs.
+     */
+    public ScheduleMetrics getMetrics() { return metrics; }
+}
@@ -0,0 +1,64 @@
+package org.vf.src.online;
+
+import org.vf.src.VM;
+
+import java.util.List;
+
+/**
+ * Outcome of admitting one workflow to the online scheduler.
+ * A rejected admission holds the placement that was tried, its slots are no longer on the VMs.
+ */
+public class WorkflowAdmission {
+
+    private final int workflowId;
+    private final boolean accepted;
+    private final double arrivalTime;
+    private final double deadline;
+    private final double finishTime;
+    private final double additionalCost;
+    private final List<VM> vms;
+    private final List<VM.TimeSlot> slots;
+    private final long admissionNanos;
+
+    public WorkflowAdmission(int workflowId, boolean accepted, double arrivalTime, double deadline, double finishTime,
+                             double additionalCost, List<VM> vms, List<VM.TimeSlot> slots, long admissionNanos) {
+        this.workflowId = workflowId;
+        this.accepted = accepted;
+        this.arrivalTime = arrivalTime;
+        this.deadline = deadline;
+        this.finishTime = finishTime;
+        this.additionalCost = additionalCost;
+        this.vms = vms;
+        this.slots = slots;
+        this.admissionNanos = admissionNanos;
+    }
+
+    public int getWorkflowId() { return workflowId; }
+    public boolean isAccepted() { return accepted; }
+    public double getArrivalTime() { return arrivalTime; }
+    public double getDeadline() { return deadline; }
+    public double getFinishTime() { return finishTime; }
+    public double getAdditionalCost() { return additionalCost; }
+    public long getAdmissionNanos() { return admissionNanos; }
+
+    /**
+     * Time from arrival until the exit task finishes.
+     */
+    public double getResponseTime() {
+        return finishTime - arrivalTime;
+    }
+
+    public boolean isWithinDeadline() {
+        return finishTime <= deadline;
+    }
+
+    /**
+     * VM of every slot, indexed like {@link #getSlots()}.
+     */
+    public List<VM> getVms() { return vms; }
+
+    /**
+     * Slot of every task, indexed by task id.
+     */
+    public List<VM.TimeSlot> getSlots() { return slots; }
+}
@@ -0,0 +1,416 @@
+package org.vf.src.partitioning;
+
+import org.vf.src.AlgorithmScheduler;
+import org.vf.src.HardwareType;
+import org.vf.src.SchedulingAlgorithm;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.decoder.ScheduleDecoder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Splits a workflow into partitions, schedules them concurrently with the wrapped scheduler and stitches the
+ * partial schedules together.
+ *
+ * Every partition is scheduled as a workflow of its own, edges to other partitions are dropped. The stitching keeps
+ * the VM of every task and the order of the partial schedules, and places all tasks again with a
+ * {@link ScheduleDecoder}, which moves tasks behind their parents in other partitions and resolves overlaps of
+ * partitions sharing a VM. The result is a valid schedule of the whole workflow, usually somewhat longer and more
+ * expensive than a monolithic run.
+ *
+ * Task ids must equal their index in the list and be a topological order, and the VMs must use the default
+ * per-period billing of the stitching decoder, pools with other billing models are rejected before any scheduling.
+ */
+public class PartitioningAlgorithmScheduler<T extends Task, S extends SchedulingAlgorithm> implements AlgorithmScheduler<T, S> {
+
+    public enum Strategy {
+        /**
+         * Weakly connected sub-DAGs, grouped into partitions with similar numbers of tasks.
+         * They do not depend on each other, so every partition gets the whole deadline.
+         */
+        COMPONENTS,
+        /**
+         * Bands of consecutive levels with similar numbers of tasks. A band gets the part of the deadline between the
+         * CETSS subdeadline of its latest task and that of the previous band.
+         */
+        LEVEL_BANDS
+    }
+
+    public enum VmSharing {
+        /**
+         * Every partition plans on its own copy of the whole pool, partitions share the VMs over time.
+         */
+        TIME_SLICED,
+        /**
+         * The VMs of every hardware type are dealt out to the partitions. A partition gets all VMs of a type
+         * if there are fewer of them than partitions.
+         */
+        DISJOINT
+    }
+
+    private final TaskFactory<T> taskFactory;
+    private final AlgorithmScheduler<T, S> scheduler;
+    private Strategy strategy = Strategy.LEVEL_BANDS;
+    private VmSharing vmSharing = VmSharing.TIME_SLICED;
+    private int numOfPartitions = 4;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    private int numOfScheduledPartitions;
+    private long partitioningNanos;
+    private long schedulingNanos;
+    private long stitchingNanos;
+
+    private record Partition(int index, int[] taskIds, int deadline, ArrayList<VM> vms, int[] poolIndices) {}
+
+    /**
+     * @param taskFactory creates the tasks of the partitions in the type the wrapped scheduler expects
+     */
+    public PartitioningAlgorithmScheduler(TaskFactory<T> taskFactory, AlgorithmScheduler<T, S> scheduler) {
+        this.taskFactory = taskFactory;
+        this.scheduler = scheduler;
+    }
+
+    @Override
+    public ArrayList<VM> schedule(ArrayList<? extends Task> tasks, ArrayList<VM> vms, int tau, int deadline) {
+        long partitioningStart = System.nanoTime();
+        for (VM vm : vms) {
+            if (vm.getBillingModel() != null) {
+                throw new IllegalArgumentException("VM " + vm.getId()
+                        + " has its own billing model, partitioned scheduling only supports the default per-period billing.");
+            }
+        }
+        for (int t = 0; t < tasks.size(); t++) {
+            if (tasks.get(t).getId() != t) {
+                throw new IllegalArgumentException("Task ids must equal their index, task " + tasks.get(t).getId() + " is at " + t);
+            }
+            for (Integer parentId : tasks.get(t).getParents()) {
+                if (parentId >= t) {
+                    throw new IllegalArgumentException("Task ids must be a topological order, task " + t + " has parent " + parentId);
+                }
+            }
+        }
+        int[] partitionOf = strategy == Strategy.COMPONENTS ? getComponentPartitions(tasks) : getLevelBands(tasks);
+        List<Partition> partitions = getPartitions(tasks, vms, tau, deadline, partitionOf);
+        numOfScheduledPartitions = partitions.size();
+        partitioningNanos = System.nanoTime() - partitioningStart;
+
+        long schedulingStart = System.nanoTime();
+        int[] assignment = new int[tasks.size()];
+        double[] plannedStarts = new double[tasks.size()];
+        Arrays.fill(assignment, -1);
+        scheduleConcurrently(tasks, partitions, partitionOf, tau, assignment, plannedStarts);
+        schedulingNanos = System.nanoTime() - schedulingStart;
+
+        long stitchingStart = System.nanoTime();
+        for (int t = 0; t < tasks.size(); t++) {
+            if (assignment[t] < 0) {
+                throw new IllegalStateException("The scheduler did not schedule task " + t + ".");
+            }
+        }
+        // Bands run one after another, the tasks of different components may interleave.
+        int[] bands = strategy == Strategy.LEVEL_BANDS ? partitionOf : new int[tasks.size()];
+        ScheduleDecoder decoder = new ScheduleDecoder(tasks, vms, tau);
+        decoder.decode(assignment, getStitchingOrder(tasks, bands, plannedStarts));
+        ArrayList<VM> scheduledVMs = decoder.writeSchedules();
+        stitchingNanos = System.nanoTime() - stitchingStart;
+        return scheduledVMs;
+    }
+
+    /**
+     * Partition of every task by weakly connected components, the largest components first to the smallest partition.
+     */
+    private int[] getComponentPartitions(List<? extends Task> tasks) {
+        int n = tasks.size();
+        int[] roots = new int[n];
+        for (int t = 0; t < n; t++) roots[t] = t;
+        for (int t = 0; t < n; t++) {
+            for (Integer parentId : tasks.get(t).getParents()) {
+                int a = findRoot(roots, t);
+                int b = findRoot(roots, parentId);
+                if (a != b) roots[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+
+        int[] componentSizes = new int[n];
+        for (int t = 0; t < n; t++) componentSizes[findRoot(roots, t)]++;
+        List<Integer> components = new ArrayList<>();
+        for (int t = 0; t < n; t++) {
+            if (componentSizes[t] > 0) components.add(t);
+        }
+        components.sort((a, b) -> componentSizes[b] != componentSizes[a] ? Integer.compare(componentSizes[b], componentSizes[a]) : Integer.compare(a, b));
+
+        int k = Math.min(numOfPartitions, components.size());
+        long[] partitionSizes = new long[k];
+        int[] partitionOfComponent = new int[n];
+        for (int component : components) {
+            int smallest = 0;
+            for (int p = 1; p < k; p++) {
+                if (partitionSizes[p] < partitionSizes[smallest]) smallest = p;
+            }
+            partitionOfComponent[component] = smallest;
+            partitionSizes[smallest] += componentSizes[component];
+        }
+
+        int[] partitionOf = new int[n];
+        for (int t = 0; t < n; t++) partitionOf[t] = partitionOfComponent[findRoot(roots, t)];
+        return partitionOf;
+    }
+
+    private static int findRoot(int[] roots, int t) {
+        while (roots[t] != t) {
+            roots[t] = roots[roots[t]];
+            t = roots[t];
+        }
+        return t;
+    }
+
+    /**
+     * Band of every task, the levels being the longest path from an entry task. A level is never split.
+     */
+    private int[] getLevelBands(List<? extends Task> tasks) {
+        int n = tasks.size();
+        int[] levels = new int[n];
+        int numOfLevels = 0;
+        for (int t = 0; t < n; t++) {
+            for (Integer parentId : tasks.get(t).getParents()) {
+                levels[t] = Math.max(levels[t], levels[parentId] + 1);
+            }
+            numOfLevels = Math.max(numOfLevels, levels[t] + 1);
+        }
+
+        long[] tasksBefore = new long[numOfLevels + 1];
+        for (int t = 0; t < n; t++) tasksBefore[levels[t] + 1]++;
+        for (int l = 0; l < numOfLevels; l++) tasksBefore[l + 1] += tasksBefore[l];
+
+        // Levels starting within the same n/k tasks form a band, bands without a level of their own are dropped.
+        int[] bandOfLevel = new int[numOfLevels];
+        int numOfBands = 0;
+        long previousTarget = -1;
+        for (int l = 0; l < numOfLevels; l++) {
+            long target = tasksBefore[l] * numOfPartitions / n;
+            if (target != previousTarget) {
+                numOfBands++;
+                previousTarget = target;
+            }
+            bandOfLevel[l] = numOfBands - 1;
+        }
+
+        int[] partitionOf = new int[n];
+        for (int t = 0; t < n; t++) partitionOf[t] = bandOfLevel[levels[t]];
+        return partitionOf;
+    }
+
+    private List<Partition> getPartitions(List<? extends Task> tasks, List<VM> vms, int tau, int deadline, int[] partitionOf) {
+        int k = 0;
+        for (int partition : partitionOf) k = Math.max(k, partition + 1);
+        int[] sizes = new int[k];
+        for (int partition : partitionOf) sizes[partition]++;
+        int[][] taskIds = new int[k][];
+        for (int p = 0; p < k; p++) taskIds[p] = new int[sizes[p]];
+        Arrays.fill(sizes, 0);
+        for (int t = 0; t < partitionOf.length; t++) {
+            taskIds[partitionOf[t]][sizes[partitionOf[t]]++] = t;
+        }
+
+        int[] deadlines = new int[k];
+        Arrays.fill(deadlines, deadline);
+        if (strategy == Strategy.LEVEL_BANDS && k > 1) {
+            CETSS planner = new CETSS(copyOf(tasks), new ArrayList<>(vms), tau, deadline);
+            double previousEnd = 0.0;
+            for (int p = 0; p < k; p++) {
+                double end = previousEnd;
+                for (int t : taskIds[p]) {
+                    end = Math.max(end, Math.min(deadline, planner.getTaskSubdeadline(t)));
+                }
+                deadlines[p] = (int) Math.max(1, Math.ceil(end - previousEnd));
+                previousEnd = end;
+            }
+        }
+
+        List<Partition> partitions = new ArrayList<>(k);
+        for (int p = 0; p < k; p++) {
+            int[] poolIndices = getPoolIndices(vms, p, k);
+            ArrayList<VM> partitionVMs = new ArrayList<>(poolIndices.length);
+            for (int index : poolIndices) {
+                VM copy = new VM(vms.get(index));
+                copy.clearSchedule();
+                partitionVMs.add(copy);
+            }
+            partitions.add(new Partition(p, taskIds[p], deadlines[p], partitionVMs, poolIndices));
+        }
+        return partitions;
+    }
+
+    private int[] getPoolIndices(List<VM> vms, int partition, int k) {
+        if (vmSharing == VmSharing.TIME_SLICED) {
+            int[] all = new int[vms.size()];
+            for (int v = 0; v < all.length; v++) all[v] = v;
+            return all;
+        }
+        int[] indices = new int[vms.size()];
+        int numOfIndices = 0;
+        for (HardwareType typ : HardwareType.values()) {
+            int numOfTyp = 0;
+            for (VM vm : vms) {
+                if (vm.getTyp() == typ) numOfTyp++;
+            }
+            int rank = 0;
+            for (int v = 0; v < vms.size(); v++) {
+                if (vms.get(v).getTyp() != typ) continue;
+                if (numOfTyp < k || rank % k == partition) indices[numOfIndices++] = v;
+                rank++;
+            }
+        }
+        Arrays.sort(indices, 0, numOfIndices);
+        return Arrays.copyOf(indices, numOfIndices);
+    }
+
+    private void scheduleConcurrently(List<? extends Task> tasks, List<Partition> partitions, int[] partitionOf, int tau,
+                                      int[] assignment, double[] plannedStarts) {
+        int[] localIds = new int[tasks.size()];
+        for (Partition partition : partitions) {
+            for (int local = 0; local < partition.taskIds().length; local++) {
+                localIds[partition.taskIds()[local]] = local;
+            }
+        }
+
+        // Partitions write disjoint entries of assignment and plannedStarts, invokeAll publishes them.
+        List<Callable<Void>> jobs = new ArrayList<>(partitions.size());
+        for (Partition partition : partitions) {
+            jobs.add(() -> {
+                schedulePartition(tasks, partition, partitionOf, localIds, tau, assignment, plannedStarts);
+                return null;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, partitions.size())));
+        try {
+            for (Future<Void> job : executor.invokeAll(jobs)) {
+                job.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Partitioned scheduling was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Partitioned scheduling failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void schedulePartition(List<? extends Task> tasks, Partition partition, int[] partitionOf, int[] localIds, int tau,
+                                   int[] assignment, double[] plannedStarts) {
+        int[] taskIds = partition.taskIds();
+        ArrayList<T> partitionTasks = new ArrayList<>(taskIds.length);
+        for (int local = 0; local < taskIds.length; local++) {
+            Task task = tasks.get(taskIds[local]);
+            List<Integer> parents = new ArrayList<>(task.getParents().size());
+            for (Integer parentId : task.getParents()) {
+                if (partitionOf[parentId] == partition.index()) parents.add(localIds[parentId]);
+            }
+            List<Integer> children = new ArrayList<>(task.getChildren().size());
+            for (Integer childId : task.getChildren()) {
+                if (partitionOf[childId] == partition.index()) children.add(localIds[childId]);
+            }
+            T partitionTask = taskFactory.create(local, task.getDin(), task.getDout(), task.getMi(), parents, children, task.getTyp());
+            partitionTask.copyWorkEstimatesFrom(task);
+            partitionTasks.add(partitionTask);
+        }
+        // The edges inside the partition keep their own volumes.
+        for (int local = 0; local < taskIds.length; local++) {
+            Task task = tasks.get(taskIds[local]);
+            if (!task.hasEdgeVolumes()) continue;
+            List<Integer> parentIds = task.getParents();
+            for (int p = 0; p < parentIds.size(); p++) {
+                double volume = task.getEdgeVolumeFromParent(p);
+                if (partitionOf[parentIds.get(p)] == partition.index() && !Double.isNaN(volume)) {
+                    Task.setEdgeVolume(partitionTasks.get(localIds[parentIds.get(p)]), partitionTasks.get(local), volume);
+                }
+            }
+        }
+
+        ArrayList<VM> scheduledVMs = scheduler.schedule(partitionTasks, partition.vms(), tau, partition.deadline());
+        Map<VM, Integer> poolIndices = new IdentityHashMap<>();
+        for (int v = 0; v < partition.vms().size(); v++) {
+            poolIndices.put(partition.vms().get(v), partition.poolIndices()[v]);
+        }
+        for (VM vm : scheduledVMs) {
+            Integer poolIndex = poolIndices.get(vm);
+            if (poolIndex == null) {
+                throw new IllegalArgumentException("VM " + vm.getId() + " is not part of the pool, elastic provisioning is not supported.");
+            }
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                int t = taskIds[slot.getTask().getId()];
+                assignment[t] = poolIndex;
+                plannedStarts[t] = slot.getStart();
+            }
+        }
+    }
+
+    /**
+     * Topological order of the whole workflow, by band and then by the start in the partial schedule.
+     */
+    private static int[] getStitchingOrder(List<? extends Task> tasks, int[] bands, double[] plannedStarts) {
+        int n = tasks.size();
+        int[] remainingParents = new int[n];
+        PriorityQueue<Integer> ready = new PriorityQueue<>((a, b) -> bands[a] != bands[b] ? Integer.compare(bands[a], bands[b])
+                : plannedStarts[a] != plannedStarts[b] ? Double.compare(plannedStarts[a], plannedStarts[b]) : Integer.compare(a, b));
+        for (int t = 0; t < n; t++) {
+            remainingParents[t] = tasks.get(t).getParents().size();
+            if (remainingParents[t] == 0) ready.add(t);
+        }
+        int[] order = new int[n];
+        int numOfOrdered = 0;
+        while (!ready.isEmpty()) {
+            int t = ready.poll();
+            order[numOfOrdered++] = t;
+            for (Integer childId : tasks.get(t).getChildren()) {
+                if (--remainingParents[childId] == 0) ready.add(childId);
+            }
+        }
+        return order;
+    }
+
+    private static ArrayList<TaskCETSS> copyOf(List<? extends Task> tasks) {
+        ArrayList<TaskCETSS> copy = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            TaskCETSS taskCopy = new TaskCETSS(task.getId(), task.getDin(), task.getDout(), task.getMi(),
+                    new ArrayList<>(task.getParents()), new ArrayList<>(task.getChildren()), task.getTyp());
+            taskCopy.copyWorkEstimatesFrom(task);
+            taskCopy.copyEdgeVolumesFrom(task);
+            copy.add(taskCopy);
+        }
+        return copy;
+    }
+
+    public Strategy getStrategy() { return strategy; }
+    public void setStrategy(Strategy strategy) { this.strategy = strategy; }
+    public VmSharing getVmSharing() { return vmSharing; }
+    public void setVmSharing(VmSharing vmSharing) { this.vmSharing = vmSharing; }
+    public int getNumOfPartitions() { return numOfPartitions; }
+    public void setNumOfPartitions(int numOfPartitions) {
+        if (numOfPartitions < 1) throw new IllegalArgumentException("At least one partition is needed.");
+        this.numOfPartitions = numOfPartitions;
+    }
+    public int getParallelism() { return parallelism; }
+    public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+    /** Partitions of the last run, fewer than configured if the workflow has fewer components or levels. */
+    public int getNumOfScheduledPartitions() { return numOfScheduledPartitions; }
+    public long getPartitioningNanos() { return partitioningNanos; }
+    public long getSchedulingNanos() { return schedulingNanos; }
+    public long getStitchingNanos() { return stitchingNanos; }
+}
@@ -0,0 +1,110 @@
+package org.vf.src.service;
+
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.simulation.QuantileSketch;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.vf.src.evaluation.EvaluationSetup.getFastestCriticalPath;
+import static org.vf.src.evaluation.EvaluationSetup.getRandomLayeredWorkflow;
+import static org.vf.src.evaluation.EvaluationSetup.getVMConfig;
+
+/**
+ * Sends scheduling requests from concurrent clients and reports client side latency and throughput.
+ * Requests pick one of a few distinct workflows with a random deadline, so concurrent requests can be batched.
+ * Without a URL an embedded server is started on a free localhost port.
+ *
+ * Usage: LoadGenerator [numOfRequests] [concurrency] [numOfWorkflows] [numOfTasks] [algorithm] [url]
+ */
+public class LoadGenerator {
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        int numOfRequests = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int numOfWorkflows = args.length > 2 ? Integer.parseInt(args[2]) : 4;
+        int numOfTasks = args.length > 3 ? Integer.parseInt(args[3]) : 200;
+        String algorithm = args.length > 4 ? args[4] : "CETSS";
+
+        SchedulingServer embeddedServer = null;
+        String url;
+        if (args.length > 5) {
+            url = args[5];
+        } else {
+            embeddedServer = new SchedulingServer(0, 2000, 64).start();
+            url = "http://localhost:" + embeddedServer.getPort() + "/schedule";
+        }
+
+        int tau = 3600;
+        ArrayList<VM> vms = getVMConfig(2);
+        List<String> bodiesWithoutDeadline = new ArrayList<>();
+        List<Double> criticalPaths = new ArrayList<>();
+        for (int i = 0; i < numOfWorkflows; i++) {
+            ArrayList<TaskCETSS> tasks = getRandomLayeredWorkflow(TaskCETSS::new, numOfTasks, 10, i);
+            bodiesWithoutDeadline.add(SchedulingRequest.format(algorithm, tau, 0, vms, tasks).replace("deadline 0\n", ""));
+            criticalPaths.add(getFastestCriticalPath(tasks, vms));
+        }
+
+        HttpClient client = HttpClient.newHttpClient();
+        QuantileSketch latenciesMillis = new QuantileSketch();
+        AtomicInteger nextRequest = new AtomicInteger();
+        AtomicLong numOfFailures = new AtomicLong();
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+
+        long start = System.nanoTime();
+        for (int c = 0; c < concurrency; c++) {
+            SplittableRandom random = new SplittableRandom(c);
+            clients.execute(() -> {
+                while (nextRequest.getAndIncrement() < numOfRequests) {
+                    int workflow = random.nextInt(numOfWorkflows);
+                    int deadline = (int) Math.ceil(criticalPaths.get(workflow) * (1.5 + 3 * random.nextDouble()));
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                            .POST(HttpRequest.BodyPublishers.ofString("deadline " + deadline + "\n" + bodiesWithoutDeadline.get(workflow)))
+                            .build();
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+                        if (response.statusCode() != 200) {
+                            numOfFailures.incrementAndGet();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        numOfFailures.incrementAndGet();
+                    }
+                    double latency = (System.nanoTime() - sent) / 1e6;
+                    synchronized (latenciesMillis) {
+                        latenciesMillis.add(latency);
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        clients.awaitTermination(1, TimeUnit.HOURS);
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.printf(Locale.ROOT, "%d requests (%s, %d tasks, %d workflows) from %d clients in %.2fs, %d failed%n",
+                numOfRequests, algorithm, numOfTasks, numOfWorkflows, concurrency, seconds, numOfFailures.get());
+        System.out.printf(Locale.ROOT, "Client: throughput %.1f req/s, latency p50 %.2f ms, p99 %.2f ms%n",
+                numOfRequests / seconds, latenciesMillis.getQuantile(0.5), latenciesMillis.getQuantile(0.99));
+
+        HttpResponse<String> stats = client.send(HttpRequest.newBuilder(URI.create(url.replace("/schedule", "/stats"))).build(),
+                HttpResponse.BodyHandlers.ofString());
+        System.out.print("Server:\n" + stats.body());
+
+        if (embeddedServer != null) {
+            embeddedServer.close();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.vf.src.service;
+
+import org.vf.src.BudgetedSchedule;
+import org.vf.src.ScheduleMetrics;
+import org.vf.src.VM;
+import org.vf.src.algorithms.CETSS.CETSS;
+import org.vf.src.algorithms.CETSS.TaskCETSS;
+import org.vf.src.algorithms.EHEFT.EHEFT;
+import org.vf.src.algorithms.HEFT.HEFT;
+import org.vf.src.algorithms.HEFT.TaskHEFT;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Groups requests for the same workflow, pool and algorithm that arrive within a short window,
+ * and schedules every group as one batch.
+ *
+ * A batch parses its workflow once and shares the deadline-independent precomputation between its requests:
+ * HEFT and E-HEFT do not use the deadline at all, so their schedule is computed once per batch;
+ * CETSS shares its standard VMs and the te/tl estimates and only runs the deadline-dependent scheduling per request.
+ * Requests with equal deadlines get the same schedule. Requests of one batch are scheduled one after another,
+ * different batches run concurrently. A request's latency budget cuts the CETSS task adjustment short,
+ * the response then reports the completed fraction of it.
+ */
+public class RequestBatcher implements AutoCloseable {
+
+    private final long batchWindowMicros;
+    private final int maxBatchSize;
+    private final ExecutorService workers;
+    private final ScheduledExecutorService timer;
+    private final ServiceStats stats;
+    private final Map<String, Batch> openBatches = new HashMap<>();
+
+    public RequestBatcher(long batchWindowMicros, int maxBatchSize, ExecutorService workers, ServiceStats stats) {
+        this.batchWindowMicros = batchWindowMicros;
+        this.maxBatchSize = maxBatchSize;
+        this.workers = workers;
+        this.stats = stats;
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "request-batcher-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @param receivedNanos arrival of the request, the latency is measured from here
+     * @return the response body, completed exceptionally if the request cannot be scheduled
+     */
+    public CompletableFuture<String> submit(SchedulingRequest request, long receivedNanos) {
+        PendingRequest pending = new PendingRequest(request, receivedNanos);
+        Batch fullBatch = null;
+        synchronized (openBatches) {
+            Batch batch = openBatches.get(request.getPrecomputationKey());
+            if (batch == null) {
+                Batch newBatch = new Batch(request.getPrecomputationKey());
+                openBatches.put(newBatch.key, newBatch);
+                timer.schedule(() -> dispatch(newBatch), batchWindowMicros, TimeUnit.MICROSECONDS);
+                batch = newBatch;
+            }
+            batch.requests.add(pending);
+            if (batch.requests.size() >= maxBatchSize) {
+                openBatches.remove(batch.key);
+                fullBatch = batch;
+            }
+        }
+        if (fullBatch != null) {
+            dispatch(fullBatch);
+        }
+        return pending.response;
+    }
+
+    /**
+     * Hands the batch to a worker once. It stays open for further requests until the worker picks it up,
+     * so requests arriving while all workers are busy join the waiting batch.
+     */
+    private void dispatch(Batch batch) {
+        synchronized (openBatches) {
+            if (batch.dispatched) return;
+            batch.dispatched = true;
+        }
+        stats.recordBatch();
+        workers.execute(() -> {
+            List<PendingRequest> requests;
+            synchronized (openBatches) {
+                openBatches.remove(batch.key, batch);
+                requests = batch.requests;
+            }
+            process(requests);
+        });
+    }
+
+    private void process(List<PendingRequest> requests) {
+        SchedulingRequest first = requests.get(0).request;
+        try {
+            switch (first.getAlgorithm()) {
+                case "HEFT", "E-HEFT", "EHEFT" -> {
+                    ArrayList<TaskHEFT> tasks = first.createTasks(TaskHEFT::new);
+                    ArrayList<VM> vms = first.createVms();
+                    ArrayList<VM> scheduledVMs = first.getAlgorithm().equals("HEFT")
+                            ? new HEFT(tasks, vms).scheduler()
+                            : new EHEFT(tasks, vms).scheduler();
+                    for (PendingRequest pending : requests) {
+                        complete(pending, formatResponse(pending.request, scheduledVMs, 1.0, requests.size()));
+                    }
+                }
+                case "CETSS" -> {
+                    ArrayList<TaskCETSS> tasks = first.createTasks(TaskCETSS::new);
+                    ArrayList<VM> vms = first.createVms();
+                    CETSS planner = new CETSS(tasks, vms, first.getTau(), first.getDeadline());
+                    Map<Integer, String> responsesByDeadline = new HashMap<>();
+                    for (PendingRequest pending : requests) {
+                        String response = responsesByDeadline.computeIfAbsent(pending.request.getDeadline(), deadline -> {
+                            CETSS cetss = new CETSS(planner, deadline);
+                            if (pending.request.getBudget() == null) {
+                                return formatResponse(pending.request, cetss.scheduler(), 1.0, requests.size());
+                            }
+                            BudgetedSchedule schedule = cetss.scheduler(getRemainingBudget(pending));
+                            return formatResponse(pending.request, schedule.vms(), schedule.completedFraction(), requests.size());
+                        });
+                        complete(pending, response);
+                    }
+                }
+                default -> throw new IllegalArgumentException("Unknown algorithm " + first.getAlgorithm());
+            }
+        } catch (Throwable e) {
+            // Errors too, e.g. a StackOverflowError, every waiting client gets an answer.
+            for (PendingRequest pending : requests) {
+                if (!pending.response.isDone()) {
+                    stats.recordRequest(pending.receivedNanos, true);
+                    pending.response.completeExceptionally(e);
+                }
+            }
+        }
+    }
+
+    private void complete(PendingRequest pending, String response) {
+        stats.recordRequest(pending.receivedNanos, false);
+        pending.response.complete(response);
+    }
+
+    /**
+     * The latency budget counts from the arrival, time spent waiting in the batch is taken off.
+     */
+    private static Duration getRemainingBudget(PendingRequest pending) {
+        Duration remaining = pending.request.getBudget().minusNanos(System.nanoTime() - pending.receivedNanos);
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    private static String formatResponse(SchedulingRequest request, List<VM> scheduledVMs, double completedFraction, int batchSize) {
+        ScheduleMetrics metrics = ScheduleMetrics.of(scheduledVMs, request.getTau(), request.getDeadline());
+        StringBuilder response = new StringBuilder();
+        response.append("algorithm ").append(request.getAlgorithm()).append('\n');
+        response.append("deadline ").append(request.getDeadline()).append('\n');
+        response.append("makespan ").append(metrics.getMakespan()).append('\n');
+        response.append("cost ").append(metrics.getTotalCost()).append('\n');
+        response.append("withinDeadline ").append(metrics.isWithinDeadline()).append('\n');
+        response.append("batchSize ").append(batchSize).append('\n');
+        if (request.getBudget() != null) {
+            response.append("completedFraction ").append(completedFraction).append('\n');
+        }
+        for (VM vm : scheduledVMs) {
+            for (VM.TimeSlot slot : vm.getSchedule()) {
+                response.append(String.format(Locale.ROOT, "slot %d %d %s %s%n", slot.getTask().getId(), vm.getId(), slot.getStart(), slot.getEnd()));
+            }
+        }
+        return response.toString();
+    }
+
+    @Override
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    private static class Batch {
+        final String key;
+        final List<PendingRequest> requests = new ArrayList<>();
+        boolean dispatched;
+
+        Batch(String key) {
+            this.key = key;
+        }
+    }
+
+    private static class PendingRequest {
+        final SchedulingRequest request;
+        final long receivedNanos;
+        final CompletableFuture<String> response = new CompletableFuture<>();
+
+        PendingRequest(SchedulingRequest request, long receivedNanos) {
+            this.request = request;
+            this.receivedNanos = receivedNanos;
+        }
+    }
+}
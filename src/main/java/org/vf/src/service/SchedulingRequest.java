@@ -0,0 +1,232 @@
+package org.vf.src.service;
+
+import org.vf.src.HardwareType;
+import org.vf.src.Task;
+import org.vf.src.TaskFactory;
+import org.vf.src.VM;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A workflow, VM pool and deadline to schedule, in a line based text format:
+ * <pre>
+ * algorithm CETSS
+ * tau 3600
+ * deadline 5000
+ * budget 50
+ * vm &lt;name&gt; &lt;c&gt; &lt;w&gt; &lt;gsr&gt; &lt;gsw&gt; &lt;CPU|GPU&gt;
+ * task &lt;id&gt; &lt;din&gt; &lt;dout&gt; &lt;mi&gt; &lt;CPU|GPU&gt; &lt;parent ids separated by commas, or -&gt; [&lt;CPU|GPU&gt;=&lt;mi&gt; ...]
+ * </pre>
+ * A parent id may carry the data volume of its edge as &lt;id&gt;:&lt;volume&gt;, otherwise the task reads the parent's whole
+ * dout, see {@link Task#setEdgeVolume}. The optional trailing fields of a task make it eligible for further hardware types with the given work, see
+ * {@link Task#setWorkEstimate(HardwareType, double)}.
+ * The optional budget is a wall-clock latency budget in milliseconds, measured from the arrival of the request:
+ * the algorithm returns its best schedule once the budget expired, see {@link org.vf.src.SchedulingAlgorithm#scheduler(Duration)}.
+ * Task ids must be 0..n-1 in list order, parents before their children. Everything except the deadline forms the
+ * {@link #getPrecomputationKey()}, requests with the same key can share the deadline-independent part of the scheduling.
+ */
+public class SchedulingRequest {
+
+    private final String algorithm;
+    private final int tau;
+    private final int deadline;
+    private final Duration budget;
+    private final List<String[]> vmLines;
+    private final List<String[]> taskLines;
+    private final String precomputationKey;
+
+    private SchedulingRequest(String algorithm, int tau, int deadline, Duration budget, List<String[]> vmLines, List<String[]> taskLines, String precomputationKey) {
+        this.algorithm = algorithm;
+        this.tau = tau;
+        this.deadline = deadline;
+        this.budget = budget;
+        this.vmLines = vmLines;
+        this.taskLines = taskLines;
+        this.precomputationKey = precomputationKey;
+    }
+
+    public static SchedulingRequest parse(String body) {
+        String algorithm = "CETSS";
+        int tau = 3600;
+        Integer deadline = null;
+        Duration budget = null;
+        List<String[]> vmLines = new ArrayList<>();
+        List<String[]> taskLines = new ArrayList<>();
+        StringBuilder key = new StringBuilder(body.length());
+
+        for (String line : body.split("\n")) {
+            String trimmed = line.trim();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) continue;
+            String[] fields = trimmed.split("\\s+");
+            switch (fields[0]) {
+                case "algorithm" -> algorithm = requireFields(fields, 2)[1].toUpperCase(Locale.ROOT);
+                case "tau" -> tau = Integer.parseInt(requireFields(fields, 2)[1]);
+                case "deadline" -> deadline = Integer.parseInt(requireFields(fields, 2)[1]);
+                case "budget" -> {
+                    budget = Duration.ofMillis(Long.parseLong(requireFields(fields, 2)[1]));
+                    if (budget.isNegative()) throw new IllegalArgumentException("The budget must not be negative: " + trimmed);
+                }
+                case "vm" -> vmLines.add(validateVm(requireFields(fields, 7)));
+                case "task" -> {
+                    requireFields(fields, 7);
+                    if (Integer.parseInt(fields[1]) != taskLines.size()) {
+                        throw new IllegalArgumentException("Task ids must be 0..n-1 in order, got " + fields[1]);
+                    }
+                    taskLines.add(validateTask(fields));
+                }
+                default -> throw new IllegalArgumentException("Unknown line: " + trimmed);
+            }
+            if (!fields[0].equals("deadline")) {
+                key.append(trimmed).append('\n');
+            }
+        }
+
+        if (deadline == null) throw new IllegalArgumentException("Missing deadline.");
+        if (vmLines.isEmpty()) throw new IllegalArgumentException("Missing VMs.");
+        if (taskLines.isEmpty()) throw new IllegalArgumentException("Missing tasks.");
+        return new SchedulingRequest(algorithm, tau, deadline, budget, vmLines, taskLines, key.toString());
+    }
+
+    private static String[] validateVm(String[] fields) {
+        for (int f = 2; f <= 5; f++) Double.parseDouble(fields[f]);
+        parseHardwareType(fields[6]);
+        return fields;
+    }
+
+    /**
+     * Checks the numbers and types of a task line. Parents must precede the task, which rules out cycles and
+     * references to tasks that do not exist.
+     */
+    private static String[] validateTask(String[] fields) {
+        int id = Integer.parseInt(fields[1]);
+        for (int f = 2; f <= 4; f++) Double.parseDouble(fields[f]);
+        parseHardwareType(fields[5]);
+        if (!fields[6].equals("-")) {
+            for (String parentId : fields[6].split(",")) {
+                int separator = parentId.indexOf(':');
+                int parent = Integer.parseInt(separator < 0 ? parentId : parentId.substring(0, separator));
+                if (parent < 0 || parent >= id) {
+                    throw new IllegalArgumentException("Parent " + parent + " of task " + id + " must be a task before it.");
+                }
+                if (separator >= 0) Double.parseDouble(parentId.substring(separator + 1));
+            }
+        }
+        for (int e = 7; e < fields.length; e++) {
+            String[] estimate = fields[e].split("=", 2);
+            if (estimate.length != 2) throw new IllegalArgumentException("Expected <type>=<mi>: " + fields[e]);
+            parseHardwareType(estimate[0]);
+            Double.parseDouble(estimate[1]);
+        }
+        return fields;
+    }
+
+    private static HardwareType parseHardwareType(String typ) {
+        try {
+            return HardwareType.valueOf(typ.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown hardware type " + typ);
+        }
+    }
+
+    private static String[] requireFields(String[] fields, int numOfFields) {
+        if (fields.length < numOfFields) {
+            throw new IllegalArgumentException("Expected " + numOfFields + " fields: " + String.join(" ", fields));
+        }
+        return fields;
+    }
+
+    public ArrayList<VM> createVms() {
+        ArrayList<VM> vms = new ArrayList<>(vmLines.size());
+        for (int i = 0; i < vmLines.size(); i++) {
+            String[] f = vmLines.get(i);
+            vms.add(new VM(i, f[1], Double.parseDouble(f[2]), Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+                    Double.parseDouble(f[5]), parseHardwareType(f[6])));
+        }
+        return vms;
+    }
+
+    public <T extends Task> ArrayList<T> createTasks(TaskFactory<T> factory) {
+        int n = taskLines.size();
+        List<List<Integer>> parents = new ArrayList<>(n);
+        List<List<Integer>> children = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            parents.add(new ArrayList<>());
+            children.add(new ArrayList<>());
+        }
+        for (int i = 0; i < n; i++) {
+            String parentIds = taskLines.get(i)[6];
+            if (parentIds.equals("-")) continue;
+            for (String parentId : parentIds.split(",")) {
+                int separator = parentId.indexOf(':');
+                int parent = Integer.parseInt(separator < 0 ? parentId : parentId.substring(0, separator));
+                parents.get(i).add(parent);
+                children.get(parent).add(i);
+            }
+        }
+
+        ArrayList<T> tasks = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            String[] f = taskLines.get(i);
+            T task = factory.create(i, Double.parseDouble(f[2]), Double.parseDouble(f[3]), Double.parseDouble(f[4]),
+                    parents.get(i), children.get(i), parseHardwareType(f[5]));
+            for (int e = 7; e < f.length; e++) {
+                String[] estimate = f[e].split("=", 2);
+                task.setWorkEstimate(parseHardwareType(estimate[0]), Double.parseDouble(estimate[1]));
+            }
+            tasks.add(task);
+        }
+        for (int i = 0; i < n; i++) {
+            String parentIds = taskLines.get(i)[6];
+            if (parentIds.indexOf(':') < 0) continue;
+            for (String parentId : parentIds.split(",")) {
+                int separator = parentId.indexOf(':');
+                if (separator < 0) continue;
+                Task.setEdgeVolume(tasks.get(Integer.parseInt(parentId.substring(0, separator))), tasks.get(i),
+                        Double.parseDouble(parentId.substring(separator + 1)));
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes a workflow and pool in the request format.
+     */
+    public static String format(String algorithm, int tau, int deadline, List<VM> vms, List<? extends Task> tasks) {
+        StringBuilder body = new StringBuilder();
+        body.append("algorithm ").append(algorithm).append('\n');
+        body.append("tau ").append(tau).append('\n');
+        body.append("deadline ").append(deadline).append('\n');
+        for (VM vm : vms) {
+            body.append(String.format(Locale.ROOT, "vm VM-%d %s %s %s %s %s%n", vm.getId(),
+                    vm.getC(), vm.getW(), vm.getGsr(), vm.getGsw(), vm.getTyp()));
+        }
+        for (Task task : tasks) {
+            StringBuilder parents = new StringBuilder(task.getParents().isEmpty() ? "-" : "");
+            for (int p = 0; p < task.getParents().size(); p++) {
+                if (p > 0) parents.append(',');
+                parents.append(task.getParents().get(p));
+                double volume = task.getEdgeVolumeFromParent(p);
+                if (!Double.isNaN(volume)) parents.append(':').append(volume);
+            }
+            body.append(String.format(Locale.ROOT, "task %d %s %s %s %s %s", task.getId(),
+                    task.getDin(), task.getDout(), task.getMi(), task.getTyp(), parents));
+            for (HardwareType typ : HardwareType.values()) {
+                if (typ != task.getTyp() && task.canRunOn(typ)) {
+                    body.append(String.format(Locale.ROOT, " %s=%s", typ, task.getMi(typ)));
+                }
+            }
+            body.append(System.lineSeparator());
+        }
+        return body.toString();
+    }
+
+    public String getAlgorithm() { return algorithm; }
+    public int getTau() { return tau; }
+    public int getDeadline() { return deadline; }
+    /** The latency budget, null if the request has none. */
+    public Duration getBudget() { return budget; }
+    public String getPrecomputationKey() { return precomputationKey; }
+}
@@ -0,0 +1,125 @@
+package org.vf.src.service;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Embeddable HTTP front end for the schedulers, bound to localhost.
+ *
+ * POST /schedule takes a {@link SchedulingRequest} and answers with makespan, cost and the slots of the schedule.
+ * GET /stats returns the {@link ServiceStats}.
+ * Requests are grouped by the {@link RequestBatcher}. Requests and batches run on virtual threads when the JVM
+ * provides them (Java 21+), otherwise on a cached and a fixed thread pool.
+ *
+ * Usage: SchedulingServer [port] [batchWindowMicros] [maxBatchSize]
+ */
+public class SchedulingServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ExecutorService batchExecutor;
+    private final RequestBatcher batcher;
+    private final ServiceStats stats = new ServiceStats();
+
+    public SchedulingServer(int port, long batchWindowMicros, int maxBatchSize) throws IOException {
+        this.requestExecutor = newExecutor(Executors.newCachedThreadPool());
+        this.batchExecutor = newExecutor(Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors()));
+        this.batcher = new RequestBatcher(batchWindowMicros, maxBatchSize, batchExecutor, stats);
+
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 1024);
+        this.server.setExecutor(requestExecutor);
+        this.server.createContext("/schedule", this::handleSchedule);
+        this.server.createContext("/stats", this::handleStats);
+    }
+
+    /**
+     * Virtual thread per task executor if available, the fallback otherwise.
+     */
+    private static ExecutorService newExecutor(ExecutorService fallback) {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            fallback.shutdown();
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            return fallback;
+        }
+    }
+
+    public SchedulingServer start() {
+        server.start();
+        return this;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public ServiceStats getStats() { return stats; }
+
+    private void handleSchedule(HttpExchange exchange) throws IOException {
+        long receivedNanos = System.nanoTime();
+        if (!exchange.getRequestMethod().equals("POST")) {
+            send(exchange, 405, "Use POST.\n");
+            return;
+        }
+
+        SchedulingRequest request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = SchedulingRequest.parse(new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, e.getMessage() + "\n");
+            return;
+        }
+
+        batcher.submit(request, receivedNanos).whenComplete((response, error) -> {
+            try {
+                if (error == null) {
+                    send(exchange, 200, response);
+                } else {
+                    send(exchange, 500, error.getMessage() + "\n");
+                }
+            } catch (IOException e) {
+                exchange.close();
+            }
+        });
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        send(exchange, 200, stats.format());
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        batcher.close();
+        batchExecutor.shutdownNow();
+        requestExecutor.shutdownNow();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+        long batchWindowMicros = args.length > 1 ? Long.parseLong(args[1]) : 2000;
+        int maxBatchSize = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        SchedulingServer server = new SchedulingServer(port, batchWindowMicros, maxBatchSize).start();
+        System.out.println("Scheduling server listening on http://localhost:" + server.getPort() + "/schedule");
+    }
+}
@@ -0,0 +1,66 @@
+package org.vf.src.service;
+
+import org.vf.src.simulation.QuantileSketch;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counters and latency distribution of the scheduling service since it was started.
+ */
+public class ServiceStats {
+
+    private final long startNanos = System.nanoTime();
+    private final LongAdder numOfRequests = new LongAdder();
+    private final LongAdder numOfFailedRequests = new LongAdder();
+    private final LongAdder numOfBatches = new LongAdder();
+    private final QuantileSketch latenciesMillis = new QuantileSketch();
+
+    void recordBatch() {
+        numOfBatches.increment();
+    }
+
+    void recordRequest(long receivedNanos, boolean failed) {
+        double latencyMillis = (System.nanoTime() - receivedNanos) / 1e6;
+        numOfRequests.increment();
+        if (failed) {
+            numOfFailedRequests.increment();
+        }
+        synchronized (latenciesMillis) {
+            latenciesMillis.add(latencyMillis);
+        }
+    }
+
+    public long getNumOfRequests() { return numOfRequests.sum(); }
+    public long getNumOfFailedRequests() { return numOfFailedRequests.sum(); }
+    public long getNumOfBatches() { return numOfBatches.sum(); }
+
+    public double getMeanBatchSize() {
+        long batches = getNumOfBatches();
+        return batches == 0 ? 0.0 : (double) getNumOfRequests() / batches;
+    }
+
+    /**
+     * Completed requests per second since the start of the service.
+     */
+    public double getThroughput() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds > 0 ? getNumOfRequests() / seconds : 0.0;
+    }
+
+    public double getLatencyMillis(double quantile) {
+        synchronized (latenciesMillis) {
+            return latenciesMillis.getQuantile(quantile);
+        }
+    }
+
+    /**
+     * One "name value" pair per line, the format of the /stats endpoint.
+     */
+    public String format() {
+        return String.format(Locale.ROOT,
+                "requests %d%nfailed %d%nbatches %d%nmeanBatchSize %.2f%nthroughput %.2f%nlatencyP50Ms %.3f%nlatencyP99Ms %.3f%n",
+                getNumOfRequests(), getNumOfFailedRequests(), getNumOfBatches(), getMeanBatchSize(), getThroughput(),
+                getLatencyMillis(0.5), getLatencyMillis(0.99));
+    }
+}
@@ -0,0 +1,112 @@
+package org.vf.src.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Binary min-heap of simulation events stored in parallel primitive arrays, so queuing an event never allocates.
+ * Events are ordered by time, events at the same time in insertion order.
+ * The arrays only grow and are reused after {@link #clear()}, which acts as the event pool.
+ */
+public class EventQueue {
+
+    private double[] times;
+    private long[] sequences;
+    private int[] types;
+    private int[] payloads;
+    private int size;
+    private long nextSequence;
+
+    private double polledTime;
+    private int polledType;
+    private int polledPayload;
+
+    public EventQueue(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        this.times = new double[capacity];
+        this.sequences = new long[capacity];
+        this.types = new int[capacity];
+        this.payloads = new int[capacity];
+    }
+
+    public boolean isEmpty() { return size == 0; }
+    public int size() { return size; }
+
+    public void clear() {
+        size = 0;
+        nextSequence = 0;
+    }
+
+    public void push(double time, int type, int payload) {
+        if (size == times.length) {
+            int capacity = times.length * 2;
+            times = Arrays.copyOf(times, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            types = Arrays.copyOf(types, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        long sequence = nextSequence++;
+
+        // Sift up
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!isBefore(time, sequence, times[parent], sequences[parent])) break;
+            move(parent, i);
+            i = parent;
+        }
+        set(i, time, sequence, type, payload);
+    }
+
+    /**
+     * Removes the earliest event, its fields are then available through the polled getters.
+     */
+    public void poll() {
+        polledTime = times[0];
+        polledType = types[0];
+        polledPayload = payloads[0];
+
+        int last = --size;
+        if (last == 0) return;
+        double time = times[last];
+        long sequence = sequences[last];
+        int type = types[last];
+        int payload = payloads[last];
+
+        // Sift down
+        int i = 0;
+        int half = last >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < last && isBefore(times[right], sequences[right], times[child], sequences[child])) {
+                child = right;
+            }
+            if (!isBefore(times[child], sequences[child], time, sequence)) break;
+            move(child, i);
+            i = child;
+        }
+        set(i, time, sequence, type, payload);
+    }
+
+    public double getPolledTime() { return polledTime; }
+    public int getPolledType() { return polledType; }
+    public int getPolledPayload() { return polledPayload; }
+
+    private static boolean isBefore(double time, long sequence, double otherTime, long otherSequence) {
+        return time < otherTime || (time == otherTime && sequence < otherSequence);
+    }
+
+    private void move(int from, int to) {
+        times[to] = times[from];
+        sequences[to] = sequences[from];
+        types[to] = types[from];
+        payloads[to] = payloads[from];
+    }
+
+    private void set(int i, double time, long sequence, int type, int payload) {
+        times[i] = time;
+        sequences[i] = sequence;
+        types[i] = type;
+        payloads[i] = payload;
+    }
+}
@@ -0,0 +1,116 @@
+package org.vf.src.simulation;
+
+import java.util.Locale;
+
+/**
+ * Streaming summary of non-negative values with mergeable quantile estimates of bounded relative error.
+ * Values are counted in logarithmic buckets of ratio gamma = (1 + alpha) / (1 - alpha), so every quantile is
+ * returned within a relative error of alpha. Memory only depends on the value range, not on the number of values.
+ */
+public class QuantileSketch {
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private long[] bucketCounts = new long[64];
+    private boolean hasBuckets;
+    private int offset;
+    private long zeroCount;
+    private long count;
+    private double sum;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public QuantileSketch() {
+        this(0.005);
+    }
+
+    public QuantileSketch(double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    public void add(double value) {
+        count++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+        if (value <= 0) {
+            zeroCount++;
+            return;
+        }
+        addToBucket((int) Math.ceil(Math.log(value) / logGamma), 1);
+    }
+
+    private void addToBucket(int bucket, long n) {
+        if (!hasBuckets) {
+            hasBuckets = true;
+            offset = bucket - bucketCounts.length / 2;
+        }
+        int index = bucket - offset;
+        if (index < 0 || index >= bucketCounts.length) {
+            int newOffset = Math.min(offset, bucket - 8);
+            int needed = Math.max(offset + bucketCounts.length, bucket + 9) - newOffset;
+            long[] grown = new long[Math.max(needed, bucketCounts.length * 2)];
+            System.arraycopy(bucketCounts, 0, grown, offset - newOffset, bucketCounts.length);
+            bucketCounts = grown;
+            offset = newOffset;
+            index = bucket - offset;
+        }
+        bucketCounts[index] += n;
+    }
+
+    /**
+     * Adds all values of another sketch with the same relative accuracy.
+     */
+    public void merge(QuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Sketches with different accuracies cannot be merged.");
+        }
+        count += other.count;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        zeroCount += other.zeroCount;
+        for (int i = 0; i < other.bucketCounts.length; i++) {
+            if (other.bucketCounts[i] > 0) {
+                addToBucket(i + other.offset, other.bucketCounts[i]);
+            }
+        }
+    }
+
+    /**
+     * @param quantile in [0, 1]
+     */
+    public double getQuantile(double quantile) {
+        if (count == 0) return Double.NaN;
+        if (quantile <= 0) return min;
+        if (quantile >= 1) return max;
+
+        long rank = (long) Math.ceil(quantile * count);
+        if (rank <= zeroCount) return Math.max(min, 0.0);
+        long seen = zeroCount;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if (seen >= rank) {
+                // Midpoint of the bucket (gamma^(k-1), gamma^k] in relative terms
+                double estimate = 2 * Math.exp((i + offset) * logGamma) / (1 + Math.exp(logGamma));
+                return Math.min(max, Math.max(min, estimate));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() { return count; }
+    public double getMin() { return min; }
+    public double getMax() { return max; }
+
+    public double getMean() {
+        return count == 0 ? Double.NaN : sum / count;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "n=%d mean=%.4f p50=%.4f p90=%.4f p99=%.4f max=%.4f",
+                count, getMean(), getQuantile(0.5), getQuantile(0.9), getQuantile(0.99), max);
+    }
+}
@@ -0,0 +1,122 @@
+package org.vf.src.simulation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Monte Carlo evaluation of a schedule under runtime uncertainty.
+ *
+ * Every trial replays the schedule with the nominal slot durations multiplied by a sampled runtime factor and the
+ * read and write speed of every VM multiplied by sampled transfer speed factors. The trials are split into a fixed number
+ * of chunks, each with its own simulator copy, random stream and quantile sketches; the partial summaries are merged
+ * in chunk order. The random streams are split from the seed up front, so results do not depend on thread timing.
+ */
+public class RobustnessEvaluator {
+
+    private final ScheduleSimulator simulator;
+    private final RuntimeDistribution runtimeDistribution;
+    private final RuntimeDistribution transferSpeedDistribution;
+    private final int parallelism;
+
+    public RobustnessEvaluator(ScheduleSimulator simulator, RuntimeDistribution runtimeDistribution, RuntimeDistribution transferSpeedDistribution) {
+        this(simulator, runtimeDistribution, transferSpeedDistribution, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param transferSpeedDistribution factor on the read and write speeds of the VMs, sampled independently,
+     *                                  null to keep nominal transfer speeds
+     */
+    public RobustnessEvaluator(ScheduleSimulator simulator, RuntimeDistribution runtimeDistribution,
+                               RuntimeDistribution transferSpeedDistribution, int parallelism) {
+        this.simulator = simulator;
+        this.runtimeDistribution = runtimeDistribution;
+        this.transferSpeedDistribution = transferSpeedDistribution;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    public RobustnessReport evaluate(int numOfTrials, double deadline, long seed) {
+        int numOfChunks = Math.max(1, Math.min(numOfTrials, parallelism * 4));
+        SplittableRandom root = new SplittableRandom(seed);
+
+        List<Callable<Partial>> chunks = new ArrayList<>(numOfChunks);
+        for (int chunk = 0; chunk < numOfChunks; chunk++) {
+            int chunkTrials = numOfTrials / numOfChunks + (chunk < numOfTrials % numOfChunks ? 1 : 0);
+            SplittableRandom random = root.split();
+            chunks.add(() -> runTrials(chunkTrials, deadline, random));
+        }
+
+        Partial total = new Partial();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(parallelism, numOfChunks));
+        try {
+            for (Future<Partial> partial : executor.invokeAll(chunks)) {
+                total.merge(partial.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Robustness evaluation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Robustness evaluation failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new RobustnessReport(deadline, total.numOfTrials, total.numOfTrialsWithinDeadline, total.numOfDeadlockedTrials,
+                total.makespans, total.costs);
+    }
+
+    private Partial runTrials(int numOfTrials, double deadline, SplittableRandom random) {
+        ScheduleSimulator trialSimulator = new ScheduleSimulator(simulator);
+        int numOfSlots = trialSimulator.getNumOfSlots();
+        double[] durations = new double[numOfSlots];
+        double[] readSpeedFactors = transferSpeedDistribution == null ? null : new double[trialSimulator.getNumOfVMs()];
+        double[] writeSpeedFactors = transferSpeedDistribution == null ? null : new double[trialSimulator.getNumOfVMs()];
+
+        Partial partial = new Partial();
+        for (int trial = 0; trial < numOfTrials; trial++) {
+            for (int slot = 0; slot < numOfSlots; slot++) {
+                durations[slot] = trialSimulator.getNominalDuration(slot) * runtimeDistribution.sampleFactor(random);
+            }
+            if (readSpeedFactors != null) {
+                for (int vm = 0; vm < readSpeedFactors.length; vm++) {
+                    readSpeedFactors[vm] = transferSpeedDistribution.sampleFactor(random);
+                    writeSpeedFactors[vm] = transferSpeedDistribution.sampleFactor(random);
+                }
+            }
+
+            SimulationResult result = trialSimulator.simulate(durations, readSpeedFactors, writeSpeedFactors);
+            partial.numOfTrials++;
+            if (result.isDeadlocked()) {
+                partial.numOfDeadlockedTrials++;
+                continue;
+            }
+            if (result.isWithinDeadline(deadline)) {
+                partial.numOfTrialsWithinDeadline++;
+            }
+            partial.makespans.add(result.getMakespan());
+            partial.costs.add(result.getTotalCost());
+        }
+        return partial;
+    }
+
+    private static class Partial {
+        long numOfTrials;
+        long numOfTrialsWithinDeadline;
+        long numOfDeadlockedTrials;
+        final QuantileSketch makespans = new QuantileSketch();
+        final QuantileSketch costs = new QuantileSketch();
+
+        void merge(Partial other) {
+            numOfTrials += other.numOfTrials;
+            numOfTrialsWithinDeadline += other.numOfTrialsWithinDeadline;
+            numOfDeadlockedTrials += other.numOfDeadlockedTrials;
+            makespans.merge(other.makespans);
+            costs.merge(other.costs);
+        }
+    }
+}
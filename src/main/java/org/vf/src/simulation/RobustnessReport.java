@@ -0,0 +1,50 @@
+package org.vf.src.simulation;
+
+import java.util.Locale;
+
+/**
+ * Outcome distribution of a Monte Carlo robustness evaluation of one schedule.
+ * Deadlocked trials are counted as deadline misses and are not part of the makespan and cost summaries.
+ */
+public class RobustnessReport {
+
+    private final double deadline;
+    private final long numOfTrials;
+    private final long numOfTrialsWithinDeadline;
+    private final long numOfDeadlockedTrials;
+    private final QuantileSketch makespans;
+    private final QuantileSketch costs;
+
+    public RobustnessReport(double deadline, long numOfTrials, long numOfTrialsWithinDeadline, long numOfDeadlockedTrials,
+                            QuantileSketch makespans, QuantileSketch costs) {
+        this.deadline = deadline;
+        this.numOfTrials = numOfTrials;
+        this.numOfTrialsWithinDeadline = numOfTrialsWithinDeadline;
+        this.numOfDeadlockedTrials = numOfDeadlockedTrials;
+        this.makespans = makespans;
+        this.costs = costs;
+    }
+
+    public double getDeadline() { return deadline; }
+    public long getNumOfTrials() { return numOfTrials; }
+    public long getNumOfTrialsWithinDeadline() { return numOfTrialsWithinDeadline; }
+    public long getNumOfDeadlockedTrials() { return numOfDeadlockedTrials; }
+    public QuantileSketch getMakespans() { return makespans; }
+    public QuantileSketch getCosts() { return costs; }
+
+    public double getDeadlineHitProbability() {
+        return numOfTrials == 0 ? Double.NaN : (double) numOfTrialsWithinDeadline / numOfTrials;
+    }
+
+    public double getMakespanQuantile(double quantile) { return makespans.getQuantile(quantile); }
+    public double getCostQuantile(double quantile) { return costs.getQuantile(quantile); }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "trials=%d P(within deadline)=%.4f deadlocked=%d%n  makespan: mean=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f%n  cost:     mean=%.2f p50=%.2f p95=%.2f p99=%.2f max=%.2f",
+                numOfTrials, getDeadlineHitProbability(), numOfDeadlockedTrials,
+                makespans.getMean(), getMakespanQuantile(0.5), getMakespanQuantile(0.95), getMakespanQuantile(0.99), makespans.getMax(),
+                costs.getMean(), getCostQuantile(0.5), getCostQuantile(0.95), getCostQuantile(0.99), costs.getMax());
+    }
+}
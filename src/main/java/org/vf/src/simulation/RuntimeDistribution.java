@@ -0,0 +1,57 @@
+package org.vf.src.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Distribution of a multiplicative factor applied to a nominal value, e.g. a task runtime or a transfer speed.
+ */
+@FunctionalInterface
+public interface RuntimeDistribution {
+
+    double sampleFactor(SplittableRandom random);
+
+    static RuntimeDistribution constant() {
+        return random -> 1.0;
+    }
+
+    static RuntimeDistribution uniform(double minFactor, double maxFactor) {
+        return random -> minFactor + (maxFactor - minFactor) * random.nextDouble();
+    }
+
+    /**
+     * Normal distribution truncated at minFactor, which keeps the factor positive. Samples below minFactor are drawn
+     * again, so minFactor has to lie below the mean to accept at least every second sample.
+     */
+    static RuntimeDistribution normal(double mean, double standardDeviation, double minFactor) {
+        if (!(minFactor < mean)) {
+            throw new IllegalArgumentException("minFactor " + minFactor + " has to be below the mean " + mean);
+        }
+        return random -> {
+            double factor;
+            do {
+                factor = mean + standardDeviation * nextGaussian(random);
+            } while (factor < minFactor);
+            return factor;
+        };
+    }
+
+    /**
+     * Log-normal distribution with median 1 and the given shape, i.e. exp(N(0, sigma)). Models right-skewed runtimes.
+     */
+    static RuntimeDistribution logNormal(double sigma) {
+        return random -> Math.exp(sigma * nextGaussian(random));
+    }
+
+    /**
+     * Marsaglia polar method, SplittableRandom has no nextGaussian on Java 17.
+     */
+    private static double nextGaussian(SplittableRandom random) {
+        double u, v, s;
+        do {
+            u = 2 * random.nextDouble() - 1;
+            v = 2 * random.nextDouble() - 1;
+            s = u * u + v * v;
+        } while (s >= 1 || s == 0);
+        return u * Math.sqrt(-2 * Math.log(s) / s);
+    }
+}
@@ -0,0 +1,358 @@
+package org.vf.src.simulation;
+
+import org.vf.src.Task;
+import org.vf.src.VM;
+import org.vf.src.billing.BillingModel;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Discrete-event replay of a produced schedule.
+ *
+ * Every slot is executed on its VM in the planned order. A task starts once its VM finished the previous slot,
+ * all parents finished and their data arrived, and (optionally) not before its planned start time.
+ * Data transfer between different VMs takes parent.dout / gsr of the receiving VM, as in {@link org.vf.src.algorithms.Utils#calculateEST}.
+ * Writing the output takes dout / gsw of the VM and is part of the slot duration, as in {@link org.vf.src.algorithms.Utils#getExecutionTime},
+ * so a slower write speed stretches the task that writes.
+ * Cost is charged per billing period of length tau touched by the realized busy intervals of a VM, as in {@link VM#calculateTotalCost(int)}.
+ * VMs with their own billing model are charged by that model instead.
+ *
+ * The structure of the schedule is flattened into primitive arrays once; a simulator can then replay it any number
+ * of times with different durations or transfer speeds without allocating. Copies share the structure and can run
+ * in parallel.
+ */
+public class ScheduleSimulator {
+
+    private static final int TASK_FINISH = 0;
+
+    // --- Structure, shared between copies ---
+    private final int numOfSlots;
+    private final int tau;
+    private final boolean respectPlannedStarts;
+    private final VM[] vms;
+    private final VM.TimeSlot[] slots;
+    private final int[] slotVm;
+    private final double[] plannedStarts;
+    private final double[] nominalDurations;
+    private final double[] nominalWriteTimes;
+    private final int[] vmFirstSlot;
+    private final int[] vmNextSlot;
+    private final int[] numOfParents;
+    private final int[] childOffsets;
+    private final int[] children;
+    private final double[] childEdgeData;
+
+    // --- Simulation state ---
+    private final EventQueue events;
+    private final double[] dataReadyTimes;
+    private final int[] parentsRemaining;
+    private final boolean[] vmPredecessorDone;
+    private final double[] vmFreeTimes;
+    private final long[] vmBilledUntilPeriod;
+    private final BillingModel.State[] vmBillingStates;
+    private final double[] startTimes;
+    private final double[] finishTimes;
+    private double[] durations;
+    private double[] writeSpeedFactors;
+
+    /**
+     * Replays a single workflow, parents are resolved by task id.
+     */
+    public ScheduleSimulator(List<VM> scheduledVMs, int tau, boolean respectPlannedStarts) {
+        this(scheduledVMs, tau, respectPlannedStarts, null);
+    }
+
+    /**
+     * Replays the slots of several workflows sharing the VMs. Task ids are only unique within their workflow,
+     * so parents are resolved inside the workflow that contains the task.
+     */
+    public ScheduleSimulator(List<VM> scheduledVMs, int tau, boolean respectPlannedStarts, List<? extends List<? extends Task>> workflows) {
+        this.tau = tau;
+        this.respectPlannedStarts = respectPlannedStarts;
+        this.vms = scheduledVMs.toArray(new VM[0]);
+
+        List<VM.TimeSlot> allSlots = new ArrayList<>();
+        List<Integer> allSlotVms = new ArrayList<>();
+        this.vmFirstSlot = new int[vms.length];
+        for (int v = 0; v < vms.length; v++) {
+            List<VM.TimeSlot> vmSlots = new ArrayList<>(vms[v].getSchedule());
+            vmSlots.sort(Comparator.comparingDouble(VM.TimeSlot::getStart));
+            vmFirstSlot[v] = vmSlots.isEmpty() ? -1 : allSlots.size();
+            for (VM.TimeSlot slot : vmSlots) {
+                allSlots.add(slot);
+                allSlotVms.add(v);
+            }
+        }
+
+        this.numOfSlots = allSlots.size();
+        this.slots = allSlots.toArray(new VM.TimeSlot[0]);
+        this.slotVm = new int[numOfSlots];
+        this.plannedStarts = new double[numOfSlots];
+        this.nominalDurations = new double[numOfSlots];
+        this.nominalWriteTimes = new double[numOfSlots];
+        this.vmNextSlot = new int[numOfSlots];
+        for (int i = 0; i < numOfSlots; i++) {
+            slotVm[i] = allSlotVms.get(i);
+            plannedStarts[i] = slots[i].getStart();
+            nominalDurations[i] = slots[i].getEt();
+            double dout = slots[i].getTask().getDout();
+            double gsw = vms[slotVm[i]].getGsw();
+            nominalWriteTimes[i] = dout == 0 || !(gsw > 0) ? 0.0 : dout / gsw;
+            vmNextSlot[i] = (i + 1 < numOfSlots && allSlotVms.get(i + 1) == slotVm[i]) ? i + 1 : -1;
+        }
+
+        // Resolve parent slots
+        Map<Task, Integer> slotOfTask = new IdentityHashMap<>();
+        for (int i = 0; i < numOfSlots; i++) {
+            if (slotOfTask.put(slots[i].getTask(), i) != null) {
+                throw new IllegalArgumentException("Task " + slots[i].getTask().getId() + " is scheduled more than once.");
+            }
+        }
+        Map<Task, Map<Integer, Task>> workflowOfTask = new IdentityHashMap<>();
+        Map<Integer, Task> singleWorkflow = new HashMap<>();
+        if (workflows == null) {
+            for (VM.TimeSlot slot : slots) {
+                singleWorkflow.put(slot.getTask().getId(), slot.getTask());
+            }
+        } else {
+            for (List<? extends Task> workflow : workflows) {
+                Map<Integer, Task> tasksById = new HashMap<>();
+                for (Task task : workflow) {
+                    tasksById.put(task.getId(), task);
+                    workflowOfTask.put(task, tasksById);
+                }
+            }
+        }
+
+        this.numOfParents = new int[numOfSlots];
+        int[] numOfChildren = new int[numOfSlots];
+        int[][] parentSlots = new int[numOfSlots][];
+        for (int i = 0; i < numOfSlots; i++) {
+            Task task = slots[i].getTask();
+            Map<Integer, Task> tasksById = workflows == null ? singleWorkflow : workflowOfTask.get(task);
+            List<Integer> parentIds = task.getParents();
+            parentSlots[i] = new int[parentIds.size()];
+            for (int p = 0; p < parentIds.size(); p++) {
+                Task parent = tasksById == null ? null : tasksById.get(parentIds.get(p));
+                Integer parentSlot = parent == null ? null : slotOfTask.get(parent);
+                if (parentSlot == null) {
+                    throw new IllegalArgumentException("Task " + task.getId() + " depends on task " + parentIds.get(p) + " which is not scheduled.");
+                }
+                parentSlots[i][p] = parentSlot;
+                numOfChildren[parentSlot]++;
+            }
+            numOfParents[i] = parentIds.size();
+        }
+
+        // Children in compressed sparse row layout
+        this.childOffsets = new int[numOfSlots + 1];
+        for (int i = 0; i < numOfSlots; i++) {
+            childOffsets[i + 1] = childOffsets[i] + numOfChildren[i];
+        }
+        this.children = new int[childOffsets[numOfSlots]];
+        this.childEdgeData = new double[children.length];
+        int[] fill = Arrays.copyOf(childOffsets, numOfSlots);
+        for (int i = 0; i < numOfSlots; i++) {
+            for (int p = 0; p < parentSlots[i].length; p++) {
+                int parentSlot = parentSlots[i][p];
+                int edge = fill[parentSlot]++;
+                children[edge] = i;
+                childEdgeData[edge] = slots[i].getTask().getInputVolume(p, slots[parentSlot].getTask());
+            }
+        }
+
+        this.events = new EventQueue(vms.length + 16);
+        this.dataReadyTimes = new double[numOfSlots];
+        this.parentsRemaining = new int[numOfSlots];
+        this.vmPredecessorDone = new boolean[numOfSlots];
+        this.vmFreeTimes = new double[vms.length];
+        this.vmBilledUntilPeriod = new long[vms.length];
+        this.vmBillingStates = newBillingStates(vms);
+        this.startTimes = new double[numOfSlots];
+        this.finishTimes = new double[numOfSlots];
+    }
+
+    /**
+     * Creates a simulator sharing the flattened schedule of the source, with its own simulation state.
+     */
+    public ScheduleSimulator(ScheduleSimulator source) {
+        this.numOfSlots = source.numOfSlots;
+        this.tau = source.tau;
+        this.respectPlannedStarts = source.respectPlannedStarts;
+        this.vms = source.vms;
+        this.slots = source.slots;
+        this.slotVm = source.slotVm;
+        this.plannedStarts = source.plannedStarts;
+        this.nominalDurations = source.nominalDurations;
+        this.nominalWriteTimes = source.nominalWriteTimes;
+        this.vmFirstSlot = source.vmFirstSlot;
+        this.vmNextSlot = source.vmNextSlot;
+        this.numOfParents = source.numOfParents;
+        this.childOffsets = source.childOffsets;
+        this.children = source.children;
+        this.childEdgeData = source.childEdgeData;
+
+        this.events = new EventQueue(vms.length + 16);
+        this.dataReadyTimes = new double[numOfSlots];
+        this.parentsRemaining = new int[numOfSlots];
+        this.vmPredecessorDone = new boolean[numOfSlots];
+        this.vmFreeTimes = new double[vms.length];
+        this.vmBilledUntilPeriod = new long[vms.length];
+        this.vmBillingStates = newBillingStates(vms);
+        this.startTimes = new double[numOfSlots];
+        this.finishTimes = new double[numOfSlots];
+    }
+
+    public SimulationResult simulate() {
+        return simulate(nominalDurations, null);
+    }
+
+    /**
+     * Replays the schedule with nominal write speeds.
+     */
+    public SimulationResult simulate(double[] durations, double[] readSpeedFactors) {
+        return simulate(durations, readSpeedFactors, null);
+    }
+
+    /**
+     * Replays the schedule.
+     *
+     * @param durations execution time of every slot at nominal write speed, indexed like {@link #getSlot(int)}
+     * @param readSpeedFactors factor on the read speed (gsr) of every VM for incoming transfers, null for nominal speeds
+     * @param writeSpeedFactors factor on the write speed (gsw) of every VM, the dout / gsw share of a duration is
+     *                          replaced by dout / (gsw * factor), null for nominal speeds
+     */
+    public SimulationResult simulate(double[] durations, double[] readSpeedFactors, double[] writeSpeedFactors) {
+        this.durations = durations;
+        this.writeSpeedFactors = writeSpeedFactors;
+        events.clear();
+        Arrays.fill(dataReadyTimes, 0.0);
+        Arrays.fill(vmFreeTimes, 0.0);
+        Arrays.fill(vmBilledUntilPeriod, Long.MIN_VALUE);
+        for (BillingModel.State billing : vmBillingStates) {
+            if (billing != null) billing.clear();
+        }
+        Arrays.fill(startTimes, Double.NaN);
+        Arrays.fill(finishTimes, Double.NaN);
+        System.arraycopy(numOfParents, 0, parentsRemaining, 0, numOfSlots);
+        Arrays.fill(vmPredecessorDone, false);
+
+        for (int v = 0; v < vms.length; v++) {
+            if (vmFirstSlot[v] >= 0) {
+                vmPredecessorDone[vmFirstSlot[v]] = true;
+                startIfReady(vmFirstSlot[v]);
+            }
+        }
+
+        long numOfEvents = 0;
+        int numOfFinishedTasks = 0;
+        double makespan = 0.0;
+        double totalCost = 0.0;
+
+        while (!events.isEmpty()) {
+            events.poll();
+            numOfEvents++;
+            double time = events.getPolledTime();
+            int slot = events.getPolledPayload();
+
+            // Only TASK_FINISH events are queued, the start of a task is decided when it becomes ready.
+            finishTimes[slot] = time;
+            numOfFinishedTasks++;
+            makespan = Math.max(makespan, time);
+            int vm = slotVm[slot];
+            totalCost += charge(vm, startTimes[slot], time);
+            vmFreeTimes[vm] = time;
+
+            for (int edge = childOffsets[slot]; edge < childOffsets[slot + 1]; edge++) {
+                int child = children[edge];
+                double arrival = time;
+                int childVm = slotVm[child];
+                if (childVm != vm) {
+                    double gsr = vms[childVm].getGsr() * (readSpeedFactors == null ? 1.0 : readSpeedFactors[childVm]);
+                    arrival += childEdgeData[edge] / gsr;
+                }
+                dataReadyTimes[child] = Math.max(dataReadyTimes[child], arrival);
+                if (--parentsRemaining[child] == 0) {
+                    startIfReady(child);
+                }
+            }
+
+            int next = vmNextSlot[slot];
+            if (next >= 0) {
+                vmPredecessorDone[next] = true;
+                startIfReady(next);
+            }
+        }
+
+        return new SimulationResult(makespan, totalCost, numOfFinishedTasks, numOfSlots, numOfEvents);
+    }
+
+    private void startIfReady(int slot) {
+        if (parentsRemaining[slot] > 0 || !vmPredecessorDone[slot]) return;
+        double start = Math.max(dataReadyTimes[slot], vmFreeTimes[slotVm[slot]]);
+        if (respectPlannedStarts) {
+            start = Math.max(start, plannedStarts[slot]);
+        }
+        startTimes[slot] = start;
+        double duration = durations[slot];
+        if (writeSpeedFactors != null) {
+            duration += nominalWriteTimes[slot] * (1 / writeSpeedFactors[slotVm[slot]] - 1);
+        }
+        events.push(start + duration, TASK_FINISH, slot);
+    }
+
+    private static BillingModel.State[] newBillingStates(VM[] vms) {
+        BillingModel.State[] billingStates = new BillingModel.State[vms.length];
+        for (int v = 0; v < vms.length; v++) {
+            if (vms[v].getBillingModel() != null) {
+                billingStates[v] = vms[v].getBillingModel().newState(vms[v]);
+            }
+        }
+        return billingStates;
+    }
+
+    private double charge(int vm, double start, double finish) {
+        BillingModel.State billing = vmBillingStates[vm];
+        if (billing == null) {
+            return chargeBillingPeriods(vm, start, finish);
+        }
+        double cost = billing.getMarginalCost(start, finish);
+        billing.add(start, finish);
+        return cost;
+    }
+
+    /**
+     * Busy intervals of a VM are realized in increasing time order, so the union of rented periods
+     * only needs the end of the last billed period.
+     */
+    private double chargeBillingPeriods(int vm, double start, double finish) {
+        long startPeriod = (long) Math.floor(start / tau);
+        long endPeriodIndex = (long) Math.ceil(finish / tau);
+        long firstNewPeriod = Math.max(startPeriod, vmBilledUntilPeriod[vm]);
+        if (endPeriodIndex <= firstNewPeriod) return 0.0;
+        vmBilledUntilPeriod[vm] = endPeriodIndex;
+        return (endPeriodIndex - firstNewPeriod) * vms[vm].getC();
+    }
+
+    public int getNumOfSlots() { return numOfSlots; }
+    public int getNumOfVMs() { return vms.length; }
+    public VM.TimeSlot getSlot(int slot) { return slots[slot]; }
+    public VM getVm(int slot) { return vms[slotVm[slot]]; }
+    public double getNominalDuration(int slot) { return nominalDurations[slot]; }
+
+    /**
+     * Realized start time of the slot in the last simulation, NaN if it never started.
+     */
+    public double getStartTime(int slot) { return startTimes[slot]; }
+
+    /**
+     * Realized finish time of the slot in the last simulation, NaN if it never finished.
+     */
+    public double getFinishTime(int slot) { return finishTimes[slot]; }
+}
@@ -0,0 +1,38 @@
+package org.vf.src.simulation;
+
+/**
+ * Realized outcome of one replay of a schedule.
+ */
+public class SimulationResult {
+
+    private final double makespan;
+    private final double totalCost;
+    private final int numOfFinishedTasks;
+    private final int numOfTasks;
+    private final long numOfEvents;
+
+    public SimulationResult(double makespan, double totalCost, int numOfFinishedTasks, int numOfTasks, long numOfEvents) {
+        this.makespan = makespan;
+        this.totalCost = totalCost;
+        this.numOfFinishedTasks = numOfFinishedTasks;
+        this.numOfTasks = numOfTasks;
+        this.numOfEvents = numOfEvents;
+    }
+
+    public double getMakespan() { return makespan; }
+    public double getTotalCost() { return totalCost; }
+    public int getNumOfFinishedTasks() { return numOfFinishedTasks; }
+    public int getNumOfTasks() { return numOfTasks; }
+    public long getNumOfEvents() { return numOfEvents; }
+
+    /**
+     * A schedule whose VM order contradicts its dependencies can never finish all tasks.
+     */
+    public boolean isDeadlocked() {
+        return numOfFinishedTasks < numOfTasks;
+    }
+
+    public boolean isWithinDeadline(double deadline) {
+        return !isDeadlocked() && makespan <= deadline;
+    }
+}